@@ -25,6 +25,10 @@ class AppConfiguration extends TrellisConfiguration {
     @NotNull
     private String mementos;
 
+    private int mementoShards = 0;
+
+    private boolean triplestoreMementos = false;
+
     @NotNull
     private String binaries;
 
@@ -55,6 +59,48 @@ class AppConfiguration extends TrellisConfiguration {
         this.mementos = config;
     }
 
+    /**
+     * Get whether Mementos are stored in the triplestore.
+     * @return true if Mementos are stored in the triplestore; false if they are stored as files
+     */
+    @JsonProperty
+    public boolean getTriplestoreMementos() {
+        return triplestoreMementos;
+    }
+
+    /**
+     * Set whether Mementos are stored in the triplestore.
+     *
+     * @implNote Storing Mementos in the triplestore lets all nodes that share it negotiate the same Mementos.
+     *           The {@code mementos} location is then unused.
+     * @param triplestoreMementos true to store Mementos in the triplestore
+     */
+    @JsonProperty
+    public void setTriplestoreMementos(final boolean triplestoreMementos) {
+        this.triplestoreMementos = triplestoreMementos;
+    }
+
+    /**
+     * Get the number of segment files holding the Mementos.
+     * @return the number of segment files, or 0 if each Memento is stored in its own file
+     */
+    @JsonProperty
+    public int getMementoShards() {
+        return mementoShards;
+    }
+
+    /**
+     * Set the number of segment files holding the Mementos.
+     *
+     * @implNote A positive value packs the Mementos into that many append-only segment files, which keeps
+     *           the number of files constant. The segments are compacted once an hour.
+     * @param shards the number of segment files, or 0 to store each Memento in its own file
+     */
+    @JsonProperty
+    public void setMementoShards(final int shards) {
+        this.mementoShards = shards;
+    }
+
     /**
      * Get the binary configuration.
      * @return the binary configuration
@@ -15,29 +15,38 @@ package org.trellisldp.app.triplestore;
 
 import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.HOURS;
 
 import com.google.common.cache.Cache;
 
+import io.dropwizard.lifecycle.AutoCloseableManager;
 import io.dropwizard.setup.Environment;
 
+import java.time.Duration;
+
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.trellisldp.api.BinaryService;
 import org.trellisldp.api.DefaultIdentifierService;
 import org.trellisldp.api.IOService;
+import org.trellisldp.api.MementoService;
 import org.trellisldp.api.NamespaceService;
 import org.trellisldp.api.RDFaWriterService;
 import org.trellisldp.app.BaseServiceBundler;
 import org.trellisldp.app.DefaultConstraintServices;
 import org.trellisldp.audit.DefaultAuditService;
 import org.trellisldp.constraint.LdpConstraintService;
+import org.trellisldp.dropwizard.DropwizardMetricsService;
 import org.trellisldp.dropwizard.TrellisCache;
 import org.trellisldp.file.FileBinaryService;
 import org.trellisldp.file.FileMementoService;
+import org.trellisldp.file.PackedMementoService;
 import org.trellisldp.http.core.DefaultTimemapGenerator;
+import org.trellisldp.http.core.WriteBehindMementoService;
 import org.trellisldp.io.JenaIOService;
 import org.trellisldp.namespaces.JsonNamespaceService;
 import org.trellisldp.rdfa.DefaultRdfaWriterService;
+import org.trellisldp.triplestore.TriplestoreMementoService;
 import org.trellisldp.triplestore.TriplestoreResourceService;
 
 /**
@@ -45,7 +54,9 @@ import org.trellisldp.triplestore.TriplestoreResourceService;
  *
  * <p>This service bundler implementation is used with a Dropwizard-based application.
  * It combines a Triplestore-based resource service along with file-based binary and
- * memento storage. RDF processing is handled with Apache Jena.
+ * memento storage; Mementos are captured in the background. Mementos may instead be stored in the
+ * triplestore, so that they are shared by all nodes using that triplestore.
+ * RDF processing is handled with Apache Jena.
  */
 public class TrellisServiceBundler extends BaseServiceBundler {
 
@@ -55,30 +66,54 @@ public class TrellisServiceBundler extends BaseServiceBundler {
      * @param environment the dropwizard environment
      */
     public TrellisServiceBundler(final AppConfiguration config, final Environment environment) {
+        final RDFConnection rdfConnection = buildRDFConnection(config, environment);
         auditService = new DefaultAuditService();
-        mementoService = new FileMementoService(config.getMementos());
+        mementoService = buildMementoService(config, environment, rdfConnection);
         timemapGenerator = new DefaultTimemapGenerator();
         constraintServices = new DefaultConstraintServices(singletonList(new LdpConstraintService()));
-        resourceService = buildResourceService(config, environment);
+        resourceService = new TriplestoreResourceService(rdfConnection);
         binaryService = buildBinaryService(config);
-        ioService = buildIoService(config);
+        ioService = buildIoService(config, environment);
         eventService = AppUtils.getNotificationService(config.getNotifications(), environment);
     }
 
-    private static TriplestoreResourceService buildResourceService(final AppConfiguration config,
-            final Environment environment) {
+    private static RDFConnection buildRDFConnection(final AppConfiguration config, final Environment environment) {
         final RDFConnection rdfConnection = TriplestoreResourceService.buildRDFConnection(config.getResources());
 
         // Health checks
         environment.healthChecks().register("rdfconnection", new RDFConnectionHealthCheck(rdfConnection));
-        return new TriplestoreResourceService(rdfConnection);
+        return rdfConnection;
+    }
+
+    private static MementoService buildMementoService(final AppConfiguration config,
+            final Environment environment, final RDFConnection rdfConnection) {
+        final MementoService delegate;
+        if (config.getTriplestoreMementos()) {
+            delegate = new TriplestoreMementoService(rdfConnection);
+        } else if (config.getMementoShards() > 0) {
+            final PackedMementoService packed = new PackedMementoService(config.getMementos(),
+                    config.getMementoShards(), false, Duration.ofHours(1));
+            // Stop the compaction and save the segment indexes on shutdown
+            environment.lifecycle().manage(new AutoCloseableManager(packed));
+            delegate = packed;
+        } else {
+            delegate = new FileMementoService(config.getMementos());
+        }
+        final WriteBehindMementoService mementos = new WriteBehindMementoService(delegate);
+
+        // Flush any pending Memento captures on shutdown
+        environment.lifecycle().manage(new AutoCloseableManager(mementos));
+        return mementos;
     }
 
-    private static IOService buildIoService(final AppConfiguration config) {
+    private static IOService buildIoService(final AppConfiguration config, final Environment environment) {
         final long cacheSize = config.getJsonld().getCacheSize();
         final long hours = config.getJsonld().getCacheExpireHours();
-        final Cache<String, String> cache = newBuilder().maximumSize(cacheSize).expireAfterAccess(hours, HOURS).build();
+        final Cache<String, String> cache = newBuilder().maximumSize(cacheSize).expireAfterAccess(hours, HOURS)
+            .recordStats().build();
         final TrellisCache<String, String> profileCache = new TrellisCache<>(cache);
+        new DropwizardMetricsService(environment.metrics()).registerGauge(TrellisCache.HIT_RATE_GAUGE,
+                singletonMap("cache", "profile"), profileCache::getHitRate);
         final NamespaceService namespaceService = new JsonNamespaceService(config.getNamespaces());
         final RDFaWriterService htmlSerializer = new DefaultRdfaWriterService(namespaceService,
                 config.getAssets().getTemplate(), config.getAssets().getCss(), config.getAssets().getJs(),
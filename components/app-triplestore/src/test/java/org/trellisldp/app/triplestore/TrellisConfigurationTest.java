@@ -96,6 +96,8 @@ class TrellisConfigurationTest {
 
         assertEquals("/tmp/trellisData/binaries", config.getBinaries(), "Incorrect binary location!");
         assertEquals("/tmp/trellisData/mementos", config.getMementos(), "Incorrect memento location!");
+        assertEquals(16, config.getMementoShards(), "Incorrect memento shard count!");
+        assertFalse(config.getTriplestoreMementos(), "Unexpected triplestore memento storage!");
         assertEquals("http://localhost:8080/", config.getBaseUrl(), "Incorrect base URL!");
         assertEquals("http://hub.example.com/", config.getHubUrl(), "Incorrect hub URL!");
 
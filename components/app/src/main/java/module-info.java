@@ -18,6 +18,7 @@ module org.trellisldp.app {
     requires transitive org.trellisldp.http;
     requires transitive org.trellisldp.vocabulary;
 
+    requires java.annotation;
     requires javax.inject;
     requires cdi.api;
 
@@ -13,7 +13,11 @@
  */
 package org.trellisldp.app;
 
+import static org.trellisldp.http.core.InstrumentedServiceBundler.instrument;
+
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.trellisldp.api.*;
@@ -23,7 +27,8 @@ import org.trellisldp.http.core.*;
  * A {@link ServiceBundler} that supplies components for a Trellis application from its fields.
  *
  * <p>In this class, the fields are expected to be filled by injection, but in subclasses
- * the fields may be filled by any appropriate means.
+ * the fields may be filled by any appropriate means. If a {@link MetricsService} is available,
+ * the backend services are instrumented with it.
  */
 @ApplicationScoped
 public class BaseServiceBundler implements ServiceBundler {
@@ -52,6 +57,24 @@ public class BaseServiceBundler implements ServiceBundler {
     @Inject
     protected ConstraintServices constraintServices;
 
+    @Inject
+    protected Instance<MetricsService> metricsService;
+
+    /**
+     * Instrument the backend services, if a metrics service is available.
+     */
+    @PostConstruct
+    public void instrumentServices() {
+        if (metricsService != null && metricsService.isResolvable()) {
+            final MetricsService metrics = metricsService.get();
+            resourceService = instrument(ResourceService.class, resourceService, metrics);
+            binaryService = instrument(BinaryService.class, binaryService, metrics);
+            mementoService = instrument(MementoService.class, mementoService, metrics);
+            eventService = instrument(EventService.class, eventService, metrics);
+            ioService = instrument(ioService, metrics);
+        }
+    }
+
     @Override
     public ResourceService getResourceService() {
         return resourceService;
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.triplestore.TriplestoreResourceService.buildRDFConnection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Shared fixtures for the benchmarks.
+ */
+final class BenchmarkUtils {
+
+    static final String MEMORY = "memory";
+    static final String TDB2 = "tdb2";
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    /**
+     * Create a directory for a TDB2 dataset, if one is needed.
+     * @param store the type of dataset
+     * @return the directory or null for an in-memory dataset
+     */
+    static File createDirectory(final String store) {
+        return TDB2.equals(store) ? createTempDirectory() : null;
+    }
+
+    /**
+     * Create a temporary directory.
+     * @return the directory
+     */
+    static File createTempDirectory() {
+        try {
+            return Files.createTempDirectory("trellis-benchmark").toFile();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Could not create a temporary directory", ex);
+        }
+    }
+
+    /**
+     * Connect to a dataset.
+     * @param directory the TDB2 directory or null for an in-memory dataset
+     * @return the connection
+     */
+    static RDFConnection connect(final File directory) {
+        return buildRDFConnection(directory != null ? directory.getAbsolutePath() : null);
+    }
+
+    /**
+     * Remove a dataset directory.
+     * @param directory the directory, may be null
+     */
+    static void deleteDirectory(final File directory) {
+        if (directory != null) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Create a chain of nested containers below the root.
+     * @param service the resource service
+     * @param depth the number of nested containers
+     * @return the identifier of the most deeply nested container
+     */
+    static IRI createHierarchy(final ResourceService service, final int depth) {
+        IRI parent = rdf.createIRI(TRELLIS_DATA_PREFIX);
+        for (int i = 1; i <= depth; i++) {
+            final IRI child = rdf.createIRI(parent.getIRIString().replaceAll("/$", "") + "/level" + i);
+            final Dataset dataset = rdf.createDataset();
+            dataset.add(Trellis.PreferUserManaged, child, DC.title, rdf.createLiteral("Level " + i));
+            service.create(Metadata.builder(child).interactionModel(LDP.BasicContainer).container(parent).build(),
+                    dataset).toCompletableFuture().join();
+            parent = child;
+        }
+        return parent;
+    }
+
+    private BenchmarkUtils() {
+        // prevent instantiation
+    }
+}
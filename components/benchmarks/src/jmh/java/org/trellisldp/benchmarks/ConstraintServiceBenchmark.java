@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.util.List;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.ConstraintViolation;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.constraint.LdpConstraintService;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+
+/**
+ * Benchmarks for checking a graph against the LDP constraints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ConstraintServiceBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({"RDFSource", "BasicContainer", "DirectContainer", "IndirectContainer"})
+    public String model;
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private final ConstraintService constraintService = new LdpConstraintService();
+    private IRI interactionModel;
+    private Graph graph;
+
+    /**
+     * Generate the graph to check.
+     */
+    @Setup
+    public void setUp() {
+        final String subject = TRELLIS_DATA_PREFIX + "container";
+        final IRI identifier = rdf.createIRI(subject);
+        interactionModel = rdf.createIRI(LDP.getNamespace() + model);
+        graph = rdf.createGraph();
+        IOServiceBenchmark.generateTriples(subject, size).stream()
+            .filter(triple -> !LDP.contains.equals(triple.getPredicate())).forEach(graph::add);
+        if (model.endsWith("Container") && !model.startsWith("Basic")) {
+            graph.add(identifier, LDP.membershipResource, rdf.createIRI(TRELLIS_DATA_PREFIX + "members"));
+            graph.add(identifier, LDP.hasMemberRelation, DC.relation);
+            if (model.startsWith("Indirect")) {
+                graph.add(identifier, LDP.insertedContentRelation, DC.subject);
+            }
+        }
+    }
+
+    /**
+     * Check the graph for constraint violations.
+     * @return the violations
+     */
+    @Benchmark
+    public List<ConstraintViolation> constrainedBy() {
+        return constraintService.constrainedBy(interactionModel, graph, TRELLIS_DATA_PREFIX).collect(toList());
+    }
+}
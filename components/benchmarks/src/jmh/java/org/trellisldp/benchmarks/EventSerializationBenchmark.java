@@ -0,0 +1,76 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import org.apache.commons.rdf.api.RDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventSerializationService;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.http.core.SimpleEvent;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.SKOS;
+
+/**
+ * Benchmarks for serializing notifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class EventSerializationBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({"jackson", "jsonb"})
+    public String serializer;
+
+    private EventSerializationService service;
+    private Event event;
+
+    /**
+     * Create the serializer and the event.
+     */
+    @Setup
+    public void setUp() {
+        if ("jsonb".equals(serializer)) {
+            service = new org.trellisldp.event.jsonb.DefaultEventSerializationService();
+        } else {
+            service = new org.trellisldp.event.jackson.DefaultEventSerializationService();
+        }
+        event = new SimpleEvent(TRELLIS_DATA_PREFIX + "resource", rdf.createIRI("https://example.com/user"),
+                singletonList(AS.Update), asList(LDP.RDFSource, SKOS.Concept));
+    }
+
+    /**
+     * Serialize an event.
+     * @return the serialization
+     */
+    @Benchmark
+    public String serialize() {
+        return service.serialize(event);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.time.Instant.now;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.file.FileUtils;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Benchmarks for the file-based persistence layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class FileUtilsBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private Resource resource;
+    private List<String> lines;
+    private File directory;
+
+    /**
+     * Generate the resource and its serialization.
+     */
+    @Setup
+    public void setUp() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final Dataset dataset = rdf.createDataset();
+        IOServiceBenchmark.generateTriples(identifier.getIRIString(), size).forEach(triple ->
+                dataset.add(Trellis.PreferUserManaged, triple.getSubject(), triple.getPredicate(),
+                    triple.getObject()));
+        resource = new DatasetResource(identifier, dataset);
+        lines = FileUtils.serializeMemento(resource).collect(toList());
+        directory = BenchmarkUtils.createTempDirectory();
+    }
+
+    /**
+     * Remove the memento directory.
+     */
+    @TearDown
+    public void tearDown() {
+        BenchmarkUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Parse the lines of an N-Quads file.
+     * @return the quads
+     */
+    @Benchmark
+    public List<Quad> parseQuad() {
+        return lines.stream().flatMap(FileUtils::parseQuad).collect(toList());
+    }
+
+    /**
+     * Serialize a memento in memory.
+     * @return the serialization
+     * @throws IOException if the memento could not be written
+     */
+    @Benchmark
+    public String serializeMemento() throws IOException {
+        final StringWriter writer = new StringWriter();
+        FileUtils.writeMemento(writer, resource);
+        return writer.toString();
+    }
+
+    /**
+     * Write a memento to disk.
+     */
+    @Benchmark
+    public void writeMemento() {
+        FileUtils.writeMemento(directory, resource, now());
+    }
+
+    /**
+     * A resource backed by an in-memory dataset.
+     */
+    static class DatasetResource implements Resource {
+
+        private final IRI identifier;
+        private final Dataset dataset;
+        private final Instant modified = now();
+
+        DatasetResource(final IRI identifier, final Dataset dataset) {
+            this.identifier = identifier;
+            this.dataset = dataset;
+        }
+
+        @Override
+        public IRI getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public IRI getInteractionModel() {
+            return LDP.RDFSource;
+        }
+
+        @Override
+        public Instant getModified() {
+            return modified;
+        }
+
+        @Override
+        public Optional<IRI> getContainer() {
+            return Optional.of(rdf.createIRI(TRELLIS_DATA_PREFIX));
+        }
+
+        @Override
+        public Stream<Quad> stream() {
+            return dataset.stream().map(Quad.class::cast);
+        }
+    }
+}
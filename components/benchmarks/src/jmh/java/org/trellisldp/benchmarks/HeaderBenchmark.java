@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.trellisldp.http.core.AcceptDatetime;
+import org.trellisldp.http.core.Prefer;
+import org.trellisldp.http.core.Range;
+
+/**
+ * Benchmarks for parsing HTTP request headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class HeaderBenchmark {
+
+    public String prefer = "return=representation; include=\"http://www.w3.org/ns/ldp#PreferMinimalContainer "
+        + "http://www.trellisldp.org/ns/trellis#PreferAudit\"; omit=\"http://www.w3.org/ns/ldp#PreferContainment\"";
+    public String range = "bytes=1024-4095";
+    public String acceptDatetime = "Wed, 16 May 2018 13:18:57 GMT";
+
+    /**
+     * Parse a Prefer header.
+     * @return the parsed header
+     */
+    @Benchmark
+    public Prefer parsePrefer() {
+        return Prefer.valueOf(prefer);
+    }
+
+    /**
+     * Parse a Range header.
+     * @return the parsed header
+     */
+    @Benchmark
+    public Range parseRange() {
+        return Range.valueOf(range);
+    }
+
+    /**
+     * Parse an Accept-Datetime header.
+     * @return the parsed header
+     */
+    @Benchmark
+    public AcceptDatetime parseAcceptDatetime() {
+        return AcceptDatetime.valueOf(acceptDatetime);
+    }
+}
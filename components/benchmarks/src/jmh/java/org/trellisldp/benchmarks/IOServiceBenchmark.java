@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.apache.commons.rdf.api.RDFSyntax.JSONLD;
+import static org.apache.commons.rdf.api.RDFSyntax.NTRIPLES;
+import static org.apache.commons.rdf.api.RDFSyntax.TURTLE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.io.JenaIOService;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.SKOS;
+
+/**
+ * Benchmarks for serializing and parsing RDF with the {@link JenaIOService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class IOServiceBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({"TURTLE", "NTRIPLES", "JSONLD"})
+    public String syntax;
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private final IOService ioService = new JenaIOService();
+    private final String base = TRELLIS_DATA_PREFIX + "resource";
+    private List<Triple> triples;
+    private RDFSyntax rdfSyntax;
+    private byte[] serialized;
+
+    /**
+     * Generate the graph and its serialization.
+     */
+    @Setup
+    public void setUp() {
+        rdfSyntax = getSyntax(syntax);
+        triples = generateTriples(base, size);
+        serialized = write();
+    }
+
+    /**
+     * Serialize a graph.
+     * @return the serialization
+     */
+    @Benchmark
+    public byte[] write() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ioService.write(triples.stream(), output, rdfSyntax);
+        return output.toByteArray();
+    }
+
+    /**
+     * Parse a graph.
+     * @return the parsed triples
+     */
+    @Benchmark
+    public List<Triple> read() {
+        return ioService.read(new ByteArrayInputStream(serialized), rdfSyntax, base).collect(toList());
+    }
+
+    static RDFSyntax getSyntax(final String name) {
+        if ("JSONLD".equals(name)) {
+            return JSONLD;
+        } else if ("NTRIPLES".equals(name)) {
+            return NTRIPLES;
+        }
+        return TURTLE;
+    }
+
+    static List<Triple> generateTriples(final String subject, final int size) {
+        final IRI identifier = rdf.createIRI(subject);
+        return range(0, size).mapToObj(i -> {
+            switch (i % 4) {
+                case 0:
+                    return rdf.createTriple(identifier, DC.title, rdf.createLiteral("Title " + i, "en"));
+                case 1:
+                    return rdf.createTriple(identifier, LDP.contains, rdf.createIRI(subject + "/child" + i));
+                case 2:
+                    return rdf.createTriple(rdf.createIRI(subject + "#concept" + i), SKOS.prefLabel,
+                            rdf.createLiteral("Label " + i));
+                default:
+                    return rdf.createTriple(identifier, DC.subject, rdf.createIRI(subject + "#concept" + (i - 1)));
+            }
+        }).collect(toList());
+    }
+}
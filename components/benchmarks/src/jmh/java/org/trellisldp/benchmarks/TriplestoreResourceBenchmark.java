@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.triplestore.TriplestoreResource;
+import org.trellisldp.triplestore.TriplestoreResourceService;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Benchmarks for fetching resources from a triplestore.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class TriplestoreResourceBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({BenchmarkUtils.MEMORY, BenchmarkUtils.TDB2})
+    public String store;
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+    private File directory;
+    private RDFConnection connection;
+
+    /**
+     * Populate the dataset.
+     */
+    @Setup
+    public void setUp() {
+        directory = BenchmarkUtils.createDirectory(store);
+        connection = BenchmarkUtils.connect(directory);
+        final TriplestoreResourceService resourceService = new TriplestoreResourceService(connection);
+        resourceService.initialize();
+        final Dataset dataset = rdf.createDataset();
+        IOServiceBenchmark.generateTriples(identifier.getIRIString(), size).forEach(triple ->
+                dataset.add(Trellis.PreferUserManaged, triple.getSubject(), triple.getPredicate(),
+                    triple.getObject()));
+        resourceService.create(Metadata.builder(identifier).interactionModel(LDP.RDFSource)
+                .container(rdf.createIRI(TRELLIS_DATA_PREFIX)).build(), dataset).toCompletableFuture().join();
+    }
+
+    /**
+     * Close the dataset.
+     */
+    @TearDown
+    public void tearDown() {
+        connection.close();
+        BenchmarkUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Fetch the resource metadata.
+     * @return the resource
+     */
+    @Benchmark
+    public Resource fetch() {
+        return TriplestoreResource.findResource(connection, identifier, false).join();
+    }
+
+    /**
+     * Fetch the resource metadata and its user-managed content.
+     * @return the content
+     */
+    @Benchmark
+    public List<Quad> fetchContent() {
+        return TriplestoreResource.findResource(connection, identifier, false)
+            .thenApply(resource -> resource.stream(Trellis.PreferUserManaged).collect(toList())).join();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.io.File;
+import java.util.Set;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.trellisldp.api.Session;
+import org.trellisldp.api.TrellisUtils;
+import org.trellisldp.http.core.HttpSession;
+import org.trellisldp.triplestore.TriplestoreResourceService;
+import org.trellisldp.webac.WebAcService;
+
+/**
+ * Benchmarks for evaluating WebAC permissions on resources whose nearest ACL is at the root of a deep
+ * container hierarchy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class WebAcServiceBenchmark {
+
+    private static final RDF rdf = TrellisUtils.getInstance();
+
+    @Param({"1", "10", "50"})
+    public int depth;
+
+    @Param({BenchmarkUtils.MEMORY, BenchmarkUtils.TDB2})
+    public String store;
+
+    private final Session session = new HttpSession(rdf.createIRI("https://example.com/user"));
+    private File directory;
+    private RDFConnection connection;
+    private WebAcService accessService;
+    private IRI identifier;
+
+    /**
+     * Create the container hierarchy.
+     */
+    @Setup
+    public void setUp() {
+        directory = BenchmarkUtils.createDirectory(store);
+        connection = BenchmarkUtils.connect(directory);
+        final TriplestoreResourceService resourceService = new TriplestoreResourceService(connection);
+        resourceService.initialize();
+        identifier = BenchmarkUtils.createHierarchy(resourceService, depth);
+        accessService = new WebAcService(resourceService);
+    }
+
+    /**
+     * Close the dataset.
+     */
+    @TearDown
+    public void tearDown() {
+        connection.close();
+        BenchmarkUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Evaluate the access modes for the most deeply nested container.
+     * @return the access modes
+     */
+    @Benchmark
+    public Set<IRI> getAccessModes() {
+        return accessService.getAccessModes(identifier, session);
+    }
+}
@@ -21,6 +21,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.dropwizard.TrellisUtils.getAuthFilters;
 import static org.trellisldp.dropwizard.TrellisUtils.getCorsConfiguration;
 import static org.trellisldp.dropwizard.TrellisUtils.getWebacService;
+import static org.trellisldp.http.core.InstrumentedServiceBundler.instrument;
 
 import io.dropwizard.Application;
 import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
@@ -32,14 +33,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
+import org.trellisldp.api.ResourceService;
 import org.trellisldp.dropwizard.config.BasicAuthConfiguration;
 import org.trellisldp.dropwizard.config.JwtAuthConfiguration;
 import org.trellisldp.dropwizard.config.TrellisConfiguration;
 import org.trellisldp.http.CacheControlFilter;
 import org.trellisldp.http.CrossOriginResourceSharingFilter;
+import org.trellisldp.http.MetricsFilter;
+import org.trellisldp.http.ServerTimingFilter;
 import org.trellisldp.http.TrellisHttpFilter;
 import org.trellisldp.http.TrellisHttpResource;
 import org.trellisldp.http.WebSubHeaderFilter;
+import org.trellisldp.http.core.InstrumentedServiceBundler;
+import org.trellisldp.http.core.MetricsService;
+import org.trellisldp.http.core.NoopMetricsService;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.webac.WebAcFilter;
 
@@ -53,6 +60,8 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
     /** The configuration key controlling whether an application should initialize its own root resource. */
     public static final String CONFIG_DROPWIZARD_INITIALIZE_ROOT = "trellis.dropwizard.initialize.root";
 
+    private MetricsService metrics = new NoopMetricsService();
+
     /**
      * Get the Trellis {@link ServiceBundler}. This object collects the various
      * Trellis services used in an application.
@@ -70,6 +79,16 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
         return emptyList();
     }
 
+    /**
+     * Get the {@link MetricsService} for the application.
+     *
+     * @implSpec By default, metrics are recorded in the Dropwizard metric registry, once the application is running.
+     * @return the metrics service
+     */
+    protected MetricsService getMetricsService() {
+        return metrics;
+    }
+
     /**
      * Get the TrellisHttpResource matcher.
      *
@@ -79,7 +98,8 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
      * @return the LDP resource matcher
      */
     protected Object getLdpComponent(final T config, final boolean initialize) throws Exception {
-        final TrellisHttpResource ldpResource = new TrellisHttpResource(getServiceBundler(), config.getBaseUrl());
+        final TrellisHttpResource ldpResource = new TrellisHttpResource(
+                new InstrumentedServiceBundler(getServiceBundler(), getMetricsService()), config.getBaseUrl());
         if (initialize) {
             ldpResource.initialize();
         }
@@ -113,6 +133,7 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
 
     @Override
     public void run(final T config, final Environment environment) throws Exception {
+        metrics = new DropwizardMetricsService(environment.metrics());
         initialize(config, environment);
 
         getAuthFilters(config).forEach(environment.jersey()::register);
@@ -123,18 +144,24 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
 
         // Filters
         environment.jersey().register(new TrellisHttpFilter());
+        environment.jersey().register(new MetricsFilter(getMetricsService()));
+        environment.jersey().register(new ServerTimingFilter());
         environment.jersey().register(new CacheControlFilter(config.getCache().getMaxAge(),
-                    config.getCache().getMustRevalidate(), config.getCache().getNoCache()));
+                    config.getCache().getMustRevalidate(), config.getCache().getNoCache(),
+                    config.getCache().getMementoMaxAge(), config.getCache().getContainerMaxAge(),
+                    config.getCache().getBinaryMaxAge(), config.getCache().getSurrogateKeys()));
 
         // Authorization
-        ofNullable(getWebacService(config, getServiceBundler().getResourceService())).ifPresent(webac -> {
+        final ResourceService resourceService = instrument(ResourceService.class,
+                getServiceBundler().getResourceService(), getMetricsService());
+        ofNullable(getWebacService(config, resourceService, getMetricsService())).ifPresent(webac -> {
             final List<String> challenges = new ArrayList<>();
             of(config.getAuth().getJwt()).filter(JwtAuthConfiguration::getEnabled).map(x -> "Bearer")
                 .ifPresent(challenges::add);
             of(config.getAuth().getBasic()).filter(BasicAuthConfiguration::getEnabled).map(x -> "Basic")
                 .ifPresent(challenges::add);
             environment.jersey().register(new WebAcFilter(webac, challenges, config.getAuth().getRealm(),
-                        config.getBaseUrl()));
+                        config.getBaseUrl(), getMetricsService()));
         });
 
         // WebSub
@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.dropwizard;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.trellisldp.http.core.MetricsService;
+
+/**
+ * A {@link MetricsService} that records metrics in a Dropwizard metric registry, so that they are
+ * exposed on the admin port.
+ *
+ * <p>Dropwizard metrics do not support tags, so the tag values are appended to the metric name.
+ * For example, a {@code trellis.http.request} timer with the tags {@code method=GET} and
+ * {@code status=200} is recorded as {@code trellis.http.request.GET.200}.
+ */
+public class DropwizardMetricsService implements MetricsService {
+
+    private final MetricRegistry registry;
+
+    /**
+     * Create a Dropwizard-based metrics service.
+     * @param registry the metric registry
+     */
+    public DropwizardMetricsService(final MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordTime(final String name, final Map<String, String> tags, final long nanos) {
+        registry.timer(getName(name, tags)).update(nanos, NANOSECONDS);
+    }
+
+    @Override
+    public void recordValue(final String name, final Map<String, String> tags, final long value) {
+        registry.histogram(getName(name, tags)).update(value);
+    }
+
+    @Override
+    public synchronized void registerGauge(final String name, final Map<String, String> tags,
+            final Supplier<? extends Number> gauge) {
+        final String metricName = getName(name, tags);
+        if (!registry.getGauges().containsKey(metricName)) {
+            registry.register(metricName, (Gauge<Number>) gauge::get);
+        }
+    }
+
+    static String getName(final String name, final Map<String, String> tags) {
+        return MetricRegistry.name(name, tags.values().toArray(new String[0]));
+    }
+}
@@ -17,6 +17,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.cache.Cache;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
@@ -31,6 +32,9 @@ import org.trellisldp.api.CacheService;
  */
 public class TrellisCache<K, V> implements CacheService<K, V> {
 
+    /** The name of the gauge for cache hit rates. */
+    public static final String HIT_RATE_GAUGE = "trellis.cache.hitRate";
+
     private static final Logger LOGGER = getLogger(TrellisCache.class);
 
     private final Cache<K, V> cache;
@@ -57,4 +61,19 @@ public class TrellisCache<K, V> implements CacheService<K, V> {
             return null;
         }
     }
+
+    @Override
+    public Optional<V> getIfPresent(final K key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Get the ratio of cache requests that were hits.
+     *
+     * @apiNote Statistics are only available if the underlying cache was built with {@code recordStats()}.
+     * @return the hit rate, between 0 and 1
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
 }
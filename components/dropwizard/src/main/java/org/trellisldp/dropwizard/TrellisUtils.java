@@ -14,6 +14,7 @@
 package org.trellisldp.dropwizard;
 
 import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.common.cache.Cache;
@@ -38,6 +39,8 @@ import org.trellisldp.dropwizard.config.AuthConfiguration;
 import org.trellisldp.dropwizard.config.CORSConfiguration;
 import org.trellisldp.dropwizard.config.JwtAuthConfiguration;
 import org.trellisldp.dropwizard.config.TrellisConfiguration;
+import org.trellisldp.http.core.MetricsService;
+import org.trellisldp.http.core.NoopMetricsService;
 import org.trellisldp.webac.WebAcService;
 
 /**
@@ -68,11 +71,18 @@ final class TrellisUtils {
 
     public static WebAcService getWebacService(final TrellisConfiguration config,
             final ResourceService resourceService) {
+        return getWebacService(config, resourceService, new NoopMetricsService());
+    }
+
+    public static WebAcService getWebacService(final TrellisConfiguration config,
+            final ResourceService resourceService, final MetricsService metrics) {
         if (config.getAuth().getWebac().getEnabled()) {
             final Cache<String, Set<IRI>> authCache = newBuilder().maximumSize(config.getAuth().getWebac()
                     .getCacheSize()).expireAfterWrite(config.getAuth().getWebac()
-                    .getCacheExpireSeconds(), SECONDS).build();
-            final WebAcService webac = new WebAcService(resourceService, new TrellisCache<>(authCache));
+                    .getCacheExpireSeconds(), SECONDS).recordStats().build();
+            final TrellisCache<String, Set<IRI>> cache = new TrellisCache<>(authCache);
+            metrics.registerGauge(TrellisCache.HIT_RATE_GAUGE, singletonMap("cache", "webac"), cache::getHitRate);
+            final WebAcService webac = new WebAcService(resourceService, cache);
             try {
                 webac.initialize();
             } catch (final Exception ex) {
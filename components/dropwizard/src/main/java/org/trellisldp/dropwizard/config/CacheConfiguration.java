@@ -26,6 +26,14 @@ public class CacheConfiguration {
 
     private boolean noCache = false;
 
+    private Integer mementoMaxAge;
+
+    private Integer containerMaxAge;
+
+    private Integer binaryMaxAge;
+
+    private boolean surrogateKeys = false;
+
     /**
      * Set the cache max-age value.
      * @param maxAge the cache max age header value
@@ -79,4 +87,80 @@ public class CacheConfiguration {
     public boolean getNoCache() {
         return noCache;
     }
+
+    /**
+     * Set the cache max-age value for Mementos.
+     * @param mementoMaxAge the cache max age header value for Mementos
+     */
+    @JsonProperty
+    public void setMementoMaxAge(final Integer mementoMaxAge) {
+        this.mementoMaxAge = mementoMaxAge;
+    }
+
+    /**
+     * Get the value of the cache max age for Mementos.
+     * @return the cache max age header value for Mementos, or, if not set, one year when caching is enabled
+     *         and the general max age otherwise
+     */
+    @JsonProperty
+    public int getMementoMaxAge() {
+        if (mementoMaxAge != null) {
+            return mementoMaxAge;
+        }
+        return maxAge > 0 && !noCache ? 31536000 : maxAge;
+    }
+
+    /**
+     * Set the cache max-age value for LDP containers.
+     * @param containerMaxAge the cache max age header value for containers
+     */
+    @JsonProperty
+    public void setContainerMaxAge(final Integer containerMaxAge) {
+        this.containerMaxAge = containerMaxAge;
+    }
+
+    /**
+     * Get the value of the cache max age for LDP containers.
+     * @return the cache max age header value for containers, or the general max age if not set
+     */
+    @JsonProperty
+    public int getContainerMaxAge() {
+        return containerMaxAge != null ? containerMaxAge : maxAge;
+    }
+
+    /**
+     * Set the cache max-age value for LDP-NRs.
+     * @param binaryMaxAge the cache max age header value for binaries
+     */
+    @JsonProperty
+    public void setBinaryMaxAge(final Integer binaryMaxAge) {
+        this.binaryMaxAge = binaryMaxAge;
+    }
+
+    /**
+     * Get the value of the cache max age for LDP-NRs.
+     * @return the cache max age header value for binaries, or the general max age if not set
+     */
+    @JsonProperty
+    public int getBinaryMaxAge() {
+        return binaryMaxAge != null ? binaryMaxAge : maxAge;
+    }
+
+    /**
+     * Set whether to add Surrogate-Key and Cache-Tag headers.
+     * @param surrogateKeys true if surrogate keys are to be added
+     */
+    @JsonProperty
+    public void setSurrogateKeys(final boolean surrogateKeys) {
+        this.surrogateKeys = surrogateKeys;
+    }
+
+    /**
+     * Get whether to add Surrogate-Key and Cache-Tag headers.
+     * @return true if surrogate keys are to be added
+     */
+    @JsonProperty
+    public boolean getSurrogateKeys() {
+        return surrogateKeys;
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.dropwizard;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.trellisldp.http.core.MetricsService;
+
+class DropwizardMetricsServiceTest {
+
+    @Test
+    void testRecordTime() {
+        final MetricRegistry registry = new MetricRegistry();
+        final MetricsService metrics = new DropwizardMetricsService(registry);
+        final Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("method", "GET");
+        tags.put("status", "200");
+        metrics.recordTime("trellis.http.request", tags, 1000L);
+        metrics.recordTime("trellis.http.request", tags, 3000L);
+        assertEquals(2L, registry.timer("trellis.http.request.GET.200").getCount(), "Incorrect timer count!");
+    }
+
+    @Test
+    void testRecordValue() {
+        final MetricRegistry registry = new MetricRegistry();
+        final MetricsService metrics = new DropwizardMetricsService(registry);
+        metrics.recordValue("trellis.io.write.bytes", singletonMap("syntax", "TURTLE"), 512L);
+        assertEquals(512L, registry.histogram("trellis.io.write.bytes.TURTLE").getSnapshot().getMax(),
+                "Incorrect histogram value!");
+    }
+
+    @Test
+    void testRegisterGauge() {
+        final MetricRegistry registry = new MetricRegistry();
+        final MetricsService metrics = new DropwizardMetricsService(registry);
+        metrics.registerGauge("trellis.cache.hitRate", emptyMap(), () -> 0.5);
+        metrics.registerGauge("trellis.cache.hitRate", emptyMap(), () -> 0.25);
+        assertEquals(0.5, registry.getGauges().get("trellis.cache.hitRate").getValue(), "Incorrect gauge value!");
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.dropwizard;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.triplestore.TriplestoreResourceService.buildRDFConnection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.trellisldp.api.DefaultIdentifierService;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.api.NoopEventService;
+import org.trellisldp.api.NoopMementoService;
+import org.trellisldp.api.NoopNamespaceService;
+import org.trellisldp.app.BaseServiceBundler;
+import org.trellisldp.app.DefaultConstraintServices;
+import org.trellisldp.audit.DefaultAuditService;
+import org.trellisldp.constraint.LdpConstraintService;
+import org.trellisldp.file.FileBinaryService;
+import org.trellisldp.http.core.DefaultTimemapGenerator;
+import org.trellisldp.io.JenaIOService;
+import org.trellisldp.io.NoopProfileCache;
+import org.trellisldp.test.InMemoryBinaryService;
+import org.trellisldp.test.InMemoryResourceService;
+import org.trellisldp.triplestore.TriplestoreResourceService;
+import org.trellisldp.vocabulary.ACL;
+import org.trellisldp.vocabulary.FOAF;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * A service bundler for load testing, with configurable persistence backends.
+ *
+ * <p>The {@value #CONFIG_LOAD_RESOURCES} property selects the resource backend: {@code memory} (the default) or
+ * {@code tdb2}. The {@value #CONFIG_LOAD_BINARIES} property selects the binary backend: {@code file} (the default)
+ * or {@code memory}. Persistent backends are created in a temporary directory.
+ */
+public class LoadTestServiceBundler extends BaseServiceBundler {
+
+    public static final String CONFIG_LOAD_RESOURCES = "trellis.test.load.resources";
+    public static final String CONFIG_LOAD_BINARIES = "trellis.test.load.binaries";
+
+    private static final RDF rdf = getInstance();
+    private static final String MEMORY = "memory";
+
+    LoadTestServiceBundler() {
+        if (MEMORY.equals(getConfig().getOptionalValue(CONFIG_LOAD_RESOURCES, String.class).orElse(MEMORY))) {
+            resourceService = buildInMemoryResourceService();
+        } else {
+            final TriplestoreResourceService triplestoreService
+                = new TriplestoreResourceService(buildRDFConnection(createTempDirectory("resources")));
+            triplestoreService.initialize();
+            resourceService = triplestoreService;
+        }
+        if (MEMORY.equals(getConfig().getOptionalValue(CONFIG_LOAD_BINARIES, String.class).orElse("file"))) {
+            binaryService = new InMemoryBinaryService();
+        } else {
+            binaryService = new FileBinaryService(new DefaultIdentifierService(), createTempDirectory("binaries"),
+                    2, 2);
+        }
+        auditService = new DefaultAuditService();
+        mementoService = new NoopMementoService();
+        eventService = new NoopEventService();
+        timemapGenerator = new DefaultTimemapGenerator();
+        constraintServices = new DefaultConstraintServices(singletonList(new LdpConstraintService()));
+        ioService = new JenaIOService(new NoopNamespaceService(), null, new NoopProfileCache(),
+                emptySet(), emptySet());
+    }
+
+    private static InMemoryResourceService buildInMemoryResourceService() {
+        final InMemoryResourceService service = new InMemoryResourceService();
+        final IRI root = rdf.createIRI(TRELLIS_DATA_PREFIX);
+        final IRI auth = rdf.createIRI(TRELLIS_DATA_PREFIX + "#auth");
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.mode, ACL.Read);
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.mode, ACL.Write);
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.mode, ACL.Control);
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.agentClass, FOAF.Agent);
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.accessTo, root);
+        dataset.add(Trellis.PreferAccessControl, auth, ACL.default_, root);
+        service.create(Metadata.builder(root).interactionModel(LDP.BasicContainer).build(), dataset)
+            .toCompletableFuture().join();
+        return service;
+    }
+
+    private static String createTempDirectory(final String prefix) {
+        try {
+            return Files.createTempDirectory("trellis-load-" + prefix).toString();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Could not create a temporary directory", ex);
+        }
+    }
+}
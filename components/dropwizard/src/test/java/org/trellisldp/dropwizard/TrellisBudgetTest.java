@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.dropwizard;
+
+import static io.dropwizard.testing.ResourceHelpers.resourceFilePath;
+import static org.glassfish.jersey.client.ClientProperties.CONNECT_TIMEOUT;
+import static org.glassfish.jersey.client.ClientProperties.READ_TIMEOUT;
+
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.testing.DropwizardTestSupport;
+
+import javax.ws.rs.client.Client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.trellisldp.dropwizard.config.TrellisConfiguration;
+import org.trellisldp.test.AbstractApplicationBudgetTests;
+import org.trellisldp.test.CountingServiceBundler;
+
+/**
+ * Backend call budget tests for Trellis.
+ */
+class TrellisBudgetTest extends AbstractApplicationBudgetTests {
+
+    private static final String JWT_KEY
+        = "Te9q+frJ56y1m5hRDA7o6dSmA/MK9fdEMsMbLNtuKgL7rLe/BrLxWrm6Lnysgme/NzQ8q6FsYXcYsuNYqXkYIg==";
+
+    private final DropwizardTestSupport<TrellisConfiguration> app
+        = new DropwizardTestSupport<>(CountingTrellisApp.class, resourceFilePath("trellis-config.yml"));
+
+    private Client client;
+
+    @Override
+    @BeforeAll
+    protected void setUp() {
+        app.before();
+        client = new JerseyClientBuilder(app.getEnvironment()).build("budget test client");
+        client.property(CONNECT_TIMEOUT, 10000);
+        client.property(READ_TIMEOUT, 12000);
+        super.setUp();
+    }
+
+    @AfterAll
+    void stopServer() {
+        app.after();
+    }
+
+    @Override
+    public CountingServiceBundler getServiceBundler() {
+        return ((CountingTrellisApp) app.getApplication()).getServiceBundler();
+    }
+
+    @Override
+    public Client getClient() {
+        return client;
+    }
+
+    @Override
+    public String getBaseURL() {
+        return "http://localhost:" + app.getLocalPort() + "/";
+    }
+
+    @Override
+    public String getJwtSecret() {
+        return JWT_KEY;
+    }
+
+    @Override
+    public String getAdminWebId() {
+        return "https://admin.example.com/profile#me";
+    }
+}
@@ -46,6 +46,23 @@ class TrellisCacheTest {
         assertEquals("longer", cache.get("long", x -> x + "er"), "Incorrect cache response!");
     }
 
+    @Test
+    void testCacheGetIfPresent() {
+        final TrellisCache<String, String> cache = new TrellisCache<>(newBuilder().maximumSize(5).build());
+        assertFalse(cache.getIfPresent("long").isPresent(), "Unexpected cached value!");
+        cache.get("long", x -> x + "er");
+        assertEquals("longer", cache.getIfPresent("long").orElse(null), "Incorrect cached value!");
+    }
+
+    @Test
+    void testCacheHitRate() {
+        final TrellisCache<String, String> cache = new TrellisCache<>(newBuilder().maximumSize(5).recordStats()
+                .build());
+        cache.get("long", x -> x + "er");
+        cache.get("long", x -> x + "er");
+        assertEquals(0.5, cache.getHitRate(), 0.001, "Incorrect hit rate!");
+    }
+
     @Test
     void testCacheException() {
         final TrellisCache<String, String> cache = new TrellisCache<>(mockCache);
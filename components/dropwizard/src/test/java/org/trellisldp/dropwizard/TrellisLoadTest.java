@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.dropwizard;
+
+import static io.dropwizard.testing.ResourceHelpers.resourceFilePath;
+import static org.glassfish.jersey.client.ClientProperties.CONNECT_TIMEOUT;
+import static org.glassfish.jersey.client.ClientProperties.READ_TIMEOUT;
+
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.testing.DropwizardTestSupport;
+
+import javax.ws.rs.client.Client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.trellisldp.dropwizard.config.TrellisConfiguration;
+import org.trellisldp.test.AbstractApplicationLoadTests;
+
+/**
+ * Load tests for Trellis, run through an embedded server.
+ *
+ * <p>These tests only run when the {@code trellis.test.load} system property is {@code true}, for example with
+ * {@code ./gradlew :trellis-dropwizard:test -Ptrellis.test.load=true -Ptrellis.test.load.resources=tdb2}. See
+ * {@link AbstractApplicationLoadTests} and {@link LoadTestServiceBundler} for the available settings.
+ */
+@EnabledIfSystemProperty(named = "trellis.test.load", matches = "true")
+class TrellisLoadTest extends AbstractApplicationLoadTests {
+
+    private static final String JWT_KEY
+        = "Te9q+frJ56y1m5hRDA7o6dSmA/MK9fdEMsMbLNtuKgL7rLe/BrLxWrm6Lnysgme/NzQ8q6FsYXcYsuNYqXkYIg==";
+
+    private final DropwizardTestSupport<TrellisConfiguration> app
+        = new DropwizardTestSupport<>(LoadTestTrellisApp.class, resourceFilePath("trellis-config.yml"));
+
+    private Client client;
+
+    @Override
+    @BeforeAll
+    protected void setUp() {
+        app.before();
+        final JerseyClientConfiguration config = new JerseyClientConfiguration();
+        config.setMaxThreads(64);
+        config.setMaxConnectionsPerRoute(64);
+        client = new JerseyClientBuilder(app.getEnvironment()).using(config).build("load test client");
+        client.property(CONNECT_TIMEOUT, 10000);
+        client.property(READ_TIMEOUT, 60000);
+        super.setUp();
+    }
+
+    @AfterAll
+    void stopServer() {
+        app.after();
+    }
+
+    @Override
+    public Client getClient() {
+        return client;
+    }
+
+    @Override
+    public String getBaseURL() {
+        return "http://localhost:" + app.getLocalPort() + "/";
+    }
+
+    @Override
+    public String getJwtSecret() {
+        return JWT_KEY;
+    }
+
+    @Override
+    public String getAdminWebId() {
+        return "https://admin.example.com/profile#me";
+    }
+}
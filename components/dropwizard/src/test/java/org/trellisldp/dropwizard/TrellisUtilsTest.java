@@ -22,6 +22,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import com.codahale.metrics.MetricRegistry;
+
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
@@ -44,6 +46,7 @@ import org.trellisldp.auth.oauth.JwksAuthenticator;
 import org.trellisldp.auth.oauth.JwtAuthenticator;
 import org.trellisldp.auth.oauth.NullAuthenticator;
 import org.trellisldp.dropwizard.config.TrellisConfiguration;
+import org.trellisldp.http.core.MetricsService;
 
 /**
  * @author acoburn
@@ -109,6 +112,28 @@ class TrellisUtilsTest {
                 "WebAC config persists after disabling it!");
     }
 
+    @Test
+    void testGetWebacServiceMetrics() throws Exception {
+        final TrellisConfiguration config = new YamlConfigurationFactory<>(TrellisConfiguration.class,
+                Validators.newValidator(), Jackson.newMinimalObjectMapper(), "")
+            .build(new File(getClass().getResource("/config1.yml").toURI()));
+
+        when(mockResourceService.get(any())).thenAnswer(inv -> completedFuture(mockResource));
+        when(mockResource.hasAcl()).thenReturn(true);
+
+        final MetricRegistry registry = new MetricRegistry();
+        final MetricsService metrics = new DropwizardMetricsService(registry);
+        assertNotNull(TrellisUtils.getWebacService(config, mockResourceService, metrics),
+                "WebAC configuration not present!");
+        assertTrue(registry.getGauges().containsKey("trellis.cache.hitRate.webac"), "Missing cache gauge!");
+
+        config.getAuth().getWebac().setEnabled(false);
+        final MetricRegistry disabled = new MetricRegistry();
+        assertNull(TrellisUtils.getWebacService(config, mockResourceService, new DropwizardMetricsService(disabled)),
+                "WebAC config persists after disabling it!");
+        assertTrue(disabled.getGauges().isEmpty(), "Unexpected cache gauge when WebAC is disabled!");
+    }
+
     @Test
     void testGetAuthFilters() throws Exception {
         final TrellisConfiguration config = new YamlConfigurationFactory<>(TrellisConfiguration.class,
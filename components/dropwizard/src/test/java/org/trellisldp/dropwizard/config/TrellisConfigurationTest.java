@@ -43,6 +43,18 @@ class TrellisConfigurationTest {
         assertEquals(86400, config.getCache().getMaxAge(), "Incorrect cache/maxAge value!");
         assertFalse(config.getCache().getNoCache(), "Unexpected cache/noCache value!");
         assertTrue(config.getCache().getMustRevalidate(), "Missing cache/mustRevalidate value!");
+        assertEquals(31536000, config.getCache().getMementoMaxAge(), "Incorrect cache/mementoMaxAge value!");
+        assertEquals(86400, config.getCache().getContainerMaxAge(), "Incorrect cache/containerMaxAge value!");
+        assertEquals(86400, config.getCache().getBinaryMaxAge(), "Incorrect cache/binaryMaxAge value!");
+        assertFalse(config.getCache().getSurrogateKeys(), "Unexpected cache/surrogateKeys value!");
+
+        config.getCache().setNoCache(true);
+        assertEquals(86400, config.getCache().getMementoMaxAge(), "Incorrect no-cache cache/mementoMaxAge value!");
+        config.getCache().setNoCache(false);
+        config.getCache().setMaxAge(0);
+        assertEquals(0, config.getCache().getMementoMaxAge(), "Incorrect disabled cache/mementoMaxAge value!");
+        config.getCache().setMementoMaxAge(60);
+        assertEquals(60, config.getCache().getMementoMaxAge(), "Incorrect explicit cache/mementoMaxAge value!");
 
         // JSON-LD tests
         assertEquals(48L, config.getJsonld().getCacheExpireHours(), "Incorrect jsonld/cacheExpireHours");
@@ -30,5 +30,5 @@ module org.trellisldp.file {
     provides org.trellisldp.api.BinaryService
         with org.trellisldp.file.FileBinaryService;
     provides org.trellisldp.api.MementoService
-        with org.trellisldp.file.FileMementoService;
+        with org.trellisldp.file.FileMementoService, org.trellisldp.file.PackedMementoService;
 }
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Stream.concat;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.trellisldp.api.Resource;
+
+/**
+ * Binary Memento files.
+ *
+ * <p>A binary Memento file consists of a header followed by two sections, each encoded as RDF Thrift:
+ * the server-managed metadata of the resource and then its other quads. The header records the length
+ * of the metadata section, so that the metadata of a Memento can be read without decoding its content.
+ * Files are memory-mapped when read, and the content section is only decoded when the quads of the
+ * Memento are streamed.
+ */
+final class BinaryMemento {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private static final int MAGIC = 0x54524D42;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 12;
+
+    /**
+     * Write a Memento as a binary file.
+     * @param file the file
+     * @param resource the resource
+     */
+    static void write(final File file, final Resource resource) {
+        final ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        encode(metadata, FileUtils.generateServerManaged(resource));
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        newOutputStream(file.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(metadata.size());
+            metadata.writeTo(out);
+            try (final Stream<Quad> quads = resource.stream().filter(FileUtils::notServerManaged)) {
+                encode(out, quads);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                    "Error writing resource version for " + resource.getIdentifier().getIRIString(), ex);
+        }
+    }
+
+    /**
+     * Read a Memento from a binary file.
+     * @param identifier the resource identifier
+     * @param file the file
+     * @return the resource
+     */
+    static Resource read(final IRI identifier, final File file) {
+        final ByteBuffer[] sections = open(file);
+        return new FileResource(identifier, () -> decode(sections[0]),
+                () -> concat(decode(sections[0]), decode(sections[1])));
+    }
+
+    /**
+     * Read all quads from a binary Memento file, server-managed quads first.
+     * @param file the file
+     * @return the quads
+     */
+    static Stream<Quad> readQuads(final File file) {
+        final ByteBuffer[] sections = open(file);
+        return concat(decode(sections[0]), decode(sections[1]));
+    }
+
+    private static ByteBuffer[] open(final File file) {
+        final ByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            buffer = channel.map(READ_ONLY, 0, channel.size());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error reading Memento file " + file, ex);
+        }
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new UncheckedIOException(new IOException("Invalid binary Memento file " + file));
+        }
+        final int metadataLength = buffer.getInt();
+        if (metadataLength < 0 || metadataLength > buffer.remaining()) {
+            throw new UncheckedIOException(new IOException("Truncated binary Memento file " + file));
+        }
+        final int contentStart = buffer.position() + metadataLength;
+        return new ByteBuffer[] {slice(buffer, buffer.position(), contentStart),
+            slice(buffer, contentStart, buffer.limit())};
+    }
+
+    private static ByteBuffer slice(final ByteBuffer buffer, final int from, final int to) {
+        final ByteBuffer section = buffer.duplicate();
+        section.limit(to);
+        section.position(from);
+        return section.slice();
+    }
+
+    private static void encode(final OutputStream out, final Stream<Quad> quads) {
+        final StreamRDF writer = StreamRDFWriter.getWriterStream(out, RDFFormat.RDF_THRIFT);
+        writer.start();
+        quads.map(rdf::asJenaQuad).forEach(writer::quad);
+        writer.finish();
+    }
+
+    private static Stream<Quad> decode(final ByteBuffer section) {
+        final List<Quad> quads = new ArrayList<>();
+        RDFDataMgr.parse(new StreamRDFBase() {
+            @Override
+            public void quad(final org.apache.jena.sparql.core.Quad quad) {
+                quads.add(rdf.asQuad(quad));
+            }
+        }, new ByteBufferInputStream(section.duplicate()), Lang.RDFTHRIFT);
+        return quads.stream();
+    }
+
+    /**
+     * An input stream that reads from a byte buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private BinaryMemento() {
+        // prevent instantiation
+    }
+}
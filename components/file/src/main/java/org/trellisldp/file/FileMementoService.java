@@ -13,20 +13,41 @@
  */
 package org.trellisldp.file;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Instant.now;
 import static java.time.temporal.ChronoUnit.SECONDS;
-import static java.util.Collections.emptySortedSet;
-import static java.util.Collections.unmodifiableSortedSet;
+import static java.util.Collections.unmodifiableNavigableSet;
+import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
 
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Stream;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -34,6 +55,7 @@ import javax.inject.Inject;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.slf4j.Logger;
 import org.trellisldp.api.MementoService;
@@ -48,16 +70,44 @@ public class FileMementoService implements MementoService {
     /** The configuration key controlling the base filesystem path for memento storage. */
     public static final String CONFIG_FILE_MEMENTO_BASE_PATH = "trellis.file.memento.basepath";
 
+    /**
+     * The configuration key controlling how often a full snapshot of a resource is stored. Other Mementos are
+     * stored as the changes from the previous version. A value of 1 (the default) stores every Memento in full.
+     */
+    public static final String CONFIG_FILE_MEMENTO_SNAPSHOT_INTERVAL = "trellis.file.memento.snapshotinterval";
+
+    /**
+     * The configuration key controlling whether Memento snapshots are stored in a binary encoding, which separates
+     * the server-managed metadata of a Memento from its content. By default, snapshots are stored as NQuads.
+     */
+    public static final String CONFIG_FILE_MEMENTO_BINARY = "trellis.file.memento.binary";
+
     private static final Logger LOGGER = getLogger(FileMementoService.class);
+    private static final String ADD = "A ";
+    private static final String DELETE = "D ";
+
+    private static final int RESOURCE_DIRECTORY_LENGTH = 32;
+    private static final int LOCK_STRIPES = 64;
 
     private final File directory;
+    private final int snapshotInterval;
+    private final MementoRetentionPolicy policy;
+    private final boolean binary;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private Stream<Path> pruneStream;
+    private Iterator<Path> pruneCursor;
 
     /**
      * Create a file-based memento service.
      */
     @Inject
     public FileMementoService() {
-        this(ConfigProvider.getConfig().getValue(CONFIG_FILE_MEMENTO_BASE_PATH, String.class));
+        this(ConfigProvider.getConfig().getValue(CONFIG_FILE_MEMENTO_BASE_PATH, String.class),
+                ConfigProvider.getConfig().getOptionalValue(CONFIG_FILE_MEMENTO_SNAPSHOT_INTERVAL, Integer.class)
+                    .orElse(1), MementoRetentionPolicy.fromConfig(ConfigProvider.getConfig()),
+                ConfigProvider.getConfig().getOptionalValue(CONFIG_FILE_MEMENTO_BINARY, Boolean.class)
+                    .orElse(Boolean.FALSE));
     }
 
     /**
@@ -65,9 +115,47 @@ public class FileMementoService implements MementoService {
      * @param path the file path
      */
     public FileMementoService(final String path) {
+        this(path, 1);
+    }
+
+    /**
+     * Create a file-based memento service.
+     * @param path the file path
+     * @param snapshotInterval the number of consecutive versions between full snapshots of a resource
+     */
+    public FileMementoService(final String path, final int snapshotInterval) {
+        this(path, snapshotInterval, MementoRetentionPolicy.builder().build());
+    }
+
+    /**
+     * Create a file-based memento service.
+     * @param path the file path
+     * @param snapshotInterval the number of consecutive versions between full snapshots of a resource
+     * @param policy the policy controlling Memento capture and retention
+     */
+    public FileMementoService(final String path, final int snapshotInterval, final MementoRetentionPolicy policy) {
+        this(path, snapshotInterval, policy, false);
+    }
+
+    /**
+     * Create a file-based memento service.
+     * @param path the file path
+     * @param snapshotInterval the number of consecutive versions between full snapshots of a resource
+     * @param policy the policy controlling Memento capture and retention
+     * @param binary whether to store snapshots in a binary encoding
+     */
+    public FileMementoService(final String path, final int snapshotInterval, final MementoRetentionPolicy policy,
+            final boolean binary) {
         LOGGER.info("Storing Mementos as files at {}", path);
         this.directory = new File(path);
+        this.snapshotInterval = snapshotInterval;
+        this.policy = requireNonNull(policy, "The retention policy may not be null!");
+        this.binary = binary;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
         init();
+        policy.getPruneInterval().ifPresent(this::schedulePruner);
     }
 
     @Override
@@ -84,40 +172,67 @@ public class FileMementoService implements MementoService {
     public CompletionStage<Void> put(final Resource resource, final Instant time) {
         return runAsync(() -> {
             final File resourceDir = FileUtils.getResourceDirectory(directory, resource.getIdentifier());
-            if (!resourceDir.exists()) {
-                resourceDir.mkdirs();
+            synchronized (getLock(resourceDir)) {
+                putVersion(resourceDir, resource, time);
             }
-            FileUtils.writeMemento(resourceDir, resource, time.truncatedTo(SECONDS));
         });
     }
 
+    private void putVersion(final File resourceDir, final Resource resource, final Instant time) {
+        if (!resourceDir.exists()) {
+            resourceDir.mkdirs();
+        }
+        final Instant mementoTime = time.truncatedTo(SECONDS);
+        if (snapshotInterval <= 1 && !policy.isEnabled()) {
+            writeSnapshot(resourceDir, resource, mementoTime);
+            return;
+        }
+        final NavigableSet<Instant> versions = listMementos(resourceDir);
+        if (!policy.shouldCapture(versions, mementoTime)) {
+            LOGGER.debug("Skipping Memento of {} at {}", resource.getIdentifier(), mementoTime);
+            return;
+        }
+        // Later versions may be stored relative to the one being replaced
+        materializeNext(resourceDir, versions, mementoTime);
+        final Instant previous = versions.lower(mementoTime);
+        if (previous != null && versions.higher(mementoTime) == null
+                && countDeltas(resourceDir, versions, previous) + 1 < snapshotInterval) {
+            writeDelta(resourceDir, resource, versions, previous, mementoTime);
+        } else {
+            writeSnapshot(resourceDir, resource, mementoTime);
+        }
+        versions.add(mementoTime);
+        pruneVersions(resourceDir, versions);
+    }
+
     @Override
     public CompletionStage<Resource> get(final IRI identifier, final Instant time) {
         return supplyAsync(() -> {
             final Instant mementoTime = time.truncatedTo(SECONDS);
             final File resourceDir = FileUtils.getResourceDirectory(directory, identifier);
-            final File file = FileUtils.getNquadsFile(resourceDir, mementoTime);
-            if (file.exists()) {
-                return new FileResource(identifier, file);
+            final Optional<Resource> snapshot = readSnapshot(identifier, resourceDir, mementoTime);
+            if (snapshot.isPresent()) {
+                return snapshot.get();
             }
-            final SortedSet<Instant> allMementos = listMementos(identifier);
+            final NavigableSet<Instant> allMementos = listMementos(resourceDir);
             if (allMementos.isEmpty()) {
                 return MISSING_RESOURCE;
             }
-            final SortedSet<Instant> possible = allMementos.headSet(mementoTime);
-            if (possible.isEmpty()) {
+            final Instant possible = allMementos.floor(mementoTime);
+            if (possible == null) {
                 // In this case, the requested Memento is earlier than the set of all existing Mementos.
                 // Based on RFC 7089, Section 4.5.3 https://tools.ietf.org/html/rfc7089#section-4.5.3
                 // the first extant memento should therefore be returned.
-                return new FileResource(identifier, FileUtils.getNquadsFile(resourceDir, allMementos.first()));
+                return getVersion(identifier, resourceDir, allMementos, allMementos.first());
             }
-            return new FileResource(identifier, FileUtils.getNquadsFile(resourceDir, possible.last()));
+            return getVersion(identifier, resourceDir, allMementos, possible);
         });
     }
 
     @Override
     public CompletionStage<SortedSet<Instant>> mementos(final IRI identifier) {
-        return supplyAsync(() -> listMementos(identifier));
+        return supplyAsync(() ->
+                unmodifiableNavigableSet(listMementos(FileUtils.getResourceDirectory(directory, identifier))));
     }
 
     /**
@@ -130,32 +245,240 @@ public class FileMementoService implements MementoService {
     public CompletionStage<Void> delete(final IRI identifier, final Instant time) {
         return runAsync(() -> {
             final File resourceDir = FileUtils.getResourceDirectory(directory, identifier);
-            final File file = FileUtils.getNquadsFile(resourceDir, time.truncatedTo(SECONDS));
-            if (FileUtils.uncheckedDeleteIfExists(file.toPath())) {
-                LOGGER.debug("Deleted Memento {} at {}", identifier, file);
+            final Instant mementoTime = time.truncatedTo(SECONDS);
+            synchronized (getLock(resourceDir)) {
+                if (deleteVersion(resourceDir, listMementos(resourceDir), mementoTime)) {
+                    LOGGER.debug("Deleted Memento {} at {}", identifier, mementoTime);
+                }
             }
         });
     }
 
+    /**
+     * Apply the retention policy to the Mementos of a batch of resources.
+     *
+     * <p>Successive calls resume with the resource following the last one examined, starting over once all
+     * resources have been examined.
+     *
+     * @param batchSize the maximum number of resources to examine
+     * @return the number of resources examined
+     */
+    public synchronized int pruneBatch(final int batchSize) {
+        if (pruneCursor == null || !pruneCursor.hasNext()) {
+            if (pruneStream != null) {
+                pruneStream.close();
+            }
+            try {
+                pruneStream = Files.walk(directory.toPath(), FileUtils.MAX + 1).filter(Files::isDirectory)
+                    .filter(path -> path.getFileName().toString().length() == RESOURCE_DIRECTORY_LENGTH);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error listing Memento directories", ex);
+            }
+            pruneCursor = pruneStream.iterator();
+        }
+        int count = 0;
+        while (count < batchSize && pruneCursor.hasNext()) {
+            final File resourceDir = pruneCursor.next().toFile();
+            synchronized (getLock(resourceDir)) {
+                pruneVersions(resourceDir, listMementos(resourceDir));
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /*
+     * All changes to the Mementos of a resource are serialized, since a change to one version
+     * may rewrite the version stored after it. The locks are striped by resource directory.
+     */
+    private Object getLock(final File resourceDir) {
+        return locks[Math.floorMod(resourceDir.getName().hashCode(), LOCK_STRIPES)];
+    }
+
     private void init() {
         if (!directory.exists()) {
             directory.mkdirs();
         }
     }
 
-    private SortedSet<Instant> listMementos(final IRI identifier) {
-        final File resourceDir = FileUtils.getResourceDirectory(directory, identifier);
+    private void schedulePruner(final Duration interval) {
+        final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "trellis-memento-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                LOGGER.debug("Pruned Mementos of {} resources", pruneBatch(policy.getPruneBatchSize()));
+            } catch (final RuntimeException ex) {
+                LOGGER.warn("Error pruning Mementos: {}", ex.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), MILLISECONDS);
+    }
+
+    private void pruneVersions(final File resourceDir, final NavigableSet<Instant> versions) {
+        for (final Instant time : policy.getExpired(versions, now())) {
+            deleteVersion(resourceDir, versions, time);
+        }
+    }
+
+    private static boolean deleteVersion(final File resourceDir, final NavigableSet<Instant> versions,
+            final Instant time) {
+        if (!versions.contains(time)) {
+            return false;
+        }
+        // The next version may be stored relative to this one
+        materializeNext(resourceDir, versions, time);
+        deleteSnapshot(resourceDir, time);
+        FileUtils.uncheckedDeleteIfExists(FileUtils.getDeltaFile(resourceDir, time).toPath());
+        versions.remove(time);
+        return true;
+    }
+
+    private void writeSnapshot(final File resourceDir, final Resource resource, final Instant time) {
+        if (binary) {
+            BinaryMemento.write(FileUtils.getBinaryFile(resourceDir, time), resource);
+            FileUtils.uncheckedDeleteIfExists(FileUtils.getNquadsFile(resourceDir, time).toPath());
+        } else {
+            FileUtils.writeMemento(resourceDir, resource, time);
+            FileUtils.uncheckedDeleteIfExists(FileUtils.getBinaryFile(resourceDir, time).toPath());
+        }
+        FileUtils.uncheckedDeleteIfExists(FileUtils.getDeltaFile(resourceDir, time).toPath());
+    }
+
+    private static void deleteSnapshot(final File resourceDir, final Instant time) {
+        FileUtils.uncheckedDeleteIfExists(FileUtils.getNquadsFile(resourceDir, time).toPath());
+        FileUtils.uncheckedDeleteIfExists(FileUtils.getBinaryFile(resourceDir, time).toPath());
+    }
+
+    private static Optional<Resource> readSnapshot(final IRI identifier, final File resourceDir, final Instant time) {
+        final File binaryFile = FileUtils.getBinaryFile(resourceDir, time);
+        if (binaryFile.exists()) {
+            return Optional.of(BinaryMemento.read(identifier, binaryFile));
+        }
+        final File file = FileUtils.getNquadsFile(resourceDir, time);
+        if (file.exists()) {
+            return Optional.of(new FileResource(identifier, file));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<List<String>> readSnapshotLines(final File resourceDir, final Instant time) {
+        final File binaryFile = FileUtils.getBinaryFile(resourceDir, time);
+        if (binaryFile.exists()) {
+            try (final Stream<Quad> quads = BinaryMemento.readQuads(binaryFile)) {
+                return Optional.of(quads.map(FileUtils::serializeQuad).collect(toList()));
+            }
+        }
+        final File file = FileUtils.getNquadsFile(resourceDir, time);
+        if (file.exists()) {
+            return Optional.of(readLines(file));
+        }
+        return Optional.empty();
+    }
+
+    private static NavigableSet<Instant> listMementos(final File resourceDir) {
+        final NavigableSet<Instant> instants = new TreeSet<>();
         if (!resourceDir.exists()) {
-            return emptySortedSet();
+            return instants;
         }
 
-        final SortedSet<Instant> instants = new TreeSet<>();
         try (final Stream<Path> files = FileUtils.uncheckedList(resourceDir.toPath())) {
-            files.map(Path::toString).filter(path -> path.endsWith(".nq")).map(FilenameUtils::getBaseName)
-                .map(Long::parseLong).map(Instant::ofEpochSecond).map(t -> t.truncatedTo(SECONDS))
-                .forEach(instants::add);
+            files.map(Path::toString).filter(path -> path.endsWith(".nq") || path.endsWith(".bin")
+                    || path.endsWith(".delta"))
+                .map(FilenameUtils::getBaseName).map(Long::parseLong).map(Instant::ofEpochSecond)
+                .map(t -> t.truncatedTo(SECONDS)).forEach(instants::add);
+        }
+
+        return instants;
+    }
+
+    private static Resource getVersion(final IRI identifier, final File resourceDir,
+            final NavigableSet<Instant> versions, final Instant time) {
+        final Optional<Resource> snapshot = readSnapshot(identifier, resourceDir, time);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+        final Set<String> lines = rebuild(resourceDir, versions, time);
+        return new FileResource(identifier, () -> lines.stream().flatMap(FileUtils::parseQuad));
+    }
+
+    /*
+     * Rebuild a version by replaying the deltas recorded since the nearest preceding snapshot.
+     */
+    private static Set<String> rebuild(final File resourceDir, final NavigableSet<Instant> versions,
+            final Instant time) {
+        final Deque<File> deltas = new ArrayDeque<>();
+        for (final Instant version : versions.headSet(time, true).descendingSet()) {
+            final Optional<List<String>> snapshot = readSnapshotLines(resourceDir, version);
+            if (snapshot.isPresent()) {
+                final Set<String> lines = new LinkedHashSet<>(snapshot.get());
+                while (!deltas.isEmpty()) {
+                    for (final String line : readLines(deltas.pop())) {
+                        if (line.startsWith(DELETE)) {
+                            lines.remove(line.substring(DELETE.length()));
+                        } else if (line.startsWith(ADD)) {
+                            lines.add(line.substring(ADD.length()));
+                        }
+                    }
+                }
+                return lines;
+            }
+            deltas.push(FileUtils.getDeltaFile(resourceDir, version));
+        }
+        throw new UncheckedIOException(new FileNotFoundException("No Memento snapshot found at " + resourceDir));
+    }
+
+    private static int countDeltas(final File resourceDir, final NavigableSet<Instant> versions,
+            final Instant time) {
+        int count = 0;
+        for (final Instant version : versions.headSet(time, true).descendingSet()) {
+            if (!FileUtils.getDeltaFile(resourceDir, version).exists()) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeDelta(final File resourceDir, final Resource resource,
+            final NavigableSet<Instant> versions, final Instant previous, final Instant time) {
+        final Set<String> original = rebuild(resourceDir, versions, previous);
+        final Set<String> updated;
+        try (final Stream<String> lines = FileUtils.serializeMemento(resource)) {
+            updated = lines.collect(toCollection(LinkedHashSet::new));
+        }
+        final List<String> delta = new ArrayList<>();
+        original.stream().filter(line -> !updated.contains(line)).map(DELETE::concat).forEach(delta::add);
+        updated.stream().filter(line -> !original.contains(line)).map(ADD::concat).forEach(delta::add);
+        try {
+            Files.write(FileUtils.getDeltaFile(resourceDir, time).toPath(), delta, UTF_8);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                    "Error writing resource version for " + resource.getIdentifier().getIRIString(), ex);
         }
+        deleteSnapshot(resourceDir, time);
+    }
+
+    private static void materializeNext(final File resourceDir, final NavigableSet<Instant> versions,
+            final Instant time) {
+        final Instant next = versions.higher(time);
+        if (next != null && FileUtils.getDeltaFile(resourceDir, next).exists()) {
+            final Set<String> lines = rebuild(resourceDir, versions, next);
+            try {
+                Files.write(FileUtils.getNquadsFile(resourceDir, next).toPath(), lines, UTF_8);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error writing Memento snapshot at " + resourceDir, ex);
+            }
+            FileUtils.uncheckedDeleteIfExists(FileUtils.getDeltaFile(resourceDir, next).toPath());
+        }
+    }
 
-        return unmodifiableSortedSet(instants);
+    private static List<String> readLines(final File file) {
+        try {
+            return Files.readAllLines(file.toPath(), UTF_8);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error reading Memento file " + file, ex);
+        }
     }
 }
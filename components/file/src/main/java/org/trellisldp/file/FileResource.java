@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.IRI;
@@ -48,7 +49,7 @@ public class FileResource implements Resource {
 
     private static final Logger LOGGER = getLogger(FileResource.class);
 
-    private final File file;
+    private final Supplier<Stream<Quad>> content;
     private final IRI identifier;
     private final Map<IRI, RDFTerm> data;
 
@@ -58,9 +59,28 @@ public class FileResource implements Resource {
      * @param file the file
      */
     public FileResource(final IRI identifier, final File file) {
+        this(identifier, () -> fetchContent(identifier, file));
+    }
+
+    /**
+     * Create a resource backed by a source of quads.
+     * @param identifier the resource identifier
+     * @param content a supplier of the resource's quads
+     */
+    FileResource(final IRI identifier, final Supplier<Stream<Quad>> content) {
+        this(identifier, content, content);
+    }
+
+    /**
+     * Create a resource backed by separate sources of server-managed metadata and quads.
+     * @param identifier the resource identifier
+     * @param metadata a supplier of the resource's server-managed quads
+     * @param content a supplier of all of the resource's quads
+     */
+    FileResource(final IRI identifier, final Supplier<Stream<Quad>> metadata, final Supplier<Stream<Quad>> content) {
         this.identifier = identifier;
-        this.file = file;
-        this.data = init(identifier, file);
+        this.content = content;
+        this.data = init(identifier, metadata);
     }
 
     @Override
@@ -118,7 +138,7 @@ public class FileResource implements Resource {
 
     @Override
     public Stream<Quad> stream() {
-        return fetchContent(identifier, file);
+        return content.get();
     }
 
     private Optional<IRI> asIRI(final IRI predicate) {
@@ -130,8 +150,8 @@ public class FileResource implements Resource {
             .map(Literal::getLexicalForm);
     }
 
-    private static Map<IRI, RDFTerm> init(final IRI identifier, final File file) {
-        try (final Stream<Triple> triples = fetchContent(identifier, file).filter(q ->
+    private static Map<IRI, RDFTerm> init(final IRI identifier, final Supplier<Stream<Quad>> content) {
+        try (final Stream<Triple> triples = content.get().filter(q ->
                     q.getGraphName().filter(isEqual(Trellis.PreferServerManaged)).isPresent()).map(Quad::asTriple)) {
             return triples.collect(toMap(t -> !t.getSubject().equals(identifier) && DC.modified.equals(t.getPredicate())
                         ? Time.hasTime : t.getPredicate(), Triple::getObject));
@@ -24,6 +24,7 @@ import static java.util.Objects.requireNonNull;
 import static java.util.function.Predicate.isEqual;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.IntStream.range;
+import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.empty;
 import static java.util.stream.Stream.of;
 import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
@@ -39,6 +40,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -158,27 +160,38 @@ public final class FileUtils {
         try (final BufferedWriter writer = newBufferedWriter(
                         getNquadsFile(resourceDir, time).toPath(), UTF_8, CREATE, WRITE,
                         TRUNCATE_EXISTING)) {
-
-            try (final Stream<String> quads = generateServerManaged(resource).map(FileUtils::serializeQuad)) {
-                final Iterator<String> lineIter = quads.iterator();
-                while (lineIter.hasNext()) {
-                    writer.write(lineIter.next() + lineSeparator());
-                }
-            }
-
-            try (final Stream<String> quads = resource.stream().filter(FileUtils::notServerManaged)
-                    .map(FileUtils::serializeQuad)) {
-                final Iterator<String> lineiter = quads.iterator();
-                while (lineiter.hasNext()) {
-                    writer.write(lineiter.next() + lineSeparator());
-                }
-            }
+            writeMemento(writer, resource);
         } catch (final IOException ex) {
             throw new UncheckedIOException(
                             "Error writing resource version for " + resource.getIdentifier().getIRIString(), ex);
         }
     }
 
+    /**
+     * Write a Memento as NQuads.
+     * @param writer the writer
+     * @param resource the resource
+     * @throws IOException if an error occurs while writing
+     */
+    public static void writeMemento(final Writer writer, final Resource resource) throws IOException {
+        try (final Stream<String> quads = serializeMemento(resource)) {
+            final Iterator<String> lineIter = quads.iterator();
+            while (lineIter.hasNext()) {
+                writer.write(lineIter.next() + lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Serialize a Memento as lines of NQuads.
+     * @param resource the resource
+     * @return the serialized quads, server-managed quads first
+     */
+    public static Stream<String> serializeMemento(final Resource resource) {
+        return concat(generateServerManaged(resource), resource.stream().filter(FileUtils::notServerManaged))
+            .map(FileUtils::serializeQuad);
+    }
+
     /**
      * Get a bounded inputstream.
      * @param stream the input stream
@@ -214,7 +227,27 @@ public final class FileUtils {
         return new File(dir, time.getEpochSecond() + ".nq");
     }
 
-    private static Stream<Quad> generateServerManaged(final Resource resource) {
+    /**
+     * Get the delta file for a given moment in time.
+     * @param dir the directory
+     * @param time the time
+     * @return the file
+     */
+    public static File getDeltaFile(final File dir, final Instant time) {
+        return new File(dir, time.getEpochSecond() + ".delta");
+    }
+
+    /**
+     * Get the binary Memento file for a given moment in time.
+     * @param dir the directory
+     * @param time the time
+     * @return the file
+     */
+    public static File getBinaryFile(final File dir, final Instant time) {
+        return new File(dir, time.getEpochSecond() + ".bin");
+    }
+
+    static Stream<Quad> generateServerManaged(final Resource resource) {
         final List<Quad> quads = new ArrayList<>();
 
         quads.add(rdf.createQuad(PreferServerManaged, resource.getIdentifier(), type, resource.getInteractionModel()));
@@ -250,7 +283,7 @@ public final class FileUtils {
         return quads.stream();
     }
 
-    private static boolean notServerManaged(final Quad quad) {
+    static boolean notServerManaged(final Quad quad) {
         return !quad.getGraphName().filter(isEqual(PreferServerManaged)).isPresent();
     }
 
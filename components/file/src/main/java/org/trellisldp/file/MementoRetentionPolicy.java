@@ -0,0 +1,318 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static java.util.Optional.ofNullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.microprofile.config.Config;
+
+/**
+ * A policy controlling how often Mementos are captured and how long they are retained.
+ *
+ * <p>A minimum interval limits how often a resource's Mementos are captured: a capture that follows the
+ * previous Memento of a resource more closely than the interval is skipped.
+ *
+ * <p>Retention rules thin out older Mementos. The most recent Mementos, up to a configurable number, are
+ * always kept. Beyond that age, Mementos may be thinned to one per hour, day or month, keeping the latest
+ * Memento in each period. If a number of recent Mementos is configured, any other Memento not retained by a
+ * thinning rule is removed.
+ */
+public final class MementoRetentionPolicy {
+
+    /** The configuration key controlling the minimum interval between captures, as an ISO-8601 duration. */
+    public static final String CONFIG_FILE_MEMENTO_MIN_INTERVAL = "trellis.file.memento.mininterval";
+
+    /** The configuration key controlling the number of recent Mementos that are always kept. */
+    public static final String CONFIG_FILE_MEMENTO_KEEP_LAST = "trellis.file.memento.keeplast";
+
+    /** The configuration key controlling the age after which Mementos are thinned to one per hour. */
+    public static final String CONFIG_FILE_MEMENTO_KEEP_HOURLY = "trellis.file.memento.keephourly";
+
+    /** The configuration key controlling the age after which Mementos are thinned to one per day. */
+    public static final String CONFIG_FILE_MEMENTO_KEEP_DAILY = "trellis.file.memento.keepdaily";
+
+    /** The configuration key controlling the age after which Mementos are thinned to one per month. */
+    public static final String CONFIG_FILE_MEMENTO_KEEP_MONTHLY = "trellis.file.memento.keepmonthly";
+
+    /** The configuration key controlling how often the background pruner runs, as an ISO-8601 duration. */
+    public static final String CONFIG_FILE_MEMENTO_PRUNE_INTERVAL = "trellis.file.memento.pruneinterval";
+
+    /** The configuration key controlling how many resources the background pruner examines per run. */
+    public static final String CONFIG_FILE_MEMENTO_PRUNE_BATCH_SIZE = "trellis.file.memento.prunebatchsize";
+
+    private static final int DEFAULT_PRUNE_BATCH_SIZE = 100;
+
+    private final Duration minInterval;
+    private final int keepLast;
+    private final Map<Period, Duration> thinning;
+    private final Duration pruneInterval;
+    private final int pruneBatchSize;
+
+    private MementoRetentionPolicy(final Builder builder) {
+        this.minInterval = builder.minInterval;
+        this.keepLast = builder.keepLast;
+        this.thinning = new EnumMap<>(builder.thinning);
+        this.pruneInterval = builder.pruneInterval;
+        this.pruneBatchSize = builder.pruneBatchSize;
+    }
+
+    /**
+     * Determine whether the policy places any restriction on Memento capture or retention.
+     * @return true if the policy has any effect; false otherwise
+     */
+    public boolean isEnabled() {
+        return minInterval != null || isRetentionEnabled();
+    }
+
+    /**
+     * Determine whether the policy removes any Mementos.
+     * @return true if Mementos may be removed; false otherwise
+     */
+    public boolean isRetentionEnabled() {
+        return keepLast > 0 || !thinning.isEmpty();
+    }
+
+    /**
+     * Get the interval at which a background pruner should run.
+     * @return the interval, if background pruning is configured
+     */
+    public Optional<Duration> getPruneInterval() {
+        return ofNullable(pruneInterval).filter(x -> isRetentionEnabled());
+    }
+
+    /**
+     * Get the number of resources a background pruner should examine per run.
+     * @return the batch size
+     */
+    public int getPruneBatchSize() {
+        return pruneBatchSize;
+    }
+
+    /**
+     * Determine whether a new Memento should be captured.
+     * @param mementos the times of the existing Mementos
+     * @param time the time of the new Memento
+     * @return true if the Memento should be captured; false otherwise
+     */
+    public boolean shouldCapture(final NavigableSet<Instant> mementos, final Instant time) {
+        if (minInterval == null) {
+            return true;
+        }
+        final Instant previous = mementos.floor(time);
+        return previous == null || previous.equals(time)
+            || Duration.between(previous, time).compareTo(minInterval) >= 0;
+    }
+
+    /**
+     * Find the Mementos that are no longer retained.
+     * @param mementos the times of the existing Mementos
+     * @param now the current time
+     * @return the times of the Mementos to remove
+     */
+    public SortedSet<Instant> getExpired(final NavigableSet<Instant> mementos, final Instant now) {
+        final SortedSet<Instant> expired = new TreeSet<>();
+        if (!isRetentionEnabled()) {
+            return expired;
+        }
+        final Map<Period, Set<Instant>> periods = new EnumMap<>(Period.class);
+        int position = 0;
+        for (final Instant time : mementos.descendingSet()) {
+            position++;
+            if (position <= keepLast) {
+                continue;
+            }
+            final Optional<Period> period = getPeriod(Duration.between(time, now));
+            if (period.isPresent()) {
+                // Mementos are visited newest first, so the latest Memento in each period is kept
+                if (!periods.computeIfAbsent(period.get(), k -> new HashSet<>())
+                        .add(period.get().truncate(time))) {
+                    expired.add(time);
+                }
+            } else if (keepLast > 0) {
+                expired.add(time);
+            }
+        }
+        return expired;
+    }
+
+    private Optional<Period> getPeriod(final Duration age) {
+        // Use the coarsest period whose age has been reached
+        final Period[] periods = Period.values();
+        for (int i = periods.length - 1; i >= 0; i--) {
+            final Duration threshold = thinning.get(periods[i]);
+            if (threshold != null && age.compareTo(threshold) >= 0) {
+                return Optional.of(periods[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Create a retention policy from configuration values.
+     * @param config the configuration
+     * @return the retention policy
+     */
+    public static MementoRetentionPolicy fromConfig(final Config config) {
+        final Builder builder = builder();
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_MIN_INTERVAL, String.class).map(Duration::parse)
+            .ifPresent(builder::minInterval);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_KEEP_LAST, Integer.class).ifPresent(builder::keepLast);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_KEEP_HOURLY, String.class).map(Duration::parse)
+            .ifPresent(builder::keepHourlyAfter);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_KEEP_DAILY, String.class).map(Duration::parse)
+            .ifPresent(builder::keepDailyAfter);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_KEEP_MONTHLY, String.class).map(Duration::parse)
+            .ifPresent(builder::keepMonthlyAfter);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_PRUNE_INTERVAL, String.class).map(Duration::parse)
+            .ifPresent(builder::pruneInterval);
+        config.getOptionalValue(CONFIG_FILE_MEMENTO_PRUNE_BATCH_SIZE, Integer.class)
+            .ifPresent(builder::pruneBatchSize);
+        return builder.build();
+    }
+
+    /**
+     * Get a builder for a retention policy.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A mutable builder for a {@link MementoRetentionPolicy}.
+     */
+    public static final class Builder {
+        private final Map<Period, Duration> thinning = new EnumMap<>(Period.class);
+        private Duration minInterval;
+        private int keepLast;
+        private Duration pruneInterval;
+        private int pruneBatchSize = DEFAULT_PRUNE_BATCH_SIZE;
+
+        private Builder() {
+            // Use the static builder() method
+        }
+
+        /**
+         * Set the minimum interval between Memento captures of a resource.
+         * @param minInterval the interval
+         * @return this builder
+         */
+        public Builder minInterval(final Duration minInterval) {
+            this.minInterval = minInterval;
+            return this;
+        }
+
+        /**
+         * Set the number of recent Mementos that are always kept.
+         * @param keepLast the number of Mementos
+         * @return this builder
+         */
+        public Builder keepLast(final int keepLast) {
+            this.keepLast = keepLast;
+            return this;
+        }
+
+        /**
+         * Keep only one Memento per hour after the given age.
+         * @param age the age
+         * @return this builder
+         */
+        public Builder keepHourlyAfter(final Duration age) {
+            thinning.put(Period.HOUR, age);
+            return this;
+        }
+
+        /**
+         * Keep only one Memento per day after the given age.
+         * @param age the age
+         * @return this builder
+         */
+        public Builder keepDailyAfter(final Duration age) {
+            thinning.put(Period.DAY, age);
+            return this;
+        }
+
+        /**
+         * Keep only one Memento per month after the given age.
+         * @param age the age
+         * @return this builder
+         */
+        public Builder keepMonthlyAfter(final Duration age) {
+            thinning.put(Period.MONTH, age);
+            return this;
+        }
+
+        /**
+         * Set the interval at which a background pruner runs.
+         * @param pruneInterval the interval
+         * @return this builder
+         */
+        public Builder pruneInterval(final Duration pruneInterval) {
+            this.pruneInterval = pruneInterval;
+            return this;
+        }
+
+        /**
+         * Set the number of resources a background pruner examines per run.
+         * @param pruneBatchSize the batch size
+         * @return this builder
+         */
+        public Builder pruneBatchSize(final int pruneBatchSize) {
+            this.pruneBatchSize = pruneBatchSize;
+            return this;
+        }
+
+        /**
+         * Build the retention policy.
+         * @return the retention policy
+         */
+        public MementoRetentionPolicy build() {
+            return new MementoRetentionPolicy(this);
+        }
+    }
+
+    /**
+     * The periods to which Mementos may be thinned, from finest to coarsest.
+     */
+    private enum Period {
+        HOUR(time -> time.truncatedTo(HOURS)),
+        DAY(time -> time.truncatedTo(DAYS)),
+        MONTH(time -> time.atZone(UTC).withDayOfMonth(1).truncatedTo(DAYS).toInstant());
+
+        private final UnaryOperator<Instant> truncation;
+
+        Period(final UnaryOperator<Instant> truncation) {
+            this.truncation = truncation;
+        }
+
+        Instant truncate(final Instant time) {
+            return truncation.apply(time);
+        }
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.Collections.emptyNavigableMap;
+import static java.util.Collections.unmodifiableNavigableSet;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.file.FileMementoService.CONFIG_FILE_MEMENTO_BASE_PATH;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+import javax.inject.Inject;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.slf4j.Logger;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+
+/**
+ * A versioning system that packs Mementos into a fixed number of append-only segment files.
+ *
+ * <p>Each resource is assigned to a shard by a hash of its identifier. Every Memento is appended to its
+ * shard's segment file as a record holding the resource identifier, the Memento time and the NQuads
+ * serialization of the resource, which may be deflate-compressed. The offsets of those records are
+ * indexed per resource, by time, when a shard is first used. Deleting a Memento appends a tombstone
+ * record; {@link #compact} rewrites the segments without deleted or superseded records.
+ *
+ * <p>Compaction runs periodically, and it also saves the index of each segment next to it, so that a
+ * restarted service only needs to scan the records appended since. Reads do not block each other:
+ * they share an open file handle per segment and only wait for a compaction of that segment.
+ *
+ * <p>Compared with {@link FileMementoService}, this keeps the number of files constant, no matter how
+ * many resources or versions are stored. In a CDI container, this service is an alternative that must
+ * be selected in {@code beans.xml}.
+ */
+@Alternative
+@ApplicationScoped
+public class PackedMementoService implements MementoService, AutoCloseable {
+
+    /** The configuration key controlling the number of segment files. */
+    public static final String CONFIG_FILE_MEMENTO_SHARDS = "trellis.file.memento.shards";
+
+    /** The configuration key controlling whether Mementos are compressed. */
+    public static final String CONFIG_FILE_MEMENTO_COMPRESSION = "trellis.file.memento.compression";
+
+    /**
+     * The configuration key controlling how often the segment files are compacted, as an ISO-8601 duration.
+     * The default is once an hour.
+     */
+    public static final String CONFIG_FILE_MEMENTO_COMPACT_INTERVAL = "trellis.file.memento.compactinterval";
+
+    /** The default number of segment files. */
+    public static final int DEFAULT_SHARDS = 256;
+
+    private static final Logger LOGGER = getLogger(PackedMementoService.class);
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final byte COMPRESSED = 1;
+    private static final byte DELETED = 2;
+
+    private final Segment[] segments;
+    private final boolean compress;
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * Create a packed memento service.
+     */
+    @Inject
+    public PackedMementoService() {
+        this(getConfig().getValue(CONFIG_FILE_MEMENTO_BASE_PATH, String.class),
+                getConfig().getOptionalValue(CONFIG_FILE_MEMENTO_SHARDS, Integer.class).orElse(DEFAULT_SHARDS),
+                getConfig().getOptionalValue(CONFIG_FILE_MEMENTO_COMPRESSION, Boolean.class).orElse(false),
+                getConfig().getOptionalValue(CONFIG_FILE_MEMENTO_COMPACT_INTERVAL, String.class)
+                    .map(Duration::parse).orElseGet(() -> Duration.ofHours(1)));
+    }
+
+    /**
+     * Create a packed memento service, without scheduled compaction.
+     * @param path the directory holding the segment files
+     * @param shards the number of segment files
+     * @param compress whether to compress new Mementos
+     */
+    public PackedMementoService(final String path, final int shards, final boolean compress) {
+        this(path, shards, compress, null);
+    }
+
+    /**
+     * Create a packed memento service.
+     * @param path the directory holding the segment files
+     * @param shards the number of segment files
+     * @param compress whether to compress new Mementos
+     * @param compactInterval the time between compactions, or null to compact only on request
+     */
+    public PackedMementoService(final String path, final int shards, final boolean compress,
+            final Duration compactInterval) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("The number of memento shards must be positive!");
+        }
+        LOGGER.info("Storing Mementos in {} segments at {}", shards, path);
+        final File directory = new File(path);
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        this.compress = compress;
+        this.segments = new Segment[shards];
+        for (int i = 0; i < shards; i++) {
+            segments[i] = new Segment(new File(directory, Integer.toHexString(i) + SEGMENT_EXTENSION),
+                    new File(directory, Integer.toHexString(i) + INDEX_EXTENSION));
+        }
+        this.compactor = compactInterval != null ? scheduleCompaction(compactInterval) : null;
+    }
+
+    @Override
+    public CompletionStage<Void> put(final Resource resource) {
+        return put(resource, resource.getModified());
+    }
+
+    /**
+     * Create a Memento from a resource at a particular time.
+     * @param resource the resource
+     * @param time the time to which the Memento corresponds
+     * @return the completion stage representing that the operation has completed
+     */
+    public CompletionStage<Void> put(final Resource resource, final Instant time) {
+        return runAsync(() -> {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (final Writer writer = new OutputStreamWriter(compress ? new DeflaterOutputStream(bytes) : bytes,
+                        UTF_8)) {
+                FileUtils.writeMemento(writer, resource);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                        "Error writing resource version for " + resource.getIdentifier().getIRIString(), ex);
+            }
+            getSegment(resource.getIdentifier()).append(resource.getIdentifier().getIRIString(),
+                    time.truncatedTo(SECONDS), compress ? COMPRESSED : 0, bytes.toByteArray());
+        });
+    }
+
+    @Override
+    public CompletionStage<Resource> get(final IRI identifier, final Instant time) {
+        return supplyAsync(() -> {
+            final Payload payload = getSegment(identifier).read(identifier.getIRIString(), time.truncatedTo(SECONDS));
+            if (payload == null) {
+                return MISSING_RESOURCE;
+            }
+            return new FileResource(identifier, () -> parse(payload.data, payload.compressed));
+        });
+    }
+
+    @Override
+    public CompletionStage<SortedSet<Instant>> mementos(final IRI identifier) {
+        return supplyAsync(() ->
+                unmodifiableNavigableSet(new TreeSet<>(getSegment(identifier).versions(identifier.getIRIString())
+                        .keySet())));
+    }
+
+    /**
+     * Delete a memento at the given time.
+     *
+     * @param identifier the resource identifier
+     * @param time the memento time
+     * @return the next stage of completion
+     */
+    public CompletionStage<Void> delete(final IRI identifier, final Instant time) {
+        return runAsync(() -> getSegment(identifier).append(identifier.getIRIString(), time.truncatedTo(SECONDS),
+                    DELETED, new byte[0]));
+    }
+
+    /**
+     * Rewrite the segment files, discarding deleted and superseded Mementos, and save their indexes.
+     *
+     * @return the next stage of completion
+     */
+    public CompletionStage<Void> compact() {
+        return runAsync(this::compactAll);
+    }
+
+    /**
+     * Stop any scheduled compaction, save the segment indexes and close the segment files.
+     */
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        for (final Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private void compactAll() {
+        for (final Segment segment : segments) {
+            segment.compact();
+        }
+    }
+
+    private ScheduledExecutorService scheduleCompaction(final Duration interval) {
+        final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "trellis-memento-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compactAll();
+            } catch (final RuntimeException ex) {
+                LOGGER.warn("Error compacting Mementos: {}", ex.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), MILLISECONDS);
+        return scheduler;
+    }
+
+    private Segment getSegment(final IRI identifier) {
+        final CRC32 hasher = new CRC32();
+        hasher.update(identifier.getIRIString().getBytes(UTF_8));
+        return segments[(int) (hasher.getValue() % segments.length)];
+    }
+
+    private static Stream<Quad> parse(final byte[] data, final boolean compressed) {
+        final InputStream input = new ByteArrayInputStream(data);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(compressed
+                    ? new InflaterInputStream(input) : input, UTF_8));
+        return reader.lines().flatMap(FileUtils::parseQuad);
+    }
+
+    private static byte[] header(final String identifier, final Instant time, final byte flags, final int length)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(identifier);
+            output.writeLong(time.getEpochSecond());
+            output.writeByte(flags);
+            output.writeInt(length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void write(final FileChannel channel, final byte[] data) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * The location of a Memento record in a segment file.
+     */
+    private static final class Entry {
+        private final long offset;
+        private final int length;
+        private final byte flags;
+
+        Entry(final long offset, final int length, final byte flags) {
+            this.offset = offset;
+            this.length = length;
+            this.flags = flags;
+        }
+    }
+
+    /**
+     * The content of a Memento record.
+     */
+    private static final class Payload {
+        private final byte[] data;
+        private final boolean compressed;
+
+        Payload(final byte[] data, final byte flags) {
+            this.data = data;
+            this.compressed = (flags & COMPRESSED) != 0;
+        }
+    }
+
+    /**
+     * An append-only segment file, along with its index of Memento records.
+     *
+     * <p>The index and the file are guarded by the segment's monitor. Reads use positional reads on a
+     * shared channel, so they only exclude compaction, which replaces the file.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final Path indexPath;
+        private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+        private Map<String, NavigableMap<Instant, Entry>> index;
+        private long garbage;
+        private long indexed;
+        private volatile FileChannel reader;
+
+        Segment(final File file, final File indexFile) {
+            this.path = file.toPath();
+            this.indexPath = indexFile.toPath();
+        }
+
+        synchronized NavigableMap<Instant, Entry> versions(final String identifier) {
+            return new TreeMap<>(load().getOrDefault(identifier, emptyNavigableMap()));
+        }
+
+        synchronized void append(final String identifier, final Instant time, final byte flags, final byte[] data) {
+            final Map<String, NavigableMap<Instant, Entry>> idx = load();
+            try (final FileChannel channel = FileChannel.open(path, CREATE, WRITE, APPEND)) {
+                final byte[] header = header(identifier, time, flags, data.length);
+                final long offset = channel.size() + header.length;
+                write(channel, header);
+                write(channel, data);
+                index(idx, identifier, time, new Entry(offset, data.length, flags));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error writing to memento segment " + path, ex);
+            }
+        }
+
+        Payload read(final String identifier, final Instant time) {
+            fileLock.readLock().lock();
+            try {
+                final Entry entry;
+                synchronized (this) {
+                    final NavigableMap<Instant, Entry> versions = load().get(identifier);
+                    if (versions == null || versions.isEmpty()) {
+                        return null;
+                    }
+                    // If the requested Memento is earlier than all existing Mementos, RFC 7089, Section 4.5.3
+                    // calls for the first extant Memento to be returned.
+                    final Map.Entry<Instant, Entry> version = versions.floorEntry(time);
+                    entry = version != null ? version.getValue() : versions.firstEntry().getValue();
+                }
+                final FileChannel channel = getReader();
+                final ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                        throw new EOFException("Unexpected end of memento segment " + path);
+                    }
+                }
+                return new Payload(buffer.array(), entry.flags);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error reading from memento segment " + path, ex);
+            } finally {
+                fileLock.readLock().unlock();
+            }
+        }
+
+        void compact() {
+            fileLock.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (index == null) {
+                        return;
+                    }
+                    if (garbage == 0) {
+                        saveIndex();
+                        return;
+                    }
+                    rewrite();
+                }
+            } finally {
+                fileLock.writeLock().unlock();
+            }
+        }
+
+        void close() {
+            fileLock.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (index != null) {
+                        saveIndex();
+                    }
+                    closeReader();
+                }
+            } finally {
+                fileLock.writeLock().unlock();
+            }
+        }
+
+        private FileChannel getReader() throws IOException {
+            if (reader == null) {
+                synchronized (this) {
+                    if (reader == null) {
+                        reader = FileChannel.open(path, READ);
+                    }
+                }
+            }
+            return reader;
+        }
+
+        private void closeReader() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final IOException ex) {
+                    LOGGER.warn("Error closing memento segment {}: {}", path, ex.getMessage());
+                }
+                reader = null;
+            }
+        }
+
+        private void rewrite() {
+            LOGGER.debug("Compacting memento segment {}", path);
+            final Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            final Map<String, NavigableMap<Instant, Entry>> updated = new HashMap<>();
+            try (final FileChannel source = FileChannel.open(path, READ);
+                    final FileChannel target = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                for (final Map.Entry<String, NavigableMap<Instant, Entry>> resource : index.entrySet()) {
+                    for (final Map.Entry<Instant, Entry> version : resource.getValue().entrySet()) {
+                        final Entry entry = version.getValue();
+                        final byte[] header = header(resource.getKey(), version.getKey(), entry.flags, entry.length);
+                        final long offset = target.position() + header.length;
+                        write(target, header);
+                        long transferred = 0L;
+                        while (transferred < entry.length) {
+                            transferred += source.transferTo(entry.offset + transferred, entry.length - transferred,
+                                    target);
+                        }
+                        index(updated, resource.getKey(), version.getKey(),
+                                new Entry(offset, entry.length, entry.flags));
+                    }
+                }
+                target.force(true);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error compacting memento segment " + path, ex);
+            }
+            try {
+                // A saved index describes the old file, so it must not outlive it
+                Files.deleteIfExists(indexPath);
+                Files.move(compacted, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error replacing memento segment " + path, ex);
+            }
+            closeReader();
+            index = updated;
+            garbage = 0;
+            indexed = 0;
+            saveIndex();
+        }
+
+        private void index(final Map<String, NavigableMap<Instant, Entry>> idx, final String identifier,
+                final Instant time, final Entry entry) {
+            if ((entry.flags & DELETED) != 0) {
+                final NavigableMap<Instant, Entry> versions = idx.get(identifier);
+                if (versions != null && versions.remove(time) != null) {
+                    garbage++;
+                    if (versions.isEmpty()) {
+                        idx.remove(identifier);
+                    }
+                }
+                // The tombstone itself is also reclaimable
+                garbage++;
+            } else if (idx.computeIfAbsent(identifier, k -> new TreeMap<>()).put(time, entry) != null) {
+                garbage++;
+            }
+        }
+
+        private Map<String, NavigableMap<Instant, Entry>> load() {
+            if (index == null) {
+                index = new HashMap<>();
+                garbage = 0;
+                if (Files.exists(path)) {
+                    scan(loadIndex());
+                }
+            }
+            return index;
+        }
+
+        /*
+         * Save the index, along with the length of the segment that it covers. Nothing is written if the
+         * segment has not grown since the index was last saved.
+         */
+        private void saveIndex() {
+            try {
+                final long length = Files.exists(path) ? Files.size(path) : 0L;
+                if (length == indexed && Files.exists(indexPath)) {
+                    return;
+                }
+                final Path tmp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+                try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                                Files.newOutputStream(tmp, CREATE, WRITE, TRUNCATE_EXISTING)))) {
+                    output.writeLong(length);
+                    output.writeLong(garbage);
+                    output.writeInt(index.size());
+                    for (final Map.Entry<String, NavigableMap<Instant, Entry>> resource : index.entrySet()) {
+                        output.writeUTF(resource.getKey());
+                        output.writeInt(resource.getValue().size());
+                        for (final Map.Entry<Instant, Entry> version : resource.getValue().entrySet()) {
+                            output.writeLong(version.getKey().getEpochSecond());
+                            output.writeLong(version.getValue().offset);
+                            output.writeInt(version.getValue().length);
+                            output.writeByte(version.getValue().flags);
+                        }
+                    }
+                }
+                Files.move(tmp, indexPath, REPLACE_EXISTING, ATOMIC_MOVE);
+                indexed = length;
+            } catch (final IOException ex) {
+                // The index is only an optimization: the segment can always be scanned
+                LOGGER.warn("Unable to save the index of memento segment {}: {}", path, ex.getMessage());
+            }
+        }
+
+        /*
+         * Load a saved index, returning the length of the segment that it covers, or zero if there is no
+         * usable index.
+         */
+        private long loadIndex() {
+            if (!Files.exists(indexPath)) {
+                return 0L;
+            }
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(
+                            Files.newInputStream(indexPath)))) {
+                final long length = input.readLong();
+                if (length > Files.size(path)) {
+                    LOGGER.warn("Ignoring the index of memento segment {}, which is longer than the segment", path);
+                    return 0L;
+                }
+                final long reclaimable = input.readLong();
+                final int resources = input.readInt();
+                for (int i = 0; i < resources; i++) {
+                    final String identifier = input.readUTF();
+                    final int versions = input.readInt();
+                    final NavigableMap<Instant, Entry> entries = new TreeMap<>();
+                    for (int j = 0; j < versions; j++) {
+                        final Instant time = Instant.ofEpochSecond(input.readLong());
+                        entries.put(time, new Entry(input.readLong(), input.readInt(), input.readByte()));
+                    }
+                    index.put(identifier, entries);
+                }
+                garbage = reclaimable;
+                indexed = length;
+                return length;
+            } catch (final IOException ex) {
+                LOGGER.warn("Ignoring unreadable index of memento segment {}: {}", path, ex.getMessage());
+                index.clear();
+                garbage = 0;
+                return 0L;
+            }
+        }
+
+        /*
+         * Index the records from the given position to the end of the segment.
+         */
+        private void scan(final long start) {
+            long position = start;
+            try (final InputStream file = Files.newInputStream(path)) {
+                IOUtils.skipFully(file, start);
+                try (final CountingInputStream counter = new CountingInputStream(new BufferedInputStream(file));
+                        final DataInputStream input = new DataInputStream(counter)) {
+                    while (true) {
+                        final String identifier;
+                        try {
+                            identifier = input.readUTF();
+                        } catch (final EOFException ex) {
+                            if (start + counter.getByteCount() == position) {
+                                // The end of the segment has been reached
+                                return;
+                            }
+                            throw ex;
+                        }
+                        final Instant time = Instant.ofEpochSecond(input.readLong());
+                        final byte flags = input.readByte();
+                        final int length = input.readInt();
+                        final long offset = start + counter.getByteCount();
+                        IOUtils.skipFully(input, length);
+                        index(index, identifier, time, new Entry(offset, length, flags));
+                        position = start + counter.getByteCount();
+                    }
+                }
+            } catch (final EOFException ex) {
+                LOGGER.warn("Truncating incomplete record at {} in memento segment {}", position, path);
+                truncate(position);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error reading memento segment " + path, ex);
+            }
+        }
+
+        private void truncate(final long position) {
+            try (final FileChannel channel = FileChannel.open(path, WRITE)) {
+                channel.truncate(position);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error truncating memento segment " + path, ex);
+            }
+        }
+    }
+}
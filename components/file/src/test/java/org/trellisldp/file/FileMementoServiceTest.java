@@ -13,11 +13,14 @@
  */
 package org.trellisldp.file;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Instant.MAX;
 import static java.time.Instant.now;
 import static java.time.Instant.parse;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -27,7 +30,15 @@ import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.IRI;
@@ -57,6 +68,22 @@ class FileMementoServiceTest {
         if (vDir.exists()) {
             deleteDirectory(vDir);
         }
+        final File dDir = new File(dir, "versions3");
+        if (dDir.exists()) {
+            deleteDirectory(dDir);
+        }
+        final File rDir = new File(dir, "versions4");
+        if (rDir.exists()) {
+            deleteDirectory(rDir);
+        }
+        final File bDir = new File(dir, "versions5");
+        if (bDir.exists()) {
+            deleteDirectory(bDir);
+        }
+        final File cDir = new File(dir, "versions6");
+        if (cDir.exists()) {
+            deleteDirectory(cDir);
+        }
     }
 
     @Test
@@ -285,4 +312,197 @@ class FileMementoServiceTest {
             System.clearProperty(FileMementoService.CONFIG_FILE_MEMENTO_BASE_PATH);
         }
     }
+
+    @Test
+    void testDeltaMementos() {
+        final File dir = new File(new File(getClass().getResource("/versions").getFile()).getParentFile(),
+                "versions3");
+        final FileMementoService svc = new FileMementoService(dir.getAbsolutePath(), 3);
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "delta-resource");
+        final File resourceDir = FileUtils.getResourceDirectory(dir, identifier);
+        final Instant time = parse("2019-08-16T14:21:01Z");
+
+        for (int i = 0; i < 5; i++) {
+            svc.put(mockVersion(identifier, time.plusSeconds(i), "Version " + i)).toCompletableFuture().join();
+        }
+
+        assertTrue(FileUtils.getNquadsFile(resourceDir, time).exists(), "Missing first snapshot!");
+        assertTrue(FileUtils.getDeltaFile(resourceDir, time.plusSeconds(1)).exists(), "Missing delta!");
+        assertTrue(FileUtils.getDeltaFile(resourceDir, time.plusSeconds(2)).exists(), "Missing delta!");
+        assertTrue(FileUtils.getNquadsFile(resourceDir, time.plusSeconds(3)).exists(), "Missing second snapshot!");
+        assertTrue(FileUtils.getDeltaFile(resourceDir, time.plusSeconds(4)).exists(), "Missing delta!");
+        assertEquals(5L, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        for (int i = 0; i < 5; i++) {
+            assertVersion(svc, identifier, time.plusSeconds(i), "Version " + i);
+        }
+        assertVersion(svc, identifier, MAX, "Version 4");
+
+        // Deleting a version preserves the versions recorded relative to it
+        svc.delete(identifier, time).toCompletableFuture().join();
+        assertTrue(FileUtils.getNquadsFile(resourceDir, time.plusSeconds(1)).exists(), "Delta not materialized!");
+        svc.delete(identifier, time.plusSeconds(3)).toCompletableFuture().join();
+        assertEquals(3L, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertVersion(svc, identifier, time, "Version 1");
+        assertVersion(svc, identifier, time.plusSeconds(2), "Version 2");
+        assertVersion(svc, identifier, time.plusSeconds(3), "Version 2");
+        assertVersion(svc, identifier, time.plusSeconds(4), "Version 4");
+
+        // Replacing a version preserves the versions recorded relative to it
+        svc.put(mockVersion(identifier, time.plusSeconds(2), "Replaced")).toCompletableFuture().join();
+        assertVersion(svc, identifier, time.plusSeconds(2), "Replaced");
+        assertVersion(svc, identifier, time.plusSeconds(4), "Version 4");
+    }
+
+    @Test
+    void testRetentionPolicy() {
+        final File dir = new File(new File(getClass().getResource("/versions").getFile()).getParentFile(),
+                "versions4");
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().minInterval(Duration.ofSeconds(10))
+            .keepLast(2).build();
+        final FileMementoService svc = new FileMementoService(dir.getAbsolutePath(), 2, policy);
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "retained-resource");
+        final Instant time = parse("2019-08-16T14:21:01Z");
+
+        svc.put(mockVersion(identifier, time, "Version 0")).toCompletableFuture().join();
+        svc.put(mockVersion(identifier, time.plusSeconds(5), "Skipped")).toCompletableFuture().join();
+        assertEquals(1L, svc.mementos(identifier).toCompletableFuture().join().size(), "Capture not throttled!");
+
+        for (int i = 1; i < 4; i++) {
+            svc.put(mockVersion(identifier, time.plusSeconds(i * 10), "Version " + i)).toCompletableFuture().join();
+        }
+        final SortedSet<Instant> mementos = svc.mementos(identifier).toCompletableFuture().join();
+        assertEquals(2L, mementos.size(), "Incorrect memento count!");
+        assertEquals(time.plusSeconds(20), mementos.first(), "Incorrect first memento!");
+        assertVersion(svc, identifier, time.plusSeconds(20), "Version 2");
+        assertVersion(svc, identifier, time.plusSeconds(30), "Version 3");
+    }
+
+    @Test
+    void testPruneBatch() {
+        final File dir = new File(new File(getClass().getResource("/versions").getFile()).getParentFile(),
+                "versions4");
+        final FileMementoService svc = new FileMementoService(dir.getAbsolutePath(), 1);
+        final IRI identifier1 = rdf.createIRI(TRELLIS_DATA_PREFIX + "pruned-resource1");
+        final IRI identifier2 = rdf.createIRI(TRELLIS_DATA_PREFIX + "pruned-resource2");
+        final Instant time = parse("2019-08-16T14:21:01Z");
+        for (int i = 0; i < 3; i++) {
+            svc.put(mockVersion(identifier1, time.plusSeconds(i), "Version " + i)).toCompletableFuture().join();
+            svc.put(mockVersion(identifier2, time.plusSeconds(i), "Version " + i)).toCompletableFuture().join();
+        }
+
+        final FileMementoService pruner = new FileMementoService(dir.getAbsolutePath(), 1,
+                MementoRetentionPolicy.builder().keepLast(1).build());
+        int examined = 0;
+        while (svc.mementos(identifier1).toCompletableFuture().join().size() > 1
+                || svc.mementos(identifier2).toCompletableFuture().join().size() > 1) {
+            assertEquals(1, pruner.pruneBatch(1), "Incorrect batch size!");
+            examined++;
+            assertTrue(examined <= 10, "Mementos not pruned!");
+        }
+        assertVersion(svc, identifier1, time, "Version 2");
+        assertVersion(svc, identifier2, time, "Version 2");
+    }
+
+    @Test
+    void testConcurrentPutAndPrune() throws Exception {
+        final File dir = new File(new File(getClass().getResource("/versions").getFile()).getParentFile(),
+                "versions6");
+        final FileMementoService svc = new FileMementoService(dir.getAbsolutePath(), 3,
+                MementoRetentionPolicy.builder().keepLast(2).build());
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "concurrent-resource");
+        final Instant time = parse("2019-08-16T14:21:01Z");
+        final int versions = 50;
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final CompletableFuture<Void> pruner = runAsync(() -> {
+            while (!done.get()) {
+                svc.pruneBatch(10);
+            }
+        });
+        final List<CompletableFuture<Void>> puts = new ArrayList<>();
+        for (int i = 0; i < versions; i++) {
+            puts.add(svc.put(mockVersion(identifier, time.plusSeconds(i), "Version " + i)).toCompletableFuture());
+        }
+        assertDoesNotThrow(() -> allOf(puts.toArray(new CompletableFuture[0])).join(), "Error writing Mementos!");
+        done.set(true);
+        assertDoesNotThrow(() -> pruner.join(), "Error pruning Mementos!");
+        svc.pruneBatch(10);
+
+        final SortedSet<Instant> mementos = svc.mementos(identifier).toCompletableFuture().join();
+        assertEquals(2L, mementos.size(), "Incorrect memento count!");
+        for (final Instant memento : mementos) {
+            assertDoesNotThrow(() -> svc.get(identifier, memento).toCompletableFuture().join(),
+                    "Memento not readable: " + memento);
+        }
+        assertVersion(svc, identifier, MAX, "Version " + (versions - 1));
+    }
+
+    @Test
+    void testBinaryMementos() throws IOException {
+        final File dir = new File(new File(getClass().getResource("/versions").getFile()).getParentFile(),
+                "versions5");
+        final FileMementoService svc = new FileMementoService(dir.getAbsolutePath(), 2,
+                MementoRetentionPolicy.builder().build(), true);
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "binary-resource");
+        final File resourceDir = FileUtils.getResourceDirectory(dir, identifier);
+        final Instant time = parse("2019-08-16T14:21:01Z");
+
+        for (int i = 0; i < 3; i++) {
+            svc.put(mockVersion(identifier, time.plusSeconds(i), "Version " + i)).toCompletableFuture().join();
+        }
+
+        assertTrue(FileUtils.getBinaryFile(resourceDir, time).exists(), "Missing binary snapshot!");
+        assertFalse(FileUtils.getNquadsFile(resourceDir, time).exists(), "Unexpected NQuads snapshot!");
+        assertTrue(FileUtils.getDeltaFile(resourceDir, time.plusSeconds(1)).exists(), "Missing delta!");
+        assertTrue(FileUtils.getBinaryFile(resourceDir, time.plusSeconds(2)).exists(), "Missing binary snapshot!");
+        assertEquals(3L, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        for (int i = 0; i < 3; i++) {
+            assertVersion(svc, identifier, time.plusSeconds(i), "Version " + i);
+        }
+
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(time, res.getModified(), "Incorrect modification date!");
+        assertEquals(LDP.RDFSource, res.getInteractionModel(), "Incorrect interaction model!");
+        assertEquals(of(rdf.createIRI(TRELLIS_DATA_PREFIX)), res.getContainer(), "Incorrect container!");
+
+        // NQuads snapshots remain readable by a service that writes binary snapshots
+        final FileMementoService nquads = new FileMementoService(dir.getAbsolutePath());
+        nquads.put(mockVersion(identifier, time.plusSeconds(3), "Version 3")).toCompletableFuture().join();
+        assertTrue(FileUtils.getNquadsFile(resourceDir, time.plusSeconds(3)).exists(), "Missing NQuads snapshot!");
+        assertVersion(svc, identifier, time.plusSeconds(3), "Version 3");
+
+        svc.delete(identifier, time).toCompletableFuture().join();
+        assertFalse(FileUtils.getBinaryFile(resourceDir, time).exists(), "Binary snapshot not deleted!");
+        assertVersion(svc, identifier, time.plusSeconds(1), "Version 1");
+
+        Files.write(FileUtils.getBinaryFile(resourceDir, time.plusSeconds(2)).toPath(), "invalid".getBytes(UTF_8));
+        assertThrows(CompletionException.class, () ->
+                svc.get(identifier, time.plusSeconds(2)).toCompletableFuture().join(), "No error with invalid data!");
+    }
+
+    private static void assertVersion(final MementoService svc, final IRI identifier, final Instant time,
+            final String title) {
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(identifier, res.getIdentifier(), "Incorrect identifier!");
+        assertEquals(LDP.RDFSource, res.getInteractionModel(), "Incorrect interaction model!");
+        assertEquals(1L, res.stream(Trellis.PreferUserManaged).count(), "Incorrect triple count!");
+        assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(q -> q.getObject().equals(rdf.createLiteral(title))),
+                "Incorrect version content!");
+    }
+
+    private static Resource mockVersion(final IRI identifier, final Instant time, final String title) {
+        final Resource mockResource = mock(Resource.class);
+        when(mockResource.getIdentifier()).thenReturn(identifier);
+        when(mockResource.getInteractionModel()).thenReturn(LDP.RDFSource);
+        when(mockResource.getModified()).thenReturn(time);
+        when(mockResource.getContainer()).thenReturn(of(rdf.createIRI(TRELLIS_DATA_PREFIX)));
+        when(mockResource.getBinaryMetadata()).thenReturn(empty());
+        when(mockResource.getMembershipResource()).thenReturn(empty());
+        when(mockResource.getMemberOfRelation()).thenReturn(empty());
+        when(mockResource.getMemberRelation()).thenReturn(empty());
+        when(mockResource.getInsertedContentRelation()).thenReturn(empty());
+        when(mockResource.stream()).thenAnswer(inv -> Stream.of(
+                    rdf.createQuad(Trellis.PreferUserManaged, identifier, DC.title, rdf.createLiteral(title))));
+        return mockResource;
+    }
 }
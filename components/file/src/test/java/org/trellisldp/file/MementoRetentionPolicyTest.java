@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Duration.ofDays;
+import static java.time.Duration.ofHours;
+import static java.time.Duration.ofMinutes;
+import static java.time.Instant.parse;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_KEEP_DAILY;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_KEEP_HOURLY;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_KEEP_LAST;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_KEEP_MONTHLY;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_MIN_INTERVAL;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_PRUNE_BATCH_SIZE;
+import static org.trellisldp.file.MementoRetentionPolicy.CONFIG_FILE_MEMENTO_PRUNE_INTERVAL;
+
+import java.time.Instant;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test Memento retention policies.
+ */
+class MementoRetentionPolicyTest {
+
+    private static final Instant now = parse("2019-08-16T12:00:00Z");
+
+    @Test
+    void testDefaultPolicy() {
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().build();
+        final NavigableSet<Instant> mementos = mementos(now.minusSeconds(1), now.minus(ofDays(400)));
+        assertFalse(policy.isEnabled(), "Default policy unexpectedly enabled!");
+        assertTrue(policy.shouldCapture(mementos, now), "Capture unexpectedly skipped!");
+        assertTrue(policy.getExpired(mementos, now).isEmpty(), "Unexpected expired mementos!");
+        assertFalse(policy.getPruneInterval().isPresent(), "Unexpected prune interval!");
+    }
+
+    @Test
+    void testMinInterval() {
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().minInterval(ofMinutes(5)).build();
+        assertTrue(policy.isEnabled(), "Policy not enabled!");
+        assertFalse(policy.isRetentionEnabled(), "Retention unexpectedly enabled!");
+        assertTrue(policy.shouldCapture(mementos(), now), "First capture skipped!");
+        assertFalse(policy.shouldCapture(mementos(now.minus(ofMinutes(1))), now), "Capture not skipped!");
+        assertTrue(policy.shouldCapture(mementos(now.minus(ofMinutes(5))), now), "Capture skipped!");
+        assertTrue(policy.shouldCapture(mementos(now), now), "Replacement skipped!");
+        assertTrue(policy.shouldCapture(mementos(now.plusSeconds(1)), now), "Earlier capture skipped!");
+    }
+
+    @Test
+    void testKeepLast() {
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().keepLast(2).build();
+        final SortedSet<Instant> expired = policy.getExpired(mementos(now.minusSeconds(3), now.minusSeconds(2),
+                    now.minusSeconds(1)), now);
+        assertEquals(1, expired.size(), "Incorrect expired count!");
+        assertEquals(now.minusSeconds(3), expired.first(), "Incorrect expired memento!");
+    }
+
+    @Test
+    void testThinning() {
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().keepHourlyAfter(ofHours(1))
+            .keepDailyAfter(ofDays(2)).build();
+        final Instant recent = now.minus(ofMinutes(10));
+        final Instant hourly1 = parse("2019-08-16T09:10:00Z");
+        final Instant hourly2 = parse("2019-08-16T09:40:00Z");
+        final Instant daily1 = parse("2019-08-10T01:00:00Z");
+        final Instant daily2 = parse("2019-08-10T23:00:00Z");
+        final SortedSet<Instant> expired = policy.getExpired(mementos(recent, hourly1, hourly2, daily1, daily2),
+                now);
+        assertEquals(mementos(hourly1, daily1), expired, "Incorrect expired mementos!");
+    }
+
+    @Test
+    void testKeepLastWithThinning() {
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.builder().keepLast(1)
+            .keepMonthlyAfter(ofDays(30)).build();
+        final Instant latest = now.minus(ofDays(1));
+        final Instant unmatched = now.minus(ofDays(2));
+        final Instant monthly1 = parse("2019-05-02T00:00:00Z");
+        final Instant monthly2 = parse("2019-05-30T00:00:00Z");
+        final Instant monthly3 = parse("2019-04-30T00:00:00Z");
+        final SortedSet<Instant> expired = policy.getExpired(mementos(latest, unmatched, monthly1, monthly2,
+                    monthly3), now);
+        assertEquals(mementos(unmatched, monthly1), expired, "Incorrect expired mementos!");
+    }
+
+    @Test
+    void testFromConfig() {
+        final Config config = mock(Config.class);
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_MIN_INTERVAL), eq(String.class))).thenReturn(of("PT1M"));
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_KEEP_LAST), eq(Integer.class))).thenReturn(of(3));
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_KEEP_DAILY), eq(String.class))).thenReturn(of("P7D"));
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_PRUNE_INTERVAL), eq(String.class)))
+            .thenReturn(of("PT10M"));
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_KEEP_HOURLY), eq(String.class))).thenReturn(empty());
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_KEEP_MONTHLY), eq(String.class))).thenReturn(empty());
+        when(config.getOptionalValue(eq(CONFIG_FILE_MEMENTO_PRUNE_BATCH_SIZE), eq(Integer.class)))
+            .thenReturn(empty());
+
+        final MementoRetentionPolicy policy = MementoRetentionPolicy.fromConfig(config);
+        assertTrue(policy.isRetentionEnabled(), "Retention not enabled!");
+        assertEquals(of(ofMinutes(10)), policy.getPruneInterval(), "Incorrect prune interval!");
+        assertEquals(100, policy.getPruneBatchSize(), "Incorrect batch size!");
+        assertFalse(policy.shouldCapture(mementos(now.minusSeconds(30)), now), "Capture not skipped!");
+        final NavigableSet<Instant> mementos = mementos(now.minusSeconds(3), now.minusSeconds(2),
+                now.minusSeconds(1), now.minus(ofDays(1)), now.minus(ofDays(8)), now.minus(ofDays(8)).plusSeconds(60));
+        assertEquals(mementos(now.minus(ofDays(1)), now.minus(ofDays(8))), policy.getExpired(mementos, now),
+                "Incorrect expired mementos!");
+    }
+
+    private static NavigableSet<Instant> mementos(final Instant... times) {
+        final NavigableSet<Instant> mementos = new TreeSet<>();
+        for (final Instant time : times) {
+            mementos.add(time);
+        }
+        return mementos;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Instant.parse;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.Resource;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test a packed memento service.
+ */
+class PackedMementoServiceTest {
+
+    private static final RDF rdf = new JenaRDF();
+    private static final IRI root = rdf.createIRI(TRELLIS_DATA_PREFIX);
+    private static final Instant time = parse("2019-08-16T14:21:01Z");
+    private static final Instant time2 = parse("2019-08-16T14:25:31Z");
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        final File dir = getDirectory("");
+        if (dir.exists()) {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    void testPutAndGet() {
+        final PackedMementoService svc = new PackedMementoService(getDirectory("basic").getAbsolutePath(), 4, false);
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        assertEquals(2, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc, identifier, time, time, "First");
+        assertMemento(svc, identifier, time.plusSeconds(10), time, "First");
+        assertMemento(svc, identifier, time2, time2, "Second");
+        assertMemento(svc, identifier, Instant.MAX, time2, "Second");
+        // RFC 7089: a request before the first Memento yields the first Memento
+        assertMemento(svc, identifier, parse("2015-02-16T10:00:00Z"), time, "First");
+
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(LDP.RDFSource, res.getInteractionModel(), "Incorrect interaction model!");
+        assertEquals(of(root), res.getContainer(), "Incorrect container!");
+
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        assertEquals(MISSING_RESOURCE, svc.get(other, time).toCompletableFuture().join(), "Unexpected memento!");
+        assertTrue(svc.mementos(other).toCompletableFuture().join().isEmpty(), "Unexpected mementos!");
+    }
+
+    @Test
+    void testReopen() {
+        final String path = getDirectory("reopen").getAbsolutePath();
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(path, 4, true);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        final PackedMementoService svc2 = new PackedMementoService(path, 4, true);
+        assertEquals(2, svc2.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc2, identifier, time, time, "First");
+        assertMemento(svc2, identifier, time2, time2, "Second");
+    }
+
+    @Test
+    void testDeleteAndCompact() {
+        final File dir = getDirectory("compact");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Replaced")).toCompletableFuture().join();
+        final long size = new File(dir, "0.seg").length();
+
+        svc.delete(identifier, time).toCompletableFuture().join();
+        assertEquals(1, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc, identifier, time, time2, "Replaced");
+
+        svc.compact().toCompletableFuture().join();
+        assertTrue(new File(dir, "0.seg").length() < size, "Segment not compacted!");
+        assertMemento(svc, identifier, time2, time2, "Replaced");
+
+        final PackedMementoService svc2 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertEquals(1, svc2.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc2, identifier, time2, time2, "Replaced");
+    }
+
+    @Test
+    void testIncompleteRecord() throws IOException {
+        final File dir = getDirectory("truncated");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        final File segment = new File(dir, "0.seg");
+        try (final RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(segment.length() - 10);
+        }
+
+        final PackedMementoService svc2 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertEquals(1, svc2.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        svc2.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+        assertMemento(svc2, identifier, time2, time2, "Second");
+        assertMemento(new PackedMementoService(dir.getAbsolutePath(), 1, false), identifier, time2, time2, "Second");
+    }
+
+    @Test
+    void testSavedIndex() {
+        final File dir = getDirectory("index");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.close();
+        assertTrue(new File(dir, "0.idx").exists(), "Index not saved on close!");
+
+        // Records appended after the index was saved are found by scanning the tail of the segment
+        final PackedMementoService svc2 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc2.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+        final PackedMementoService svc3 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertEquals(2, svc3.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc3, identifier, time, time, "First");
+        assertMemento(svc3, identifier, time2, time2, "Second");
+
+        svc3.delete(identifier, time).toCompletableFuture().join();
+        svc3.compact().toCompletableFuture().join();
+        final PackedMementoService svc4 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertEquals(1, svc4.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc4, identifier, time2, time2, "Second");
+    }
+
+    @Test
+    void testUnusableIndex() throws IOException {
+        final File dir = getDirectory("badindex");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+        svc.close();
+
+        final File index = new File(dir, "0.idx");
+        Files.write(index.toPath(), new byte[] {0, 0, 0});
+        final PackedMementoService svc2 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertEquals(2, svc2.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        svc2.close();
+
+        // An index that is longer than the segment does not describe it
+        try (final RandomAccessFile file = new RandomAccessFile(new File(dir, "0.seg"), "rw")) {
+            file.setLength(0);
+        }
+        final PackedMementoService svc3 = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        assertTrue(svc3.mementos(identifier).toCompletableFuture().join().isEmpty(), "Unexpected mementos!");
+    }
+
+    @Test
+    void testScheduledCompaction() throws InterruptedException {
+        final File dir = getDirectory("scheduled");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false,
+                Duration.ofMillis(50));
+        try {
+            svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+            svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+            svc.delete(identifier, time).toCompletableFuture().join();
+            final File segment = new File(dir, "0.seg");
+            final long size = segment.length();
+            for (int i = 0; i < 100 && segment.length() >= size; i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(segment.length() < size, "Segment not compacted!");
+            assertMemento(svc, identifier, time2, time2, "Second");
+        } finally {
+            svc.close();
+        }
+    }
+
+    @Test
+    void testConcurrentReads() {
+        final File dir = getDirectory("concurrent");
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final PackedMementoService svc = new PackedMementoService(dir.getAbsolutePath(), 1, false);
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+        // Supersede a record, so that the compaction rewrites the segment while it is being read
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        final List<CompletableFuture<Void>> reads = range(0, 20).mapToObj(i -> runAsync(() -> {
+            assertMemento(svc, identifier, time, time, "First");
+            assertMemento(svc, identifier, time2, time2, "Second");
+        })).collect(toList());
+        final CompletableFuture<Void> compaction = svc.compact().toCompletableFuture();
+        reads.forEach(CompletableFuture::join);
+        compaction.join();
+        svc.close();
+    }
+
+    @Test
+    void testInvalidShards() {
+        final String path = getDirectory("invalid").getAbsolutePath();
+        assertThrows(IllegalArgumentException.class, () -> new PackedMementoService(path, 0, false),
+                "No error with zero shards!");
+    }
+
+    private static void assertMemento(final PackedMementoService svc, final IRI identifier, final Instant time,
+            final Instant expected, final String title) {
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(identifier, res.getIdentifier(), "Incorrect identifier!");
+        assertEquals(expected, res.getModified(), "Incorrect memento date!");
+        assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(q -> q.getPredicate().equals(DC.title)
+                    && q.getObject().equals(rdf.createLiteral(title))), "Incorrect memento content!");
+    }
+
+    private static Resource mockResource(final IRI identifier, final Instant time, final String title) {
+        final Resource mockResource = mock(Resource.class);
+        when(mockResource.getIdentifier()).thenReturn(identifier);
+        when(mockResource.getInteractionModel()).thenReturn(LDP.RDFSource);
+        when(mockResource.getModified()).thenReturn(time);
+        when(mockResource.getContainer()).thenReturn(of(root));
+        when(mockResource.getBinaryMetadata()).thenReturn(empty());
+        when(mockResource.getMembershipResource()).thenReturn(empty());
+        when(mockResource.getMemberOfRelation()).thenReturn(empty());
+        when(mockResource.getMemberRelation()).thenReturn(empty());
+        when(mockResource.getInsertedContentRelation()).thenReturn(empty());
+        when(mockResource.stream()).thenAnswer(inv -> Stream.of(
+                    rdf.createQuad(Trellis.PreferUserManaged, identifier, DC.title, rdf.createLiteral(title))));
+        return mockResource;
+    }
+
+    private static File getDirectory(final String name) {
+        final File dir = new File(PackedMementoServiceTest.class.getResource("/versions").getFile()).getParentFile();
+        return new File(new File(dir, "packed"), name);
+    }
+}
@@ -16,7 +16,6 @@ package org.trellisldp.io;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
-import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
@@ -35,6 +34,7 @@ import static org.apache.jena.riot.system.StreamRDFWriter.getWriterStream;
 import static org.apache.jena.update.UpdateAction.execute;
 import static org.apache.jena.update.UpdateFactory.create;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.Syntax.RDF_PATCH;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 import static org.trellisldp.vocabulary.JSONLD.compacted_flattened;
@@ -43,6 +43,7 @@ import static org.trellisldp.vocabulary.JSONLD.expanded_flattened;
 import static org.trellisldp.vocabulary.JSONLD.flattened;
 import static org.trellisldp.vocabulary.JSONLD.getNamespace;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -74,7 +75,12 @@ import org.apache.jena.riot.system.StreamRDF;
 import org.apache.jena.riot.web.HttpOp;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.modify.request.UpdateData;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.update.Update;
 import org.apache.jena.update.UpdateException;
+import org.apache.jena.update.UpdateRequest;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.slf4j.Logger;
@@ -201,7 +207,7 @@ public class JenaIOService implements IOService {
             reads.add(RDFA);
         }
         this.readable = unmodifiableList(reads);
-        this.updatable = unmodifiableList(singletonList(SPARQL_UPDATE));
+        this.updatable = unmodifiableList(asList(SPARQL_UPDATE, RDF_PATCH));
         this.writable = unmodifiableList(asList(TURTLE, RDFSyntax.JSONLD, NTRIPLES));
     }
 
@@ -342,16 +348,76 @@ public class JenaIOService implements IOService {
         requireNonNull(graph, "The input graph may not be null");
         requireNonNull(update, "The update command may not be null");
         requireNonNull(syntax, "The RDF syntax may not be null");
-        if (!SPARQL_UPDATE.equals(syntax)) {
+
+        if (RDF_PATCH.equals(syntax)) {
+            new RDFPatchReader(base).read(new ByteArrayInputStream(update.getBytes(UTF_8)),
+                    t -> graph.add(rdf.asTriple(t)), t -> graph.remove(rdf.asTriple(t)));
+        } else if (SPARQL_UPDATE.equals(syntax)) {
+            try {
+                final org.apache.jena.graph.Graph g = rdf.asJenaGraph(graph);
+                execute(create(update, base), g);
+            } catch (final UpdateException | QueryParseException ex) {
+                throw new RuntimeTrellisException(ex);
+            }
+        } else {
+            throw new RuntimeTrellisException("The syntax " + syntax + " is not supported for updates.");
+        }
+    }
+
+    @Override
+    public boolean readDelta(final InputStream input, final RDFSyntax syntax, final String base,
+            final Graph deletions, final Graph additions) {
+        requireNonNull(input, "The input stream may not be null");
+        requireNonNull(syntax, "The RDF syntax may not be null");
+
+        if (RDF_PATCH.equals(syntax)) {
+            // RDF Patch rows are applied as they are read, so the document is never buffered
+            new RDFPatchReader(base).read(input, jenaTriple -> {
+                final Triple t = rdf.asTriple(jenaTriple);
+                deletions.remove(t);
+                additions.add(t);
+            }, jenaTriple -> {
+                final Triple t = rdf.asTriple(jenaTriple);
+                additions.remove(t);
+                deletions.add(t);
+            });
+            return true;
+        } else if (!SPARQL_UPDATE.equals(syntax)) {
             throw new RuntimeTrellisException("The syntax " + syntax + " is not supported for updates.");
         }
 
+        final UpdateRequest request;
         try {
-            final org.apache.jena.graph.Graph g = rdf.asJenaGraph(graph);
-            execute(create(update, base), g);
-        } catch (final UpdateException | QueryParseException ex) {
+            request = create(IOUtils.toString(input, UTF_8), base);
+        } catch (final IOException ex) {
+            throw new RuntimeTrellisException("Error reading update request", ex);
+        } catch (final QueryParseException ex) {
             throw new RuntimeTrellisException(ex);
         }
+
+        // Only INSERT DATA and DELETE DATA operations on the default graph can be applied without the graph
+        if (!request.getOperations().stream().allMatch(JenaIOService::isDefaultGraphData)) {
+            return false;
+        }
+
+        for (final Update operation : request.getOperations()) {
+            final boolean insert = operation instanceof UpdateDataInsert;
+            ((UpdateData) operation).getQuads().stream().map(q -> rdf.asTriple(q.asTriple())).forEachOrdered(t -> {
+                if (insert) {
+                    deletions.remove(t);
+                    additions.add(t);
+                } else {
+                    additions.remove(t);
+                    deletions.add(t);
+                }
+            });
+        }
+        return true;
+    }
+
+    private static boolean isDefaultGraphData(final Update operation) {
+        return operation instanceof UpdateData
+            && ((UpdateData) operation).getQuads().stream().allMatch(Quad::isDefaultGraph);
     }
 
     private static Set<String> intoSet(final String property) {
@@ -0,0 +1,172 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.io;
+
+import static java.util.Arrays.asList;
+import static org.apache.jena.graph.NodeFactory.createBlankNode;
+import static org.apache.jena.graph.NodeFactory.createURI;
+import static org.apache.jena.riot.tokens.TokenizerFactory.makeTokenizerUTF8;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.IRIResolver;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.tokens.Token;
+import org.apache.jena.riot.tokens.TokenType;
+import org.apache.jena.riot.tokens.Tokenizer;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * A streaming reader for RDF Patch documents.
+ *
+ * <p>Each {@code A} (add) and {@code D} (delete) row is passed to the corresponding consumer as soon as it
+ * has been read, so the document is never held in memory. Header and transaction rows are accepted but have
+ * no effect, while {@code PA} and {@code PD} rows add and remove the prefixes used to expand prefixed names in
+ * the rows that follow them. Since a patch applies to a single graph, rows that name a graph are not supported;
+ * neither are aborted transactions, as they would require the changes to be buffered.
+ */
+class RDFPatchReader {
+
+    private static final String ADD = "A";
+    private static final String DELETE = "D";
+    private static final String ABORT = "TA";
+    private static final String PREFIX_ADD = "PA";
+    private static final String PREFIX_DELETE = "PD";
+    private static final String BNODE_IRI_PREFIX = "_:";
+    private static final Set<String> IGNORED = new HashSet<>(asList("H", "TX", "TC"));
+
+    private final IRIResolver resolver;
+
+    /**
+     * Create an RDF Patch reader.
+     *
+     * @param base the base IRI used to resolve relative IRIs, may be null
+     */
+    RDFPatchReader(final String base) {
+        this.resolver = base != null ? IRIResolver.create(base) : IRIResolver.create();
+    }
+
+    /**
+     * Read an RDF Patch document.
+     *
+     * @param input the input stream
+     * @param additions a consumer of the triples that are added
+     * @param deletions a consumer of the triples that are deleted
+     * @throws RuntimeTrellisException if the document could not be read
+     */
+    void read(final InputStream input, final Consumer<Triple> additions, final Consumer<Triple> deletions) {
+        final Tokenizer tokenizer = makeTokenizerUTF8(input);
+        final PrefixMap prefixes = PrefixMapFactory.create();
+        try {
+            while (tokenizer.hasNext()) {
+                final Token token = tokenizer.next();
+                if (!token.hasType(TokenType.KEYWORD)) {
+                    throw new RuntimeTrellisException("Expected an RDF Patch row code, found: " + token.getImage()
+                            + " at line " + token.getLine());
+                }
+                final String code = token.getImage();
+                final List<Token> row = readRow(tokenizer);
+                if (ADD.equals(code)) {
+                    additions.accept(asTriple(row, token, prefixes));
+                } else if (DELETE.equals(code)) {
+                    deletions.accept(asTriple(row, token, prefixes));
+                } else if (PREFIX_ADD.equals(code)) {
+                    if (row.size() != 2 || !row.get(1).hasType(TokenType.IRI)) {
+                        throw new RuntimeTrellisException("Invalid RDF Patch prefix row at line " + token.getLine());
+                    }
+                    prefixes.add(asPrefix(row.get(0), token), resolver.resolveToString(row.get(1).getImage()));
+                } else if (PREFIX_DELETE.equals(code)) {
+                    if (row.size() != 1) {
+                        throw new RuntimeTrellisException("Invalid RDF Patch prefix row at line " + token.getLine());
+                    }
+                    prefixes.delete(asPrefix(row.get(0), token));
+                } else if (ABORT.equals(code)) {
+                    throw new RuntimeTrellisException("Aborted transactions are not supported in RDF Patch updates");
+                } else if (!IGNORED.contains(code)) {
+                    throw new RuntimeTrellisException("Unknown RDF Patch row code " + code + " at line "
+                            + token.getLine());
+                }
+            }
+        } catch (final RiotException ex) {
+            throw new RuntimeTrellisException("Invalid RDF Patch document", ex);
+        } finally {
+            tokenizer.close();
+        }
+    }
+
+    private static List<Token> readRow(final Tokenizer tokenizer) {
+        final List<Token> row = new ArrayList<>();
+        while (tokenizer.hasNext()) {
+            final Token token = tokenizer.next();
+            if (token.hasType(TokenType.DOT)) {
+                break;
+            }
+            row.add(token);
+        }
+        return row;
+    }
+
+    private static String asPrefix(final Token token, final Token code) {
+        // A prefix may be written as a bare word, a string or a prefixed name with no local part
+        if (token.hasType(TokenType.KEYWORD) || token.hasType(TokenType.STRING)
+                || token.hasType(TokenType.PREFIXED_NAME) && token.getImage2().isEmpty()) {
+            return token.getImage();
+        }
+        throw new RuntimeTrellisException("Invalid RDF Patch prefix " + token.getImage() + " at line "
+                + code.getLine());
+    }
+
+    private Node asNode(final Token token, final Token code, final PrefixMap prefixes) {
+        if (token.hasType(TokenType.IRI)) {
+            if (token.getImage().startsWith(BNODE_IRI_PREFIX)) {
+                return createBlankNode(token.getImage().substring(BNODE_IRI_PREFIX.length()));
+            }
+            return createURI(resolver.resolveToString(token.getImage()));
+        }
+        if (token.hasType(TokenType.PREFIXED_NAME) && !prefixes.containsPrefix(token.getImage())) {
+            throw new RuntimeTrellisException("Undefined RDF Patch prefix " + token.getImage() + " at line "
+                    + code.getLine());
+        }
+        return token.asNode(prefixes);
+    }
+
+    private Triple asTriple(final List<Token> row, final Token code, final PrefixMap prefixes) {
+        if (row.size() == 4) {
+            throw new RuntimeTrellisException("Named graphs are not supported in RDF Patch updates, at line "
+                    + code.getLine());
+        }
+        final List<Node> nodes = new ArrayList<>();
+        for (final Token token : row) {
+            final Node node = token.isNode() ? asNode(token, code, prefixes) : null;
+            if (node == null || node.isVariable()) {
+                throw new RuntimeTrellisException("Invalid RDF Patch term " + token.getImage() + " at line "
+                        + code.getLine());
+            }
+            nodes.add(node);
+        }
+        if (nodes.size() != 3) {
+            throw new RuntimeTrellisException("Invalid RDF Patch row at line " + code.getLine());
+        }
+        return Triple.create(nodes.get(0), nodes.get(1), nodes.get(2));
+    }
+}
@@ -36,6 +36,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.trellisldp.api.Syntax.LD_PATCH;
+import static org.trellisldp.api.Syntax.RDF_PATCH;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 import static org.trellisldp.vocabulary.JSONLD.compacted_flattened;
@@ -406,6 +407,131 @@ class JenaIOServiceTest {
                 .map(RDFTerm::ntriplesString).get(), "Incorrect graph subject from updates!");
     }
 
+    @Test
+    void testReadDelta() {
+        final Graph deletions = rdf.createGraph();
+        final Graph additions = rdf.createGraph();
+        assertTrue(service.readDelta(asStream("DELETE DATA { <> <http://purl.org/dc/terms/title> \"Title\" };"
+                    + "INSERT DATA { <> <http://purl.org/dc/terms/title> \"New title\" ; "
+                    + "<http://purl.org/dc/terms/subject> \"Subject\" };"
+                    + "DELETE DATA { <> <http://purl.org/dc/terms/subject> \"Subject\" }"),
+                    SPARQL_UPDATE, "trellis:data/resource", deletions, additions), "Data update not read as a delta!");
+        assertEquals(2L, deletions.size(), "Incorrect number of deletions!");
+        assertEquals(1L, additions.size(), "Incorrect number of additions!");
+        assertTrue(additions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("New title")), "Expected addition not found!");
+    }
+
+    @Test
+    void testReadDeltaNotData() {
+        final Graph deletions = rdf.createGraph();
+        final Graph additions = rdf.createGraph();
+        assertFalse(service.readDelta(asStream("INSERT DATA { <> <http://purl.org/dc/terms/title> \"Title\" };"
+                    + "DELETE WHERE { ?s <http://purl.org/dc/terms/subject> ?o }"), SPARQL_UPDATE,
+                    "trellis:data/resource", deletions, additions), "Pattern-based update read as a delta!");
+        assertFalse(service.readDelta(asStream("INSERT DATA { GRAPH <http://example.com/graph> { <> a <ex:Type> } }"),
+                    SPARQL_UPDATE, "trellis:data/resource", deletions, additions), "Named graph read as a delta!");
+        assertEquals(0L, additions.size(), "Unexpected additions!");
+        assertEquals(0L, deletions.size(), "Unexpected deletions!");
+    }
+
+    @Test
+    void testReadDeltaError() {
+        final Graph graph = rdf.createGraph();
+        assertThrows(RuntimeTrellisException.class, () ->
+                service.readDelta(asStream("blah blah blah"), SPARQL_UPDATE, null, graph, graph),
+                "no exception on bad update!");
+        assertThrows(RuntimeTrellisException.class, () ->
+                service.readDelta(asStream("INSERT DATA {}"), LD_PATCH, null, graph, graph),
+                "no exception on bad syntax!");
+    }
+
+    @Test
+    void testReadDeltaRdfPatch() {
+        final Graph deletions = rdf.createGraph();
+        final Graph additions = rdf.createGraph();
+        assertTrue(service.readDelta(asStream("H id <uuid:0686c69d-8f89-4496-acb5-744f0157a8db> .\n"
+                    + "TX .\n"
+                    + "PA \"dc\" <http://purl.org/dc/terms/> .\n"
+                    + "D <> <http://purl.org/dc/terms/title> \"Title\" .\n"
+                    + "A <> <http://purl.org/dc/terms/title> \"New title\"@en .\n"
+                    + "A <> <http://purl.org/dc/terms/subject> <_:b0> .\n"
+                    + "A <_:b0> <http://purl.org/dc/terms/title> \"Subject\" .\n"
+                    + "D <_:b0> <http://purl.org/dc/terms/title> \"Subject\" .\n"
+                    + "TC ."), RDF_PATCH, "trellis:data/resource", deletions, additions),
+                "RDF Patch not read as a delta!");
+        assertEquals(2L, deletions.size(), "Incorrect number of deletions!");
+        assertEquals(2L, additions.size(), "Incorrect number of additions!");
+        assertTrue(deletions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("Title")), "Expected deletion not found!");
+        assertTrue(additions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("New title", "en")), "Expected addition not found!");
+        assertTrue(additions.contains(rdf.createIRI("trellis:data/resource"),
+                    rdf.createIRI(DCTerms.subject.getURI()), null), "Expected blank node addition not found!");
+    }
+
+    @Test
+    void testReadDeltaRdfPatchPrefixes() {
+        final Graph deletions = rdf.createGraph();
+        final Graph additions = rdf.createGraph();
+        assertTrue(service.readDelta(asStream("PA dc: <http://purl.org/dc/terms/> .\n"
+                    + "PA \"xsd\" <http://www.w3.org/2001/XMLSchema#> .\n"
+                    + "D <> dc:title \"Title\" .\n"
+                    + "A <> dc:title \"New title\" .\n"
+                    + "A <> dc:extent \"5\"^^xsd:integer ."), RDF_PATCH, "trellis:data/resource", deletions, additions),
+                "RDF Patch with prefixes not read as a delta!");
+        assertTrue(deletions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("Title")), "Prefixed deletion not found!");
+        assertTrue(additions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("New title")), "Prefixed addition not found!");
+        assertTrue(additions.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.extent.getURI()),
+                    rdf.createLiteral("5", rdf.createIRI("http://www.w3.org/2001/XMLSchema#integer"))),
+                "Prefixed datatype not expanded!");
+    }
+
+    @Test
+    void testReadDeltaRdfPatchUndefinedPrefix() {
+        final Graph graph = rdf.createGraph();
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "A <> dc:title \"Title\" ."), RDF_PATCH, null, graph, graph),
+                "no exception with an undefined prefix!");
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "PA dc: <http://purl.org/dc/terms/> .\nPD dc: .\nA <> dc:title \"Title\" ."),
+                    RDF_PATCH, null, graph, graph), "no exception with a removed prefix!");
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "PA dc: .\nA <> <http://purl.org/dc/terms/title> \"Title\" ."),
+                    RDF_PATCH, null, graph, graph), "no exception with an invalid prefix row!");
+        assertEquals(0L, graph.size(), "Unexpected triples from an undefined prefix!");
+    }
+
+    @Test
+    void testReadDeltaRdfPatchError() {
+        final Graph graph = rdf.createGraph();
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "A <> <http://purl.org/dc/terms/title> \"Title\" <http://example.com/graph> ."),
+                    RDF_PATCH, null, graph, graph), "no exception with a named graph!");
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "TX .\nA <> <http://purl.org/dc/terms/title> \"Title\" .\nTA ."),
+                    RDF_PATCH, null, graph, graph), "no exception with an aborted transaction!");
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream(
+                        "A <> <http://purl.org/dc/terms/title> ."), RDF_PATCH, null, graph, graph),
+                "no exception with an incomplete row!");
+        assertThrows(RuntimeTrellisException.class, () -> service.readDelta(asStream("blah blah blah"),
+                    RDF_PATCH, null, graph, graph), "no exception with an invalid document!");
+    }
+
+    @Test
+    void testUpdateRdfPatch() {
+        final Graph graph = rdf.createGraph();
+        getTriples().forEach(graph::add);
+        assertEquals(3L, graph.size(), "Incorrect graph size!");
+        service.update(graph, "D <> <http://purl.org/dc/terms/title> \"A title\" .\n"
+                + "A <> <http://purl.org/dc/terms/title> \"Other title\" .", RDF_PATCH, "trellis:data/resource");
+        assertEquals(3L, graph.size(), "Incorrect graph size, post update!");
+        assertTrue(graph.contains(rdf.createIRI("trellis:data/resource"), rdf.createIRI(DCTerms.title.getURI()),
+                    rdf.createLiteral("Other title")), "Expected triple not found after update!");
+    }
+
     @Test
     void testUpdateInvalidSyntax() {
         final Graph graph = rdf.createGraph();
@@ -457,9 +583,14 @@ class JenaIOServiceTest {
     @Test
     void testUpdateSyntaxes() {
         assertTrue(service.supportedUpdateSyntaxes().contains(SPARQL_UPDATE), "SPARQL-Update not supported!");
+        assertTrue(service.supportedUpdateSyntaxes().contains(RDF_PATCH), "RDF Patch not supported!");
         assertFalse(service.supportedUpdateSyntaxes().contains(LD_PATCH), "LD-PATCH unexpectedly supported!");
     }
 
+    private static InputStream asStream(final String data) {
+        return new ByteArrayInputStream(data.getBytes(UTF_8));
+    }
+
     private static Stream<Triple> getTriples() {
         final Node sub = createURI("trellis:data/resource");
         return of(
@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for an operation on binary content.
+ */
+@Name("org.trellisldp.Binary")
+@Label("Binary Operation")
+@Category({"Trellis", "Binary"})
+@Description("The retrieval, storage or removal of binary content")
+class BinaryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Identifier")
+    String identifier;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
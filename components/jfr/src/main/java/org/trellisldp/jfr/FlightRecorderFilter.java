@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import static javax.ws.rs.Priorities.AUTHENTICATION;
+
+import java.io.IOException;
+
+import javax.annotation.Priority;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.trellisldp.http.MetricsFilter;
+
+/**
+ * A filter that emits a Flight Recorder event for each LDP request.
+ *
+ * <p>The event lasts until the response entity, if any, has been written, and records the number
+ * of bytes in the entity.
+ */
+@Provider
+@Priority(AUTHENTICATION - 200)
+public class FlightRecorderFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String EVENT_PROPERTY = LdpRequestEvent.class.getName();
+
+    @Override
+    public void filter(final ContainerRequestContext req) {
+        final LdpRequestEvent event = new LdpRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.method = req.getMethod();
+            event.path = "/" + req.getUriInfo().getPath();
+            req.setProperty(EVENT_PROPERTY, event);
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext req, final ContainerResponseContext res) {
+        final Object property = req.getProperty(EVENT_PROPERTY);
+        if (property instanceof LdpRequestEvent) {
+            final LdpRequestEvent event = (LdpRequestEvent) property;
+            event.status = res.getStatus();
+            event.interactionModel = MetricsFilter.getInteractionModel(res.getLinks());
+            if (!res.hasEntity()) {
+                req.removeProperty(EVENT_PROPERTY);
+                commit(event);
+            }
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext ctx) throws IOException {
+        final Object property = ctx.getProperty(EVENT_PROPERTY);
+        if (!(property instanceof LdpRequestEvent)) {
+            ctx.proceed();
+            return;
+        }
+        final LdpRequestEvent event = (LdpRequestEvent) property;
+        final CountingOutputStream output = new CountingOutputStream(ctx.getOutputStream());
+        ctx.setOutputStream(output);
+        try {
+            ctx.proceed();
+        } finally {
+            ctx.removeProperty(EVENT_PROPERTY);
+            event.bytes = output.getByteCount();
+            commit(event);
+        }
+    }
+
+    private static void commit(final LdpRequestEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
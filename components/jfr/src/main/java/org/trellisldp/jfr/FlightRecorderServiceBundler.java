@@ -0,0 +1,213 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import static java.util.stream.Collectors.joining;
+import static org.trellisldp.api.Resource.SpecialResources.DELETED_RESOURCE;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.http.core.ServiceDecorator.decorate;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.Event;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.trellisldp.api.AuditService;
+import org.trellisldp.api.BinaryMetadata;
+import org.trellisldp.api.BinaryService;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.http.core.ServiceBundler;
+import org.trellisldp.http.core.TimemapGenerator;
+
+/**
+ * A {@link ServiceBundler} that emits Flight Recorder events for the services of another bundler.
+ *
+ * <p>Resource retrieval and modification, Memento capture, binary operations and notifications are
+ * recorded as events. For asynchronous operations, an event lasts until the returned stage completes.
+ * When an event type is not enabled in any recording, calls are passed directly to the underlying service.
+ */
+public class FlightRecorderServiceBundler implements ServiceBundler {
+
+    private final ServiceBundler delegate;
+    private final ResourceService resourceService;
+    private final BinaryService binaryService;
+    private final MementoService mementoService;
+    private final EventService eventService;
+
+    /**
+     * Create a service bundler that emits Flight Recorder events.
+     * @param delegate the service bundler whose services are to be recorded
+     */
+    public FlightRecorderServiceBundler(final ServiceBundler delegate) {
+        this.delegate = delegate;
+        this.resourceService = record(ResourceService.class, delegate.getResourceService());
+        this.binaryService = record(BinaryService.class, delegate.getBinaryService());
+        this.mementoService = record(MementoService.class, delegate.getMementoService());
+        this.eventService = record(EventService.class, delegate.getEventService());
+    }
+
+    @Override
+    public ResourceService getResourceService() {
+        return resourceService;
+    }
+
+    @Override
+    public IOService getIOService() {
+        return delegate.getIOService();
+    }
+
+    @Override
+    public BinaryService getBinaryService() {
+        return binaryService;
+    }
+
+    @Override
+    public AuditService getAuditService() {
+        return delegate.getAuditService();
+    }
+
+    @Override
+    public MementoService getMementoService() {
+        return mementoService;
+    }
+
+    @Override
+    public EventService getEventService() {
+        return eventService;
+    }
+
+    @Override
+    public Iterable<ConstraintService> getConstraintServices() {
+        return delegate.getConstraintServices();
+    }
+
+    @Override
+    public TimemapGenerator getTimemapGenerator() {
+        return delegate.getTimemapGenerator();
+    }
+
+    /**
+     * Wrap a service such that its operations emit Flight Recorder events.
+     * @param type the service interface
+     * @param service the service
+     * @param <T> the type of the service
+     * @return a recorded service
+     */
+    public static <T> T record(final Class<T> type, final T service) {
+        return decorate(type, service, (method, args) -> {
+            final Event event = createEvent(type, method, args);
+            if (event == null || !event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return (value, err) -> complete(event, value, err);
+        });
+    }
+
+    static Event createEvent(final Class<?> type, final Method method, final Object[] args) {
+        final String name = method.getName();
+        if (ResourceService.class.equals(type)) {
+            if ("get".equals(name)) {
+                final ResourceFetchEvent event = new ResourceFetchEvent();
+                event.identifier = getIdentifier(args);
+                return event;
+            } else if ("create".equals(name) || "replace".equals(name) || "update".equals(name)
+                    || "delete".equals(name) || "add".equals(name) || "touch".equals(name)) {
+                final ResourceWriteEvent event = new ResourceWriteEvent();
+                event.operation = name;
+                event.identifier = getIdentifier(args);
+                event.quads = getQuadCount(args);
+                return event;
+            }
+        } else if (MementoService.class.equals(type) && "put".equals(name)) {
+            final MementoCaptureEvent event = new MementoCaptureEvent();
+            event.identifier = getIdentifier(args);
+            return event;
+        } else if (BinaryService.class.equals(type)
+                && ("get".equals(name) || "setContent".equals(name) || "purgeContent".equals(name))) {
+            final BinaryEvent event = new BinaryEvent();
+            event.operation = name;
+            event.identifier = getIdentifier(args);
+            return event;
+        } else if (EventService.class.equals(type) && "emit".equals(name) && args != null
+                && args[0] instanceof org.trellisldp.api.Event) {
+            final org.trellisldp.api.Event notification = (org.trellisldp.api.Event) args[0];
+            final NotificationEvent event = new NotificationEvent();
+            event.object = notification.getObject().map(IRI::getIRIString).orElse(null);
+            event.types = notification.getTypes().stream().map(IRI::getIRIString).collect(joining(" "));
+            return event;
+        }
+        return null;
+    }
+
+    private static void complete(final Event event, final Object value, final Throwable err) {
+        event.end();
+        if (event.shouldCommit()) {
+            if (event instanceof ResourceFetchEvent && value instanceof Resource) {
+                final ResourceFetchEvent fetch = (ResourceFetchEvent) event;
+                final Resource resource = (Resource) value;
+                fetch.found = !MISSING_RESOURCE.equals(resource) && !DELETED_RESOURCE.equals(resource);
+                if (fetch.found && resource.getInteractionModel() != null) {
+                    fetch.interactionModel = resource.getInteractionModel().getIRIString();
+                }
+            } else if (event instanceof ResourceWriteEvent) {
+                ((ResourceWriteEvent) event).succeeded = err == null;
+            } else if (event instanceof MementoCaptureEvent) {
+                ((MementoCaptureEvent) event).succeeded = err == null;
+            } else if (event instanceof BinaryEvent) {
+                ((BinaryEvent) event).succeeded = err == null;
+            }
+            event.commit();
+        }
+    }
+
+    private static String getIdentifier(final Object[] args) {
+        if (args != null && args.length > 0) {
+            final Object arg = args[0];
+            if (arg instanceof IRI) {
+                return ((IRI) arg).getIRIString();
+            } else if (arg instanceof Metadata) {
+                return ((Metadata) arg).getIdentifier().getIRIString();
+            } else if (arg instanceof BinaryMetadata) {
+                return ((BinaryMetadata) arg).getIdentifier().getIRIString();
+            } else if (arg instanceof Resource) {
+                return ((Resource) arg).getIdentifier().getIRIString();
+            } else if (args.length > 1 && args[1] instanceof IRI) {
+                // MementoService::put(ResourceService, IRI)
+                return ((IRI) args[1]).getIRIString();
+            }
+        }
+        return null;
+    }
+
+    private static long getQuadCount(final Object[] args) {
+        long quads = 0L;
+        if (args != null) {
+            // ResourceService::update passes both the deletions and the additions
+            for (int i = 1; i < args.length; i++) {
+                if (args[i] instanceof Dataset) {
+                    quads += ((Dataset) args[i]).size();
+                }
+            }
+        }
+        return quads;
+    }
+}
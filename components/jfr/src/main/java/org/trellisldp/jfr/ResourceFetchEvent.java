@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for the retrieval of a resource.
+ */
+@Name("org.trellisldp.ResourceFetch")
+@Label("Resource Fetch")
+@Category({"Trellis", "Persistence"})
+@Description("The retrieval of a resource from the persistence layer")
+class ResourceFetchEvent extends Event {
+
+    @Label("Identifier")
+    String identifier;
+
+    @Label("Interaction Model")
+    String interactionModel;
+
+    @Label("Found")
+    boolean found;
+}
@@ -0,0 +1,21 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Java Flight Recorder events for Trellis.
+ *
+ * <p>This package provides custom Flight Recorder event types for LDP requests and for calls to the
+ * persistence, binary, Memento and notification services, along with the components that emit them.
+ * Events are only created when the corresponding event type is enabled in a recording.
+ */
+package org.trellisldp.jfr;
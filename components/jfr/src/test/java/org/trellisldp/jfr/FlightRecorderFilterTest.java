@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FlightRecorderFilterTest {
+
+    @Test
+    void testRequestEvent() throws Exception {
+        final ContainerRequestContext mockRequest = mock(ContainerRequestContext.class);
+        final ContainerResponseContext mockResponse = mock(ContainerResponseContext.class);
+        final WriterInterceptorContext mockWriter = mock(WriterInterceptorContext.class);
+        final UriInfo mockUriInfo = mock(UriInfo.class);
+        when(mockRequest.getMethod()).thenReturn("GET");
+        when(mockRequest.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getPath()).thenReturn("resource");
+        when(mockResponse.getStatus()).thenReturn(200);
+        when(mockResponse.getLinks()).thenReturn(emptySet());
+        when(mockResponse.hasEntity()).thenReturn(true);
+        when(mockWriter.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+
+        final List<RecordedEvent> events = FlightRecorderServiceBundlerTest.record(() -> {
+            final FlightRecorderFilter filter = new FlightRecorderFilter();
+            filter.filter(mockRequest);
+            final ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+            verify(mockRequest).setProperty(any(), event.capture());
+            when(mockRequest.getProperty(any())).thenReturn(event.getValue());
+            when(mockWriter.getProperty(any())).thenReturn(event.getValue());
+            filter.filter(mockRequest, mockResponse);
+
+            final ArgumentCaptor<OutputStream> output = ArgumentCaptor.forClass(OutputStream.class);
+            try {
+                filter.aroundWriteTo(mockWriter);
+                verify(mockWriter).setOutputStream(output.capture());
+                output.getValue().write(new byte[] {1, 2, 3});
+            } catch (final Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertEquals(1, events.size(), "Incorrect number of events!");
+        final RecordedEvent event = events.get(0);
+        assertEquals("GET", event.getString("method"), "Incorrect method!");
+        assertEquals("/resource", event.getString("path"), "Incorrect path!");
+        assertEquals(200, event.getInt("status"), "Incorrect status!");
+        assertEquals("none", event.getString("interactionModel"), "Incorrect interaction model!");
+        verify(mockWriter).proceed();
+        verify(mockRequest).getProperty(eq(LdpRequestEvent.class.getName()));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.jfr;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.http.core.ServiceBundler;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+
+class FlightRecorderServiceBundlerTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+    @Test
+    void testResourceEvents() throws Exception {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        final Resource mockResource = mock(Resource.class);
+        when(mockResource.getInteractionModel()).thenReturn(LDP.RDFSource);
+        when(mockResourceService.get(eq(identifier))).thenAnswer(inv -> completedFuture(mockResource));
+        when(mockResourceService.get(eq(rdf.createIRI(TRELLIS_DATA_PREFIX + "other"))))
+            .thenAnswer(inv -> completedFuture(MISSING_RESOURCE));
+        when(mockResourceService.replace(any(), any())).thenReturn(completedFuture(null));
+        final ServiceBundler mockBundler = mock(ServiceBundler.class);
+        when(mockBundler.getResourceService()).thenReturn(mockResourceService);
+
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(null, identifier, DC.title, rdf.createLiteral("A title"));
+
+        final List<RecordedEvent> events = record(() -> {
+            final ServiceBundler bundler = new FlightRecorderServiceBundler(mockBundler);
+            bundler.getResourceService().get(identifier).toCompletableFuture().join();
+            bundler.getResourceService().get(rdf.createIRI(TRELLIS_DATA_PREFIX + "other"))
+                .toCompletableFuture().join();
+            bundler.getResourceService().replace(Metadata.builder(identifier).interactionModel(LDP.RDFSource)
+                    .build(), dataset).toCompletableFuture().join();
+        });
+
+        assertEquals(3, events.size(), "Incorrect number of events!");
+        final RecordedEvent fetch = events.stream().filter(e -> e.getEventType().getName()
+                    .equals("org.trellisldp.ResourceFetch") && e.getBoolean("found")).findFirst().get();
+        assertEquals(identifier.getIRIString(), fetch.getString("identifier"), "Incorrect identifier!");
+        assertEquals(LDP.RDFSource.getIRIString(), fetch.getString("interactionModel"), "Incorrect model!");
+
+        final RecordedEvent write = events.stream().filter(e -> e.getEventType().getName()
+                    .equals("org.trellisldp.ResourceWrite")).findFirst().get();
+        assertEquals("replace", write.getString("operation"), "Incorrect operation!");
+        assertEquals(1L, write.getLong("quads"), "Incorrect quad count!");
+        assertTrue(write.getBoolean("succeeded"), "Incorrect result!");
+    }
+
+    @Test
+    void testUpdateEvent() throws Exception {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        when(mockResourceService.update(any(), any(), any())).thenReturn(completedFuture(null));
+
+        final Dataset deletions = rdf.createDataset();
+        deletions.add(null, identifier, DC.title, rdf.createLiteral("Old title"));
+        final Dataset additions = rdf.createDataset();
+        additions.add(null, identifier, DC.title, rdf.createLiteral("New title"));
+        additions.add(null, identifier, DC.description, rdf.createLiteral("A description"));
+
+        final List<RecordedEvent> events = record(() -> FlightRecorderServiceBundler.record(ResourceService.class,
+                    mockResourceService).update(Metadata.builder(identifier).interactionModel(LDP.RDFSource)
+                    .build(), deletions, additions).toCompletableFuture().join());
+        assertEquals(1, events.size(), "Incorrect number of events!");
+        assertEquals("update", events.get(0).getString("operation"), "Incorrect operation!");
+        assertEquals(identifier.getIRIString(), events.get(0).getString("identifier"), "Incorrect identifier!");
+        assertEquals(3L, events.get(0).getLong("quads"), "Incorrect quad count!");
+        assertTrue(events.get(0).getBoolean("succeeded"), "Incorrect result!");
+    }
+
+    @Test
+    void testMementoEvent() throws Exception {
+        final MementoService mockMementoService = mock(MementoService.class);
+        final Resource mockResource = mock(Resource.class);
+        when(mockResource.getIdentifier()).thenReturn(identifier);
+        when(mockMementoService.put(any(Resource.class))).thenReturn(completedFuture(null));
+
+        final List<RecordedEvent> events = record(() -> FlightRecorderServiceBundler.record(MementoService.class,
+                    mockMementoService).put(mockResource).toCompletableFuture().join());
+        assertEquals(1, events.size(), "Incorrect number of events!");
+        assertEquals(identifier.getIRIString(), events.get(0).getString("identifier"), "Incorrect identifier!");
+    }
+
+    @Test
+    void testDisabled() {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        when(mockResourceService.generateIdentifier()).thenReturn("identifier");
+        final ResourceService svc = FlightRecorderServiceBundler.record(ResourceService.class, mockResourceService);
+        assertEquals("identifier", svc.generateIdentifier(), "Incorrect identifier!");
+        verify(mockResourceService).generateIdentifier();
+        assertNull(FlightRecorderServiceBundler.record(ResourceService.class, null), "Unexpected service!");
+    }
+
+    static List<RecordedEvent> record(final Runnable operation) throws Exception {
+        final Path file = Files.createTempFile("trellis", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("org.trellisldp.ResourceFetch");
+            recording.enable("org.trellisldp.ResourceWrite");
+            recording.enable("org.trellisldp.MementoCapture");
+            recording.enable("org.trellisldp.LdpRequest");
+            recording.start();
+            operation.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static javax.ws.rs.client.Entity.entity;
+import static javax.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.Link.TYPE;
+import static javax.ws.rs.core.Link.fromUri;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.trellisldp.http.core.HttpConstants.SLUG;
+import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
+import static org.trellisldp.http.core.RdfMediaType.TEXT_TURTLE;
+import static org.trellisldp.test.TestUtils.buildJwt;
+import static org.trellisldp.test.TestUtils.getResourceAsString;
+
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.rdf.api.IRI;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.trellisldp.api.BinaryService;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.vocabulary.LDP;
+
+/**
+ * A convenience class for verifying the number of backend calls that HTTP requests perform.
+ *
+ * <p>The server under test must use the {@link CountingServiceBundler} returned by {@link #getServiceBundler} and
+ * must handle requests in-process. Each test resets the counts, performs a single request and checks that no
+ * service method was called more often than its budget. The default budgets assume that resources are retrieved
+ * at most once per request; an implementation may adjust them by overriding {@link #getBudget}.
+ */
+@TestInstance(PER_CLASS)
+public abstract class AbstractApplicationBudgetTests implements CommonTests {
+
+    private static final String GET = "get";
+    private static final String ACL_QUERY = "?ext=acl";
+
+    private String adminJwt;
+    private String container;
+    private String child;
+    private String grandchild;
+    private String binary;
+
+    /**
+     * Get the service bundler used by the server under test.
+     * @return the service bundler
+     */
+    public abstract CountingServiceBundler getServiceBundler();
+
+    /**
+     * Get the JWT secret.
+     * @return the JWT secret
+     */
+    public abstract String getJwtSecret();
+
+    /**
+     * Get the WebID of an agent that may create resources and ACLs below the root container.
+     * @return the WebID
+     */
+    public abstract String getAdminWebId();
+
+    /**
+     * Get the maximum number of calls that a request may make to a service method.
+     * @param scenario the name of the test scenario
+     * @param service the service interface
+     * @param method the method name
+     * @param defaultBudget the default budget
+     * @return the budget
+     */
+    public long getBudget(final String scenario, final Class<?> service, final String method,
+            final long defaultBudget) {
+        return defaultBudget;
+    }
+
+    /**
+     * Create the test resources.
+     *
+     * <p>A container with its own ACL holds an RDF resource, a binary and a child container, which in turn holds
+     * another RDF resource. None of the resources within the container have an ACL of their own.
+     */
+    @BeforeAll
+    @DisplayName("Initialize Budget tests")
+    protected void setUp() {
+        adminJwt = buildJwt(getAdminWebId(), getJwtSecret());
+        container = post(getBaseURL(), LDP.BasicContainer, getResourceAsString("/basicContainer.ttl"), TEXT_TURTLE);
+
+        final String acl = "PREFIX acl: <http://www.w3.org/ns/auth/acl#>\n"
+            + "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+            + "INSERT DATA { [acl:accessTo <" + container + ">; acl:default <" + container + ">; "
+            + "acl:mode acl:Read, acl:Write, acl:Control; acl:agentClass foaf:Agent ] }";
+        try (final Response res = target(container + ACL_QUERY).request().header(AUTHORIZATION, adminJwt)
+                .method("PATCH", entity(acl, APPLICATION_SPARQL_UPDATE))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for container ACL");
+        }
+
+        child = post(container, LDP.RDFSource, getResourceAsString("/childResource.ttl"), TEXT_TURTLE);
+        binary = post(container, LDP.NonRDFSource, "binary content", TEXT_PLAIN);
+        final String childContainer = post(container, LDP.BasicContainer,
+                getResourceAsString("/basicContainer.ttl"), TEXT_TURTLE);
+        grandchild = post(childContainer, LDP.RDFSource, getResourceAsString("/childResource.ttl"), TEXT_TURTLE);
+    }
+
+    /**
+     * Check a GET of a resource with its own ACL.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a GET of a resource with an ACL")
+    public void testGetWithAcl() {
+        final String scenario = "get-acl";
+        measure(scenario, () -> target(container).request().get());
+        assertBudget(scenario, ResourceService.class, GET, 1L);
+        assertBudget(scenario, MementoService.class, "mementos", 1L);
+    }
+
+    /**
+     * Check a GET of an RDF resource that inherits the ACL of its parent.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a GET of an RDF resource with an inherited ACL")
+    public void testGetWithInheritedAcl() {
+        final String scenario = "get-inherited-acl";
+        measure(scenario, () -> target(child).request().get());
+        assertBudget(scenario, ResourceService.class, GET, 2L);
+        assertBudget(scenario, MementoService.class, "mementos", 1L);
+    }
+
+    /**
+     * Check a GET of an RDF resource that inherits the ACL of its grandparent.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a GET of an RDF resource with a distant inherited ACL")
+    public void testGetWithDistantInheritedAcl() {
+        final String scenario = "get-distant-acl";
+        measure(scenario, () -> target(grandchild).request().get());
+        assertBudget(scenario, ResourceService.class, GET, 3L);
+    }
+
+    /**
+     * Check a GET of a binary that inherits the ACL of its parent.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a GET of a binary with an inherited ACL")
+    public void testGetBinary() {
+        final String scenario = "get-binary";
+        measure(scenario, () -> target(binary).request().get());
+        assertBudget(scenario, ResourceService.class, GET, 2L);
+        assertBudget(scenario, BinaryService.class, GET, 1L);
+    }
+
+    /**
+     * Check a POST to a container with an ACL.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a POST to a container")
+    public void testPost() {
+        final String scenario = "post";
+        measure(scenario, () -> target(container).request().post(entity(
+                        getResourceAsString("/childResource.ttl"), TEXT_TURTLE)));
+        assertBudget(scenario, ResourceService.class, GET, 2L);
+        assertBudget(scenario, ResourceService.class, "create", 1L);
+    }
+
+    /**
+     * Check a PATCH of an RDF resource that inherits the ACL of its parent.
+     *
+     * <p>The default budget allows the memento service to retrieve the updated resource once.
+     */
+    @Test
+    @DisplayName("Check the backend calls for a PATCH of an RDF resource with an inherited ACL")
+    public void testPatch() {
+        final String scenario = "patch";
+        measure(scenario, () -> target(child).request().method("PATCH", entity(
+                        "INSERT DATA { <> <http://purl.org/dc/terms/subject> \"Budget\" }",
+                        APPLICATION_SPARQL_UPDATE)));
+        assertBudget(scenario, ResourceService.class, GET, 3L);
+        assertBudget(scenario, ResourceService.class, "replace", 1L);
+    }
+
+    private void measure(final String scenario, final Supplier<Response> request) {
+        getServiceBundler().reset();
+        try (final Response res = request.get()) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for " + scenario);
+        }
+    }
+
+    private void assertBudget(final String scenario, final Class<?> service, final String method,
+            final long defaultBudget) {
+        final long budget = getBudget(scenario, service, method, defaultBudget);
+        final long count = getServiceBundler().getCount(service, method);
+        assertTrue(count <= budget, "Too many calls to " + service.getSimpleName() + "." + method + " for "
+                + scenario + ": " + count + " > " + budget + " " + getServiceBundler().getCounts());
+    }
+
+    private String post(final String parent, final IRI type, final String content, final String mediaType) {
+        try (final Response res = target(parent).request().header(AUTHORIZATION, adminJwt)
+                .header(LINK, fromUri(type.getIRIString()).rel(TYPE).build())
+                .header(SLUG, generateRandomValue(getClass().getSimpleName()))
+                .post(entity(content, mediaType))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for " + parent);
+            return res.getLocation().toString();
+        }
+    }
+}
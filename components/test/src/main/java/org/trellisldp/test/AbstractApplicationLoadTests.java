@@ -0,0 +1,232 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static javax.ws.rs.client.Entity.entity;
+import static javax.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.Link.TYPE;
+import static javax.ws.rs.core.Link.fromUri;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.trellisldp.http.core.HttpConstants.SLUG;
+import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
+import static org.trellisldp.http.core.RdfMediaType.TEXT_TURTLE;
+import static org.trellisldp.test.TestUtils.buildJwt;
+import static org.trellisldp.test.TestUtils.getResourceAsString;
+
+import java.util.Random;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.trellisldp.vocabulary.LDP;
+
+/**
+ * A convenience class for running load tests against a Trellis application.
+ *
+ * <p>Each test runs a workload through a {@link LoadGenerator} and logs the throughput and the p50, p99 and p999
+ * latencies of its requests. The size of the workloads can be adjusted with these configuration properties:
+ * <ul>
+ *   <li>{@value #CONFIG_LOAD_CONCURRENCY}: the number of concurrent clients (default: 8)</li>
+ *   <li>{@value #CONFIG_LOAD_REQUESTS}: the number of requests per workload (default: 1000)</li>
+ *   <li>{@value #CONFIG_LOAD_DEPTH}: the depth of the container hierarchy (default: 20)</li>
+ *   <li>{@value #CONFIG_LOAD_BINARY_SIZE}: the size of the binary, in bytes (default: 4 MiB)</li>
+ * </ul>
+ */
+@TestInstance(PER_CLASS)
+public abstract class AbstractApplicationLoadTests implements CommonTests {
+
+    /** The configuration key controlling the number of concurrent clients. */
+    public static final String CONFIG_LOAD_CONCURRENCY = "trellis.test.load.concurrency";
+
+    /** The configuration key controlling the number of requests per workload. */
+    public static final String CONFIG_LOAD_REQUESTS = "trellis.test.load.requests";
+
+    /** The configuration key controlling the depth of the container hierarchy. */
+    public static final String CONFIG_LOAD_DEPTH = "trellis.test.load.depth";
+
+    /** The configuration key controlling the size of the binary, in bytes. */
+    public static final String CONFIG_LOAD_BINARY_SIZE = "trellis.test.load.binary.size";
+
+    private static final String PREFIX_ACL = "PREFIX acl: <http://www.w3.org/ns/auth/acl#>\n";
+    private static final String READER = "https://reader.example.com/profile#me";
+    private static final int RANGE_SIZE = 64 * 1024;
+
+    private final int concurrency = getConfig().getOptionalValue(CONFIG_LOAD_CONCURRENCY, Integer.class).orElse(8);
+    private final int requests = getConfig().getOptionalValue(CONFIG_LOAD_REQUESTS, Integer.class).orElse(1000);
+    private final int depth = getConfig().getOptionalValue(CONFIG_LOAD_DEPTH, Integer.class).orElse(20);
+    private final int binarySize = getConfig().getOptionalValue(CONFIG_LOAD_BINARY_SIZE, Integer.class)
+        .orElse(4 * 1024 * 1024);
+    private final LoadGenerator generator = new LoadGenerator(concurrency, 10L);
+
+    private String adminJwt;
+    private String container;
+
+    /**
+     * Get the JWT secret.
+     * @return the JWT secret
+     */
+    public abstract String getJwtSecret();
+
+    /**
+     * Get the WebID of an agent with full control over the server.
+     * @return the WebID of an administrator
+     */
+    public abstract String getAdminWebId();
+
+    /**
+     * Create a container for the load tests.
+     */
+    @BeforeAll
+    @DisplayName("Initialize Load tests")
+    protected void setUp() {
+        adminJwt = buildJwt(getAdminWebId(), getJwtSecret());
+        final String content = getResourceAsString("/basicContainer.ttl");
+        try (final Response res = target().request().header(AUTHORIZATION, adminJwt)
+                .header(LINK, fromUri(LDP.BasicContainer.getIRIString()).rel(TYPE).build())
+                .header(SLUG, generateRandomValue(getClass().getSimpleName()))
+                .post(entity(content, TEXT_TURTLE))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for load-test container");
+            container = res.getLocation().toString();
+        }
+    }
+
+    /**
+     * Create many children in a single container.
+     */
+    @Test
+    @DisplayName("Container fan-out")
+    public void testContainerFanOut() {
+        final String parent = createContainer(container);
+        final String content = getResourceAsString("/childResource.ttl");
+        final LoadReport report = generator.run("container-fanout", requests, i -> target(parent).request()
+                .header(AUTHORIZATION, adminJwt).post(entity(content, TEXT_TURTLE)));
+        assertEquals(0L, report.getErrors(), "Check for errors in " + report);
+    }
+
+    /**
+     * Create and read a deep container hierarchy.
+     */
+    @Test
+    @DisplayName("Deep container hierarchy")
+    public void testDeepHierarchy() {
+        final String[] levels = new String[depth + 1];
+        levels[0] = createContainer(container);
+        final LoadReport create = new LoadGenerator(1, 10L).run("deep-hierarchy-create", depth, i -> {
+            final Response res = target(levels[i]).request().header(AUTHORIZATION, adminJwt)
+                .header(LINK, fromUri(LDP.BasicContainer.getIRIString()).rel(TYPE).build())
+                .post(entity("", TEXT_TURTLE));
+            if (res.getLocation() != null) {
+                levels[i + 1] = res.getLocation().toString();
+            }
+            return res;
+        });
+        assertEquals(0L, create.getErrors(), "Check for errors in " + create);
+
+        final String leaf = levels[depth];
+        final LoadReport read = generator.run("deep-hierarchy-read", requests, i -> target(leaf).request()
+                .header(AUTHORIZATION, adminJwt).get());
+        assertEquals(0L, read.getErrors(), "Check for errors in " + read);
+    }
+
+    /**
+     * Apply many SPARQL updates to the same resource.
+     */
+    @Test
+    @DisplayName("PATCH-heavy workload")
+    public void testPatchHeavy() {
+        final String resource;
+        try (final Response res = target(container).request().header(AUTHORIZATION, adminJwt)
+                .post(entity(getResourceAsString("/childResource.ttl"), TEXT_TURTLE))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for PATCH resource");
+            resource = res.getLocation().toString();
+        }
+
+        final LoadReport report = generator.run("patch", requests, i -> target(resource).request()
+                .header(AUTHORIZATION, adminJwt).method("PATCH", entity(
+                        "PREFIX dc: <http://purl.org/dc/terms/>\nINSERT DATA { <> dc:subject \"Value " + i + "\" }",
+                        APPLICATION_SPARQL_UPDATE)));
+        assertEquals(0L, report.getErrors(), "Check for errors in " + report);
+    }
+
+    /**
+     * Read ranges from a large binary.
+     */
+    @Test
+    @DisplayName("Large binary range requests")
+    public void testBinaryRange() {
+        final byte[] data = new byte[binarySize];
+        new Random(binarySize).nextBytes(data);
+        final String binary;
+        try (final Response res = target(container).request().header(AUTHORIZATION, adminJwt)
+                .header(LINK, fromUri(LDP.NonRDFSource.getIRIString()).rel(TYPE).build())
+                .post(entity(data, APPLICATION_OCTET_STREAM))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for binary");
+            binary = res.getLocation().toString();
+        }
+
+        final LoadReport full = generator.run("binary-get", Math.max(1, requests / 10), i -> target(binary)
+                .request().header(AUTHORIZATION, adminJwt).get());
+        assertEquals(0L, full.getErrors(), "Check for errors in " + full);
+
+        final int windows = Math.max(1, binarySize / RANGE_SIZE);
+        final LoadReport ranges = generator.run("binary-range", requests, i -> {
+            final int start = (i % windows) * RANGE_SIZE;
+            final int end = Math.min(binarySize, start + RANGE_SIZE) - 1;
+            return target(binary).request().header(AUTHORIZATION, adminJwt)
+                .header("Range", "bytes=" + start + "-" + end).get();
+        });
+        assertEquals(0L, ranges.getErrors(), "Check for errors in " + ranges);
+    }
+
+    /**
+     * Read resources that are protected by an agent-specific ACL.
+     */
+    @Test
+    @DisplayName("WebAC-protected reads")
+    public void testProtectedReads() {
+        final String protectedContainer = createContainer(container);
+        final String acl = PREFIX_ACL + "INSERT DATA { [acl:accessTo <" + protectedContainer + ">; "
+            + "acl:mode acl:Read; acl:agent <" + READER + ">; acl:default <" + protectedContainer + "> ] };\n"
+            + PREFIX_ACL + "INSERT DATA { [acl:accessTo <" + protectedContainer + ">; "
+            + "acl:mode acl:Read, acl:Write, acl:Control; acl:agent <" + getAdminWebId() + ">; "
+            + "acl:default <" + protectedContainer + "> ] }";
+        try (final Response res = target(protectedContainer + "?ext=acl").request()
+                .header(AUTHORIZATION, adminJwt).method("PATCH", entity(acl, APPLICATION_SPARQL_UPDATE))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for protected ACL");
+        }
+        final String child = createContainer(protectedContainer);
+
+        final String jwt = buildJwt(READER, getJwtSecret());
+        final LoadReport report = generator.run("webac-read", requests, i -> target(child).request()
+                .header(AUTHORIZATION, jwt).get());
+        assertEquals(0L, report.getErrors(), "Check for errors in " + report);
+    }
+
+    private String createContainer(final String parent) {
+        try (final Response res = target(parent).request().header(AUTHORIZATION, adminJwt)
+                .header(LINK, fromUri(LDP.BasicContainer.getIRIString()).rel(TYPE).build())
+                .post(entity(getResourceAsString("/basicContainer.ttl"), TEXT_TURTLE))) {
+            assertEquals(SUCCESSFUL, res.getStatusInfo().getFamily(), "Check response for container");
+            return res.getLocation().toString();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.toMap;
+import static org.trellisldp.http.core.ServiceDecorator.decorate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.trellisldp.api.AuditService;
+import org.trellisldp.api.BinaryService;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.http.core.ServiceBundler;
+import org.trellisldp.http.core.TimemapGenerator;
+
+/**
+ * A {@link ServiceBundler} that counts the calls made to the backend services of another bundler.
+ *
+ * <p>Calls to the resource, binary, memento and event services are counted by service and method name, e.g.
+ * {@code ResourceService.get}. When the HTTP layer of an in-process server uses this bundler, the counts can be
+ * {@link #reset} before a request and inspected after it in order to verify how many backend round trips the
+ * request required.
+ */
+public class CountingServiceBundler implements ServiceBundler {
+
+    private final ServiceBundler delegate;
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final ResourceService resourceService;
+    private final BinaryService binaryService;
+    private final MementoService mementoService;
+    private final EventService eventService;
+
+    /**
+     * Create a service bundler that counts backend calls.
+     * @param delegate the service bundler whose services are to be counted
+     */
+    public CountingServiceBundler(final ServiceBundler delegate) {
+        this.delegate = delegate;
+        this.resourceService = count(ResourceService.class, delegate.getResourceService());
+        this.binaryService = count(BinaryService.class, delegate.getBinaryService());
+        this.mementoService = count(MementoService.class, delegate.getMementoService());
+        this.eventService = count(EventService.class, delegate.getEventService());
+    }
+
+    /**
+     * Get the number of calls to a service method since the last reset.
+     * @param service the service interface
+     * @param method the method name
+     * @return the number of calls
+     */
+    public long getCount(final Class<?> service, final String method) {
+        final LongAdder count = counts.get(getKey(service, method));
+        return count != null ? count.sum() : 0L;
+    }
+
+    /**
+     * Get the number of calls to each service method since the last reset.
+     * @return the call counts, keyed by service and method name
+     */
+    public Map<String, Long> getCounts() {
+        return unmodifiableMap(counts.entrySet().stream().collect(toMap(Map.Entry::getKey,
+                        e -> e.getValue().sum(), (a, b) -> a + b, TreeMap::new)));
+    }
+
+    /**
+     * Reset all of the call counts.
+     */
+    public void reset() {
+        counts.clear();
+    }
+
+    @Override
+    public ResourceService getResourceService() {
+        return resourceService;
+    }
+
+    @Override
+    public IOService getIOService() {
+        return delegate.getIOService();
+    }
+
+    @Override
+    public BinaryService getBinaryService() {
+        return binaryService;
+    }
+
+    @Override
+    public AuditService getAuditService() {
+        return delegate.getAuditService();
+    }
+
+    @Override
+    public MementoService getMementoService() {
+        return mementoService;
+    }
+
+    @Override
+    public EventService getEventService() {
+        return eventService;
+    }
+
+    @Override
+    public Iterable<ConstraintService> getConstraintServices() {
+        return delegate.getConstraintServices();
+    }
+
+    @Override
+    public TimemapGenerator getTimemapGenerator() {
+        return delegate.getTimemapGenerator();
+    }
+
+    private <T> T count(final Class<T> type, final T service) {
+        return decorate(type, service, (method, args) -> {
+            counts.computeIfAbsent(getKey(type, method.getName()), k -> new LongAdder()).increment();
+            return null;
+        });
+    }
+
+    private static String getKey(final Class<?> service, final String method) {
+        return service.getSimpleName() + "." + method;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import javax.ws.rs.core.Response;
+
+import org.slf4j.Logger;
+
+/**
+ * Drive a fixed number of HTTP requests through a pool of concurrent clients and measure the latency of each one.
+ */
+public class LoadGenerator {
+
+    private static final Logger LOGGER = getLogger(LoadGenerator.class);
+
+    private final int concurrency;
+    private final long timeout;
+
+    /**
+     * Create a load generator.
+     * @param concurrency the number of concurrent clients
+     * @param timeout the maximum duration of a workload, in minutes
+     */
+    public LoadGenerator(final int concurrency, final long timeout) {
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Run a workload.
+     *
+     * @implNote The response entity, if any, is read before the latency of a request is recorded.
+     *           Non-2xx responses and exceptions are counted as errors.
+     * @param name the name of the workload
+     * @param requests the number of requests
+     * @param request a function that performs the request with the given sequence number
+     * @return the load-test report
+     */
+    public LoadReport run(final String name, final int requests, final IntFunction<Response> request) {
+        final long[] latencies = new long[requests];
+        final AtomicInteger counter = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+        final ExecutorService executor = newFixedThreadPool(concurrency);
+        final long start = nanoTime();
+        try {
+            final List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    int seq = counter.getAndIncrement();
+                    while (seq < requests) {
+                        latencies[seq] = execute(request, seq, errors);
+                        seq = counter.getAndIncrement();
+                    }
+                }));
+            }
+            for (final Future<?> client : clients) {
+                client.get(timeout, MINUTES);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running workload " + name, ex);
+        } catch (final ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Could not complete workload " + name, ex);
+        } finally {
+            executor.shutdownNow();
+        }
+        final LoadReport report = new LoadReport(name, latencies, errors.get(), nanoTime() - start);
+        LOGGER.info("{}", report);
+        return report;
+    }
+
+    private static long execute(final IntFunction<Response> request, final int seq, final AtomicLong errors) {
+        final long start = nanoTime();
+        try (final Response res = request.apply(seq)) {
+            if (res.hasEntity()) {
+                res.readEntity(byte[].class);
+            }
+            if (!SUCCESSFUL.equals(res.getStatusInfo().getFamily())) {
+                LOGGER.debug("Request {} failed with status {}", seq, res.getStatus());
+                errors.incrementAndGet();
+            }
+        } catch (final RuntimeException ex) {
+            LOGGER.debug("Request {} failed: {}", seq, ex.getMessage());
+            errors.incrementAndGet();
+        }
+        return nanoTime() - start;
+    }
+}
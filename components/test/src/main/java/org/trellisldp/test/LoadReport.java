@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Locale;
+
+/**
+ * The throughput and latency distribution of a load-test workload.
+ */
+public class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final String name;
+    private final long[] latencies;
+    private final long errors;
+    private final long elapsed;
+
+    /**
+     * Create a load-test report.
+     * @param name the name of the workload
+     * @param latencies the latency of each request, in nanoseconds
+     * @param errors the number of unsuccessful requests
+     * @param elapsed the wall-clock duration of the workload, in nanoseconds
+     */
+    public LoadReport(final String name, final long[] latencies, final long errors, final long elapsed) {
+        this.name = name;
+        this.latencies = copyOf(latencies, latencies.length);
+        this.errors = errors;
+        this.elapsed = elapsed;
+        sort(this.latencies);
+    }
+
+    /**
+     * Get the name of the workload.
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of requests.
+     * @return the request count
+     */
+    public int getRequests() {
+        return latencies.length;
+    }
+
+    /**
+     * Get the number of unsuccessful requests.
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Get the throughput of the workload.
+     * @return the number of requests per second
+     */
+    public double getThroughput() {
+        return elapsed > 0 ? latencies.length * (double) SECONDS.toNanos(1) / elapsed : 0d;
+    }
+
+    /**
+     * Get a latency percentile, using the nearest-rank method.
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency, in milliseconds
+     */
+    public double getPercentile(final double percentile) {
+        if (latencies.length == 0) {
+            return 0d;
+        }
+        final int rank = (int) Math.ceil(percentile * latencies.length / 100);
+        return latencies[Math.min(latencies.length, Math.max(1, rank)) - 1] / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %d requests, %d errors, %.1f req/s, p50=%.2fms p99=%.2fms p999=%.2fms",
+                name, getRequests(), errors, getThroughput(), getPercentile(50), getPercentile(99),
+                getPercentile(99.9));
+    }
+}
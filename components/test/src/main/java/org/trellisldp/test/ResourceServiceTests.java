@@ -46,6 +46,7 @@ import org.trellisldp.api.BinaryMetadata;
 import org.trellisldp.api.Metadata;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
+import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.DC;
 import org.trellisldp.vocabulary.FOAF;
@@ -125,6 +126,50 @@ public interface ResourceServiceTests {
         assertEquals(3L, res.stream(Trellis.PreferUserManaged).count(), "Check the total user-managed triple count");
     }
 
+    /**
+     * Test updating a resource.
+     */
+    @Test
+    @DisplayName("Test updating resource")
+    default void testUpdateResource() {
+        final RDF rdf = getInstance();
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + getResourceService().generateIdentifier());
+        final IRI child = rdf.createIRI(identifier.getIRIString() + "/child");
+        final Metadata metadata = Metadata.builder(identifier).interactionModel(LDP.BasicContainer)
+            .container(ROOT_CONTAINER).build();
+        final Dataset dataset = buildDataset(identifier, "Update Test", SUBJECT1);
+        dataset.add(Trellis.PreferAccessControl, identifier, type, ACL.Authorization);
+
+        assertDoesNotThrow(() -> getResourceService().create(metadata, dataset).toCompletableFuture().join(),
+                "Check that the container was successfully created");
+        assertDoesNotThrow(() -> getResourceService().create(Metadata.builder(child).interactionModel(LDP.RDFSource)
+                    .container(identifier).build(), rdf.createDataset()).toCompletableFuture().join(),
+                "Check that the child was successfully created");
+        assertEquals(1L, getResourceService().get(identifier).toCompletableFuture().join()
+                .stream(LDP.PreferContainment).count(), "Check the containment triple count");
+
+        final Dataset deletions = rdf.createDataset();
+        deletions.add(Trellis.PreferUserManaged, identifier, DC.title, rdf.createLiteral("Update Test"));
+        final Dataset additions = rdf.createDataset();
+        additions.add(Trellis.PreferUserManaged, identifier, DC.title, rdf.createLiteral("Updated"));
+
+        assertDoesNotThrow(() -> getResourceService().update(metadata, deletions, additions).toCompletableFuture()
+                .join(), "Check that the container was successfully updated");
+        assertDoesNotThrow(() -> getResourceService().delete(Metadata.builder(child).interactionModel(LDP.RDFSource)
+                    .container(identifier).build()).toCompletableFuture().join(),
+                "Check that the child was successfully deleted");
+
+        final Resource res = getResourceService().get(identifier).toCompletableFuture().join();
+        assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(q -> q.getObject()
+                    .equals(rdf.createLiteral("Updated"))), "Check that the new title was added");
+        assertFalse(res.stream(Trellis.PreferUserManaged).anyMatch(q -> q.getObject()
+                    .equals(rdf.createLiteral("Update Test"))), "Check that the old title was removed");
+        assertEquals(dataset.getGraph(Trellis.PreferUserManaged).map(Graph::size).orElse(0L),
+                res.stream(Trellis.PreferUserManaged).count(), "Check the user-managed triple count");
+        assertEquals(1L, res.stream(Trellis.PreferAccessControl).count(), "Check that the ACL was retained");
+        assertEquals(0L, res.stream(LDP.PreferContainment).count(), "Check that no stale containment was stored");
+    }
+
     /**
      * Test deleting a resource.
      */
@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import org.apache.commons.rdf.api.IRI;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.AuditService;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.http.core.ServiceBundler;
+import org.trellisldp.http.core.TimemapGenerator;
+
+class CountingServiceBundlerTest {
+
+    private static final IRI identifier = getInstance().createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+    @Test
+    void testCounts() {
+        final ServiceBundler mockBundler = mock(ServiceBundler.class);
+        final IOService mockIoService = mock(IOService.class);
+        final AuditService mockAuditService = mock(AuditService.class);
+        final TimemapGenerator mockTimemapGenerator = mock(TimemapGenerator.class);
+        when(mockBundler.getResourceService()).thenReturn(new InMemoryResourceService());
+        when(mockBundler.getBinaryService()).thenReturn(new InMemoryBinaryService());
+        when(mockBundler.getIOService()).thenReturn(mockIoService);
+        when(mockBundler.getAuditService()).thenReturn(mockAuditService);
+        when(mockBundler.getTimemapGenerator()).thenReturn(mockTimemapGenerator);
+        when(mockBundler.getConstraintServices()).thenReturn(emptyList());
+
+        final CountingServiceBundler bundler = new CountingServiceBundler(mockBundler);
+        final ResourceService svc = bundler.getResourceService();
+        svc.get(identifier);
+        svc.get(identifier);
+        svc.supportedInteractionModels();
+
+        assertEquals(2L, bundler.getCount(ResourceService.class, "get"), "Incorrect get count!");
+        assertEquals(0L, bundler.getCount(ResourceService.class, "delete"), "Incorrect delete count!");
+        assertEquals(2, bundler.getCounts().size(), "Incorrect number of counted methods!");
+
+        bundler.reset();
+        svc.get(identifier);
+        assertEquals(singletonMap("ResourceService.get", 1L), bundler.getCounts(), "Incorrect counts after reset!");
+
+        assertNotNull(bundler.getBinaryService(), "Missing binary service!");
+        assertNull(bundler.getMementoService(), "Unexpected memento service!");
+        assertNull(bundler.getEventService(), "Unexpected event service!");
+        assertEquals(mockIoService, bundler.getIOService(), "Incorrect IO service!");
+        assertEquals(mockAuditService, bundler.getAuditService(), "Incorrect audit service!");
+        assertEquals(mockTimemapGenerator, bundler.getTimemapGenerator(), "Incorrect timemap generator!");
+        assertFalse(bundler.getConstraintServices().iterator().hasNext(), "Unexpected constraint services!");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.test;
+
+import static javax.ws.rs.core.Response.Status.Family.SERVER_ERROR;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTest {
+
+    @Test
+    void testLoadReport() {
+        final long[] latencies = new long[1000];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[latencies.length - i - 1] = (i + 1) * 1_000_000L;
+        }
+        final LoadReport report = new LoadReport("test", latencies, 2L, 2_000_000_000L);
+        assertEquals("test", report.getName(), "Incorrect name!");
+        assertEquals(1000, report.getRequests(), "Incorrect request count!");
+        assertEquals(2L, report.getErrors(), "Incorrect error count!");
+        assertEquals(500d, report.getThroughput(), 0.001, "Incorrect throughput!");
+        assertEquals(500d, report.getPercentile(50), 0.001, "Incorrect p50!");
+        assertEquals(990d, report.getPercentile(99), 0.001, "Incorrect p99!");
+        assertEquals(999d, report.getPercentile(99.9), 0.001, "Incorrect p999!");
+        assertEquals(1d, report.getPercentile(0), 0.001, "Incorrect minimum!");
+        assertTrue(report.toString().contains("p999=999.00ms"), "Incorrect summary: " + report);
+    }
+
+    @Test
+    void testEmptyLoadReport() {
+        final LoadReport report = new LoadReport("empty", new long[0], 0L, 0L);
+        assertEquals(0d, report.getThroughput(), "Incorrect throughput!");
+        assertEquals(0d, report.getPercentile(99), "Incorrect p99!");
+    }
+
+    @Test
+    void testLoadGenerator() {
+        final Response mockSuccess = mock(Response.class);
+        final Response mockError = mock(Response.class);
+        final Response.StatusType mockSuccessStatus = mock(Response.StatusType.class);
+        final Response.StatusType mockErrorStatus = mock(Response.StatusType.class);
+        when(mockSuccessStatus.getFamily()).thenReturn(SUCCESSFUL);
+        when(mockErrorStatus.getFamily()).thenReturn(SERVER_ERROR);
+        when(mockSuccess.getStatusInfo()).thenReturn(mockSuccessStatus);
+        when(mockSuccess.hasEntity()).thenReturn(true);
+        when(mockError.getStatusInfo()).thenReturn(mockErrorStatus);
+
+        final LoadReport report = new LoadGenerator(4, 1L).run("test", 100, i -> {
+            if (i % 10 == 0) {
+                return mockError;
+            } else if (i % 25 == 1) {
+                throw new IllegalStateException("Expected exception");
+            }
+            return mockSuccess;
+        });
+        assertEquals(100, report.getRequests(), "Incorrect request count!");
+        assertEquals(14L, report.getErrors(), "Incorrect error count!");
+        verify(mockSuccess, times(86)).readEntity(byte[].class);
+        verify(mockSuccess, times(86)).close();
+        verify(mockError, times(10)).close();
+    }
+}
@@ -32,6 +32,8 @@ module org.trellisldp.triplestore {
     requires org.apache.jena.tdb2;
     requires java.annotation;
 
+    provides org.trellisldp.api.MementoService
+        with org.trellisldp.triplestore.TriplestoreMementoService;
     provides org.trellisldp.api.ResourceService
         with org.trellisldp.triplestore.TriplestoreResourceService;
 
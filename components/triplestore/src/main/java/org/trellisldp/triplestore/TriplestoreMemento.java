@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.triplestore;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Stream.builder;
+import static org.apache.jena.graph.NodeFactory.createURI;
+import static org.apache.jena.graph.Triple.create;
+import static org.trellisldp.triplestore.TriplestoreUtils.OBJECT;
+import static org.trellisldp.triplestore.TriplestoreUtils.PREDICATE;
+import static org.trellisldp.triplestore.TriplestoreUtils.SUBJECT;
+import static org.trellisldp.triplestore.TriplestoreUtils.getInstance;
+import static org.trellisldp.triplestore.TriplestoreUtils.getObject;
+import static org.trellisldp.triplestore.TriplestoreUtils.getPredicate;
+import static org.trellisldp.triplestore.TriplestoreUtils.getSubject;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.query.Query;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementNamedGraph;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.trellisldp.api.BinaryMetadata;
+import org.trellisldp.api.Resource;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.RDF;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * A Memento of a Trellis resource, stored in a triplestore.
+ */
+final class TriplestoreMemento implements Resource {
+
+    /** The suffixes, relative to the Memento IRI, of the named graphs holding each graph of a Memento. */
+    static final Map<IRI, String> GRAPHS = buildGraphs();
+
+    private static final JenaRDF rdf = getInstance();
+
+    private final RDFConnection rdfConnection;
+    private final IRI identifier;
+    private final IRI memento;
+    private final Map<IRI, RDFTerm> data;
+
+    /**
+     * Create a triplestore-based Memento.
+     * @param rdfConnection the triplestore connector
+     * @param identifier the identifier of the original resource
+     * @param memento the IRI under which the Memento is stored
+     * @param data the server-managed data of the Memento
+     */
+    TriplestoreMemento(final RDFConnection rdfConnection, final IRI identifier, final IRI memento,
+            final Map<IRI, RDFTerm> data) {
+        this.rdfConnection = rdfConnection;
+        this.identifier = identifier;
+        this.memento = memento;
+        this.data = data;
+    }
+
+    @Override
+    public IRI getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public IRI getInteractionModel() {
+        return asIRI(RDF.type).orElse(null);
+    }
+
+    @Override
+    public Instant getModified() {
+        return asLiteral(DC.modified).map(Instant::parse).orElse(null);
+    }
+
+    @Override
+    public Optional<IRI> getContainer() {
+        return asIRI(DC.isPartOf);
+    }
+
+    @Override
+    public Optional<IRI> getMembershipResource() {
+        return asIRI(LDP.membershipResource);
+    }
+
+    @Override
+    public Optional<IRI> getMemberRelation() {
+        return asIRI(LDP.hasMemberRelation);
+    }
+
+    @Override
+    public Optional<IRI> getMemberOfRelation() {
+        return asIRI(LDP.isMemberOfRelation);
+    }
+
+    @Override
+    public Optional<IRI> getInsertedContentRelation() {
+        return asIRI(LDP.insertedContentRelation);
+    }
+
+    @Override
+    public Optional<BinaryMetadata> getBinaryMetadata() {
+        return asIRI(DC.hasPart).map(id ->
+                BinaryMetadata.builder(id).mimeType(asLiteral(DC.format).orElse(null)).build());
+    }
+
+    @Override
+    public Stream<Quad> stream() {
+        return stream(GRAPHS.keySet());
+    }
+
+    @Override
+    public Stream<Quad> stream(final Collection<IRI> graphNames) {
+        return graphNames.stream().filter(GRAPHS::containsKey).flatMap(this::fetchGraph);
+    }
+
+    @Override
+    public boolean hasAcl() {
+        return stream(Trellis.PreferAccessControl).findAny().isPresent();
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below.
+     *
+     * <p><pre><code>
+     * SELECT ?subject ?predicate ?object
+     * WHERE { GRAPH MEMENTO{suffix} { ?subject ?predicate ?object } }
+     * </code></pre>
+     */
+    private Stream<Quad> fetchGraph(final IRI graphName) {
+        final Query q = new Query();
+        q.setQuerySelectType();
+        q.addResultVar(SUBJECT);
+        q.addResultVar(PREDICATE);
+        q.addResultVar(OBJECT);
+
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(create(SUBJECT, PREDICATE, OBJECT));
+
+        final ElementGroup elg = new ElementGroup();
+        elg.addElement(new ElementNamedGraph(createURI(memento.getIRIString() + GRAPHS.get(graphName)), epb));
+
+        q.setQueryPattern(elg);
+
+        final Stream.Builder<Quad> builder = builder();
+        rdfConnection.querySelect(q, qs -> builder.accept(rdf.createQuad(graphName,
+                        getSubject(qs), getPredicate(qs), getObject(qs))));
+        return builder.build();
+    }
+
+    private Optional<IRI> asIRI(final IRI predicate) {
+        return ofNullable(data.get(predicate)).filter(IRI.class::isInstance).map(IRI.class::cast);
+    }
+
+    private Optional<String> asLiteral(final IRI predicate) {
+        return ofNullable(data.get(predicate)).filter(Literal.class::isInstance).map(Literal.class::cast)
+            .map(Literal::getLexicalForm);
+    }
+
+    private static Map<IRI, String> buildGraphs() {
+        final Map<IRI, String> graphs = new LinkedHashMap<>();
+        graphs.put(Trellis.PreferUserManaged, "");
+        graphs.put(Trellis.PreferAccessControl, "&ext=acl");
+        graphs.put(Trellis.PreferAudit, "&ext=audit");
+        graphs.put(LDP.PreferContainment, "&ext=containment");
+        graphs.put(LDP.PreferMembership, "&ext=membership");
+        return unmodifiableMap(graphs);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.triplestore;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.Collections.unmodifiableNavigableSet;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.apache.jena.graph.NodeFactory.createURI;
+import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.triplestore.TriplestoreResourceService.CONFIG_TRIPLESTORE_RDF_LOCATION;
+import static org.trellisldp.triplestore.TriplestoreResourceService.buildRDFConnection;
+import static org.trellisldp.triplestore.TriplestoreUtils.OBJECT;
+import static org.trellisldp.triplestore.TriplestoreUtils.PREDICATE;
+import static org.trellisldp.triplestore.TriplestoreUtils.SUBJECT;
+import static org.trellisldp.triplestore.TriplestoreUtils.getInstance;
+import static org.trellisldp.triplestore.TriplestoreUtils.getObject;
+import static org.trellisldp.triplestore.TriplestoreUtils.getPredicate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+import javax.enterprise.inject.Alternative;
+import javax.inject.Inject;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Query;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.expr.E_LessThanOrEqual;
+import org.apache.jena.sparql.expr.ExprVar;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.apache.jena.sparql.modify.request.QuadAcc;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDeleteWhere;
+import org.apache.jena.sparql.syntax.ElementFilter;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementNamedGraph;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.apache.jena.sparql.syntax.ElementSubQuery;
+import org.apache.jena.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.RDF;
+import org.trellisldp.vocabulary.XSD;
+
+/**
+ * A triplestore-based implementation of the Trellis MementoService API.
+ *
+ * <p>Mementos are stored in the same triplestore as the resources, so that every node of a deployment
+ * sharing that triplestore negotiates the same Memento for a given datetime. A Memento of a resource at
+ * a given time is stored under {@code IDENTIFIER?version=EPOCH_SECONDS}: its user-managed triples are
+ * stored in a named graph with that IRI and its other graphs in named graphs with an {@code &ext=}
+ * suffix. The server-managed data of a Memento, including its {@code dc:isVersionOf} link to the
+ * original resource and its {@code dc:modified} date, is stored in a single {@code trellis:data/?ext=mementos}
+ * graph, so that selecting a Memento is a single lookup on the original resource identifier. That graph is
+ * kept apart from the {@code trellis:PreferServerManaged} graph of the live resources, whose containment and
+ * membership queries would otherwise match the {@code dc:isPartOf} and {@code ldp:membershipResource} data of
+ * the Mementos.
+ *
+ * <p>In a CDI container, this service is an alternative that must be selected in {@code beans.xml}. It then
+ * shares the injected {@link RDFConnection} rather than opening its own.
+ */
+@Alternative
+public class TriplestoreMementoService implements MementoService {
+
+    private static final String VERSION = "?version=";
+
+    private static final Logger LOGGER = getLogger(TriplestoreMementoService.class);
+    private static final JenaRDF rdf = getInstance();
+    private static final Var MEMENTO = Var.alloc("memento");
+    private static final Var MODIFIED = Var.alloc("modified");
+
+    /** The named graph holding the server-managed data of all Mementos. */
+    static final IRI MEMENTO_METADATA = rdf.createIRI(TRELLIS_DATA_PREFIX + "?ext=mementos");
+
+    private final RDFConnection rdfConnection;
+
+    /**
+     * Create a triplestore-backed memento service.
+     */
+    public TriplestoreMementoService() {
+        this(buildRDFConnection(getConfig().getOptionalValue(CONFIG_TRIPLESTORE_RDF_LOCATION, String.class)
+                    .orElse(null)));
+    }
+
+    /**
+     * Create a triplestore-backed memento service.
+     * @param rdfConnection the connection to an RDF datastore
+     */
+    @Inject
+    public TriplestoreMementoService(final RDFConnection rdfConnection) {
+        this.rdfConnection = requireNonNull(rdfConnection, "RDFConnection may not be null!");
+    }
+
+    @Override
+    public CompletionStage<Void> put(final Resource resource) {
+        return runAsync(() -> {
+            final Instant time = resource.getModified().truncatedTo(SECONDS);
+            LOGGER.debug("Storing Memento of {} at {}", resource.getIdentifier(), time);
+            try {
+                rdfConnection.update(buildUpdateRequest(resource, time));
+            } catch (final Exception ex) {
+                throw new RuntimeTrellisException("Could not store Memento of " + resource.getIdentifier(), ex);
+            }
+        });
+    }
+
+    @Override
+    public CompletionStage<Resource> get(final IRI identifier, final Instant time) {
+        return supplyAsync(() -> {
+            final Resource memento = fetchMemento(identifier, time.truncatedTo(SECONDS), true);
+            if (MISSING_RESOURCE.equals(memento)) {
+                // A request earlier than all Mementos is answered with the first Memento
+                return fetchMemento(identifier, time, false);
+            }
+            return memento;
+        });
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below.
+     *
+     * <p><pre><code>
+     * SELECT ?modified WHERE {
+     *   GRAPH trellis:data/?ext=mementos { ?memento dc:isVersionOf IDENTIFIER ; dc:modified ?modified }
+     * }
+     * </code></pre></p>
+     */
+    @Override
+    public CompletionStage<SortedSet<Instant>> mementos(final IRI identifier) {
+        return supplyAsync(() -> {
+            final Query q = new Query();
+            q.setQuerySelectType();
+            q.addResultVar(MODIFIED);
+
+            final ElementGroup elg = new ElementGroup();
+            elg.addElement(new ElementNamedGraph(rdf.asJenaNode(MEMENTO_METADATA), versionsOf(identifier)));
+            q.setQueryPattern(elg);
+
+            final NavigableSet<Instant> mementos = new TreeSet<>();
+            rdfConnection.querySelect(q, qs ->
+                    mementos.add(Instant.parse(qs.getLiteral(MODIFIED.getVarName()).getLexicalForm())));
+            return unmodifiableNavigableSet(mementos);
+        });
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below, with the filter and a descending order when selecting
+     * the latest Memento at or before a given time, and without the filter and with an ascending order when
+     * selecting the first Memento.
+     *
+     * <p><pre><code>
+     * SELECT ?predicate ?object WHERE {
+     *   {
+     *     SELECT ?memento WHERE {
+     *       GRAPH trellis:data/?ext=mementos { ?memento dc:isVersionOf IDENTIFIER ; dc:modified ?modified }
+     *       FILTER(?modified &lt;= TIME)
+     *     } ORDER BY DESC(?modified) LIMIT 1
+     *   }
+     *   GRAPH trellis:data/?ext=mementos { ?memento ?predicate ?object }
+     * }
+     * </code></pre></p>
+     */
+    private Resource fetchMemento(final IRI identifier, final Instant time, final boolean latest) {
+        final Query sub = new Query();
+        sub.setQuerySelectType();
+        sub.addResultVar(MEMENTO);
+        final ElementGroup subElg = new ElementGroup();
+        subElg.addElement(new ElementNamedGraph(rdf.asJenaNode(MEMENTO_METADATA), versionsOf(identifier)));
+        if (latest) {
+            subElg.addElementFilter(new ElementFilter(new E_LessThanOrEqual(new ExprVar(MODIFIED),
+                            NodeValue.makeNode(rdf.asJenaNode(asLiteral(time))))));
+        }
+        sub.setQueryPattern(subElg);
+        sub.addOrderBy(MODIFIED, latest ? Query.ORDER_DESCENDING : Query.ORDER_ASCENDING);
+        sub.setLimit(1);
+
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(MEMENTO, PREDICATE, OBJECT));
+
+        final ElementGroup elg = new ElementGroup();
+        elg.addElement(new ElementSubQuery(sub));
+        elg.addElement(new ElementNamedGraph(rdf.asJenaNode(MEMENTO_METADATA), epb));
+
+        final Query q = new Query();
+        q.setQuerySelectType();
+        q.addResultVar(PREDICATE);
+        q.addResultVar(OBJECT);
+        q.setQueryPattern(elg);
+
+        final Map<IRI, RDFTerm> data = new HashMap<>();
+        rdfConnection.querySelect(q, qs -> data.put(getPredicate(qs), getObject(qs)));
+        final RDFTerm modified = data.get(DC.modified);
+        if (!(modified instanceof Literal)) {
+            return MISSING_RESOURCE;
+        }
+        final Instant mementoTime = Instant.parse(((Literal) modified).getLexicalForm());
+        return new TriplestoreMemento(rdfConnection, identifier, rdf.createIRI(getMementoIRI(identifier,
+                        mementoTime)), data);
+    }
+
+    /**
+     * This is equivalent to the SPARQL below.
+     *
+     * <p><pre><code>
+     * DELETE WHERE { GRAPH MEMENTO { ?s ?p ?o } };
+     * DELETE WHERE { GRAPH MEMENTO&amp;ext=acl { ?s ?p ?o } };
+     * ...
+     * DELETE WHERE { GRAPH trellis:data/?ext=mementos { MEMENTO ?p ?o } };
+     * INSERT DATA {
+     *   GRAPH MEMENTO { ... }
+     *   GRAPH MEMENTO&amp;ext=acl { ... }
+     *   ...
+     *   GRAPH trellis:data/?ext=mementos {
+     *     MEMENTO dc:isVersionOf IDENTIFIER ; dc:modified TIME ; ... }
+     * }
+     * </code></pre></p>
+     */
+    private UpdateRequest buildUpdateRequest(final Resource resource, final Instant time) {
+        final String memento = getMementoIRI(resource.getIdentifier(), time);
+        final Node subject = createURI(memento);
+        final Node metadataGraph = rdf.asJenaNode(MEMENTO_METADATA);
+
+        final UpdateRequest req = new UpdateRequest();
+        TriplestoreMemento.GRAPHS.values().forEach(suffix -> req.add(new UpdateDeleteWhere(new QuadAcc(
+                            singletonList(new Quad(createURI(memento + suffix), SUBJECT, PREDICATE, OBJECT))))));
+        req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(metadataGraph, subject, PREDICATE,
+                                OBJECT)))));
+
+        final QuadDataAcc sink = new QuadDataAcc(synchronizedList(new ArrayList<>()));
+        final Map<IRI, RDFTerm> metadata = new HashMap<>();
+        metadata.put(DC.isVersionOf, resource.getIdentifier());
+        metadata.put(DC.modified, asLiteral(time));
+        metadata.put(RDF.type, resource.getInteractionModel());
+        resource.getContainer().ifPresent(container -> metadata.put(DC.isPartOf, container));
+        resource.getMembershipResource().ifPresent(member -> metadata.put(LDP.membershipResource, member));
+        resource.getMemberRelation().ifPresent(relation -> metadata.put(LDP.hasMemberRelation, relation));
+        resource.getMemberOfRelation().ifPresent(relation -> metadata.put(LDP.isMemberOfRelation, relation));
+        resource.getInsertedContentRelation().ifPresent(relation ->
+                metadata.put(LDP.insertedContentRelation, relation));
+        resource.getBinaryMetadata().ifPresent(binary -> {
+            metadata.put(DC.hasPart, binary.getIdentifier());
+            binary.getMimeType().map(rdf::createLiteral).ifPresent(mimeType -> metadata.put(DC.format, mimeType));
+        });
+        metadata.forEach((predicate, object) -> sink.addQuad(new Quad(metadataGraph, subject,
+                        rdf.asJenaNode(predicate), rdf.asJenaNode(object))));
+
+        try (final Stream<org.apache.commons.rdf.api.Quad> quads = resource.stream()) {
+            quads.forEach(quad -> quad.getGraphName().map(TriplestoreMemento.GRAPHS::get)
+                    .ifPresent(suffix -> sink.addQuad(new Quad(createURI(memento + suffix),
+                                rdf.asJenaTriple(quad.asTriple())))));
+        }
+        req.add(new UpdateDataInsert(sink));
+        return req;
+    }
+
+    private static String getMementoIRI(final IRI identifier, final Instant time) {
+        return identifier.getIRIString() + VERSION + time.getEpochSecond();
+    }
+
+    private static ElementPathBlock versionsOf(final IRI identifier) {
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(MEMENTO, rdf.asJenaNode(DC.isVersionOf), rdf.asJenaNode(identifier)));
+        epb.addTriple(triple(MEMENTO, rdf.asJenaNode(DC.modified), MODIFIED));
+        return epb;
+    }
+
+    private static Literal asLiteral(final Instant time) {
+        return rdf.createLiteral(time.toString(), XSD.dateTime);
+    }
+
+    private static org.apache.jena.graph.Triple triple(final Node subj, final Node pred, final Node obj) {
+        return org.apache.jena.graph.Triple.create(subj, pred, obj);
+    }
+}
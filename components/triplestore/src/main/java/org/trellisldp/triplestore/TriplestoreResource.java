@@ -58,6 +58,7 @@ import org.apache.jena.sparql.syntax.ElementPathBlock;
 import org.slf4j.Logger;
 import org.trellisldp.api.BinaryMetadata;
 import org.trellisldp.api.Resource;
+import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.DC;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.RDF;
@@ -70,6 +71,7 @@ public class TriplestoreResource implements Resource {
 
     private static final Logger LOGGER = getLogger(TriplestoreResource.class);
     private static final JenaRDF rdf = getInstance();
+    private static final String ACL_SUFFIX = "?ext=acl";
 
     private final IRI identifier;
     private final RDFConnection rdfConnection;
@@ -246,6 +248,12 @@ public class TriplestoreResource implements Resource {
         return fetchAclQuads().findAny().isPresent();
     }
 
+    @Override
+    public Optional<IRI> getEffectiveAcl() {
+        return asIRI(ACL.accessControl).map(IRI::getIRIString).filter(acl -> acl.endsWith(ACL_SUFFIX))
+            .map(acl -> rdf.createIRI(acl.substring(0, acl.length() - ACL_SUFFIX.length())));
+    }
+
     /**
      * This code is equivalent to the SPARQL query below.
      *
@@ -296,7 +304,7 @@ public class TriplestoreResource implements Resource {
      * </code></pre>
     */
     private Stream<Quad> fetchAclQuads() {
-        return fetchAllFromGraph(identifier.getIRIString() + "?ext=acl", Trellis.PreferAccessControl);
+        return fetchAllFromGraph(identifier.getIRIString() + ACL_SUFFIX, Trellis.PreferAccessControl);
     }
 
     private Stream<Quad> fetchMembershipQuads() {
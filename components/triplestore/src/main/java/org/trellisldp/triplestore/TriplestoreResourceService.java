@@ -46,6 +46,7 @@ import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
@@ -64,14 +65,31 @@ import org.apache.jena.graph.Node;
 import org.apache.jena.query.Query;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.TriplePath;
 import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.expr.E_Bound;
+import org.apache.jena.sparql.expr.E_Coalesce;
+import org.apache.jena.sparql.expr.E_Conditional;
+import org.apache.jena.sparql.expr.E_Exists;
+import org.apache.jena.sparql.expr.E_LogicalNot;
+import org.apache.jena.sparql.expr.E_LogicalOr;
+import org.apache.jena.sparql.expr.E_NotEquals;
+import org.apache.jena.sparql.expr.ExprList;
+import org.apache.jena.sparql.expr.ExprVar;
+import org.apache.jena.sparql.expr.NodeValue;
 import org.apache.jena.sparql.modify.request.QuadAcc;
 import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataDelete;
 import org.apache.jena.sparql.modify.request.UpdateDataInsert;
 import org.apache.jena.sparql.modify.request.UpdateDeleteInsert;
 import org.apache.jena.sparql.modify.request.UpdateDeleteWhere;
+import org.apache.jena.sparql.path.P_Link;
+import org.apache.jena.sparql.path.P_OneOrMore1;
+import org.apache.jena.sparql.syntax.ElementBind;
+import org.apache.jena.sparql.syntax.ElementFilter;
 import org.apache.jena.sparql.syntax.ElementGroup;
 import org.apache.jena.sparql.syntax.ElementNamedGraph;
+import org.apache.jena.sparql.syntax.ElementOptional;
 import org.apache.jena.sparql.syntax.ElementPathBlock;
 import org.apache.jena.update.UpdateRequest;
 import org.slf4j.Logger;
@@ -100,6 +118,12 @@ public class TriplestoreResourceService implements ResourceService {
     public static final String CONFIG_TRIPLESTORE_LDP_TYPE = "trellis.triplestore.ldp.type";
 
     private static final String MODIFIED = "modified";
+    private static final Var EFFECTIVE_ACL = Var.alloc("acl");
+    private static final Var OWN_ACL = Var.alloc("own");
+    private static final Var INHERITED_ACL = Var.alloc("inherited");
+    private static final Var PREVIOUS_ACL = Var.alloc("previous");
+    /** A marker holding the previous effective ACL of a resource, only ever visible within an update. */
+    private static final Node PENDING_ACL = createURI(TRELLIS_DATA_PREFIX + "?ext=acl-pending");
 
     private static final Logger LOGGER = getLogger(TriplestoreResourceService.class);
     private static final JenaRDF rdf = getInstance();
@@ -148,7 +172,7 @@ public class TriplestoreResourceService implements ResourceService {
                 final Instant eventTime = now();
                 dataset.add(PreferServerManaged, metadata.getIdentifier(), DC.type, DeletedResource);
                 dataset.add(PreferServerManaged, metadata.getIdentifier(), RDF.type, LDP.Resource);
-                storeResource(metadata.getIdentifier(), dataset, eventTime, OperationType.DELETE);
+                storeResource(metadata, dataset, eventTime, OperationType.DELETE);
             } catch (final Exception ex) {
                 throw new RuntimeTrellisException("Error deleting resource: " + metadata.getIdentifier(), ex);
             }
@@ -167,9 +191,29 @@ public class TriplestoreResourceService implements ResourceService {
         return runAsync(() -> createOrReplace(metadata, dataset, OperationType.REPLACE));
     }
 
+    @Override
+    public CompletionStage<Void> update(final Metadata metadata, final Dataset deletions, final Dataset additions) {
+        LOGGER.debug("Updating: {}", metadata.getIdentifier());
+        return runAsync(() -> {
+            final Instant eventTime = now();
+            addServerManagedData(metadata, additions);
+            final Literal time = rdf.createLiteral(eventTime.toString(), XSD.dateTime);
+            try {
+                rdfConnection.update(withEffectiveAcl(metadata, OperationType.REPLACE,
+                            buildChangeRequest(metadata.getIdentifier(), time, deletions, additions)));
+            } catch (final Exception ex) {
+                throw new RuntimeTrellisException("Could not update data for " + metadata.getIdentifier(), ex);
+            }
+        });
+    }
+
     private void createOrReplace(final Metadata metadata, final Dataset dataset, final OperationType type) {
         final Instant eventTime = now();
+        addServerManagedData(metadata, dataset);
+        storeResource(metadata, dataset, eventTime, type);
+    }
 
+    private void addServerManagedData(final Metadata metadata, final Dataset dataset) {
         // Set the LDP type
         dataset.add(PreferServerManaged, metadata.getIdentifier(), RDF.type, metadata.getInteractionModel());
 
@@ -199,20 +243,154 @@ public class TriplestoreResourceService implements ResourceService {
             binary.getMimeType().map(rdf::createLiteral).ifPresent(mimeType ->
                     dataset.add(PreferServerManaged, binary.getIdentifier(), DC.format, mimeType));
         });
-
-        storeResource(metadata.getIdentifier(), dataset, eventTime, type);
     }
 
-    private void storeResource(final IRI identifier, final Dataset dataset,
+    private void storeResource(final Metadata metadata, final Dataset dataset,
             final Instant eventTime, final OperationType type) {
+        final IRI identifier = metadata.getIdentifier();
         final Literal time = rdf.createLiteral(eventTime.toString(), XSD.dateTime);
         try {
-            rdfConnection.update(buildUpdateRequest(identifier, time, dataset, type));
+            rdfConnection.update(withEffectiveAcl(metadata, type,
+                        buildUpdateRequest(identifier, time, dataset, type)));
         } catch (final Exception ex) {
             throw new RuntimeTrellisException("Could not update data for " + identifier, ex);
         }
     }
 
+    /**
+     * Maintain the server-managed pointer from a resource to the resource holding its effective ACL.
+     *
+     * <p>A resource with an ACL points to its own ACL graph; any other resource shares the pointer of its
+     * container. The pointers of the resource and of every descendant that inherits its pointer through this
+     * resource are updated by the same update request that writes the resource, so that they change in the
+     * same transaction as the resource and its container. The previous pointer is first recorded on a marker, as
+     * writing the resource removes it, so that descendants are only rewritten when the pointer actually changes;
+     * the marker is removed again at the end of the request.
+     */
+    private UpdateRequest withEffectiveAcl(final Metadata metadata, final OperationType type,
+            final UpdateRequest write) {
+        final UpdateRequest req = new UpdateRequest();
+        req.add(buildPreviousAclRequest(metadata));
+        write.getOperations().forEach(req::add);
+        if (type != OperationType.DELETE) {
+            req.add(buildEffectiveAclRequest(metadata));
+        }
+        req.add(buildInheritedAclRequest(metadata, type));
+        req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(rdf.asJenaNode(PreferServerManaged),
+                                PENDING_ACL, rdf.asJenaNode(ACL.accessControl), PREVIOUS_ACL)))));
+        return req;
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below.
+     *
+     * <p><pre><code>
+     * WITH trellis:PreferServerManaged
+     *   INSERT { PENDING acl:accessControl ?acl }
+     *   WHERE {
+     *     OPTIONAL { IDENTIFIER acl:accessControl ?own }
+     *     OPTIONAL { CONTAINER acl:accessControl ?inherited }
+     *     BIND(COALESCE(?own, ?inherited) AS ?acl)
+     *   }
+     * </code></pre></p>
+     */
+    private UpdateDeleteInsert buildPreviousAclRequest(final Metadata metadata) {
+        final UpdateDeleteInsert modify = new UpdateDeleteInsert();
+        modify.setWithIRI(rdf.asJenaNode(PreferServerManaged));
+        modify.getInsertAcc().addTriple(triple(PENDING_ACL, rdf.asJenaNode(ACL.accessControl), EFFECTIVE_ACL));
+
+        final ExprList acls = new ExprList(new ExprVar(OWN_ACL));
+        final ElementGroup eg = new ElementGroup();
+        eg.addElement(new ElementOptional(aclOf(rdf.asJenaNode(metadata.getIdentifier()), OWN_ACL)));
+        metadata.getContainer().ifPresent(container -> {
+            eg.addElement(new ElementOptional(aclOf(rdf.asJenaNode(container), INHERITED_ACL)));
+            acls.add(new ExprVar(INHERITED_ACL));
+        });
+        eg.addElement(new ElementBind(EFFECTIVE_ACL, new E_Coalesce(acls)));
+        modify.setElement(eg);
+        return modify;
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below.
+     *
+     * <p><pre><code>
+     * WITH trellis:PreferServerManaged
+     *   INSERT { IDENTIFIER acl:accessControl ?acl }
+     *   WHERE {
+     *     OPTIONAL { CONTAINER acl:accessControl ?inherited }
+     *     BIND(IF(EXISTS { GRAPH IDENTIFIER?ext=acl { ?s ?p ?o } }, IDENTIFIER?ext=acl, ?inherited) AS ?acl)
+     *   }
+     * </code></pre></p>
+     */
+    private UpdateDeleteInsert buildEffectiveAclRequest(final Metadata metadata) {
+        final IRI identifier = metadata.getIdentifier();
+        final UpdateDeleteInsert modify = new UpdateDeleteInsert();
+        modify.setWithIRI(rdf.asJenaNode(PreferServerManaged));
+        modify.getInsertAcc().addTriple(triple(rdf.asJenaNode(identifier), rdf.asJenaNode(ACL.accessControl),
+                    EFFECTIVE_ACL));
+
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(SUBJECT, PREDICATE, OBJECT));
+        final ElementGroup acl = new ElementGroup();
+        acl.addElement(new ElementNamedGraph(getAclIRI(identifier), epb));
+
+        final ElementGroup eg = new ElementGroup();
+        metadata.getContainer().ifPresent(container ->
+                eg.addElement(new ElementOptional(aclOf(rdf.asJenaNode(container), INHERITED_ACL))));
+        eg.addElement(new ElementBind(EFFECTIVE_ACL, new E_Conditional(new E_Exists(acl),
+                        NodeValue.makeNode(getAclIRI(identifier)), new ExprVar(INHERITED_ACL))));
+        modify.setElement(eg);
+        return modify;
+    }
+
+    /**
+     * This code is equivalent to the SPARQL query below, where SOURCE is the resource itself, or its container
+     * when the resource is deleted. Descendants are only traversed and rewritten when the new pointer differs
+     * from the previous one, so that a write that leaves the effective ACL alone does not touch any descendant.
+     *
+     * <p><pre><code>
+     * WITH trellis:PreferServerManaged
+     *   DELETE { ?subject acl:accessControl ?previous }
+     *   INSERT { ?subject acl:accessControl ?acl }
+     *   WHERE {
+     *     PENDING acl:accessControl ?previous .
+     *     OPTIONAL { SOURCE acl:accessControl ?acl }
+     *     FILTER(!BOUND(?acl) || ?acl != ?previous)
+     *     ?subject dc:isPartOf+ IDENTIFIER ; acl:accessControl ?previous
+     *   }
+     * </code></pre></p>
+     */
+    private UpdateDeleteInsert buildInheritedAclRequest(final Metadata metadata, final OperationType type) {
+        final Node accessControl = rdf.asJenaNode(ACL.accessControl);
+        final UpdateDeleteInsert modify = new UpdateDeleteInsert();
+        modify.setWithIRI(rdf.asJenaNode(PreferServerManaged));
+        modify.getDeleteAcc().addTriple(triple(SUBJECT, accessControl, PREVIOUS_ACL));
+        modify.getInsertAcc().addTriple(triple(SUBJECT, accessControl, EFFECTIVE_ACL));
+
+        final ElementGroup eg = new ElementGroup();
+        eg.addElement(aclOf(PENDING_ACL, PREVIOUS_ACL));
+        final Optional<IRI> source = type == OperationType.DELETE ? metadata.getContainer()
+            : Optional.of(metadata.getIdentifier());
+        source.ifPresent(iri -> eg.addElement(new ElementOptional(aclOf(rdf.asJenaNode(iri), EFFECTIVE_ACL))));
+        eg.addElement(new ElementFilter(new E_LogicalOr(new E_LogicalNot(new E_Bound(new ExprVar(EFFECTIVE_ACL))),
+                        new E_NotEquals(new ExprVar(EFFECTIVE_ACL), new ExprVar(PREVIOUS_ACL)))));
+
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriplePath(new TriplePath(SUBJECT, new P_OneOrMore1(new P_Link(rdf.asJenaNode(DC.isPartOf))),
+                    rdf.asJenaNode(metadata.getIdentifier())));
+        epb.addTriple(triple(SUBJECT, accessControl, PREVIOUS_ACL));
+        eg.addElement(epb);
+        modify.setElement(eg);
+        return modify;
+    }
+
+    private static ElementPathBlock aclOf(final Node subject, final Var acl) {
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(subject, rdf.asJenaNode(ACL.accessControl), acl));
+        return epb;
+    }
+
     private Node getAclIRI(final IRI identifier) {
         return createURI(identifier.getIRIString() + "?ext=acl");
     }
@@ -256,34 +434,87 @@ public class TriplestoreResourceService implements ResourceService {
                                 SUBJECT, PREDICATE, OBJECT)))));
         req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(
                                 getAclIRI(identifier), SUBJECT, PREDICATE, OBJECT)))));
-        req.add(new UpdateDeleteWhere(new QuadAcc(asList(
-                            new Quad(rdf.asJenaNode(PreferServerManaged), rdf.asJenaNode(identifier),
-                                rdf.asJenaNode(RDF.type), rdf.asJenaNode(LDP.NonRDFSource)),
-                            new Quad(rdf.asJenaNode(PreferServerManaged), rdf.asJenaNode(identifier),
-                                rdf.asJenaNode(DC.hasPart), SUBJECT),
-                            new Quad(rdf.asJenaNode(PreferServerManaged), SUBJECT, PREDICATE, OBJECT)))));
-        req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(rdf.asJenaNode(PreferServerManaged),
-                                rdf.asJenaNode(identifier), PREDICATE, OBJECT)))));
+        deleteServerManagedData(req, identifier);
 
         final QuadDataAcc sink = new QuadDataAcc(synchronizedList(new ArrayList<>()));
         if (type == OperationType.DELETE) {
             dataset.stream().filter(q -> q.getGraphName().filter(PreferServerManaged::equals).isPresent())
                     .map(rdf::asJenaQuad).forEach(sink::addQuad);
         } else {
-            dataset.stream().filter(q -> q.getGraphName().filter(PreferServerManaged::equals).isPresent())
-                    .map(rdf::asJenaQuad).forEach(sink::addQuad);
-            dataset.getGraph(PreferUserManaged).ifPresent(g -> g.stream()
-                    .map(t -> new Quad(rdf.asJenaNode(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
-            dataset.getGraph(PreferAccessControl).ifPresent(g -> g.stream()
-                    .map(t -> new Quad(getAclIRI(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
-            dataset.getGraph(PreferAudit).ifPresent(g -> g.stream()
-                    .map(t -> new Quad(getAuditIRI(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
+            addResourceData(identifier, dataset, sink);
         }
         req.add(new UpdateDataInsert(sink));
 
         return req;
     }
 
+    /**
+     * This is equivalent to the SPARQL below.
+     *
+     * <p><pre><code>
+     * DELETE DATA {
+     *   GRAPH IDENTIFIER { ... }
+     *   GRAPH IDENTIFIER?ext=acl { ... }
+     * };
+     * DELETE WHERE { GRAPH trellis:PreferServerManaged {
+     *   IDENTIFIER a ldp:NonRDFSource .
+     *   IDENTIFIER dc:hasPart ?s .
+     *   ?s ?p ?o .
+     * };
+     * DELETE WHERE { GRAPH trellis:PreferServerManaged { IDENTIFIER ?p ?o } };
+     * INSERT DATA {
+     *   GRAPH IDENTIFIER { ... }
+     *   GRAPH IDENTIFIER?ext=acl { ... }
+     *   GRAPH trellis:PreferServerManaged { ... }
+     *   GRAPH IDENTIFIER?ext=audit { ... }
+     * }
+     * </code></pre></p>
+     */
+    private UpdateRequest buildChangeRequest(final IRI identifier, final Literal time, final Dataset deletions,
+            final Dataset additions) {
+
+        // Set the time
+        additions.add(PreferServerManaged, identifier, DC.modified, time);
+
+        final UpdateRequest req = new UpdateRequest();
+        final QuadDataAcc removals = new QuadDataAcc(synchronizedList(new ArrayList<>()));
+        addMutableData(identifier, deletions, removals);
+        req.add(new UpdateDataDelete(removals));
+        deleteServerManagedData(req, identifier);
+
+        final QuadDataAcc sink = new QuadDataAcc(synchronizedList(new ArrayList<>()));
+        addResourceData(identifier, additions, sink);
+        req.add(new UpdateDataInsert(sink));
+
+        return req;
+    }
+
+    private void deleteServerManagedData(final UpdateRequest req, final IRI identifier) {
+        req.add(new UpdateDeleteWhere(new QuadAcc(asList(
+                            new Quad(rdf.asJenaNode(PreferServerManaged), rdf.asJenaNode(identifier),
+                                rdf.asJenaNode(RDF.type), rdf.asJenaNode(LDP.NonRDFSource)),
+                            new Quad(rdf.asJenaNode(PreferServerManaged), rdf.asJenaNode(identifier),
+                                rdf.asJenaNode(DC.hasPart), SUBJECT),
+                            new Quad(rdf.asJenaNode(PreferServerManaged), SUBJECT, PREDICATE, OBJECT)))));
+        req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(rdf.asJenaNode(PreferServerManaged),
+                                rdf.asJenaNode(identifier), PREDICATE, OBJECT)))));
+    }
+
+    private void addResourceData(final IRI identifier, final Dataset dataset, final QuadDataAcc sink) {
+        dataset.stream().filter(q -> q.getGraphName().filter(PreferServerManaged::equals).isPresent())
+                .map(rdf::asJenaQuad).forEach(sink::addQuad);
+        addMutableData(identifier, dataset, sink);
+        dataset.getGraph(PreferAudit).ifPresent(g -> g.stream()
+                .map(t -> new Quad(getAuditIRI(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
+    }
+
+    private void addMutableData(final IRI identifier, final Dataset dataset, final QuadDataAcc sink) {
+        dataset.getGraph(PreferUserManaged).ifPresent(g -> g.stream()
+                .map(t -> new Quad(rdf.asJenaNode(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
+        dataset.getGraph(PreferAccessControl).ifPresent(g -> g.stream()
+                .map(t -> new Quad(getAclIRI(identifier), rdf.asJenaTriple(t))).forEach(sink::addQuad));
+    }
+
     /**
      * This code is equivalent to the SPARQL query below.
      *
@@ -367,6 +598,8 @@ public class TriplestoreResourceService implements ResourceService {
                             rdf.asJenaNode(RDF.type), rdf.asJenaNode(LDP.BasicContainer))));
             sink.addQuad(new Quad(rdf.asJenaNode(PreferServerManaged), triple(rdf.asJenaNode(root),
                             rdf.asJenaNode(DC.modified), rdf.asJenaNode(time))));
+            sink.addQuad(new Quad(rdf.asJenaNode(PreferServerManaged), triple(rdf.asJenaNode(root),
+                            rdf.asJenaNode(ACL.accessControl), getAclIRI(root))));
 
             sink.addQuad(new Quad(getAclIRI(root), triple(rdf.asJenaNode(auth), rdf.asJenaNode(ACL.mode),
                             rdf.asJenaNode(ACL.Read))));
@@ -26,11 +26,14 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.jena.JenaDataset;
 import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.graph.Node;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
 import org.apache.jena.sparql.core.Var;
+import org.trellisldp.api.IRIDictionary;
+import org.trellisldp.vocabulary.RDF;
 
 /**
  * Utilities for the Triplestore resource service.
@@ -38,6 +41,7 @@ import org.apache.jena.sparql.core.Var;
 final class TriplestoreUtils {
 
     private static final JenaRDF rdf = new JenaRDF();
+    private static final IRIDictionary dictionary = new IRIDictionary(rdf);
 
     public static final Var SUBJECT = Var.alloc("subject");
     public static final Var PREDICATE = Var.alloc("predicate");
@@ -47,16 +51,33 @@ final class TriplestoreUtils {
         return rdf;
     }
 
+    /**
+     * Convert a Jena node to an RDF term, interning it if it is a vocabulary IRI.
+     *
+     * <p>Only predicates and {@code rdf:type} values recur across resources, so other terms are
+     * converted without being interned.
+     *
+     * @param node the Jena node
+     * @param vocabulary whether the node is a predicate or an {@code rdf:type} value
+     * @return the RDF term
+     */
+    public static RDFTerm asRDFTerm(final Node node, final boolean vocabulary) {
+        if (vocabulary && node.isURI()) {
+            return dictionary.get(node.getURI());
+        }
+        return rdf.asRDFTerm(node);
+    }
+
     public static BlankNodeOrIRI getSubject(final QuerySolution qs) {
         return (BlankNodeOrIRI) rdf.asRDFTerm(qs.get("subject").asNode());
     }
 
     public static IRI getPredicate(final QuerySolution qs) {
-        return (IRI) rdf.asRDFTerm(qs.get("predicate").asNode());
+        return (IRI) asRDFTerm(qs.get("predicate").asNode(), true);
     }
 
     public static RDFTerm getObject(final QuerySolution qs) {
-        return rdf.asRDFTerm(qs.get("object").asNode());
+        return asRDFTerm(qs.get("object").asNode(), qs.contains("predicate") && isType(qs.get("predicate").asNode()));
     }
 
     public static RDFTerm getBaseIRI(final RDFTerm object) {
@@ -70,11 +91,15 @@ final class TriplestoreUtils {
     public static Optional<Triple> nodesToTriple(final RDFNode s, final RDFNode p, final RDFNode o) {
         if (s != null && p != null && o != null) {
             return of(rdf.createTriple((BlankNodeOrIRI) rdf.asRDFTerm(s.asNode()),
-                            (IRI) rdf.asRDFTerm(p.asNode()), rdf.asRDFTerm(o.asNode())));
+                            (IRI) asRDFTerm(p.asNode(), true), asRDFTerm(o.asNode(), isType(p.asNode()))));
         }
         return empty();
     }
 
+    private static boolean isType(final Node predicate) {
+        return predicate.isURI() && RDF.type.getIRIString().equals(predicate.getURI());
+    }
+
     /**
      * Convert an arbitrary dataset to a Jena dataset.
      *
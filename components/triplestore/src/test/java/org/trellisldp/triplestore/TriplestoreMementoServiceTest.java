@@ -0,0 +1,203 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.triplestore;
+
+import static java.time.Instant.parse;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.apache.jena.query.DatasetFactory.createTxnMem;
+import static org.apache.jena.rdfconnection.RDFConnectionFactory.connect;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.api.Metadata.builder;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+
+import java.time.Instant;
+import java.util.SortedSet;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.update.UpdateRequest;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.BinaryMetadata;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+import org.trellisldp.vocabulary.ACL;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the TriplestoreMementoService class.
+ */
+class TriplestoreMementoServiceTest {
+
+    private static final JenaRDF rdf = new JenaRDF();
+    private static final IRI root = rdf.createIRI(TRELLIS_DATA_PREFIX);
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+    private static final Instant time = parse("2019-08-16T14:21:01Z");
+    private static final Instant time2 = parse("2019-08-16T14:25:31Z");
+
+    @Test
+    void testPutAndGet() {
+        final MementoService svc = new TriplestoreMementoService(connect(createTxnMem()));
+        svc.put(mockResource(identifier, time.plusMillis(200), "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        final SortedSet<Instant> mementos = svc.mementos(identifier).toCompletableFuture().join();
+        assertEquals(2, mementos.size(), "Incorrect memento count!");
+        assertEquals(time, mementos.first(), "Incorrect first memento!");
+        assertEquals(time2, mementos.last(), "Incorrect last memento!");
+
+        assertMemento(svc, time, time, "First");
+        assertMemento(svc, time.plusSeconds(10), time, "First");
+        assertMemento(svc, time2, time2, "Second");
+        assertMemento(svc, Instant.MAX, time2, "Second");
+        // RFC 7089: a request before the first Memento yields the first Memento
+        assertMemento(svc, parse("2015-02-16T10:00:00Z"), time, "First");
+
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(LDP.RDFSource, res.getInteractionModel(), "Incorrect interaction model!");
+        assertEquals(of(root), res.getContainer(), "Incorrect container!");
+        assertTrue(res.hasAcl(), "Missing ACL!");
+        assertEquals(1L, res.stream(Trellis.PreferAccessControl).count(), "Incorrect ACL triple count!");
+        assertEquals(2L, res.stream().count(), "Incorrect triple count!");
+        assertFalse(res.getBinaryMetadata().isPresent(), "Unexpected binary metadata!");
+
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        assertEquals(MISSING_RESOURCE, svc.get(other, time).toCompletableFuture().join(), "Unexpected memento!");
+        assertTrue(svc.mementos(other).toCompletableFuture().join().isEmpty(), "Unexpected mementos!");
+    }
+
+    @Test
+    void testReplaceMemento() {
+        final MementoService svc = new TriplestoreMementoService(connect(createTxnMem()));
+        svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        svc.put(mockResource(identifier, time, "Replaced")).toCompletableFuture().join();
+
+        assertEquals(1, svc.mementos(identifier).toCompletableFuture().join().size(), "Incorrect memento count!");
+        assertMemento(svc, time, time, "Replaced");
+        assertEquals(1L, svc.get(identifier, time).toCompletableFuture().join().stream(Trellis.PreferUserManaged)
+                .count(), "Incorrect triple count!");
+    }
+
+    @Test
+    void testSharedTriplestore() {
+        final RDFConnection rdfConnection = connect(createTxnMem());
+        final MementoService node1 = new TriplestoreMementoService(rdfConnection);
+        final MementoService node2 = new TriplestoreMementoService(rdfConnection);
+        node1.put(mockResource(identifier, time, "First")).toCompletableFuture().join();
+        node2.put(mockResource(identifier, time2, "Second")).toCompletableFuture().join();
+
+        assertEquals(node1.mementos(identifier).toCompletableFuture().join(),
+                node2.mementos(identifier).toCompletableFuture().join(), "Inconsistent mementos!");
+        assertMemento(node1, time2, time2, "Second");
+        assertMemento(node2, time, time, "First");
+    }
+
+    @Test
+    void testBinaryMemento() {
+        final IRI binary = rdf.createIRI("file:///binary");
+        final Resource mockResource = mockResource(identifier, time, "Binary");
+        when(mockResource.getInteractionModel()).thenReturn(LDP.NonRDFSource);
+        when(mockResource.getBinaryMetadata()).thenReturn(of(BinaryMetadata.builder(binary)
+                    .mimeType("text/plain").build()));
+
+        final MementoService svc = new TriplestoreMementoService(connect(createTxnMem()));
+        svc.put(mockResource).toCompletableFuture().join();
+
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(LDP.NonRDFSource, res.getInteractionModel(), "Incorrect interaction model!");
+        assertEquals(of(binary), res.getBinaryMetadata().map(BinaryMetadata::getIdentifier),
+                "Incorrect binary identifier!");
+        assertEquals(of("text/plain"), res.getBinaryMetadata().flatMap(BinaryMetadata::getMimeType),
+                "Incorrect binary MIME type!");
+    }
+
+    @Test
+    void testContainerWithMementos() {
+        final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource/child");
+        final RDFConnection rdfConnection = connect(createTxnMem());
+        final TriplestoreResourceService resourceService = new TriplestoreResourceService(rdfConnection);
+        resourceService.initialize();
+        final MementoService svc = new TriplestoreMementoService(rdfConnection);
+
+        resourceService.create(builder(identifier).interactionModel(LDP.BasicContainer).container(root).build(),
+                rdf.createDataset()).thenCompose(x -> resourceService.create(builder(child)
+                    .interactionModel(LDP.RDFSource).container(identifier).build(), rdf.createDataset()))
+            .toCompletableFuture().join();
+        final Resource first = mockResource(child, time, "First");
+        final Resource second = mockResource(child, time2, "Second");
+        when(first.getContainer()).thenReturn(of(identifier));
+        when(second.getContainer()).thenReturn(of(identifier));
+        svc.put(first).toCompletableFuture().join();
+        svc.put(second).toCompletableFuture().join();
+        assertEquals(2, svc.mementos(child).toCompletableFuture().join().size(), "Incorrect memento count!");
+
+        final Resource container = resourceService.get(identifier).toCompletableFuture().join();
+        assertEquals(singletonList(child), container.stream(LDP.PreferContainment).map(Quad::getObject)
+                .collect(toList()), "Mementos listed as contained resources!");
+        assertEquals(of(identifier), resourceService.get(child).toCompletableFuture().join().getContainer(),
+                "Incorrect container!");
+    }
+
+    @Test
+    void testPutError() {
+        final RDFConnection mockRdfConnection = mock(RDFConnection.class);
+        doThrow(new RuntimeException("Expected exception")).when(mockRdfConnection).update(any(UpdateRequest.class));
+
+        final MementoService svc = new TriplestoreMementoService(mockRdfConnection);
+        assertThrows(CompletionException.class, () ->
+                svc.put(mockResource(identifier, time, "First")).toCompletableFuture().join(),
+                "No exception with a failed update!");
+    }
+
+    private static void assertMemento(final MementoService svc, final Instant time, final Instant expected,
+            final String title) {
+        final Resource res = svc.get(identifier, time).toCompletableFuture().join();
+        assertEquals(identifier, res.getIdentifier(), "Incorrect identifier!");
+        assertEquals(expected, res.getModified(), "Incorrect memento date!");
+        assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(q -> q.getPredicate().equals(DC.title)
+                    && q.getObject().equals(rdf.createLiteral(title))), "Incorrect memento content!");
+    }
+
+    private static Resource mockResource(final IRI identifier, final Instant time, final String title) {
+        final Resource mockResource = mock(Resource.class);
+        when(mockResource.getIdentifier()).thenReturn(identifier);
+        when(mockResource.getInteractionModel()).thenReturn(LDP.RDFSource);
+        when(mockResource.getModified()).thenReturn(time);
+        when(mockResource.getContainer()).thenReturn(of(root));
+        when(mockResource.getBinaryMetadata()).thenReturn(empty());
+        when(mockResource.getMembershipResource()).thenReturn(empty());
+        when(mockResource.getMemberOfRelation()).thenReturn(empty());
+        when(mockResource.getMemberRelation()).thenReturn(empty());
+        when(mockResource.getInsertedContentRelation()).thenReturn(empty());
+        when(mockResource.stream()).thenAnswer(inv -> Stream.of(
+                    rdf.createQuad(Trellis.PreferUserManaged, identifier, DC.title, rdf.createLiteral(title)),
+                    rdf.createQuad(Trellis.PreferAccessControl, rdf.createBlankNode(), ACL.mode, ACL.Read),
+                    rdf.createQuad(Trellis.PreferServerManaged, identifier, DC.modified,
+                        rdf.createLiteral(time.toString()))));
+        return mockResource;
+    }
+}
@@ -42,9 +42,15 @@ import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.jena.JenaDataset;
 import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.atlas.lib.Pair;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Query;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.rdfconnection.RDFConnectionLocal;
 import org.apache.jena.rdfconnection.RDFConnectionRemote;
+import org.apache.jena.sparql.core.DatasetChangesCapture;
+import org.apache.jena.sparql.core.DatasetGraphMonitor;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.update.UpdateRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +59,7 @@ import org.mockito.Mock;
 import org.trellisldp.api.BinaryMetadata;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
+import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.DC;
 import org.trellisldp.vocabulary.LDP;
@@ -236,6 +243,47 @@ class TriplestoreResourceServiceTest {
             svc.get(root).thenAccept(checkRoot(later, 1L)).toCompletableFuture()).join();
     }
 
+    @Test
+    void testUpdateLdpRs() {
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(rdf.createDataset().asJenaDatasetGraph())));
+        svc.initialize();
+
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+        dataset.add(Trellis.PreferUserManaged, resource, DC.subject, rdf.createIRI("http://example.com/subject"));
+        dataset.add(Trellis.PreferAccessControl, resource, ACL.mode, ACL.Read);
+
+        final Instant later = meanwhile();
+
+        assertDoesNotThrow(() -> svc.create(builder(resource).interactionModel(LDP.RDFSource).container(root)
+                    .build(), dataset).toCompletableFuture().join(), "Unsuccessful create operation!");
+        svc.get(resource).thenAccept(res -> assertAll("Check resource stream",
+                    checkResourceStream(res, 2L, 1L, 0L, 0L, 0L))).toCompletableFuture().join();
+
+        final Dataset deletions = rdf.createDataset();
+        deletions.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+        deletions.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("missing title"));
+        final Dataset additions = rdf.createDataset();
+        additions.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("new title"));
+        additions.add(Trellis.PreferUserManaged, resource, DC.description, rdf.createLiteral("description"));
+        additions.add(Trellis.PreferAudit, rdf.createBlankNode(), RDF.type, AS.Update);
+
+        final Instant evenLater = meanwhile();
+
+        assertDoesNotThrow(() -> svc.update(builder(resource).interactionModel(LDP.RDFSource).container(root)
+                    .build(), deletions, additions).toCompletableFuture().join(), "Unsuccessful update operation!");
+        svc.get(resource).thenAccept(res -> {
+            assertAll("Check resource", checkResource(res, resource, LDP.RDFSource, evenLater));
+            assertAll("Check resource stream", checkResourceStream(res, 3L, 1L, 1L, 0L, 0L));
+            assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(isEqual(rdf.createQuad(
+                                Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("new title")))),
+                    "Missing updated title!");
+            assertEquals(of(root), res.getContainer(), "Incorrect parent container!");
+            assertFalse(res.getModified().isBefore(later), "Non-sequential date!");
+        }).toCompletableFuture().join();
+    }
+
     @Test
     void testPutLdpNr() {
         final TriplestoreResourceService svc = new TriplestoreResourceService(
@@ -1259,6 +1307,102 @@ class TriplestoreResourceServiceTest {
             svc.get(root).thenAccept(checkPredates(evenLater4)).toCompletableFuture()).join();
     }
 
+    @Test
+    void testEffectiveAcl() {
+        final IRI grandchild = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource/child/grandchild");
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(rdf.createDataset().asJenaDatasetGraph())));
+        svc.initialize();
+
+        assertDoesNotThrow(() -> svc.create(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), rdf.createDataset()).thenCompose(x -> svc.create(builder(child)
+                        .interactionModel(LDP.BasicContainer).container(resource).build(), rdf.createDataset()))
+                .thenCompose(x -> svc.create(builder(grandchild).interactionModel(LDP.RDFSource).container(child)
+                        .build(), rdf.createDataset())).toCompletableFuture().join(),
+                "Unsuccessful create operation!");
+        assertEquals(of(root), svc.get(root).thenApply(Resource::getEffectiveAcl).toCompletableFuture().join(),
+                "Incorrect effective ACL for the root resource!");
+        assertEquals(of(root), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Incorrect inherited effective ACL!");
+
+        final Dataset acl = rdf.createDataset();
+        acl.add(Trellis.PreferAccessControl, rdf.createBlankNode(), ACL.mode, ACL.Read);
+        assertDoesNotThrow(() -> svc.replace(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), acl).toCompletableFuture().join(), "Unsuccessful replace operation!");
+        assertEquals(of(resource), svc.get(resource).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Incorrect effective ACL after adding an ACL!");
+        assertEquals(of(resource), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Descendant not updated after adding an ACL!");
+
+        assertDoesNotThrow(() -> svc.replace(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), rdf.createDataset()).toCompletableFuture().join(), "Unsuccessful replace operation!");
+        assertEquals(of(root), svc.get(child).thenApply(Resource::getEffectiveAcl).toCompletableFuture().join(),
+                "Descendant not updated after removing an ACL!");
+        assertEquals(of(root), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Descendant not updated after removing an ACL!");
+
+        assertDoesNotThrow(() -> svc.replace(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), acl).thenCompose(x -> svc.delete(builder(child).interactionModel(LDP.BasicContainer)
+                        .container(resource).build())).toCompletableFuture().join(),
+                "Unsuccessful delete operation!");
+        assertEquals(of(resource), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Descendant not updated after deleting its container!");
+
+        assertDoesNotThrow(() -> svc.create(builder(child).interactionModel(LDP.BasicContainer).container(resource)
+                    .build(), acl).toCompletableFuture().join(), "Unsuccessful create operation!");
+        assertEquals(of(child), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Descendant not updated after recreating its container with an ACL!");
+    }
+
+    @Test
+    void testEffectiveAclUnchanged() {
+        final IRI grandchild = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource/child/grandchild");
+        final DatasetChangesCapture changes = new DatasetChangesCapture();
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(new DatasetGraphMonitor(rdf.createDataset().asJenaDatasetGraph(), changes))));
+        svc.initialize();
+
+        assertDoesNotThrow(() -> svc.create(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), rdf.createDataset()).thenCompose(x -> svc.create(builder(child)
+                        .interactionModel(LDP.BasicContainer).container(resource).build(), rdf.createDataset()))
+                .thenCompose(x -> svc.create(builder(grandchild).interactionModel(LDP.RDFSource).container(child)
+                        .build(), rdf.createDataset())).toCompletableFuture().join(),
+                "Unsuccessful create operation!");
+        final int created = changes.getActions().size();
+
+        final Dataset additions = rdf.createDataset();
+        additions.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("a title"));
+        assertDoesNotThrow(() -> svc.update(builder(resource).interactionModel(LDP.BasicContainer).container(root)
+                    .build(), rdf.createDataset(), additions).toCompletableFuture().join(),
+                "Unsuccessful update operation!");
+        final Node accessControl = rdf.asJenaNode(ACL.accessControl);
+        assertFalse(changes.getActions().stream().skip(created).map(Pair::getRight)
+                .filter(quad -> accessControl.equals(quad.getPredicate())).map(Quad::getSubject)
+                .anyMatch(subject -> rdf.asJenaNode(child).equals(subject)
+                    || rdf.asJenaNode(grandchild).equals(subject)),
+                "Descendant ACL pointers rewritten although the effective ACL did not change!");
+        assertEquals(of(root), svc.get(grandchild).thenApply(Resource::getEffectiveAcl).toCompletableFuture()
+                .join(), "Incorrect inherited effective ACL!");
+    }
+
+    @Test
+    void testEffectiveAclSingleRequest() {
+        final TriplestoreResourceService svc = new TriplestoreResourceService(mockRdfConnection);
+        final Dataset acl = rdf.createDataset();
+        acl.add(Trellis.PreferAccessControl, rdf.createBlankNode(), ACL.mode, ACL.Read);
+
+        assertDoesNotThrow(() -> svc.create(builder(child).interactionModel(LDP.RDFSource).container(resource)
+                    .build(), acl).thenCompose(x -> svc.update(builder(child).interactionModel(LDP.RDFSource)
+                        .container(resource).build(), rdf.createDataset(), rdf.createDataset()))
+                .thenCompose(x -> svc.delete(builder(child).interactionModel(LDP.RDFSource).container(resource)
+                        .build())).toCompletableFuture().join(), "Unsuccessful write operations!");
+
+        // The effective ACL is maintained within each write, without any further queries
+        verify(mockRdfConnection, times(3)).update(any(UpdateRequest.class));
+        verify(mockRdfConnection, never()).querySelect(any(Query.class), any());
+        verify(mockRdfConnection, never()).queryAsk(any(Query.class));
+    }
+
     @Test
     void testBuildRDFConnectionMemory() {
 
@@ -25,6 +25,7 @@ module org.trellisldp.webac {
     requires java.ws.rs;
     requires java.xml.bind;
     requires microprofile.config.api;
+    requires microprofile.metrics.api;
     requires java.annotation;
     requires cdi.api;
 
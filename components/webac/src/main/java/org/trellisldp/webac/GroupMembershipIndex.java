@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.webac;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.RetrievalService;
+import org.trellisldp.vocabulary.Trellis;
+import org.trellisldp.vocabulary.VCARD;
+
+/**
+ * An index from agents to the groups of which they are members, built from group resources.
+ *
+ * <p>Each group resource is read once and indexed by member, so that a membership check is a map lookup
+ * no matter how large the group is. The entries for a group resource are dropped when it is invalidated,
+ * and the resource is indexed again the next time one of its groups is checked. At most a given number of
+ * group resources are retained; when that is reached, the index is emptied.
+ *
+ * <p>Every group resource that has been checked is also tracked, whether or not it is retained, so that
+ * callers can tell when a change to a resource affects computed access modes.
+ *
+ * <p>A membership check only consults the resource that defines the group, so a resource may not add members
+ * to a group defined elsewhere.
+ */
+class GroupMembershipIndex {
+
+    private final Map<IRI, CompletableFuture<Map<IRI, Set<IRI>>>> resources = new ConcurrentHashMap<>();
+    private final Set<IRI> groupResources = ConcurrentHashMap.newKeySet();
+    private final int size;
+
+    /**
+     * Create an index of group memberships.
+     *
+     * @param size the number of indexed group resources to retain between checks, zero to retain none
+     */
+    GroupMembershipIndex(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * Check whether an agent is a member of a group.
+     *
+     * @param agent the agent
+     * @param group the group
+     * @param groupResource the identifier of the resource that defines the group
+     * @param service a service for retrieving the group resource
+     * @return the next stage of completion, containing whether the agent is a member of the group
+     */
+    CompletionStage<Boolean> isMember(final IRI agent, final IRI group, final IRI groupResource,
+            final RetrievalService<Resource> service) {
+        return getMembers(groupResource, service)
+            .thenApply(members -> members.getOrDefault(agent, emptySet()).contains(group));
+    }
+
+    /**
+     * Remove the entries for a group resource.
+     *
+     * @param identifier the resource identifier
+     * @return true if the resource has been checked as a group resource; false otherwise
+     */
+    boolean remove(final IRI identifier) {
+        resources.remove(identifier);
+        return groupResources.contains(identifier);
+    }
+
+    /**
+     * Remove all entries from the index, and forget which group resources have been checked.
+     */
+    void clear() {
+        resources.clear();
+        groupResources.clear();
+    }
+
+    private CompletionStage<Map<IRI, Set<IRI>>> getMembers(final IRI groupResource,
+            final RetrievalService<Resource> service) {
+        groupResources.add(groupResource);
+        if (size <= 0) {
+            return service.get(groupResource).thenApply(GroupMembershipIndex::index);
+        }
+        if (resources.size() >= size && !resources.containsKey(groupResource)) {
+            resources.clear();
+        }
+        final CompletableFuture<Map<IRI, Set<IRI>>> members = resources.computeIfAbsent(groupResource, id ->
+                service.get(id).thenApply(GroupMembershipIndex::index).toCompletableFuture());
+        // Don't retain a failed retrieval, so that the next check tries again
+        members.whenComplete((m, err) -> {
+            if (err != null) {
+                resources.remove(groupResource, members);
+            }
+        });
+        return members;
+    }
+
+    private static Map<IRI, Set<IRI>> index(final Resource resource) {
+        final Map<IRI, Set<IRI>> members = new HashMap<>();
+        try (final Stream<Quad> quads = resource.stream(Trellis.PreferUserManaged)) {
+            quads.filter(q -> VCARD.hasMember.equals(q.getPredicate()))
+                .filter(q -> q.getSubject() instanceof IRI && q.getObject() instanceof IRI)
+                .forEach(q -> members.computeIfAbsent((IRI) q.getObject(), k -> new HashSet<>())
+                        .add((IRI) q.getSubject()));
+        }
+        return unmodifiableMap(members);
+    }
+}
@@ -13,13 +13,20 @@
  */
 package org.trellisldp.webac;
 
+import static java.lang.System.nanoTime;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static javax.ws.rs.HttpMethod.DELETE;
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.Priorities.AUTHORIZATION;
 import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.Link.fromUri;
@@ -28,21 +35,31 @@ import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
 import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_BATCH_JSON;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_BASE_URL;
 import static org.trellisldp.http.core.HttpConstants.PREFER;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotAuthorizedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.ext.Provider;
 
@@ -51,9 +68,18 @@ import org.apache.commons.rdf.api.RDF;
 import org.eclipse.microprofile.config.Config;
 import org.slf4j.Logger;
 import org.trellisldp.api.Session;
+import org.trellisldp.http.TrellisHttpResource;
+import org.trellisldp.http.core.BatchOperation;
+import org.trellisldp.http.core.ContainmentFilter;
+import org.trellisldp.http.core.DeferredAuthorization;
 import org.trellisldp.http.core.HttpConstants;
 import org.trellisldp.http.core.HttpSession;
+import org.trellisldp.http.core.MetricsService;
+import org.trellisldp.http.core.NoopMetricsService;
 import org.trellisldp.http.core.Prefer;
+import org.trellisldp.http.core.RequestHandoff;
+import org.trellisldp.http.core.RequestTimings;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.Trellis;
 
@@ -100,8 +126,32 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
     /** The configuration key controlling the realm used in a WWW-Authenticate header, or 'trellis' by default. */
     public static final String CONFIG_WEBAC_REALM = "trellis.webac.realm";
 
+    /**
+     * The configuration key controlling whether authorization is evaluated without blocking a container thread.
+     *
+     * <p>When enabled, requests to the LDP endpoint are authorized asynchronously, and the resource method
+     * waits for that decision before doing any work. Other endpoints are always authorized synchronously.
+     * The default is false.
+     */
+    public static final String CONFIG_WEBAC_DEFER_AUTHORIZATION = "trellis.webac.deferAuthorization";
+
+    /**
+     * The configuration key controlling whether container listings only include readable children.
+     *
+     * <p>When enabled, the {@code ldp:contains} triples of a GET response are limited to the children that
+     * the agent may read, and a HEAD response reports the same ETag as the filtered GET response. All of the
+     * children are checked together. The default is false.
+     */
+    public static final String CONFIG_WEBAC_CONTAINMENT_FILTER = "trellis.webac.containment.filter";
+
+    /** The name of the timer for WebAC evaluation. */
+    public static final String WEBAC_EVALUATION_TIMER = "trellis.webac.evaluation";
+
     private static final Logger LOGGER = getLogger(WebAcFilter.class);
     private static final RDF rdf = getInstance();
+    private static final MediaType BATCH_TYPE = MediaType.valueOf(APPLICATION_BATCH_JSON);
+    private static final String BATCH_OPERATIONS = WebAcFilter.class.getName() + ".batchOperations";
+    private static final Set<String> modifiesContent = new HashSet<>(asList("PUT", "PATCH", "POST"));
     private static final Set<String> readable = new HashSet<>(asList("GET", "HEAD", "OPTIONS"));
     private static final Set<String> writable = new HashSet<>(asList("PUT", "PATCH", "DELETE"));
     private static final Set<String> appendable = new HashSet<>(singletonList("POST"));
@@ -109,6 +159,9 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
     protected final WebAcService accessService;
     private final List<String> challenges;
     private final String baseUrl;
+    private final MetricsService metrics;
+    private final boolean deferAuthorization;
+    private final boolean filterContainment;
 
     /**
      * For use with RESTeasy and CDI proxies.
@@ -147,13 +200,33 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
      */
     public WebAcFilter(final WebAcService accessService, final List<String> challengeTypes,
             final String realm, final String baseUrl) {
+        this(accessService, challengeTypes, realm, baseUrl, new NoopMetricsService());
+    }
+
+    /**
+     * Create a WebAc-based auth filter that records the time taken to evaluate access modes.
+     *
+     * @param accessService the access service
+     * @param challengeTypes the WWW-Authenticate challenge types
+     * @param realm the authentication realm
+     * @param baseUrl the base URL, may be null
+     * @param metrics the metrics service
+     */
+    public WebAcFilter(final WebAcService accessService, final List<String> challengeTypes,
+            final String realm, final String baseUrl, final MetricsService metrics) {
         requireNonNull(challengeTypes, "Challenges may not be null!");
         requireNonNull(realm, "Realm may not be null!");
+        requireNonNull(metrics, "Metrics service may not be null!");
         this.accessService = accessService;
+        this.metrics = metrics;
         this.challenges = challengeTypes.stream().map(String::trim).map(ch -> ch + " realm=\"" + realm + "\"")
             .collect(toList());
         this.baseUrl = baseUrl;
         final Config config = getConfig();
+        this.deferAuthorization = config.getOptionalValue(CONFIG_WEBAC_DEFER_AUTHORIZATION, Boolean.class)
+            .orElse(Boolean.FALSE);
+        this.filterContainment = config.getOptionalValue(CONFIG_WEBAC_CONTAINMENT_FILTER, Boolean.class)
+            .orElse(Boolean.FALSE);
         config.getOptionalValue(CONFIG_WEBAC_METHOD_READABLE, String.class).ifPresent(r ->
                 stream(r.split(",")).map(String::trim).map(String::toUpperCase).forEach(readable::add));
         config.getOptionalValue(CONFIG_WEBAC_METHOD_WRITABLE, String.class).ifPresent(w ->
@@ -164,25 +237,41 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
 
     @Override
     public void filter(final ContainerRequestContext ctx) {
+        if (filterContainment && (GET.equals(ctx.getMethod()) || HEAD.equals(ctx.getMethod()))
+                && !isAclRequest(ctx)) {
+            registerContainmentFilter(ctx);
+        }
+
+        if (deferAuthorization && isDeferrable(ctx)) {
+            DeferredAuthorization.from(ctx).defer(authorize(ctx));
+            return;
+        }
+
         final String path = ctx.getUriInfo().getPath();
         final Session s = HttpSession.from(ctx.getSecurityContext());
-        final String method = ctx.getMethod();
+        final ResourceMemo memo = ResourceMemo.from(ctx);
+        final RequestTimings timings = RequestTimings.from(ctx);
 
-        final Set<IRI> modes = accessService.getAccessModes(rdf.createIRI(TRELLIS_DATA_PREFIX + path), s);
-        if (ctx.getUriInfo().getQueryParameters().getOrDefault(HttpConstants.EXT, emptyList())
-                .contains(HttpConstants.ACL) || reqAudit(ctx)) {
-            verifyCanControl(modes, s, path);
-        } else if (readable.contains(method)) {
-            verifyCanRead(modes, s, path);
-        } else if (writable.contains(method)) {
-            verifyCanWrite(modes, s, path);
-        } else if (appendable.contains(method)) {
-            verifyCanAppend(modes, s, path);
+        if (isBatchRequest(ctx)) {
+            // Every operation is authorized before any of them are executed
+            for (final BatchOperation op : readBatch(ctx)) {
+                final String opPath = op.resolvePath(path);
+                verifyOperation(op.getMethod(), getAccessModes(opPath, s, memo, timings), s, opPath);
+            }
+            return;
         }
+
+        final Set<IRI> modes = getAccessModes(path, s, memo, timings);
+        verify(ctx.getMethod(), isAclRequest(ctx) || reqAudit(ctx), modes, s, path);
     }
 
     @Override
     public void filter(final ContainerRequestContext req, final ContainerResponseContext res) {
+        // Discard any deferred state that a resource method did not claim
+        RequestHandoff.release(req);
+        if (SUCCESSFUL.equals(res.getStatusInfo().getFamily())) {
+            invalidateAuthorizations(req);
+        }
         if (SUCCESSFUL.equals(res.getStatusInfo().getFamily()) && !DELETE.equals(req.getMethod())
                 && (!req.getUriInfo().getQueryParameters().containsKey(HttpConstants.EXT)
                     || !req.getUriInfo().getQueryParameters().get(HttpConstants.EXT).contains(HttpConstants.ACL))) {
@@ -191,6 +280,150 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
         }
     }
 
+    private void invalidateAuthorizations(final ContainerRequestContext req) {
+        final String path = req.getUriInfo().getPath();
+        @SuppressWarnings("unchecked")
+        final List<BatchOperation> operations = (List<BatchOperation>) req.getProperty(BATCH_OPERATIONS);
+        if (operations != null) {
+            operations.forEach(op -> invalidateAuthorizations(op.getMethod(), op.resolvePath(path), false));
+        } else {
+            invalidateAuthorizations(req.getMethod(), path, isAclRequest(req));
+        }
+    }
+
+    private void invalidateAuthorizations(final String method, final String path, final boolean aclRequest) {
+        if (readable.contains(method)) {
+            return;
+        }
+        // Changes to an ACL, deletions and moves alter the effective ACL of other resources
+        if (aclRequest || !modifiesContent.contains(method)) {
+            accessService.invalidate();
+        } else {
+            accessService.invalidate(rdf.createIRI(TRELLIS_DATA_PREFIX + path));
+        }
+    }
+
+    private CompletionStage<Void> authorize(final ContainerRequestContext ctx) {
+        final String path = ctx.getUriInfo().getPath();
+        final Session s = HttpSession.from(ctx.getSecurityContext());
+        final ResourceMemo memo = ResourceMemo.from(ctx);
+        final RequestTimings timings = RequestTimings.from(ctx);
+
+        if (isBatchRequest(ctx)) {
+            return allOf(readBatch(ctx).stream().map(op -> {
+                final String opPath = op.resolvePath(path);
+                return getAccessModesAsync(opPath, s, memo, timings)
+                    .thenAccept(modes -> verifyOperation(op.getMethod(), modes, s, opPath)).toCompletableFuture();
+            }).toArray(CompletableFuture[]::new));
+        }
+
+        final String method = ctx.getMethod();
+        final boolean control = isAclRequest(ctx) || reqAudit(ctx);
+        return getAccessModesAsync(path, s, memo, timings)
+            .thenAccept(modes -> verify(method, control, modes, s, path));
+    }
+
+    private void verify(final String method, final boolean control, final Set<IRI> modes, final Session session,
+            final String path) {
+        if (control) {
+            verifyCanControl(modes, session, path);
+        } else if (readable.contains(method)) {
+            verifyCanRead(modes, session, path);
+        } else if (writable.contains(method)) {
+            verifyCanWrite(modes, session, path);
+        } else if (appendable.contains(method)) {
+            verifyCanAppend(modes, session, path);
+        }
+    }
+
+    private void verifyOperation(final String method, final Set<IRI> modes, final Session session,
+            final String path) {
+        if (writable.contains(method)) {
+            verifyCanWrite(modes, session, path);
+        } else if (appendable.contains(method)) {
+            verifyCanAppend(modes, session, path);
+        } else {
+            verifyCanRead(modes, session, path);
+        }
+    }
+
+    private static List<BatchOperation> readBatch(final ContainerRequestContext ctx) {
+        // Buffer the entity so that it can be read again by the resource method
+        final byte[] entity = readEntity(ctx.getEntityStream());
+        ctx.setEntityStream(new ByteArrayInputStream(entity));
+
+        final List<BatchOperation> operations = BatchOperation.parse(new ByteArrayInputStream(entity));
+        ctx.setProperty(BATCH_OPERATIONS, operations);
+        return operations;
+    }
+
+    private Set<IRI> getAccessModes(final String path, final Session session, final ResourceMemo memo,
+            final RequestTimings timings) {
+        final long start = nanoTime();
+        try {
+            return accessService.getAccessModes(rdf.createIRI(TRELLIS_DATA_PREFIX + path), session, memo);
+        } finally {
+            recordEvaluation(start, timings);
+        }
+    }
+
+    private CompletionStage<Set<IRI>> getAccessModesAsync(final String path, final Session session,
+            final ResourceMemo memo, final RequestTimings timings) {
+        final long start = nanoTime();
+        return accessService.getAccessModesAsync(rdf.createIRI(TRELLIS_DATA_PREFIX + path), session, memo)
+            .whenComplete((modes, err) -> recordEvaluation(start, timings));
+    }
+
+    private void registerContainmentFilter(final ContainerRequestContext ctx) {
+        final Session session = HttpSession.from(ctx.getSecurityContext());
+        final ResourceMemo memo = ResourceMemo.from(ctx);
+        final RequestTimings timings = RequestTimings.from(ctx);
+        new ContainmentFilter(children -> {
+            final long start = nanoTime();
+            return accessService.getAccessModesAsync(children, session, memo)
+                .whenComplete((modes, err) -> recordEvaluation(start, timings))
+                .thenApply(modes -> modes.entrySet().stream().filter(e -> e.getValue().contains(ACL.Read))
+                        .map(Map.Entry::getKey).collect(toSet()));
+        }).register(ctx);
+    }
+
+    private void recordEvaluation(final long start, final RequestTimings timings) {
+        final long duration = nanoTime() - start;
+        metrics.recordTime(WEBAC_EVALUATION_TIMER, emptyMap(), duration);
+        timings.record(RequestTimings.AUTHORIZATION, duration);
+    }
+
+    private static boolean isDeferrable(final ContainerRequestContext ctx) {
+        // Only a resource method that waits for the deferred decision may be invoked before it completes
+        return ctx.getUriInfo().getMatchedResources().stream().anyMatch(TrellisHttpResource.class::isInstance);
+    }
+
+    private static boolean isBatchRequest(final ContainerRequestContext ctx) {
+        // Match the type exactly, as the resource method's @Consumes does: wildcards are not batch requests
+        final MediaType type = ctx.getMediaType();
+        return POST.equals(ctx.getMethod()) && type != null
+            && BATCH_TYPE.getType().equalsIgnoreCase(type.getType())
+            && BATCH_TYPE.getSubtype().equalsIgnoreCase(type.getSubtype());
+    }
+
+    private static byte[] readEntity(final InputStream input) {
+        try (final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } catch (final IOException ex) {
+            throw new BadRequestException("Unable to read batch request", ex);
+        }
+    }
+
+    private static boolean isAclRequest(final ContainerRequestContext ctx) {
+        return ctx.getUriInfo().getQueryParameters().getOrDefault(HttpConstants.EXT, emptyList())
+            .contains(HttpConstants.ACL);
+    }
+
     private boolean reqAudit(final ContainerRequestContext ctx) {
         final Prefer prefer = Prefer.valueOf(ctx.getHeaderString(PREFER));
         if (prefer != null) {
@@ -20,9 +20,13 @@ import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.synchronizedMap;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
@@ -34,13 +38,22 @@ import static org.trellisldp.api.TrellisUtils.getContainer;
 import static org.trellisldp.api.TrellisUtils.getInstance;
 import static org.trellisldp.api.TrellisUtils.toGraph;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -54,21 +67,22 @@ import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDF;
-import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
+import org.eclipse.microprofile.metrics.annotation.Timed;
 import org.slf4j.Logger;
 import org.trellisldp.api.CacheService;
 import org.trellisldp.api.Metadata;
 import org.trellisldp.api.NoopResourceService;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
+import org.trellisldp.api.RetrievalService;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.api.Session;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.FOAF;
 import org.trellisldp.vocabulary.Trellis;
-import org.trellisldp.vocabulary.VCARD;
 
 /**
  * A WebAc implementation, based on the rules defined by SOLID.
@@ -84,8 +98,18 @@ public class WebAcService {
     /** The configuration key controlling whether to check member resources at the AuthZ enforcement point. */
     public static final String CONFIG_WEBAC_MEMBERSHIP_CHECK = "trellis.webac.membership.check";
 
+    /**
+     * The configuration key controlling how many parsed ACLs, effective ACL lookups and indexed group resources
+     * are held in memory.
+     *
+     * <p>A value of zero disables this cache. The default is 10000.
+     */
+    public static final String CONFIG_WEBAC_ACL_CACHE_SIZE = "trellis.webac.acl.cache.size";
+
+    private static final int DEFAULT_ACL_CACHE_SIZE = 10000;
+
     private static final Logger LOGGER = getLogger(WebAcService.class);
-    private static final CompletionStage<Void> DONE = CompletableFuture.completedFuture(null);
+    private static final CompletionStage<Void> DONE = completedFuture(null);
     private static final RDF rdf = getInstance();
     private static final IRI root = rdf.createIRI(TRELLIS_DATA_PREFIX);
     private static final IRI rootAuth = rdf.createIRI(TRELLIS_DATA_PREFIX + "#auth");
@@ -105,6 +129,12 @@ public class WebAcService {
     private final ResourceService resourceService;
     private final CacheService<String, Set<IRI>> cache;
     private final boolean checkMembershipResources;
+    private final int aclCacheSize;
+    private final Map<IRI, AclEntry> acls = new ConcurrentHashMap<>();
+    private final Map<IRI, EffectiveAcl> effectiveAcls = new ConcurrentHashMap<>();
+    private final GroupMembershipIndex groupMemberships;
+    private final AtomicLong aclVersion = new AtomicLong();
+    private final AtomicLong modesVersion = new AtomicLong();
 
     /**
      * Create a WebAC-based authorization service.
@@ -148,6 +178,7 @@ public class WebAcService {
                     return null;
                 }).toCompletableFuture().join();
         }
+        invalidate();
     }
 
     private CompletionStage<Void> initialize(final Resource res, final Dataset dataset) {
@@ -213,9 +244,58 @@ public class WebAcService {
      */
     public WebAcService(final ResourceService resourceService,
             final CacheService<String, Set<IRI>> cache, final boolean checkMembershipResources) {
+        this(resourceService, cache, checkMembershipResources, getConfig()
+                .getOptionalValue(CONFIG_WEBAC_ACL_CACHE_SIZE, Integer.class).orElse(DEFAULT_ACL_CACHE_SIZE));
+    }
+
+    /**
+     * Create a WebAC-based authorization service.
+     *
+     * @param resourceService the resource service
+     * @param cache a cache
+     * @param checkMembershipResources whether to check membership resource permissions (default=false)
+     * @param aclCacheSize the number of parsed ACLs, effective ACL lookups and group resources to hold in memory,
+     *                     zero to disable
+     */
+    public WebAcService(final ResourceService resourceService,
+            final CacheService<String, Set<IRI>> cache, final boolean checkMembershipResources,
+            final int aclCacheSize) {
         this.resourceService = requireNonNull(resourceService, "A non-null ResourceService must be provided!");
         this.cache = cache;
         this.checkMembershipResources = checkMembershipResources;
+        this.aclCacheSize = aclCacheSize;
+        this.groupMemberships = new GroupMembershipIndex(aclCacheSize);
+    }
+
+    /**
+     * Invalidate any cached authorization data that depends on the content of the given resource.
+     *
+     * <p>This should be called after a resource is created or its content is modified. Changes to
+     * an ACL, or to the resource hierarchy, should be followed by a call to {@link #invalidate()}.
+     *
+     * @param identifier the resource identifier
+     */
+    public void invalidate(final IRI identifier) {
+        final IRI id = cleanIdentifier(identifier);
+        acls.remove(id);
+        effectiveAcls.remove(id);
+        // Group documents and membership resources feed into the computed access modes
+        if (groupMemberships.remove(id) || checkMembershipResources) {
+            modesVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Invalidate all cached authorization data.
+     *
+     * <p>This should be called after an ACL is modified, or after a resource is deleted or moved.
+     */
+    public void invalidate() {
+        aclVersion.incrementAndGet();
+        modesVersion.incrementAndGet();
+        acls.clear();
+        effectiveAcls.clear();
+        groupMemberships.clear();
     }
 
     /**
@@ -225,20 +305,107 @@ public class WebAcService {
      * @return a set of allowable access modes
      */
     public Set<IRI> getAccessModes(final IRI identifier, final Session session) {
+        return join(getAccessModesFor(identifier, session, (id, agent) -> getAuthz(id, agent, resourceService)));
+    }
+
+    /**
+     * Get the allowable access modes for the given session to the specified resource, retrieving
+     * resources through a request-scoped memo.
+     *
+     * @param identifier the resource identifier
+     * @param session the agent's session
+     * @param memo the memo of resources already retrieved for the current request
+     * @return a set of allowable access modes
+     */
+    @Timed(name = WebAcFilter.WEBAC_EVALUATION_TIMER, absolute = true, reusable = true)
+    public Set<IRI> getAccessModes(final IRI identifier, final Session session, final ResourceMemo memo) {
+        return join(getAccessModesAsync(identifier, session, memo));
+    }
+
+    /**
+     * Get the allowable access modes for the given session to the specified resource, without blocking
+     * while resources are retrieved.
+     *
+     * @param identifier the resource identifier
+     * @param session the agent's session
+     * @param memo the memo of resources already retrieved for the current request
+     * @return the next stage of completion, containing a set of allowable access modes
+     */
+    public CompletionStage<Set<IRI>> getAccessModesAsync(final IRI identifier, final Session session,
+            final ResourceMemo memo) {
+        requireNonNull(memo, "A non-null resource memo must be provided!");
+        final RetrievalService<Resource> resources = id -> memo.get(id, resourceService);
+        return getAccessModesFor(identifier, session, (id, agent) -> getAuthz(id, agent, resources));
+    }
+
+    /**
+     * Get the allowable access modes for the given session to each of the specified resources.
+     *
+     * <p>Resources that share a container, such as the children listed in a container or a WebDAV
+     * {@code PROPFIND} response, also share the resolution of the ACL they inherit, and each distinct set
+     * of authorizations is evaluated only once. This is considerably cheaper than checking the resources
+     * one at a time.
+     *
+     * @param identifiers the resource identifiers
+     * @param session the agent's session
+     * @return the allowable access modes for each resource
+     */
+    public Map<IRI, Set<IRI>> getAccessModes(final Collection<IRI> identifiers, final Session session) {
+        return join(getAccessModesAsync(identifiers, session, new ResourceMemo()));
+    }
+
+    /**
+     * Get the allowable access modes for the given session to each of the specified resources, without
+     * blocking while resources are retrieved.
+     *
+     * @param identifiers the resource identifiers
+     * @param session the agent's session
+     * @param memo the memo of resources already retrieved for the current request
+     * @return the next stage of completion, containing the allowable access modes for each resource
+     * @see #getAccessModes(Collection, Session)
+     */
+    public CompletionStage<Map<IRI, Set<IRI>>> getAccessModesAsync(final Collection<IRI> identifiers,
+            final Session session, final ResourceMemo memo) {
+        requireNonNull(identifiers, "A non-null collection of identifiers must be provided!");
+        requireNonNull(memo, "A non-null resource memo must be provided!");
+        final BatchEvaluation batch = new BatchEvaluation(id -> memo.get(id, resourceService));
+        final Map<IRI, CompletableFuture<Set<IRI>>> modes = new LinkedHashMap<>();
+        for (final IRI identifier : identifiers) {
+            modes.computeIfAbsent(identifier, id -> getAccessModesFor(id, session, batch::getAuthz)
+                    .toCompletableFuture());
+        }
+        return allOf(modes.values().toArray(new CompletableFuture[0])).thenApply(x -> {
+            final Map<IRI, Set<IRI>> results = new LinkedHashMap<>();
+            modes.forEach((identifier, m) -> results.put(identifier, m.join()));
+            return unmodifiableMap(results);
+        });
+    }
+
+    private CompletionStage<Set<IRI>> getAccessModesFor(final IRI identifier, final Session session,
+            final BiFunction<IRI, IRI, CompletionStage<Set<IRI>>> authz) {
         requireNonNull(session, "A non-null session must be provided!");
 
         if (Trellis.AdministratorAgent.equals(session.getAgent())) {
-            return unmodifiableSet(allModes);
+            return completedFuture(unmodifiableSet(allModes));
         }
 
-        final Set<IRI> cachedModes = cache.get(generateCacheKey(identifier, session.getAgent()), k ->
-                getAuthz(identifier, session.getAgent()));
-        return session.getDelegatedBy().map(delegate -> {
-                final Set<IRI> delegatedModes = new HashSet<>(cache.get(generateCacheKey(identifier, delegate),
-                            k -> getAuthz(identifier, delegate)));
-                delegatedModes.retainAll(cachedModes);
-                return unmodifiableSet(delegatedModes);
-            }).orElseGet(() -> unmodifiableSet(cachedModes));
+        final CompletionStage<Set<IRI>> cachedModes = getCachedAuthz(identifier, session.getAgent(), authz);
+        return session.getDelegatedBy().map(delegate ->
+                cachedModes.thenCombine(getCachedAuthz(identifier, delegate, authz), (modes, delegated) -> {
+                    final Set<IRI> delegatedModes = new HashSet<>(delegated);
+                    delegatedModes.retainAll(modes);
+                    return unmodifiableSet(delegatedModes);
+                })).orElseGet(() -> cachedModes.thenApply(Collections::unmodifiableSet));
+    }
+
+    private CompletionStage<Set<IRI>> getCachedAuthz(final IRI identifier, final IRI agent,
+            final BiFunction<IRI, IRI, CompletionStage<Set<IRI>>> authz) {
+        final String key = getVersionedCacheKey(identifier, agent);
+        final Optional<Set<IRI>> cached = cache.getIfPresent(key);
+        if (cached.isPresent()) {
+            return completedFuture(cached.get());
+        }
+        return authz.apply(identifier, agent).thenApply(modes -> cache.get(key, k -> modes));
     }
 
     /**
@@ -251,79 +418,190 @@ public class WebAcService {
         return join("||", identifier.getIRIString(), agent.getIRIString());
     }
 
-    private Set<IRI> getAuthz(final IRI identifier, final IRI agent) {
-        final Set<IRI> modes = getModesFor(identifier, agent);
+    private String getVersionedCacheKey(final IRI identifier, final IRI agent) {
+        // Entries computed before an invalidation are never looked up again and simply expire
+        return join("||", generateCacheKey(identifier, agent), Long.toString(modesVersion.get()));
+    }
+
+    private CompletionStage<Set<IRI>> getAuthz(final IRI identifier, final IRI agent,
+            final RetrievalService<Resource> resources) {
+        return getModesFor(identifier, agent, resources)
+            .thenCompose(modes -> checkMemberModes(identifier, agent, modes, resources));
+    }
+
+    private CompletionStage<Set<IRI>> checkMemberModes(final IRI identifier, final IRI agent, final Set<IRI> modes,
+            final RetrievalService<Resource> resources) {
         // consider membership resources, if relevant
         if (checkMembershipResources && hasWritableMode(modes)) {
-            getContainer(identifier).map(resourceService::get).map(CompletionStage::toCompletableFuture)
-                .map(CompletableFuture::join).flatMap(Resource::getMembershipResource)
-                .map(WebAcService::cleanIdentifier).map(member -> getModesFor(member, agent))
-                .ifPresent(memberModes -> {
-                    if (!memberModes.contains(ACL.Write)) {
-                        modes.remove(ACL.Write);
-                    }
-                    if (!memberModes.contains(ACL.Append)) {
-                        modes.remove(ACL.Append);
-                    }
-                });
+            return getContainer(identifier).map(parent -> resources.get(parent)
+                    .thenCompose(res -> restrictToMemberModes(modes, res, agent, resources)))
+                .orElseGet(() -> completedFuture(modes));
         }
-        return modes;
+        return completedFuture(modes);
     }
 
-    private Set<IRI> getModesFor(final IRI identifier, final IRI agent) {
-        return getNearestResource(identifier).map(resource -> getAllAuthorizationsFor(resource, false)
-                .filter(agentFilter(agent))).orElseGet(Stream::empty)
-            .flatMap(auth -> auth.getMode().stream()).collect(toSet());
+    private CompletionStage<Set<IRI>> restrictToMemberModes(final Set<IRI> modes, final Resource parent,
+            final IRI agent, final RetrievalService<Resource> resources) {
+        return parent.getMembershipResource().map(WebAcService::cleanIdentifier)
+            .map(member -> getModesFor(member, agent, resources).thenApply(memberModes -> {
+                if (!memberModes.contains(ACL.Write)) {
+                    modes.remove(ACL.Write);
+                }
+                if (!memberModes.contains(ACL.Append)) {
+                    modes.remove(ACL.Append);
+                }
+                return modes;
+            })).orElseGet(() -> completedFuture(modes));
     }
 
-    private Optional<Resource> getNearestResource(final IRI identifier) {
-        final Resource res = resourceService.get(identifier).toCompletableFuture().join();
-        if (resourceExists(res)) {
-            return Optional.of(res);
-        }
-        return getContainer(identifier).flatMap(this::getNearestResource);
+    private CompletionStage<Set<IRI>> getModesFor(final IRI identifier, final IRI agent,
+            final RetrievalService<Resource> resources) {
+        return getAuthorizationsFor(identifier, aclVersion.get(), resources)
+            .thenCompose(authorizations -> getModes(authorizations, agent, resources));
     }
 
-    private Predicate<Authorization> agentFilter(final IRI agent) {
-        return auth -> auth.getAgentClass().contains(FOAF.Agent) ||
-            (auth.getAgentClass().contains(ACL.AuthenticatedAgent) && !Trellis.AnonymousAgent.equals(agent)) ||
-            auth.getAgent().contains(agent) || auth.getAgentGroup().stream().anyMatch(isAgentInGroup(agent));
+    private CompletionStage<Set<IRI>> getModes(final List<Authorization> authorizations, final IRI agent,
+            final RetrievalService<Resource> resources) {
+        final List<CompletableFuture<Boolean>> applicable = authorizations.stream()
+            .map(auth -> appliesTo(auth, agent, resources).toCompletableFuture()).collect(toList());
+        return allOf(applicable.toArray(new CompletableFuture[0])).thenApply(x -> {
+            final Set<IRI> modes = new HashSet<>();
+            for (int i = 0; i < authorizations.size(); i++) {
+                if (applicable.get(i).join()) {
+                    modes.addAll(authorizations.get(i).getMode());
+                }
+            }
+            return modes;
+        });
     }
 
-    private Predicate<IRI> isAgentInGroup(final IRI agent) {
-        return group -> resourceService.get(cleanIdentifier(group)).thenApply(res -> {
-            try (final Stream<RDFTerm> triples = res.stream(Trellis.PreferUserManaged)
-                    .filter(t -> t.getSubject().equals(group) && t.getPredicate().equals(VCARD.hasMember))
-                    .map(Quad::getObject)) {
-                return triples.anyMatch(agent::equals);
+    private CompletionStage<List<Authorization>> getAuthorizationsFor(final IRI identifier, final long version,
+            final RetrievalService<Resource> resources) {
+        final EffectiveAcl effective = effectiveAcls.get(identifier);
+        final CompletionStage<Optional<AclEntry>> entry = effective != null && effective.version == version
+            ? getAclEntry(effective.resource, version, resources) : completedFuture(Optional.empty());
+        return entry.thenCompose(acl -> {
+            if (acl.isPresent()) {
+                return completedFuture(acl.get().getAuthorizations(effective.inherited));
             }
-        }).toCompletableFuture().join();
+            return resources.get(identifier).thenCompose(res -> {
+                if (resourceExists(res)) {
+                    return getAllAuthorizationsFor(identifier, res, false, version, resources);
+                }
+                return getContainer(identifier).map(parent -> getAuthorizationsFor(parent, version, resources))
+                    .orElseGet(() -> completedFuture(emptyList()));
+            });
+        });
+    }
+
+    private CompletionStage<Boolean> appliesTo(final Authorization auth, final IRI agent,
+            final RetrievalService<Resource> resources) {
+        if (auth.getAgentClass().contains(FOAF.Agent) ||
+                (auth.getAgentClass().contains(ACL.AuthenticatedAgent) && !Trellis.AnonymousAgent.equals(agent)) ||
+                auth.getAgent().contains(agent)) {
+            return completedFuture(true);
+        }
+        return isAgentInAnyGroup(agent, new ArrayList<>(auth.getAgentGroup()), resources);
     }
 
-    private Stream<Authorization> getAllAuthorizationsFor(final Resource resource, final boolean inherited) {
+    private CompletionStage<Boolean> isAgentInAnyGroup(final IRI agent, final List<IRI> agentGroups,
+            final RetrievalService<Resource> resources) {
+        if (agentGroups.isEmpty()) {
+            return completedFuture(false);
+        }
+        // Groups are checked in turn, so that no more group documents are retrieved than necessary
+        return isAgentInGroup(agent, agentGroups.get(0), resources).thenCompose(member -> {
+            if (member) {
+                return completedFuture(true);
+            }
+            return isAgentInAnyGroup(agent, agentGroups.subList(1, agentGroups.size()), resources);
+        });
+    }
+
+    private CompletionStage<Boolean> isAgentInGroup(final IRI agent, final IRI group,
+            final RetrievalService<Resource> resources) {
+        return groupMemberships.isMember(agent, group, cleanIdentifier(group), resources);
+    }
+
+    private CompletionStage<List<Authorization>> getAllAuthorizationsFor(final IRI target, final Resource resource,
+            final boolean inherited, final long version, final RetrievalService<Resource> resources) {
         LOGGER.debug("Checking ACL for: {}", resource.getIdentifier());
+        final Optional<AclEntry> entry = getAclEntry(resource, version);
+        if (entry.isPresent()) {
+            cache(effectiveAcls, target, new EffectiveAcl(resource.getIdentifier(), inherited, version));
+            return completedFuture(entry.get().getAuthorizations(inherited));
+        }
+        // Follow the pointer to the effective ACL, if the persistence layer maintains one
+        final Optional<IRI> effectiveAcl = resource.getEffectiveAcl()
+            .filter(acl -> !acl.equals(resource.getIdentifier()));
+        if (effectiveAcl.isPresent()) {
+            final IRI aclResource = effectiveAcl.get();
+            LOGGER.debug("No ACL for {}; using the effective ACL of {}", resource.getIdentifier(), aclResource);
+            return getAclEntry(aclResource, version, resources).thenCompose(acl -> {
+                if (acl.isPresent()) {
+                    cache(effectiveAcls, target, new EffectiveAcl(aclResource, true, version));
+                    return completedFuture(acl.get().getAuthorizations(true));
+                }
+                return getParentAuthorizationsFor(target, resource, version, resources);
+            });
+        }
+        return getParentAuthorizationsFor(target, resource, version, resources);
+    }
+
+    private CompletionStage<List<Authorization>> getParentAuthorizationsFor(final IRI target,
+            final Resource resource, final long version, final RetrievalService<Resource> resources) {
+        // Nothing here, check the parent
+        LOGGER.debug("No ACL for {}; looking up parent resource", resource.getIdentifier());
+        return getContainer(resource.getIdentifier()).map(parent -> resources.get(parent)
+                .thenCompose(res -> getAllAuthorizationsFor(target, res, true, version, resources)))
+            .orElseGet(() -> completedFuture(emptyList()));
+    }
+
+    private CompletionStage<Optional<AclEntry>> getAclEntry(final IRI identifier, final long version,
+            final RetrievalService<Resource> resources) {
+        final AclEntry entry = acls.get(identifier);
+        if (entry != null && entry.version == version) {
+            return completedFuture(Optional.of(entry));
+        }
+        return resources.get(identifier).thenApply(res -> Optional.<Resource>of(res)
+                .filter(WebAcService::resourceExists).flatMap(r -> getAclEntry(r, version)));
+    }
+
+    private Optional<AclEntry> getAclEntry(final Resource resource, final long version) {
+        if (!resource.hasAcl() && !root.equals(resource.getIdentifier())) {
+            return Optional.empty();
+        }
+        final AclEntry entry = acls.get(resource.getIdentifier());
+        if (entry != null && entry.version == version) {
+            return Optional.of(entry);
+        }
+        return Optional.of(cache(acls, resource.getIdentifier(), readAcl(resource, version)));
+    }
+
+    private static AclEntry readAcl(final Resource resource, final long version) {
         if (resource.hasAcl()) {
             try (final Graph graph = resource.stream(Trellis.PreferAccessControl).map(Quad::asTriple)
                         .collect(toGraph())) {
                 // Get the relevant Authorizations in the ACL resource
                 final List<Authorization> authorizations = getAuthorizationFromGraph(resource.getIdentifier(), graph);
-                // Check for any acl:default statements if checking for inheritance
-                if (inherited) {
-                    return authorizations.stream().filter(getInheritedAuth(resource.getIdentifier()));
-                }
-                // If not inheriting, just return the relevant Authorizations
-                return authorizations.stream();
+                // Separately track those with acl:default statements, for inheritance
+                return new AclEntry(authorizations, authorizations.stream()
+                        .filter(getInheritedAuth(resource.getIdentifier())).collect(toList()), version);
             } catch (final Exception ex) {
                 throw new RuntimeTrellisException("Error closing graph", ex);
             }
-        } else if (root.equals(resource.getIdentifier())) {
-            return WebAcService.defaultRootAuthorizations.stream();
         }
-        // Nothing here, check the parent
-        LOGGER.debug("No ACL for {}; looking up parent resource", resource.getIdentifier());
-        return getContainer(resource.getIdentifier()).map(resourceService::get)
-            .map(CompletionStage::toCompletableFuture).map(CompletableFuture::join)
-            .map(res -> getAllAuthorizationsFor(res, true)).orElseGet(Stream::empty);
+        return new AclEntry(defaultRootAuthorizations, defaultRootAuthorizations, version);
+    }
+
+    private <T> T cache(final Map<IRI, T> entries, final IRI identifier, final T value) {
+        if (aclCacheSize > 0) {
+            if (entries.size() >= aclCacheSize) {
+                entries.clear();
+            }
+            entries.put(identifier, value);
+        }
+        return value;
     }
 
     private static List<Authorization> getAuthorizationFromGraph(final IRI identifier, final Graph graph) {
@@ -336,6 +614,17 @@ public class WebAcService {
             }).filter(auth -> auth.getAccessTo().contains(identifier)).collect(toList());
     }
 
+    private static <T> T join(final CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     private static boolean hasWritableMode(final Set<IRI> modes) {
         return modes.contains(ACL.Write) || modes.contains(ACL.Append);
     }
@@ -372,6 +661,82 @@ public class WebAcService {
         return rdf.createIRI(cleanIdentifier(identifier.getIRIString()));
     }
 
+    /**
+     * The shared state of a batch of access checks.
+     */
+    private final class BatchEvaluation {
+        private final RetrievalService<Resource> resources;
+        private final long version = aclVersion.get();
+        private final Map<IRI, CompletionStage<List<Authorization>>> inherited = new ConcurrentHashMap<>();
+        private final Map<List<Authorization>, Map<IRI, CompletionStage<Set<IRI>>>> evaluated =
+            synchronizedMap(new IdentityHashMap<>());
+
+        BatchEvaluation(final RetrievalService<Resource> resources) {
+            this.resources = resources;
+        }
+
+        CompletionStage<Set<IRI>> getAuthz(final IRI identifier, final IRI agent) {
+            return getAuthorizations(identifier).thenCompose(authorizations -> evaluated
+                    .computeIfAbsent(authorizations, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(agent, a -> getModes(authorizations, a, resources)))
+                // The evaluated modes are shared, so each resource restricts its own copy
+                .thenCompose(modes -> checkMemberModes(identifier, agent, new HashSet<>(modes), resources));
+        }
+
+        private CompletionStage<List<Authorization>> getAuthorizations(final IRI identifier) {
+            return resources.get(identifier).thenCompose(res -> {
+                if (!resourceExists(res)) {
+                    return getAuthorizationsFor(identifier, version, resources);
+                }
+                final Optional<AclEntry> entry = getAclEntry(res, version);
+                if (entry.isPresent()) {
+                    cache(effectiveAcls, identifier, new EffectiveAcl(identifier, false, version));
+                    return completedFuture(entry.get().getAuthorizations(false));
+                }
+                // Resources without an ACL of their own share the resolution of their container's ACL
+                return getContainer(identifier).map(parent -> inherited.computeIfAbsent(parent, p ->
+                            resources.get(p).thenCompose(container ->
+                                getAllAuthorizationsFor(identifier, container, true, version, resources))))
+                    .orElseGet(() -> completedFuture(emptyList()));
+            });
+        }
+    }
+
+    /**
+     * The Authorizations parsed from the ACL of a single resource.
+     */
+    private static final class AclEntry {
+        private final List<Authorization> authorizations;
+        private final List<Authorization> inheritedAuthorizations;
+        private final long version;
+
+        AclEntry(final List<Authorization> authorizations, final List<Authorization> inheritedAuthorizations,
+                final long version) {
+            this.authorizations = unmodifiableList(authorizations);
+            this.inheritedAuthorizations = unmodifiableList(inheritedAuthorizations);
+            this.version = version;
+        }
+
+        List<Authorization> getAuthorizations(final boolean inherited) {
+            return inherited ? inheritedAuthorizations : authorizations;
+        }
+    }
+
+    /**
+     * A pointer from a resource to the resource whose ACL governs it.
+     */
+    private static final class EffectiveAcl {
+        private final IRI resource;
+        private final boolean inherited;
+        private final long version;
+
+        EffectiveAcl(final IRI resource, final boolean inherited, final long version) {
+            this.resource = resource;
+            this.inherited = inherited;
+            this.version = version;
+        }
+    }
+
     @TrellisAuthorizationCache
     public static class NoopAuthorizationCache implements CacheService<String, Set<IRI>> {
 
@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.webac;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.vocabulary.VCARD;
+
+class GroupMembershipIndexTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI groupResource = rdf.createIRI(TRELLIS_DATA_PREFIX + "groups");
+    private static final IRI otherResource = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+    private static final IRI editors = rdf.createIRI(TRELLIS_DATA_PREFIX + "groups#editors");
+    private static final IRI readers = rdf.createIRI(TRELLIS_DATA_PREFIX + "groups#readers");
+    private static final IRI agent = rdf.createIRI("info:user/agent");
+    private static final IRI intruder = rdf.createIRI("info:user/intruder");
+
+    @Mock
+    private ResourceService mockResourceService;
+
+    @Mock
+    private Resource mockGroupResource, mockOtherResource;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockResourceService.get(groupResource)).thenAnswer(inv -> completedFuture(mockGroupResource));
+        when(mockResourceService.get(otherResource)).thenAnswer(inv -> completedFuture(mockOtherResource));
+        when(mockGroupResource.stream(PreferUserManaged)).thenAnswer(inv -> Stream.concat(
+                    IntStream.range(0, 10000).mapToObj(i -> rdf.createQuad(PreferUserManaged, readers,
+                            VCARD.hasMember, rdf.createIRI("info:user/" + i))),
+                    Stream.of(rdf.createQuad(PreferUserManaged, editors, VCARD.hasMember, agent))));
+        when(mockOtherResource.stream(PreferUserManaged)).thenAnswer(inv -> Stream.of(
+                    rdf.createQuad(PreferUserManaged, editors, VCARD.hasMember, intruder)));
+    }
+
+    @Test
+    void testMembership() {
+        final GroupMembershipIndex index = new GroupMembershipIndex(10);
+
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        assertFalse(isMember(index, agent, readers, groupResource), "Agent unexpectedly a reader!");
+        assertTrue(isMember(index, rdf.createIRI("info:user/9999"), readers, groupResource), "Missing reader!");
+        assertFalse(isMember(index, rdf.createIRI("info:user/9999"), editors, groupResource),
+                "Reader unexpectedly an editor!");
+
+        verify(mockResourceService).get(groupResource);
+        verify(mockGroupResource).stream(PreferUserManaged);
+    }
+
+    @Test
+    void testMembershipFromOtherResource() {
+        final GroupMembershipIndex index = new GroupMembershipIndex(10);
+
+        assertFalse(isMember(index, intruder, editors, otherResource), "Membership defined by another resource!");
+        assertFalse(isMember(index, intruder, editors, groupResource), "Membership defined by another resource!");
+    }
+
+    @Test
+    void testRemove() {
+        final GroupMembershipIndex index = new GroupMembershipIndex(10);
+
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        when(mockGroupResource.stream(PreferUserManaged)).thenAnswer(inv -> Stream.empty());
+        assertTrue(isMember(index, agent, editors, groupResource), "Indexed membership not retained!");
+
+        assertTrue(index.remove(groupResource), "Group resource not tracked!");
+        assertTrue(index.remove(groupResource), "Group resource no longer tracked!");
+        assertFalse(isMember(index, agent, editors, groupResource), "Removed membership still present!");
+        verify(mockResourceService, times(2)).get(groupResource);
+
+        assertFalse(index.remove(otherResource), "Unchecked resource unexpectedly tracked!");
+        index.clear();
+        assertFalse(index.remove(groupResource), "Group resource still tracked after clearing the index!");
+    }
+
+    @Test
+    void testNotRetained() {
+        final GroupMembershipIndex index = new GroupMembershipIndex(0);
+
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        verify(mockResourceService, times(2)).get(groupResource);
+        // Changes to the group resource must still be reported, even though it is not retained
+        assertTrue(index.remove(groupResource), "Group resource not tracked!");
+    }
+
+    @Test
+    void testBounded() {
+        final GroupMembershipIndex index = new GroupMembershipIndex(1);
+
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        verify(mockResourceService).get(groupResource);
+
+        assertTrue(isMember(index, intruder, editors, otherResource), "Intruder not an editor of other!");
+        assertTrue(isMember(index, agent, editors, groupResource), "Agent not an editor!");
+        verify(mockResourceService, times(2)).get(groupResource);
+        assertTrue(index.remove(otherResource), "Evicted group resource not tracked!");
+    }
+
+    private boolean isMember(final GroupMembershipIndex index, final IRI member, final IRI group,
+            final IRI resource) {
+        return index.isMember(member, group, resource, mockResourceService).toCompletableFuture().join();
+    }
+}
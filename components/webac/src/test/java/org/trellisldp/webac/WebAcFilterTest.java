@@ -13,25 +13,38 @@
  */
 package org.trellisldp.webac;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.*;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_BATCH_JSON;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.security.Principal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotAuthorizedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.SecurityContext;
@@ -39,13 +52,21 @@ import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.trellisldp.api.Session;
+import org.trellisldp.http.TrellisHttpResource;
+import org.trellisldp.http.core.BatchOperation;
+import org.trellisldp.http.core.ContainmentFilter;
+import org.trellisldp.http.core.DeferredAuthorization;
+import org.trellisldp.http.core.RequestHandoff;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.Trellis;
 
@@ -55,6 +76,7 @@ import org.trellisldp.vocabulary.Trellis;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class WebAcFilterTest {
 
+    private static final RDF rdf = getInstance();
     private static final Set<IRI> allModes = new HashSet<>();
 
     static {
@@ -102,7 +124,8 @@ class WebAcFilterTest {
     @BeforeEach
     void setUp() {
         initMocks(this);
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(allModes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(allModes);
         when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
         when(mockUriInfo.getQueryParameters()).thenReturn(mockQueryParams);
         when(mockQueryParams.getOrDefault(eq("ext"), eq(emptyList()))).thenReturn(emptyList());
@@ -124,7 +147,8 @@ class WebAcFilterTest {
     void testFilterRead() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("GET");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Read);
@@ -143,7 +167,8 @@ class WebAcFilterTest {
     void testFilterCustomRead() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("READ");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Read);
@@ -163,7 +188,8 @@ class WebAcFilterTest {
     void testFilterWrite() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("PUT");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Write);
@@ -182,7 +208,8 @@ class WebAcFilterTest {
     void testFilterCustomWrite() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("WRITE");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Write);
@@ -201,7 +228,8 @@ class WebAcFilterTest {
     void testFilterAppend() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("POST");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Append);
@@ -222,11 +250,81 @@ class WebAcFilterTest {
                 "No exception thrown!");
     }
 
+    @Test
+    void testFilterBatch() {
+        final String batch = "[{\"method\": \"PUT\", \"path\": \"child\"},"
+            + " {\"method\": \"POST\", \"path\": \"other\"}]";
+        final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child");
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/other");
+        final Set<IRI> writeModes = new HashSet<>(singletonList(ACL.Write));
+        final Set<IRI> appendModes = new HashSet<>(singletonList(ACL.Append));
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockContext.getMediaType()).thenReturn(MediaType.valueOf(APPLICATION_BATCH_JSON));
+        when(mockContext.getEntityStream()).thenAnswer(inv -> new ByteArrayInputStream(batch.getBytes(UTF_8)));
+        when(mockUriInfo.getPath()).thenReturn("container");
+        when(mockWebAcService.getAccessModes(eq(child), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(writeModes);
+        when(mockWebAcService.getAccessModes(eq(other), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(appendModes);
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+        assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception for an authorized batch!");
+
+        final ArgumentCaptor<InputStream> entity = ArgumentCaptor.forClass(InputStream.class);
+        verify(mockContext).setEntityStream(entity.capture());
+        assertDoesNotThrow(() -> assertEquals(batch.length(), entity.getValue().available(),
+                    "Batch entity not restored!"));
+
+        writeModes.clear();
+        when(mockContext.getSecurityContext()).thenReturn(mockSecurityContext);
+        assertThrows(ForbiddenException.class, () -> filter.filter(mockContext),
+                "No exception thrown when one batch operation is not authorized!");
+    }
+
+    @Test
+    void testFilterBatchWildcardType() {
+        final Set<IRI> modes = new HashSet<>(singletonList(ACL.Append));
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+        for (final String type : asList("*/*", "application/*")) {
+            when(mockContext.getMediaType()).thenReturn(MediaType.valueOf(type));
+            assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception for " + type + "!");
+        }
+        verify(mockContext, never()).getEntityStream();
+        verify(mockContext, never()).setEntityStream(any());
+    }
+
+    @Test
+    void testFilterBatchTypeParameters() {
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockContext.getMediaType()).thenReturn(MediaType.valueOf(APPLICATION_BATCH_JSON + ";charset=utf-8"));
+        when(mockContext.getEntityStream()).thenReturn(new ByteArrayInputStream("{".getBytes(UTF_8)));
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+        assertThrows(BadRequestException.class, () -> filter.filter(mockContext),
+                "Batch type with parameters not read as a batch!");
+    }
+
+    @Test
+    void testFilterInvalidBatch() {
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockContext.getMediaType()).thenReturn(MediaType.valueOf(APPLICATION_BATCH_JSON));
+        when(mockContext.getEntityStream()).thenReturn(new ByteArrayInputStream("{".getBytes(UTF_8)));
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+        assertThrows(BadRequestException.class, () -> filter.filter(mockContext),
+                "No exception thrown for an invalid batch!");
+    }
+
     @Test
     void testFilterCustomAppend() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("APPEND");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Append);
@@ -251,7 +349,8 @@ class WebAcFilterTest {
     void testFilterControl() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("GET");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Read);
@@ -276,7 +375,8 @@ class WebAcFilterTest {
     void testFilterControl2() {
         final Set<IRI> modes = new HashSet<>();
         when(mockContext.getMethod()).thenReturn("GET");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(modes);
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(modes);
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService);
         modes.add(ACL.Read);
@@ -299,7 +399,8 @@ class WebAcFilterTest {
     @Test
     void testFilterChallenges() {
         when(mockContext.getMethod()).thenReturn("POST");
-        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(emptySet());
+        when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+            .thenReturn(emptySet());
 
         final WebAcFilter filter = new WebAcFilter(mockWebAcService, asList("Foo", "Bar"), "my-realm",
                 "http://example.com/");
@@ -395,6 +496,178 @@ class WebAcFilterTest {
         assertTrue(headers.isEmpty());
     }
 
+    @Test
+    void testFilterResponseInvalidate() {
+        when(mockContext.getMethod()).thenReturn("PUT");
+        when(mockUriInfo.getPath()).thenReturn("container/child");
+        when(mockResponseContext.getStatusInfo()).thenReturn(OK);
+        when(mockResponseContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(mockUriInfo.getAbsolutePathBuilder()).thenReturn(UriBuilder.fromUri("http://localhost/"));
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService, asList("Foo", "Bar"), "my-realm", null);
+        filter.filter(mockContext, mockResponseContext);
+
+        verify(mockWebAcService).invalidate(eq(rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child")));
+        verify(mockWebAcService, never()).invalidate();
+    }
+
+    @Test
+    void testFilterResponseInvalidateAcl() {
+        final MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+        params.add("ext", "acl");
+        when(mockContext.getMethod()).thenReturn("PATCH");
+        when(mockUriInfo.getQueryParameters()).thenReturn(params);
+        when(mockResponseContext.getStatusInfo()).thenReturn(OK);
+        when(mockResponseContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService, asList("Foo", "Bar"), "my-realm", null);
+        filter.filter(mockContext, mockResponseContext);
+
+        verify(mockWebAcService).invalidate();
+        verify(mockWebAcService, never()).invalidate(any(IRI.class));
+    }
+
+    @Test
+    void testFilterResponseInvalidateBatch() {
+        final String batch = "[{\"method\": \"PUT\", \"path\": \"child\"},"
+            + " {\"method\": \"DELETE\", \"path\": \"other\"}]";
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockContext.getProperty(anyString()))
+            .thenReturn(BatchOperation.parse(new ByteArrayInputStream(batch.getBytes(UTF_8))));
+        when(mockUriInfo.getPath()).thenReturn("container");
+        when(mockResponseContext.getStatusInfo()).thenReturn(OK);
+        when(mockResponseContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(mockUriInfo.getAbsolutePathBuilder()).thenReturn(UriBuilder.fromUri("http://localhost/"));
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService, asList("Foo", "Bar"), "my-realm", null);
+        filter.filter(mockContext, mockResponseContext);
+
+        verify(mockWebAcService).invalidate(eq(rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child")));
+        verify(mockWebAcService).invalidate();
+    }
+
+    @Test
+    void testFilterResponseNoInvalidation() {
+        when(mockContext.getMethod()).thenReturn("GET");
+        when(mockResponseContext.getStatusInfo()).thenReturn(OK);
+        when(mockResponseContext.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(mockUriInfo.getAbsolutePathBuilder()).thenReturn(UriBuilder.fromUri("http://localhost/"));
+
+        final WebAcFilter filter = new WebAcFilter(mockWebAcService, asList("Foo", "Bar"), "my-realm", null);
+        filter.filter(mockContext, mockResponseContext);
+
+        verify(mockWebAcService, never()).invalidate();
+        verify(mockWebAcService, never()).invalidate(any(IRI.class));
+    }
+
+    @Test
+    void testFilterDeferred() {
+        System.setProperty(WebAcFilter.CONFIG_WEBAC_DEFER_AUTHORIZATION, "true");
+        try {
+            final Set<IRI> modes = new HashSet<>();
+            when(mockContext.getMethod()).thenReturn("GET");
+            when(mockUriInfo.getMatchedResources()).thenReturn(asList((Object) mock(TrellisHttpResource.class)));
+            when(mockWebAcService.getAccessModesAsync(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+                .thenAnswer(inv -> completedFuture(modes));
+
+            final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+            when(mockContext.getHeaders()).thenReturn(headers);
+
+            final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+
+            modes.add(ACL.Read);
+            assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception with a deferred decision!");
+            final DeferredAuthorization allowed = RequestHandoff.claim(headers)
+                .flatMap(handoff -> handoff.get(DeferredAuthorization.class)).orElse(null);
+            assertNotNull(allowed, "Deferred decision not handed over!");
+            assertDoesNotThrow(() -> allowed.getDecision().toCompletableFuture().join(),
+                    "Unexpected exception after adding Read ability!");
+
+            modes.clear();
+            assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception with a deferred decision!");
+            final DeferredAuthorization denied = RequestHandoff.claim(headers)
+                .flatMap(handoff -> handoff.get(DeferredAuthorization.class)).orElse(null);
+            assertNotNull(denied, "Deferred decision not handed over!");
+            final CompletionException err = assertThrows(CompletionException.class, () ->
+                    denied.getDecision().toCompletableFuture().join(), "No exception when not authorized!");
+            assertTrue(err.getCause() instanceof NotAuthorizedException, "Incorrect exception type!");
+            verify(mockWebAcService, never()).getAccessModes(any(IRI.class), any(Session.class),
+                    any(ResourceMemo.class));
+        } finally {
+            System.clearProperty(WebAcFilter.CONFIG_WEBAC_DEFER_AUTHORIZATION);
+        }
+    }
+
+    @Test
+    void testFilterDeferredOtherResource() {
+        System.setProperty(WebAcFilter.CONFIG_WEBAC_DEFER_AUTHORIZATION, "true");
+        try {
+            when(mockContext.getMethod()).thenReturn("GET");
+            when(mockUriInfo.getMatchedResources()).thenReturn(asList(new Object()));
+            when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+                .thenReturn(emptySet());
+
+            final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+            assertThrows(NotAuthorizedException.class, () -> filter.filter(mockContext),
+                    "No exception thrown for a resource that cannot defer authorization!");
+            verify(mockWebAcService, never()).getAccessModesAsync(any(IRI.class), any(Session.class),
+                    any(ResourceMemo.class));
+        } finally {
+            System.clearProperty(WebAcFilter.CONFIG_WEBAC_DEFER_AUTHORIZATION);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFilterContainment() {
+        System.setProperty(WebAcFilter.CONFIG_WEBAC_CONTAINMENT_FILTER, "true");
+        try {
+            final IRI readable = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/readable");
+            final IRI hidden = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/hidden");
+            final Map<IRI, Set<IRI>> modes = new HashMap<>();
+            modes.put(readable, singleton(ACL.Read));
+            modes.put(hidden, singleton(ACL.Append));
+            when(mockContext.getMethod()).thenReturn("GET");
+            when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+                .thenReturn(singleton(ACL.Read));
+            when(mockWebAcService.getAccessModesAsync(any(Collection.class), any(Session.class),
+                        any(ResourceMemo.class))).thenAnswer(inv -> completedFuture(modes));
+
+            final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+            when(mockContext.getHeaders()).thenReturn(headers);
+
+            final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+            assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception after adding Read ability!");
+            final ContainmentFilter containment = RequestHandoff.claim(headers)
+                .flatMap(handoff -> handoff.get(ContainmentFilter.class)).orElse(null);
+            assertNotNull(containment, "Containment filter not handed over!");
+            assertEquals(singleton(readable), containment.apply(asList(readable, hidden)).toCompletableFuture()
+                    .join(), "Unreadable child not filtered!");
+        } finally {
+            System.clearProperty(WebAcFilter.CONFIG_WEBAC_CONTAINMENT_FILTER);
+        }
+    }
+
+    @Test
+    void testFilterContainmentHead() {
+        System.setProperty(WebAcFilter.CONFIG_WEBAC_CONTAINMENT_FILTER, "true");
+        try {
+            when(mockContext.getMethod()).thenReturn("HEAD");
+            when(mockWebAcService.getAccessModes(any(IRI.class), any(Session.class), any(ResourceMemo.class)))
+                .thenReturn(singleton(ACL.Read));
+
+            final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+            when(mockContext.getHeaders()).thenReturn(headers);
+
+            final WebAcFilter filter = new WebAcFilter(mockWebAcService);
+            assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception after adding Read ability!");
+            assertTrue(RequestHandoff.claim(headers).flatMap(handoff -> handoff.get(ContainmentFilter.class))
+                    .isPresent(), "Containment filter not handed over for a HEAD request!");
+        } finally {
+            System.clearProperty(WebAcFilter.CONFIG_WEBAC_CONTAINMENT_FILTER);
+        }
+    }
+
     @Test
     void testNoParamCtor() {
         assertDoesNotThrow(() -> new WebAcFilter());
@@ -13,6 +13,7 @@
  */
 package org.trellisldp.webac;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -27,8 +28,11 @@ import static org.trellisldp.vocabulary.RDF.type;
 import static org.trellisldp.vocabulary.Trellis.PreferAccessControl;
 import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -43,6 +47,7 @@ import org.trellisldp.api.CacheService;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
 import org.trellisldp.api.Session;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.FOAF;
@@ -179,6 +184,21 @@ class WebAcServiceTest {
                 checkCanRead(rootIRI));
     }
 
+    @Test
+    void testResourceMemo() {
+        final ResourceMemo memo = new ResourceMemo();
+        when(mockSession.getAgent()).thenReturn(addisonIRI);
+
+        assertTrue(testService.getAccessModes(resourceIRI, mockSession, memo).contains(ACL.Read),
+                "Cannot read resource!");
+        assertTrue(testService.getAccessModes(childIRI, mockSession, memo).contains(ACL.Read),
+                "Cannot read child resource!");
+        memo.get(resourceIRI, mockResourceService);
+
+        verify(mockResourceService).get(eq(resourceIRI));
+        verify(mockResourceService).get(eq(childIRI));
+    }
+
     @Test
     void testCanRead1() {
         when(mockResourceService.get(eq(nonexistentIRI))).thenAnswer(inv -> completedFuture(DELETED_RESOURCE));
@@ -741,6 +761,162 @@ class WebAcServiceTest {
                 checkCannotWrite(testCacheService, rootIRI));
     }
 
+    @Test
+    void testAclCache() {
+        final WebAcService testService2 = new WebAcService(mockResourceService,
+                new WebAcService.NoopAuthorizationCache(), false, 100);
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI);
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI + " with a cached ACL");
+        assertTrue(testService2.getAccessModes(childIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + childIRI + " with a cached ACL");
+
+        verify(mockResourceService).get(eq(resourceIRI));
+        verify(mockResourceService, times(2)).get(eq(childIRI));
+        verify(mockChildResource).stream(eq(PreferAccessControl));
+    }
+
+    @Test
+    void testAclCacheDisabled() {
+        final WebAcService testService2 = new WebAcService(mockResourceService,
+                new WebAcService.NoopAuthorizationCache(), false, 0);
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI);
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI + " a second time");
+
+        verify(mockResourceService, times(2)).get(eq(resourceIRI));
+        verify(mockChildResource, times(2)).stream(eq(PreferAccessControl));
+    }
+
+    @Test
+    void testAclCacheInvalidate() {
+        final WebAcService testService2 = new WebAcService(mockResourceService,
+                new WebAcService.NoopAuthorizationCache(), false, 100);
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI);
+
+        when(mockChildResource.stream(eq(PreferAccessControl))).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.mode, ACL.Read),
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.agent, agentIRI),
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.accessTo, childIRI),
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.default_, childIRI)));
+
+        testService2.invalidate(resourceIRI);
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Resource invalidation unexpectedly affected the cached ACL of " + childIRI);
+
+        testService2.invalidate();
+        assertFalse(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "ACL change not applied to " + resourceIRI);
+        assertTrue(testService2.getAccessModes(resourceIRI, mockSession).contains(ACL.Read),
+                "ACL change not applied to " + resourceIRI);
+    }
+
+    @Test
+    void testGroupInvalidateWithoutAclCache() {
+        final Map<String, Set<IRI>> cached = new HashMap<>();
+        final WebAcService testService2 = new WebAcService(mockResourceService, cached::computeIfAbsent, false, 0);
+        when(mockSession.getAgent()).thenReturn(acoburnIRI);
+        when(mockGroupResource.stream(eq(PreferUserManaged))).thenAnswer(inv -> Stream.of(
+                    rdf.createQuad(PreferUserManaged, groupIRI, VCARD.hasMember, acoburnIRI)));
+        when(mockChildResource.stream(eq(PreferAccessControl))).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.mode, ACL.Write),
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.agentGroup, groupIRI),
+                rdf.createQuad(PreferAccessControl, authIRI2, ACL.accessTo, childIRI)));
+
+        assertTrue(testService2.getAccessModes(childIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + childIRI + " as a group member");
+
+        when(mockGroupResource.stream(eq(PreferUserManaged))).thenAnswer(inv -> Stream.empty());
+        testService2.invalidate(groupIRI);
+        assertFalse(testService2.getAccessModes(childIRI, mockSession).contains(ACL.Write),
+                "Group change not applied to " + childIRI + " without an ACL cache");
+    }
+
+    @Test
+    void testEffectiveAcl() {
+        when(mockChildResource.hasAcl()).thenReturn(false);
+        when(mockResource.getEffectiveAcl()).thenReturn(of(rootIRI));
+        when(mockSession.getAgent()).thenReturn(acoburnIRI);
+
+        final Set<IRI> modes = testService.getAccessModes(resourceIRI, mockSession);
+        assertTrue(modes.contains(ACL.Append), "Cannot append to " + resourceIRI);
+        assertFalse(modes.contains(ACL.Write), "Unexpected write access to " + resourceIRI);
+
+        verify(mockResourceService, never()).get(eq(childIRI));
+        verify(mockResourceService, never()).get(eq(parentIRI));
+    }
+
+    @Test
+    void testStaleEffectiveAcl() {
+        when(mockResource.getEffectiveAcl()).thenReturn(of(parentIRI));
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+
+        assertTrue(testService.getAccessModes(resourceIRI, mockSession).contains(ACL.Write),
+                "Cannot write to " + resourceIRI + " with a stale effective ACL");
+        verify(mockResourceService, atLeastOnce()).get(eq(childIRI));
+    }
+
+    @Test
+    void testBatchAccessModes() {
+        final IRI siblingIRI = rdf.createIRI(TRELLIS_DATA_PREFIX + "parent/child/sibling");
+        final Resource mockSiblingResource = mock(Resource.class);
+        when(mockSiblingResource.getIdentifier()).thenReturn(siblingIRI);
+        when(mockSiblingResource.getInteractionModel()).thenReturn(LDP.RDFSource);
+        when(mockResourceService.get(eq(siblingIRI))).thenAnswer(inv -> completedFuture(mockSiblingResource));
+
+        final WebAcService testService2 = new WebAcService(mockResourceService,
+                new WebAcService.NoopAuthorizationCache(), false, 0);
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+
+        final Map<IRI, Set<IRI>> modes = testService2.getAccessModes(asList(resourceIRI, siblingIRI, childIRI,
+                    nonexistentIRI, memberIRI), mockSession);
+        assertEquals(5, modes.size(), "Incorrect number of results!");
+        assertTrue(modes.get(resourceIRI).contains(ACL.Write), "Cannot write to " + resourceIRI);
+        assertTrue(modes.get(siblingIRI).contains(ACL.Write), "Cannot write to " + siblingIRI);
+        assertTrue(modes.get(childIRI).contains(ACL.Write), "Cannot write to " + childIRI);
+        assertTrue(modes.get(nonexistentIRI).contains(ACL.Write), "Cannot write to " + nonexistentIRI);
+        assertTrue(modes.get(memberIRI).contains(ACL.Read), "Cannot read from " + memberIRI);
+
+        // The siblings share the resolution of their container's ACL, even without an ACL cache
+        verify(mockResourceService).get(eq(childIRI));
+        verify(mockChildResource, times(3)).stream(eq(PreferAccessControl));
+
+        assertEquals(testService2.getAccessModes(siblingIRI, mockSession), modes.get(siblingIRI),
+                "Batch and single evaluations differ for " + siblingIRI);
+    }
+
+    @Test
+    void testBatchAccessModesAdmin() {
+        when(mockSession.getAgent()).thenReturn(Trellis.AdministratorAgent);
+
+        final Map<IRI, Set<IRI>> modes = testService.getAccessModes(asList(resourceIRI, rootIRI), mockSession);
+        assertTrue(modes.get(resourceIRI).contains(ACL.Control), "Admin cannot control " + resourceIRI);
+        assertTrue(modes.get(rootIRI).contains(ACL.Control), "Admin cannot control " + rootIRI);
+        verify(mockResourceService, never()).get(any(IRI.class));
+    }
+
+    @Test
+    void testAsyncAccessModes() {
+        final CompletableFuture<Resource> pending = new CompletableFuture<>();
+        when(mockResourceService.get(eq(childIRI))).thenAnswer(inv -> pending);
+        when(mockSession.getAgent()).thenReturn(agentIRI);
+
+        final CompletableFuture<Set<IRI>> modes = testService.getAccessModesAsync(resourceIRI, mockSession,
+                new ResourceMemo()).toCompletableFuture();
+        assertFalse(modes.isDone(), "Access modes evaluated before the parent resource was retrieved!");
+
+        pending.complete(mockChildResource);
+        assertTrue(modes.join().contains(ACL.Write), "Cannot write to " + resourceIRI);
+    }
+
     private Stream<Executable> checkAllCanRead() {
         return Stream.of(checkCanRead(nonexistentIRI), checkCanRead(resourceIRI),
                 checkCanRead(childIRI), checkCanRead(parentIRI), checkCanRead(rootIRI));
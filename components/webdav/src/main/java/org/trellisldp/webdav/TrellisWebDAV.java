@@ -215,7 +215,7 @@ public class TrellisWebDAV {
             .thenCompose(future -> services.getResourceService().get(identifier))
             .thenApply(this::checkResource)
             // Note: all MOVE operations are recursive (Depth: infinity), hence recursiveCopy
-            .thenAccept(res -> recursiveCopy(services, session, res, destination, baseUrl))
+            .thenCompose(res -> recursiveCopy(services, session, res, destination, baseUrl))
             .thenAccept(future -> recursiveDelete(services, session, identifier, baseUrl))
             .thenCompose(future -> services.getResourceService().delete(Metadata.builder(identifier)
                     .interactionModel(LDP.Resource).build()))
@@ -20,6 +20,7 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.replaceOnce;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getContainer;
 import static org.trellisldp.api.TrellisUtils.getInstance;
 import static org.trellisldp.api.TrellisUtils.toDataset;
 
@@ -125,10 +126,11 @@ public final class WebDAVUtils {
             final Resource resource, final IRI destination, final String baseUrl) {
         final List<IRI> resources = resource.stream(LDP.PreferContainment).map(Quad::getObject)
             .filter(IRI.class::isInstance).map(IRI.class::cast).collect(toList());
-        resources.stream().parallel().map(id -> recursiveCopy(services, session, id,
-                    mapDestination(id, resource.getIdentifier(), destination), baseUrl))
-            .map(CompletionStage::toCompletableFuture).forEach(CompletableFuture::join);
-        return copy(services, session, resource, destination, baseUrl);
+        // The container is copied first, so that data derived from it is available to the copied children
+        return copy(services, session, resource, destination, baseUrl).thenRun(() ->
+            resources.stream().parallel().map(id -> recursiveCopy(services, session, id,
+                        mapDestination(id, resource.getIdentifier(), destination), baseUrl))
+                .map(CompletionStage::toCompletableFuture).forEach(CompletableFuture::join));
     }
 
     /**
@@ -144,10 +146,10 @@ public final class WebDAVUtils {
             final Resource resource, final IRI destination, final String baseUrl) {
         final List<IRI> resources = resource.stream(LDP.PreferContainment).map(Quad::getObject)
             .filter(IRI.class::isInstance).map(IRI.class::cast).collect(toList());
-        resources.stream().parallel()
-            .map(id -> copy(services, session, id, mapDestination(id, resource.getIdentifier(), destination), baseUrl))
-            .map(CompletionStage::toCompletableFuture).forEach(CompletableFuture::join);
-        return copy(services, session, resource, destination, baseUrl);
+        return copy(services, session, resource, destination, baseUrl).thenRun(() ->
+            resources.stream().parallel().map(id ->
+                    copy(services, session, id, mapDestination(id, resource.getIdentifier(), destination), baseUrl))
+                .map(CompletionStage::toCompletableFuture).forEach(CompletableFuture::join));
     }
 
     /**
@@ -179,7 +181,7 @@ public final class WebDAVUtils {
 
         final Metadata.Builder builder = Metadata.builder(destination)
             .interactionModel(resource.getInteractionModel());
-        resource.getContainer().ifPresent(builder::container);
+        getContainer(destination).ifPresent(builder::container);
         resource.getBinaryMetadata().ifPresent(builder::binary);
         resource.getInsertedContentRelation().ifPresent(builder::insertedContentRelation);
         resource.getMemberOfRelation().ifPresent(builder::memberOfRelation);
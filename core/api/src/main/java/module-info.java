@@ -15,6 +15,7 @@ module org.trellisldp.api {
     exports org.trellisldp.api;
 
     requires org.apache.commons.rdf.api;
+    requires org.trellisldp.vocabulary;
     requires javax.inject;
     requires cdi.api;
 
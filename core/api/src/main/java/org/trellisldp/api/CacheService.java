@@ -19,6 +19,7 @@ import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -39,6 +40,17 @@ public interface CacheService<K, V> {
      */
     V get(K key, Function<K, V> mappingFunction);
 
+    /**
+     * Get a value from the cache, only if it is already present.
+     *
+     * @implSpec The default implementation always returns an empty value.
+     * @param key the key
+     * @return the cached value, if present
+     */
+    default Optional<V> getIfPresent(final K key) {
+        return Optional.empty();
+    }
+
     /**
      * A {@link CacheService} used for JSON-LD profiles.
      *
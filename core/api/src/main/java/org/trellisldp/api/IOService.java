@@ -61,6 +61,28 @@ public interface IOService {
      */
     void update(Graph graph, String update, RDFSyntax syntax, String context);
 
+    /**
+     * Read an update operation as a set of triples to remove and a set of triples to add, without
+     * access to the graph being updated.
+     *
+     * <p>This is only possible for update operations that do not depend on the existing state of the graph,
+     * such as a Sparql-Update request consisting entirely of {@code INSERT DATA} and {@code DELETE DATA}
+     * operations or an RDF Patch document. If the triples are returned, the deletions are to be applied
+     * before the additions.
+     *
+     * @implSpec The default implementation does not read the input stream and always returns {@code false}.
+     * @param input the update request
+     * @param syntax the RDF syntax
+     * @param context the context to resolve relative IRIs
+     * @param deletions a graph that will receive the triples to remove
+     * @param additions a graph that will receive the triples to add
+     * @return true if the update was read into the two graphs; false if the update requires the existing graph
+     */
+    default boolean readDelta(final InputStream input, final RDFSyntax syntax, final String context,
+            final Graph deletions, final Graph additions) {
+        return false;
+    }
+
     /**
      * Retrieve the set of valid syntaxes for read operations.
      *
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+
+/**
+ * A bounded, concurrent dictionary of interned {@link IRI} terms.
+ *
+ * <p>Predicates and {@code rdf:type} values are drawn from a small vocabulary that recurs in nearly every
+ * resource. Resolving them through a dictionary when they are parsed lets each term be shared rather
+ * than allocated once per triple. Subjects and other objects, such as resource identifiers and blank
+ * node labels, are mostly distinct and should not be interned: they would only displace the shared terms.
+ *
+ * <p>Terms are kept in two generations. When the current generation exceeds the configured capacity,
+ * it becomes the previous generation and the older one is discarded; terms found in the previous
+ * generation are promoted back into the current one. Frequently used terms thus stay resident while
+ * the dictionary never holds more than about twice its capacity.
+ */
+public class IRIDictionary {
+
+    /** The default number of terms held in each generation. */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private final RDF rdf;
+    private final int capacity;
+
+    private volatile Map<String, IRI> current = new ConcurrentHashMap<>();
+    private volatile Map<String, IRI> previous = new ConcurrentHashMap<>();
+
+    /**
+     * Create a dictionary with the default capacity.
+     *
+     * @param rdf the RDF instance used to create new terms
+     */
+    public IRIDictionary(final RDF rdf) {
+        this(rdf, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a dictionary.
+     *
+     * @param rdf the RDF instance used to create new terms
+     * @param capacity the number of terms held in each generation
+     */
+    public IRIDictionary(final RDF rdf, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The dictionary capacity must be positive!");
+        }
+        this.rdf = requireNonNull(rdf, "The RDF instance may not be null!");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the interned IRI for a string.
+     *
+     * @param iri the IRI string
+     * @return the IRI
+     */
+    public IRI get(final String iri) {
+        final Map<String, IRI> terms = current;
+        final IRI cached = terms.get(iri);
+        if (cached != null) {
+            return cached;
+        }
+        final IRI promoted = previous.get(iri);
+        return store(terms, iri, promoted != null ? promoted : rdf.createIRI(iri));
+    }
+
+    /**
+     * Get the interned equivalent of an IRI.
+     *
+     * @param iri the IRI
+     * @return an equal IRI, created by this dictionary's RDF instance
+     */
+    public IRI intern(final IRI iri) {
+        return get(iri.getIRIString());
+    }
+
+    private IRI store(final Map<String, IRI> terms, final String key, final IRI iri) {
+        final IRI existing = terms.putIfAbsent(key, iri);
+        if (existing != null) {
+            return existing;
+        }
+        if (terms.size() > capacity) {
+            rotate(terms);
+        }
+        return iri;
+    }
+
+    private synchronized void rotate(final Map<String, IRI> terms) {
+        if (current == terms) {
+            previous = terms;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -267,6 +267,19 @@ public interface Resource {
         return false;
     }
 
+    /**
+     * Get the identifier of the resource whose ACL governs access to this resource.
+     *
+     * @apiNote The value is either this resource, if it has an ACL, or the nearest ancestor that does.
+     *          An empty value means the persistence layer does not track this relationship, in which
+     *          case the container hierarchy must be traversed instead.
+     * @implSpec The default implementation returns an empty {@link Optional} value
+     * @return the resource holding the effective ACL, if known
+     */
+    default Optional<IRI> getEffectiveAcl() {
+        return empty();
+    }
+
     /**
      * Get any extra implementation-defined link relations for this resource.
      *
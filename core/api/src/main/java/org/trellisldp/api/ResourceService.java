@@ -13,16 +13,23 @@
  */
 package org.trellisldp.api;
 
+import static java.util.Arrays.asList;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_BNODE_PREFIX;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
 import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.api.TrellisUtils.toDataset;
+import static org.trellisldp.vocabulary.Trellis.PreferAccessControl;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFTerm;
 
 import co.elastic.apm.api.ElasticApm;
@@ -69,6 +76,38 @@ public interface ResourceService extends RetrievalService<Resource> {
     @CaptureSpan
     CompletionStage<Void> replace(Metadata metadata, Dataset dataset);
 
+    /**
+     * Update a resource in the server by applying a set of changes to its existing data.
+     *
+     * <p>The deletions are applied before the additions, so that a quad present in both datasets
+     * will remain in the resource. Deleting a quad that is not present in the resource has no effect.
+     *
+     * @implSpec the default implementation of this method retrieves the user-managed and access control quads
+     *           of the existing resource, removes the deleted quads, adds the new quads and then proxies the
+     *           resulting dataset to the {@link #replace} method. Server-managed, containment, membership and
+     *           audit quads are not copied. Implementations that are able to modify stored data in place should
+     *           override this method.
+     * @param metadata metadata for the resource
+     * @param deletions the quads to remove from the resource
+     * @param additions the quads to add to the resource
+     * @return a new completion stage that, when the stage completes normally, indicates that the supplied changes
+     * were successfully stored in the corresponding persistence layer. In the case of an unsuccessful write operation,
+     * the {@link CompletionStage} will complete exceptionally and can be handled with
+     * {@link CompletionStage#handle}, {@link CompletionStage#exceptionally} or similar methods.
+     */
+    @CaptureSpan
+    default CompletionStage<Void> update(final Metadata metadata, final Dataset deletions, final Dataset additions) {
+        return get(metadata.getIdentifier()).thenCompose(resource -> {
+            final Dataset dataset;
+            final List<IRI> graphs = asList(PreferUserManaged, PreferAccessControl);
+            try (final Stream<Quad> quads = resource.stream(graphs)) {
+                dataset = quads.filter(quad -> !deletions.contains(quad)).collect(toDataset());
+            }
+            additions.stream().forEach(dataset::add);
+            return replace(metadata, dataset);
+        });
+    }
+
     /**
      * Delete a resource from the server.
      *
@@ -34,6 +34,9 @@ public final class Syntax {
     public static final RDFSyntax LD_PATCH = new TrellisSyntax("LD-Patch", "Linked Data Patch Format", "text/ldpatch",
             ".ldp", "http://www.w3.org/ns/formats/LD_Patch", false);
 
+    public static final RDFSyntax RDF_PATCH = new TrellisSyntax("RDF-Patch", "RDF Patch", "application/rdf-patch",
+            ".rdfp", "https://afs.github.io/rdf-delta/rdf-patch.html", false);
+
     private static class TrellisSyntax implements RDFSyntax {
 
         private final String name;
@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.api;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.stream.IntStream.range;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+class IRIDictionaryTest {
+
+    private static final RDF rdf = getInstance();
+    private static final String RESOURCE = TRELLIS_DATA_PREFIX + "resource";
+
+    @Test
+    void testInterning() {
+        final IRIDictionary dictionary = new IRIDictionary(rdf);
+        final IRI iri = dictionary.get(RESOURCE);
+        assertEquals(rdf.createIRI(RESOURCE), iri, "Incorrect IRI!");
+        assertSame(iri, dictionary.get(RESOURCE), "IRI not interned!");
+        assertSame(iri, dictionary.intern(rdf.createIRI(RESOURCE)), "IRI not interned!");
+    }
+
+    @Test
+    void testEviction() {
+        final IRIDictionary dictionary = new IRIDictionary(rdf, 1);
+        final IRI first = dictionary.get(RESOURCE);
+        dictionary.get(TRELLIS_DATA_PREFIX + "a");
+        assertSame(first, dictionary.get(RESOURCE), "Previous generation not retained!");
+        dictionary.get(TRELLIS_DATA_PREFIX + "b");
+        dictionary.get(TRELLIS_DATA_PREFIX + "c");
+        dictionary.get(TRELLIS_DATA_PREFIX + "d");
+        final IRI second = dictionary.get(RESOURCE);
+        assertNotSame(first, second, "Old generation not evicted!");
+        assertEquals(first, second, "Incorrect IRI after eviction!");
+    }
+
+    @Test
+    void testConcurrentInterning() {
+        final IRIDictionary dictionary = new IRIDictionary(rdf);
+        final Set<IRI> terms = range(0, 1000).parallel().mapToObj(i -> dictionary.get(RESOURCE))
+            .collect(() -> newSetFromMap(new IdentityHashMap<IRI, Boolean>()), Set::add, Set::addAll);
+        assertEquals(1, terms.size(), "Multiple instances of an interned IRI!");
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IRIDictionary(rdf, 0), "No error on zero capacity!");
+    }
+}
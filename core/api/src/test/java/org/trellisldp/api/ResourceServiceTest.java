@@ -17,18 +17,25 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.vocabulary.RDF.type;
+import static org.trellisldp.vocabulary.Trellis.PreferAccessControl;
+import static org.trellisldp.vocabulary.Trellis.PreferAudit;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.jena.JenaRDF;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.LDP;
 
 /**
@@ -63,6 +70,7 @@ class ResourceServiceTest {
         doCallRealMethod().when(mockResourceService).toInternal(any(), any());
         doCallRealMethod().when(mockResourceService).toExternal(any(), any());
         doCallRealMethod().when(mockResourceService).create(any(), any());
+        doCallRealMethod().when(mockResourceService).update(any(), any(), any());
 
         when(mockRetrievalService.get(eq(existing))).thenAnswer(inv -> completedFuture(mockResource));
     }
@@ -92,6 +100,34 @@ class ResourceServiceTest {
         verify(mockResourceService).replace(eq(metadata), eq(dataset));
     }
 
+    @Test
+    void testDefaultUpdate() {
+        final IRI title = rdf.createIRI("http://purl.org/dc/terms/title");
+        final Quad removed = rdf.createQuad(PreferUserManaged, existing, title, rdf.createLiteral("Old title"));
+        final Quad retained = rdf.createQuad(PreferUserManaged, existing, type, LDP.Container);
+        final Quad acl = rdf.createQuad(PreferAccessControl, existing, type, ACL.Authorization);
+        final Quad contained = rdf.createQuad(LDP.PreferContainment, existing, LDP.contains,
+                rdf.createIRI("trellis:data/child"));
+        final Quad audit = rdf.createQuad(PreferAudit, existing, type, LDP.Resource);
+        final Quad added = rdf.createQuad(PreferUserManaged, existing, title, rdf.createLiteral("New title"));
+        final Metadata metadata = Metadata.builder(existing).interactionModel(LDP.Container).build();
+
+        final Dataset deletions = rdf.createDataset();
+        deletions.add(removed);
+        final Dataset additions = rdf.createDataset();
+        additions.add(added);
+
+        when(mockResource.stream()).thenAnswer(inv -> Stream.of(removed, retained, acl, contained, audit));
+        when(mockResource.stream(anyCollection())).thenCallRealMethod();
+        when(mockResourceService.get(eq(existing))).thenAnswer(inv -> completedFuture(mockResource));
+        when(mockResourceService.replace(eq(metadata), any())).thenReturn(completedFuture(null));
+
+        assertDoesNotThrow(() -> mockResourceService.update(metadata, deletions, additions).toCompletableFuture()
+                .join());
+        verify(mockResourceService).replace(eq(metadata), argThat(dataset -> dataset.size() == 3
+                    && dataset.contains(retained) && dataset.contains(acl) && dataset.contains(added)));
+    }
+
     @Test
     void testSkolemization() {
         final BlankNode bnode = rdf.createBlankNode("testing");
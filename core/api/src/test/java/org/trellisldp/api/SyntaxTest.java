@@ -15,6 +15,7 @@ package org.trellisldp.api;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.trellisldp.api.Syntax.LD_PATCH;
+import static org.trellisldp.api.Syntax.RDF_PATCH;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
 
 import org.junit.jupiter.api.Test;
@@ -53,4 +54,17 @@ class SyntaxTest {
         assertEquals(LD_PATCH, LD_PATCH, "LD-Patch doesn't act like a singleton!");
         assertEquals(LD_PATCH.mediaType().hashCode(), LD_PATCH.hashCode(), "LD-Patch has unexpected hash code!");
     }
+
+    @Test
+    void testRDFPatch() {
+        assertEquals("RDF-Patch", RDF_PATCH.name(), "Incorrect name for RDF-Patch");
+        assertEquals("RDF Patch", RDF_PATCH.title(), "Incorrect title for RDF-Patch!");
+        assertEquals("application/rdf-patch", RDF_PATCH.mediaType(), "Incorrect mediaType for RDF-Patch!");
+        assertEquals(".rdfp", RDF_PATCH.fileExtension(), "Incorrect extension for RDF-Patch!");
+        assertEquals("https://afs.github.io/rdf-delta/rdf-patch.html", RDF_PATCH.iri().getIRIString(),
+                "Incorrect IRI for RDF-Patch!");
+        assertFalse(RDF_PATCH.supportsDataset(), "RDF-Patch shouldn't be supporting datasets!");
+        assertNotEquals(RDF_PATCH, SPARQL_UPDATE, "RDF-Patch matches SPARQL-Update???");
+        assertNotEquals(RDF_PATCH, LD_PATCH, "RDF-Patch matches LD-Patch???");
+    }
 }
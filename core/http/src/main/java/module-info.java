@@ -18,6 +18,8 @@ module org.trellisldp.http {
     requires transitive org.trellisldp.api;
     requires transitive org.trellisldp.vocabulary;
 
+    requires com.fasterxml.jackson.core;
+    requires com.fasterxml.jackson.databind;
     requires org.apache.commons.codec;
     requires org.apache.commons.io;
     requires org.apache.commons.rdf.api;
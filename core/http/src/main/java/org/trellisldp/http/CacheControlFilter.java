@@ -13,25 +13,45 @@
  */
 package org.trellisldp.http;
 
+import static java.lang.String.join;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.HEAD;
 import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.Link.TYPE;
 import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.trellisldp.http.core.HttpConstants.CACHE_TAG;
+import static org.trellisldp.http.core.HttpConstants.MEMENTO_DATETIME;
+import static org.trellisldp.http.core.HttpConstants.SURROGATE_KEY;
+
+import java.util.List;
 
 import javax.inject.Inject;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
 
+import org.apache.commons.rdf.api.IRI;
 import org.eclipse.microprofile.config.Config;
+import org.trellisldp.vocabulary.LDP;
 
 /**
  * A {@link ContainerResponseFilter} that adds Cache-Control headers to all
  * {@code GET} responses.
  *
+ * <p>The content of a memento does not change once it has been written, so unless caching is disabled
+ * (with a zero max-age or with no-cache), mementos are marked as {@code immutable} and given a long lifetime.
+ * Note that a memento retention policy may still remove a memento, so a cached memento can outlive the
+ * memento itself; the memento lifetime should be kept below the retention period when that matters.
+ * Containers and binaries may be given their own lifetimes. Optionally, responses can also be
+ * tagged with {@code Surrogate-Key} and {@code Cache-Tag} headers that name the resource and its
+ * parent container. A cache or CDN can then purge the affected entries when a resource changes.
+ *
  * @author acoburn
  */
 @Provider
@@ -43,10 +63,28 @@ public class CacheControlFilter implements ContainerResponseFilter {
     public static final String CONFIG_HTTP_CACHE_REVALIDATE = "trellis.http.cache.revalidate";
     /** The configuration key for setting a cache-control no-cache header. */
     public static final String CONFIG_HTTP_CACHE_NOCACHE = "trellis.http.cache.nocache";
+    /** The configuration key for setting the cache-control max-age header of Memento responses. */
+    public static final String CONFIG_HTTP_CACHE_MEMENTO_AGE = "trellis.http.cache.memento.maxage";
+    /** The configuration key for setting the cache-control max-age header of LDP container responses. */
+    public static final String CONFIG_HTTP_CACHE_CONTAINER_AGE = "trellis.http.cache.container.maxage";
+    /** The configuration key for setting the cache-control max-age header of LDP-NR responses. */
+    public static final String CONFIG_HTTP_CACHE_BINARY_AGE = "trellis.http.cache.binary.maxage";
+    /** The configuration key for enabling Surrogate-Key and Cache-Tag headers. */
+    public static final String CONFIG_HTTP_CACHE_SURROGATE_KEYS = "trellis.http.cache.surrogatekeys";
+
+    /** The default cache-control max-age value for Memento responses, when caching is enabled: one year. */
+    public static final int DEFAULT_MEMENTO_AGE = 31536000;
+
+    private static final String IMMUTABLE = "immutable";
+    private static final String SLASH = "/";
 
     private final int cacheAge;
     private final boolean revalidate;
     private final boolean noCache;
+    private final int mementoAge;
+    private final int containerAge;
+    private final int binaryAge;
+    private final boolean surrogateKeys;
 
     /**
      * Create a new CacheControl Decorator.
@@ -57,9 +95,22 @@ public class CacheControlFilter implements ContainerResponseFilter {
     }
 
     private CacheControlFilter(final Config config) {
-        this(config.getOptionalValue(CONFIG_HTTP_CACHE_AGE, Integer.class).orElse(86400),
+        this(config, config.getOptionalValue(CONFIG_HTTP_CACHE_AGE, Integer.class).orElse(86400));
+    }
+
+    private CacheControlFilter(final Config config, final int cacheAge) {
+        this(config, cacheAge, config.getOptionalValue(CONFIG_HTTP_CACHE_NOCACHE, Boolean.class).orElse(Boolean.FALSE));
+    }
+
+    private CacheControlFilter(final Config config, final int cacheAge, final boolean noCache) {
+        this(cacheAge,
              config.getOptionalValue(CONFIG_HTTP_CACHE_REVALIDATE, Boolean.class).orElse(Boolean.TRUE),
-             config.getOptionalValue(CONFIG_HTTP_CACHE_NOCACHE, Boolean.class).orElse(Boolean.FALSE));
+             noCache,
+             config.getOptionalValue(CONFIG_HTTP_CACHE_MEMENTO_AGE, Integer.class)
+                 .orElse(getDefaultMementoAge(cacheAge, noCache)),
+             config.getOptionalValue(CONFIG_HTTP_CACHE_CONTAINER_AGE, Integer.class).orElse(cacheAge),
+             config.getOptionalValue(CONFIG_HTTP_CACHE_BINARY_AGE, Integer.class).orElse(cacheAge),
+             config.getOptionalValue(CONFIG_HTTP_CACHE_SURROGATE_KEYS, Boolean.class).orElse(Boolean.FALSE));
     }
 
     /**
@@ -70,20 +121,128 @@ public class CacheControlFilter implements ContainerResponseFilter {
      * @param noCache whether to set the no-cache value
      */
     public CacheControlFilter(final int cacheAge, final boolean revalidate, final boolean noCache) {
+        this(cacheAge, revalidate, noCache, getDefaultMementoAge(cacheAge, noCache), cacheAge, cacheAge, false);
+    }
+
+    /**
+     * Create a new CacheControl Decorator.
+     *
+     * @param cacheAge the length of time to cache resources
+     * @param revalidate whether the cache must verify the status of stale resources
+     * @param noCache whether to set the no-cache value
+     * @param mementoAge the length of time to cache mementos
+     * @param containerAge the length of time to cache LDP containers
+     * @param binaryAge the length of time to cache LDP-NRs
+     * @param surrogateKeys whether to add Surrogate-Key and Cache-Tag headers
+     */
+    public CacheControlFilter(final int cacheAge, final boolean revalidate, final boolean noCache,
+            final int mementoAge, final int containerAge, final int binaryAge, final boolean surrogateKeys) {
         this.cacheAge = cacheAge;
         this.revalidate = revalidate;
         this.noCache = noCache;
+        this.mementoAge = mementoAge;
+        this.containerAge = containerAge;
+        this.binaryAge = binaryAge;
+        this.surrogateKeys = surrogateKeys;
     }
 
     @Override
     public void filter(final ContainerRequestContext req, final ContainerResponseContext res) {
         if ((GET.equals(req.getMethod()) || HEAD.equals(req.getMethod()))
-                && SUCCESSFUL.equals(res.getStatusInfo().getFamily()) && cacheAge > 0) {
-            final CacheControl cc = new CacheControl();
-            cc.setMaxAge(cacheAge);
-            cc.setMustRevalidate(revalidate);
-            cc.setNoCache(noCache);
-            res.getHeaders().add(CACHE_CONTROL, cc);
+                && SUCCESSFUL.equals(res.getStatusInfo().getFamily())) {
+            final boolean memento = res.getHeaderString(MEMENTO_DATETIME) != null;
+            final int age = memento ? mementoAge : getCacheAge(res);
+            if (age > 0 || surrogateKeys) {
+                final MultivaluedMap<String, Object> headers = res.getHeaders();
+                // A response that was marked as private, such as an agent-specific listing, is never shared
+                final boolean personal = isPrivate(headers);
+                if (age > 0) {
+                    final CacheControl cc = new CacheControl();
+                    cc.setMaxAge(age);
+                    cc.setPrivate(personal);
+                    if (memento && !noCache) {
+                        cc.getCacheExtension().put(IMMUTABLE, null);
+                    } else {
+                        cc.setMustRevalidate(revalidate);
+                        cc.setNoCache(noCache);
+                    }
+                    if (personal) {
+                        headers.putSingle(CACHE_CONTROL, cc);
+                    } else {
+                        headers.add(CACHE_CONTROL, cc);
+                    }
+                }
+                if (surrogateKeys && !personal) {
+                    final List<String> keys = getSurrogateKeys(req.getUriInfo().getPath(false));
+                    headers.add(SURROGATE_KEY, join(" ", keys));
+                    headers.add(CACHE_TAG, join(",", keys));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the surrogate keys for a resource.
+     *
+     * <p>The keys consist of the path of the resource and, unless it is the root resource, the path
+     * of its parent container. A cache purger responding to a change of a resource can use these
+     * same keys to evict the affected responses.
+     *
+     * @param path the path of the resource, relative to the base URL
+     * @return the surrogate keys
+     */
+    public static List<String> getSurrogateKeys(final String path) {
+        final String resource = trimSlashes(path);
+        if (resource.isEmpty()) {
+            return singletonList(SLASH);
+        }
+        final int index = resource.lastIndexOf('/');
+        return asList(SLASH + resource, index > 0 ? SLASH + resource.substring(0, index) : SLASH);
+    }
+
+    /**
+     * Get the default max-age of memento responses.
+     *
+     * <p>Mementos are given a long lifetime only when caching is enabled; otherwise they follow the
+     * general max-age.
+     *
+     * @param cacheAge the general max-age
+     * @param noCache whether the no-cache value is set
+     * @return the default memento max-age
+     */
+    static int getDefaultMementoAge(final int cacheAge, final boolean noCache) {
+        return cacheAge > 0 && !noCache ? DEFAULT_MEMENTO_AGE : cacheAge;
+    }
+
+    private int getCacheAge(final ContainerResponseContext res) {
+        if (hasType(res, LDP.NonRDFSource)) {
+            return binaryAge;
+        } else if (hasType(res, LDP.Container)) {
+            return containerAge;
+        }
+        return cacheAge;
+    }
+
+    private static boolean isPrivate(final MultivaluedMap<String, Object> headers) {
+        final List<Object> values = headers.get(CACHE_CONTROL);
+        return values != null && values.stream().anyMatch(value -> value instanceof CacheControl
+                ? ((CacheControl) value).isPrivate() : value.toString().contains("private"));
+    }
+
+    private static boolean hasType(final ContainerResponseContext res, final IRI type) {
+        return res.getLinks().stream().anyMatch(link -> TYPE.equals(link.getRel())
+                && type.getIRIString().equals(link.getUri().toString()));
+    }
+
+    private static String trimSlashes(final String path) {
+        int start = 0;
+        int end = path != null ? path.length() : 0;
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
         }
+        return start < end ? path.substring(start, end) : "";
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.lang.System.nanoTime;
+import static java.util.Arrays.asList;
+import static javax.ws.rs.core.Link.TYPE;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.commons.rdf.api.IRI;
+import org.trellisldp.http.core.MetricsService;
+import org.trellisldp.http.core.NoopMetricsService;
+import org.trellisldp.vocabulary.LDP;
+
+/**
+ * A {@link ContainerResponseFilter} that records the duration of each HTTP request.
+ *
+ * <p>Requests are recorded as a {@code trellis.http.request} timer, tagged with the HTTP method,
+ * the LDP interaction model of the resource and the response status.
+ */
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /** The name of the timer for HTTP requests. */
+    public static final String REQUEST_TIMER = "trellis.http.request";
+
+    private static final String START_PROPERTY = MetricsFilter.class.getName() + ".start";
+    private static final List<IRI> INTERACTION_MODELS = asList(LDP.BasicContainer, LDP.DirectContainer,
+            LDP.IndirectContainer, LDP.Container, LDP.NonRDFSource, LDP.RDFSource, LDP.Resource);
+
+    private final MetricsService metrics;
+
+    /**
+     * For use with RESTeasy and CDI proxies.
+     *
+     * @apiNote This construtor is used by CDI runtimes that require a public, no-argument constructor.
+     *          It should not be invoked directly in user code.
+     */
+    public MetricsFilter() {
+        this(new NoopMetricsService());
+    }
+
+    /**
+     * Create a new metrics filter.
+     *
+     * @param metrics the metrics service
+     */
+    @Inject
+    public MetricsFilter(final MetricsService metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext req) {
+        req.setProperty(START_PROPERTY, nanoTime());
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext req, final ContainerResponseContext res) {
+        final Object start = req.getProperty(START_PROPERTY);
+        if (start instanceof Long) {
+            final Map<String, String> tags = new LinkedHashMap<>();
+            tags.put("method", req.getMethod());
+            tags.put("interactionModel", getInteractionModel(res.getLinks()));
+            tags.put("status", Integer.toString(res.getStatus()));
+            metrics.recordTime(REQUEST_TIMER, tags, nanoTime() - (Long) start);
+        }
+    }
+
+    /**
+     * Get the most specific LDP interaction model advertised by a response.
+     * @param links the response links
+     * @return the local name of the interaction model, or "none"
+     */
+    public static String getInteractionModel(final Set<Link> links) {
+        for (final IRI model : INTERACTION_MODELS) {
+            if (links.stream().anyMatch(link -> link.getRels().contains(TYPE)
+                        && model.getIRIString().equals(link.getUri().toString()))) {
+                return model.getIRIString().substring(LDP.getNamespace().length());
+            }
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.ws.rs.Priorities.AUTHENTICATION;
+import static org.eclipse.microprofile.config.ConfigProvider.getConfig;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.http.core.HttpConstants.SERVER_TIMING;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.eclipse.microprofile.config.Config;
+import org.slf4j.Logger;
+import org.trellisldp.http.core.RequestTimings;
+
+/**
+ * A filter that reports the time spent in each phase of processing a request.
+ *
+ * <p>When enabled, the phase timings are added to responses as a {@code Server-Timing} header. The time taken
+ * to write a response entity is not known when the headers are sent, so it is not included in the header.
+ * Requests that take longer than a configurable threshold, including the time to write the entity, are logged.
+ * If neither option is enabled, timings are not recorded.
+ */
+@Provider
+@Priority(AUTHENTICATION - 100)
+public class ServerTimingFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    /** The configuration key controlling whether a Server-Timing header is added to responses. */
+    public static final String CONFIG_HTTP_SERVER_TIMING = "trellis.http.servertiming";
+
+    /** The configuration key for the duration, in milliseconds, above which requests are logged. */
+    public static final String CONFIG_HTTP_SLOW_REQUEST_THRESHOLD = "trellis.http.slowrequest.threshold";
+
+    /** The name of the Server-Timing metric for the total duration of a request. */
+    public static final String TOTAL = "total";
+
+    private static final Logger LOGGER = getLogger(ServerTimingFilter.class);
+    private static final String SLOW_REQUEST_PROPERTY = ServerTimingFilter.class.getName() + ".request";
+
+    private final boolean serverTiming;
+    private final long threshold;
+
+    /**
+     * Create a new server timing filter.
+     */
+    @Inject
+    public ServerTimingFilter() {
+        this(getConfig());
+    }
+
+    private ServerTimingFilter(final Config config) {
+        this(config.getOptionalValue(CONFIG_HTTP_SERVER_TIMING, Boolean.class).orElse(Boolean.FALSE),
+                config.getOptionalValue(CONFIG_HTTP_SLOW_REQUEST_THRESHOLD, Long.class).orElse(0L));
+    }
+
+    /**
+     * Create a new server timing filter.
+     *
+     * @param serverTiming whether to add a Server-Timing header to responses
+     * @param threshold the duration, in milliseconds, above which requests are logged; 0 to disable logging
+     */
+    public ServerTimingFilter(final boolean serverTiming, final long threshold) {
+        this.serverTiming = serverTiming;
+        this.threshold = MILLISECONDS.toNanos(threshold);
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext req) {
+        if (serverTiming || threshold > 0) {
+            RequestTimings.start(req);
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext req, final ContainerResponseContext res) {
+        final RequestTimings timings = RequestTimings.from(req);
+        if (timings.isEnabled()) {
+            final long total = nanoTime() - timings.getStart();
+            if (serverTiming) {
+                res.getHeaders().add(SERVER_TIMING, getServerTiming(timings.getTimings(), total));
+            }
+            final String request = "method=" + req.getMethod() + " path=/" + req.getUriInfo().getPath()
+                + " status=" + res.getStatus();
+            if (res.hasEntity()) {
+                // Defer the decision to log until the entity is written
+                req.setProperty(SLOW_REQUEST_PROPERTY, request);
+            } else {
+                logSlowRequest(request, timings, total);
+            }
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext ctx) throws IOException {
+        final RequestTimings timings = RequestTimings.from(ctx.getProperty(RequestTimings.REQUEST_PROPERTY));
+        if (!timings.isEnabled()) {
+            ctx.proceed();
+            return;
+        }
+        final long begin = nanoTime();
+        try {
+            ctx.proceed();
+        } finally {
+            final long end = nanoTime();
+            timings.record(RequestTimings.WRITE, end - begin);
+            final Object request = ctx.getProperty(SLOW_REQUEST_PROPERTY);
+            if (request != null) {
+                logSlowRequest(request.toString(), timings, end - timings.getStart());
+            }
+        }
+    }
+
+    /**
+     * Format phase timings as the value of a Server-Timing header.
+     * @param timings the duration of each phase, in nanoseconds
+     * @param total the total duration of the request, in nanoseconds
+     * @return the header value
+     */
+    public static String getServerTiming(final Map<String, Long> timings, final long total) {
+        final StringJoiner header = new StringJoiner(", ");
+        timings.forEach((phase, nanos) -> header.add(phase + ";dur=" + toMillis(nanos)));
+        header.add(TOTAL + ";dur=" + toMillis(total));
+        return header.toString();
+    }
+
+    private void logSlowRequest(final String request, final RequestTimings timings, final long total) {
+        if (threshold > 0 && total >= threshold) {
+            final StringJoiner phases = new StringJoiner(" ");
+            timings.getTimings().forEach((phase, nanos) -> phases.add(phase + "=" + toMillis(nanos)));
+            LOGGER.warn("Slow request: {} total={} {}", request, toMillis(total), phases);
+        }
+    }
+
+    private static double toMillis(final long nanos) {
+        return NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+}
@@ -19,17 +19,18 @@ import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.Priorities.AUTHORIZATION;
-import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.METHOD_NOT_ALLOWED;
 import static javax.ws.rs.core.Response.seeOther;
 import static javax.ws.rs.core.Response.status;
 import static javax.ws.rs.core.UriBuilder.fromUri;
-import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
+import static org.trellisldp.http.core.HttpConstants.DIFF;
 import static org.trellisldp.http.core.HttpConstants.EXT;
+import static org.trellisldp.http.core.HttpConstants.FROM;
 import static org.trellisldp.http.core.HttpConstants.PATCH;
-import static org.trellisldp.http.core.HttpConstants.RANGE;
 import static org.trellisldp.http.core.HttpConstants.TIMEMAP;
+import static org.trellisldp.http.core.HttpConstants.UNTIL;
+import static org.trellisldp.http.impl.HttpUtils.hasValidHeaders;
 
 import java.util.List;
 
@@ -37,11 +38,10 @@ import javax.annotation.Priority;
 import javax.inject.Inject;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
-import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
 
-import org.trellisldp.http.core.AcceptDatetime;
-import org.trellisldp.http.core.Range;
+import org.trellisldp.http.core.RequestTimings;
 import org.trellisldp.http.core.Version;
 
 @Provider
@@ -68,14 +68,19 @@ public class TrellisHttpFilter implements ContainerRequestFilter {
 
     @Override
     public void filter(final ContainerRequestContext ctx) {
+        // This filter runs after any authentication filters
+        final RequestTimings timings = RequestTimings.from(ctx);
+        timings.recordSince(RequestTimings.AUTHENTICATION, timings.getStart());
+
         checkTrailingSlash(ctx);
         // Validate headers
-        validateAcceptDatetime(ctx);
-        validateRange(ctx);
-        validateLink(ctx);
+        if (!hasValidHeaders(ctx::getHeaderString)) {
+            ctx.abortWith(status(BAD_REQUEST).build());
+        }
         // Validate query parameters
         validateVersion(ctx);
         validateTimeMap(ctx);
+        validateDiff(ctx);
     }
 
     private void checkTrailingSlash(final ContainerRequestContext ctx) {
@@ -87,31 +92,6 @@ public class TrellisHttpFilter implements ContainerRequestFilter {
         }
     }
 
-    private void validateAcceptDatetime(final ContainerRequestContext ctx) {
-        final String acceptDatetime = ctx.getHeaderString(ACCEPT_DATETIME);
-        if (acceptDatetime != null && AcceptDatetime.valueOf(acceptDatetime) == null) {
-            ctx.abortWith(status(BAD_REQUEST).build());
-        }
-    }
-
-    private void validateRange(final ContainerRequestContext ctx) {
-        final String range = ctx.getHeaderString(RANGE);
-        if (range != null && Range.valueOf(range) == null) {
-            ctx.abortWith(status(BAD_REQUEST).build());
-        }
-    }
-
-    private void validateLink(final ContainerRequestContext ctx) {
-        final String link = ctx.getHeaderString(LINK);
-        if (link != null) {
-            try {
-                Link.valueOf(link);
-            } catch (final IllegalArgumentException ex) {
-                ctx.abortWith(status(BAD_REQUEST).build());
-            }
-        }
-    }
-
     private void validateVersion(final ContainerRequestContext ctx) {
         final String version = ctx.getUriInfo().getQueryParameters().getFirst("version");
         if (version != null) {
@@ -132,4 +112,19 @@ public class TrellisHttpFilter implements ContainerRequestFilter {
             ctx.abortWith(status(METHOD_NOT_ALLOWED).build());
         }
     }
+
+    private void validateDiff(final ContainerRequestContext ctx) {
+        final MultivaluedMap<String, String> params = ctx.getUriInfo().getQueryParameters();
+        final List<String> exts = params.get(EXT);
+        if (exts != null && exts.contains(DIFF)) {
+            // Do not allow direct manipulation of memento diffs
+            if (mutatingMethods.contains(ctx.getMethod())) {
+                ctx.abortWith(status(METHOD_NOT_ALLOWED).build());
+            // A diff requires a well-formed starting point and, optionally, a well-formed end point
+            } else if (Version.valueOf(params.getFirst(FROM)) == null
+                    || params.containsKey(UNTIL) && Version.valueOf(params.getFirst(UNTIL)) == null) {
+                ctx.abortWith(status(BAD_REQUEST).build());
+            }
+        }
+    }
 }
@@ -21,22 +21,28 @@ import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
 import static org.trellisldp.api.TrellisUtils.getContainer;
 import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_BATCH_JSON;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_BASE_URL;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_JSONLD_PROFILE;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_MEMENTO_HEADER_DATES;
+import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_MEMENTO_TIMEMAP_PAGE_SIZE;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_PRECONDITION_REQUIRED;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_PUT_UNCONTAINED;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_WEAK_ETAG;
+import static org.trellisldp.http.core.HttpConstants.DIFF;
 import static org.trellisldp.http.core.HttpConstants.TIMEMAP;
 
 import java.io.InputStream;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.SortedSet;
 import java.util.concurrent.CompletionStage;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
@@ -71,12 +77,16 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.slf4j.Logger;
 import org.trellisldp.api.Metadata;
 import org.trellisldp.api.Resource;
+import org.trellisldp.http.core.BatchOperation;
 import org.trellisldp.http.core.PATCH;
+import org.trellisldp.http.core.RequestTimings;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.http.core.TrellisRequest;
 import org.trellisldp.http.core.Version;
+import org.trellisldp.http.impl.BatchHandler;
 import org.trellisldp.http.impl.DeleteHandler;
 import org.trellisldp.http.impl.GetHandler;
+import org.trellisldp.http.impl.MementoDiff;
 import org.trellisldp.http.impl.MementoResource;
 import org.trellisldp.http.impl.OptionsHandler;
 import org.trellisldp.http.impl.PatchHandler;
@@ -108,6 +118,7 @@ public class TrellisHttpResource {
     protected final String defaultJsonLdProfile;
     protected final boolean weakEtags;
     protected final boolean includeMementoDates;
+    protected final int timemapPageSize;
     protected final boolean preconditionRequired;
     protected final boolean createUncontained;
 
@@ -152,6 +163,8 @@ public class TrellisHttpResource {
         this.weakEtags = config.getOptionalValue(CONFIG_HTTP_WEAK_ETAG, Boolean.class).orElse(Boolean.TRUE);
         this.includeMementoDates = config.getOptionalValue(CONFIG_HTTP_MEMENTO_HEADER_DATES, Boolean.class)
             .orElse(Boolean.TRUE);
+        this.timemapPageSize = config.getOptionalValue(CONFIG_HTTP_MEMENTO_TIMEMAP_PAGE_SIZE, Integer.class)
+            .orElse(MementoResource.DEFAULT_TIMEMAP_PAGE_SIZE);
         this.preconditionRequired = config.getOptionalValue(CONFIG_HTTP_PRECONDITION_REQUIRED, Boolean.class)
             .orElse(Boolean.FALSE);
         this.createUncontained = config.getOptionalValue(CONFIG_HTTP_PUT_UNCONTAINED, Boolean.class)
@@ -228,7 +241,8 @@ public class TrellisHttpResource {
         // Fix this.  Obviously.
         LOGGER.info("-------------------- GET RESOURCE - {}", request);
 
-        fetchResource(new TrellisRequest(request, uriInfo, headers))
+        final TrellisRequest req = new TrellisRequest(request, uriInfo, headers);
+        req.getAuthorization().thenCompose(x -> fetchResource(req))
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
@@ -250,7 +264,8 @@ public class TrellisHttpResource {
     @CaptureSpan
     public void getResourceHeaders(@Suspended final AsyncResponse response, @Context final Request request,
             @Context final UriInfo uriInfo, @Context final HttpHeaders headers) {
-        fetchResource(new TrellisRequest(request, uriInfo, headers))
+        final TrellisRequest req = new TrellisRequest(request, uriInfo, headers);
+        req.getAuthorization().thenCompose(x -> fetchResource(req))
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
@@ -275,7 +290,8 @@ public class TrellisHttpResource {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final OptionsHandler optionsHandler = new OptionsHandler(req, trellis, req.getVersion() != null, urlBase);
 
-        fetchTrellisResource(identifier, req.getVersion()).thenApply(optionsHandler::initialize)
+        req.getAuthorization()
+            .thenCompose(x -> fetchTrellisResource(req, identifier).thenApply(optionsHandler::initialize))
             .thenApply(optionsHandler::ldpOptions).thenApply(ResponseBuilder::build)
             .exceptionally(this::handleException).thenApply(response::resume);
     }
@@ -298,15 +314,17 @@ public class TrellisHttpResource {
     public void updateResource(@Suspended final AsyncResponse response, @Context final Request request,
             @Context final UriInfo uriInfo, @Context final HttpHeaders headers,
             @Context final SecurityContext secContext,
-            @RequestBody(description = "The update request for RDF resources, typically as SPARQL-Update",
+            @RequestBody(description = "The update request for RDF resources, as SPARQL-Update or RDF Patch",
                          required = true,
-                         content = @Content(mediaType = "application/sparql-update")) final String body) {
+                         content = {@Content(mediaType = "application/sparql-update"),
+                                    @Content(mediaType = "application/rdf-patch")}) final InputStream body) {
         final TrellisRequest req = new TrellisRequest(request, uriInfo, headers, secContext);
         final String urlBase = getBaseUrl(req);
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final PatchHandler patchHandler = new PatchHandler(req, body, trellis, defaultJsonLdProfile, urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), patchHandler::initialize)
+        req.getAuthorization().thenCompose(x -> getParent(req, identifier)
+                .thenCombine(retrieveResource(req, identifier), patchHandler::initialize))
             .thenCompose(patchHandler::updateResource).thenCompose(patchHandler::updateMemento)
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
@@ -333,7 +351,8 @@ public class TrellisHttpResource {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final DeleteHandler deleteHandler = new DeleteHandler(req, trellis, urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), deleteHandler::initialize)
+        req.getAuthorization().thenCompose(x -> getParent(req, identifier)
+                .thenCombine(retrieveResource(req, identifier), deleteHandler::initialize))
             .thenCompose(deleteHandler::deleteResource).thenApply(ResponseBuilder::build)
             .exceptionally(this::handleException).thenApply(response::resume);
     }
@@ -367,12 +386,52 @@ public class TrellisHttpResource {
         final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + path + separator + identifier);
         final PostHandler postHandler = new PostHandler(req, parent, identifier, body, trellis, urlBase);
 
-        trellis.getResourceService().get(parent)
-            .thenCombine(trellis.getResourceService().get(child), postHandler::initialize)
+        req.getAuthorization().thenCompose(x -> retrieveResource(req, parent)
+                .thenCombine(retrieveResource(req, child), postHandler::initialize))
             .thenCompose(postHandler::createResource).thenCompose(postHandler::updateMemento)
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
+    /**
+     * Perform a batch of LDP operations.
+     *
+     * <p>The operations are supplied as a JSON array, and each operation path is resolved relative
+     * to the request path. The response contains the status of each individual operation. A batch is
+     * not atomic: operations that completed before a failure are not rolled back.
+     *
+     * @param response the async response
+     * @param uriInfo the URI info
+     * @param secContext the security context
+     * @param headers the HTTP headers
+     * @param request the request
+     * @param body the body
+     */
+    @POST
+    @Consumes(APPLICATION_BATCH_JSON)
+    @Timed
+    @Operation(summary = "Perform a batch of linked data operations")
+    @APIResponse(
+        responseCode = "207",
+        description = "The status of each operation in the batch",
+        content = @Content(mediaType = "application/json"))
+    @CaptureTransaction
+    @CaptureSpan
+    public void batchResources(@Suspended final AsyncResponse response, @Context final Request request,
+            @Context final UriInfo uriInfo, @Context final HttpHeaders headers,
+            @Context final SecurityContext secContext,
+            @RequestBody(description = "The batch operations",
+                         required = true,
+                         content = @Content(mediaType = APPLICATION_BATCH_JSON)) final InputStream body) {
+        final TrellisRequest req = new TrellisRequest(request, uriInfo, headers, secContext);
+        final String urlBase = getBaseUrl(req);
+
+        req.getAuthorization().thenApply(x -> BatchOperation.parse(body))
+            .thenApply(operations -> new BatchHandler(req, operations, trellis, preconditionRequired,
+                        createUncontained, defaultJsonLdProfile, urlBase))
+            .thenCompose(BatchHandler::execute).thenApply(ResponseBuilder::build)
+            .exceptionally(this::handleException).thenApply(response::resume);
+    }
+
     /**
      * Perform a PUT operation on a LDP Resource.
      *
@@ -398,20 +457,32 @@ public class TrellisHttpResource {
         final PutHandler putHandler = new PutHandler(req, body, trellis, preconditionRequired, createUncontained,
                 urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), putHandler::initialize)
+        req.getAuthorization().thenCompose(x -> getParent(req, identifier)
+                .thenCombine(retrieveResource(req, identifier), putHandler::initialize))
             .thenCompose(putHandler::setResource).thenCompose(putHandler::updateMemento)
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
     @CaptureSpan
-    private CompletionStage<? extends Resource> getParent(final IRI identifier) {
+    private CompletionStage<? extends Resource> getParent(final TrellisRequest req, final IRI identifier) {
         final Optional<IRI> parent = getContainer(identifier);
         if (parent.isPresent()) {
-            return trellis.getResourceService().get(parent.get());
+            return retrieveResource(req, parent.get());
         }
         return completedFuture(MISSING_RESOURCE);
     }
 
+    private CompletionStage<? extends Resource> retrieveResource(final TrellisRequest req, final IRI identifier) {
+        // Resources already retrieved while authorizing this request are not fetched again
+        return req.getTimings().timeAsync(RequestTimings.RESOURCE, () ->
+                req.getResourceMemo().get(identifier, trellis.getResourceService()));
+    }
+
+    private CompletionStage<SortedSet<Instant>> getMementos(final TrellisRequest req, final IRI identifier) {
+        return req.getTimings().timeAsync(RequestTimings.MEMENTOS, () ->
+                trellis.getMementoService().mementos(identifier));
+    }
+
     @CaptureSpan
     private String getBaseUrl(final TrellisRequest req) {
         return baseUrl != null ? baseUrl : req.getBaseUrl();
@@ -430,25 +501,41 @@ public class TrellisHttpResource {
             LOGGER.debug("Getting versioned resource: {}", req.getVersion());
             return trellis.getMementoService().get(identifier, req.getVersion().getInstant())
                 .thenApply(getHandler::initialize).thenApply(getHandler::standardHeaders)
-                .thenCombine(trellis.getMementoService().mementos(identifier), getHandler::addMementoHeaders)
+                .thenCombine(getMementos(req, identifier), getHandler::addMementoHeaders)
                 .thenCompose(getHandler::getRepresentation);
 
         // Fetch a timemap
         } else if (TIMEMAP.equals(req.getExt())) {
             LOGGER.debug("Getting timemap resource: {}", req.getPath());
-            return trellis.getResourceService().get(identifier)
-                .thenCombine(trellis.getMementoService().mementos(identifier), (res, mementos) -> {
+            return retrieveResource(req, identifier)
+                .thenCombine(getMementos(req, identifier), (res, mementos) -> {
                     if (MISSING_RESOURCE.equals(res)) {
                         throw new NotFoundException();
                     }
-                    return new MementoResource(trellis, includeMementoDates).getTimeMapBuilder(mementos, req, urlBase);
+                    return new MementoResource(trellis, includeMementoDates, timemapPageSize)
+                        .getTimeMapBuilder(mementos, req, urlBase);
+                });
+
+        // Fetch the differences between two versions
+        } else if (DIFF.equals(req.getExt())) {
+            LOGGER.debug("Getting differences between versions of: {}", req.getPath());
+            final CompletionStage<? extends Resource> to = req.getUntil() != null
+                ? trellis.getMementoService().get(identifier, req.getUntil().getInstant())
+                : retrieveResource(req, identifier);
+            return trellis.getMementoService().get(identifier, req.getFrom().getInstant())
+                .thenCombine(to, (before, after) -> {
+                    if (MISSING_RESOURCE.equals(before) || MISSING_RESOURCE.equals(after)
+                            || DELETED_RESOURCE.equals(after)) {
+                        throw new NotFoundException();
+                    }
+                    return MementoDiff.getDiffBuilder(before, after, trellis.getResourceService(), urlBase);
                 });
 
         // Fetch a timegate
         } else if (req.getDatetime() != null) {
             LOGGER.debug("Getting timegate resource: {}", req.getDatetime().getInstant());
             return trellis.getMementoService().get(identifier, req.getDatetime().getInstant())
-                .thenCombine(trellis.getMementoService().mementos(identifier), (res, mementos) -> {
+                .thenCombine(getMementos(req, identifier), (res, mementos) -> {
                     if (MISSING_RESOURCE.equals(res)) {
                         throw new NotAcceptableException();
                     }
@@ -458,9 +545,9 @@ public class TrellisHttpResource {
 
         // Fetch the current state of the resource
         LOGGER.debug("Getting resource at: {}", identifier);
-        return trellis.getResourceService().get(identifier).thenApply(getHandler::initialize)
+        return retrieveResource(req, identifier).thenApply(getHandler::initialize)
             .thenApply(getHandler::standardHeaders)
-            .thenCombine(trellis.getMementoService().mementos(identifier), getHandler::addMementoHeaders)
+            .thenCombine(getMementos(req, identifier), getHandler::addMementoHeaders)
             .thenCompose(getHandler::getRepresentation);
     }
 
@@ -471,11 +558,12 @@ public class TrellisHttpResource {
         }
         return trellis.getResourceService().generateIdentifier();
     }
-    private CompletionStage<? extends Resource> fetchTrellisResource(final IRI identifier, final Version version) {
+    private CompletionStage<? extends Resource> fetchTrellisResource(final TrellisRequest req, final IRI identifier) {
+        final Version version = req.getVersion();
         if (version != null) {
             return trellis.getMementoService().get(identifier, version.getInstant());
         }
-        return trellis.getResourceService().get(identifier);
+        return retrieveResource(req, identifier);
     }
 
     private Response handleException(final Throwable err) {
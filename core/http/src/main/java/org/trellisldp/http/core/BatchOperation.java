@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.ws.rs.BadRequestException;
+
+/**
+ * A single LDP operation, as supplied in a batch request.
+ *
+ * <p>A batch request body is a JSON array of operations, each with a {@code method}, a {@code path}
+ * (relative to the resource that receives the batch request), an optional map of {@code headers} and
+ * an optional textual {@code body}. For example:
+ *
+ * <pre><code>
+ * [{"method": "PUT", "path": "child", "headers": {"Content-Type": "text/turtle"},
+ *   "body": "&lt;&gt; a &lt;http://example.com/Type&gt; ."},
+ *  {"method": "DELETE", "path": "other"}]
+ * </code></pre>
+ */
+public class BatchOperation {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private String method;
+    private String path = "";
+    private Map<String, String> headers = emptyMap();
+    private String body;
+
+    /**
+     * Get the HTTP method.
+     * @return the method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Set the HTTP method.
+     * @param method the method name
+     */
+    public void setMethod(final String method) {
+        this.method = method;
+    }
+
+    /**
+     * Get the path of the operation, relative to the batch request.
+     * @return the relative path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Set the path of the operation, relative to the batch request.
+     * @param path the relative path
+     */
+    public void setPath(final String path) {
+        this.path = path != null ? path : "";
+    }
+
+    /**
+     * Get the request headers for the operation.
+     * @return the headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Set the request headers for the operation.
+     * @param headers the headers
+     */
+    public void setHeaders(final Map<String, String> headers) {
+        this.headers = headers != null ? headers : emptyMap();
+    }
+
+    /**
+     * Get the request body for the operation.
+     * @return the body, may be null
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Set the request body for the operation.
+     * @param body the body
+     */
+    public void setBody(final String body) {
+        this.body = body;
+    }
+
+    /**
+     * Resolve the path of this operation against the path of the batch request.
+     *
+     * <p>Empty and {@code .} path segments are dropped. Any {@code ..} segment is rejected, since
+     * an operation may not address a resource outside of the batch request's path.
+     *
+     * @param base the path of the batch request
+     * @return the resolved path
+     * @throws BadRequestException if the path is not permitted
+     */
+    public String resolvePath(final String base) {
+        if (Stream.of(path.split("/")).anyMatch(".."::equals)) {
+            throw new BadRequestException("Batch operation paths may not contain '..' segments: " + path);
+        }
+        return Stream.concat(Stream.of(base.split("/")), Stream.of(path.split("/")))
+            .filter(segment -> !segment.isEmpty() && !".".equals(segment)).collect(joining("/"));
+    }
+
+    /**
+     * Read a list of batch operations from a JSON array.
+     * @param input the input stream
+     * @return the batch operations
+     * @throws BadRequestException if the input could not be parsed or if an operation is missing a method
+     */
+    public static List<BatchOperation> parse(final InputStream input) {
+        try {
+            final BatchOperation[] operations = MAPPER.readValue(input, BatchOperation[].class);
+            if (operations == null || Stream.of(operations).anyMatch(op -> op.getMethod() == null)) {
+                throw new BadRequestException("Each batch operation must define an HTTP method");
+            }
+            return unmodifiableList(asList(operations));
+        } catch (final IOException ex) {
+            throw new BadRequestException("Invalid batch request: " + ex.getMessage(), ex);
+        }
+    }
+}
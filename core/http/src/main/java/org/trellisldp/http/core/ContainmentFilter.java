@@ -0,0 +1,67 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * A request-scoped filter over the children listed in a container representation.
+ *
+ * <p>An authorization filter may register one of these for a read request, in which case the
+ * {@code ldp:contains} triples of the response are limited to those children that the filter
+ * retains. All children are checked together, so that an implementation can share the work
+ * of evaluating their access controls.
+ */
+public class ContainmentFilter {
+
+    private final Function<Collection<IRI>, CompletionStage<Set<IRI>>> filter;
+
+    /**
+     * Create a containment filter.
+     *
+     * @param filter a function that selects, from the given children, those that may be listed
+     */
+    public ContainmentFilter(final Function<Collection<IRI>, CompletionStage<Set<IRI>>> filter) {
+        this.filter = requireNonNull(filter, "The filter function may not be null!");
+    }
+
+    /**
+     * Select the children that may be listed.
+     *
+     * @param children the identifiers of the contained resources
+     * @return the next stage of completion, containing the identifiers that may be listed
+     */
+    public CompletionStage<Set<IRI>> apply(final Collection<IRI> children) {
+        return filter.apply(children);
+    }
+
+    /**
+     * Register this filter for a request.
+     *
+     * @apiNote The filter is handed over to the resource methods with {@link RequestHandoff}.
+     * @param ctx the request context
+     */
+    public void register(final ContainerRequestContext ctx) {
+        RequestHandoff.from(ctx).set(ContainmentFilter.class, this);
+    }
+}
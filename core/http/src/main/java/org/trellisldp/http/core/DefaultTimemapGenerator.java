@@ -19,10 +19,10 @@ import static org.trellisldp.api.TrellisUtils.getInstance;
 import static org.trellisldp.http.core.HttpConstants.DATETIME;
 import static org.trellisldp.http.core.HttpConstants.FROM;
 import static org.trellisldp.http.core.HttpConstants.MEMENTO;
+import static org.trellisldp.http.core.HttpConstants.TIMEMAP;
 import static org.trellisldp.http.core.HttpConstants.UNTIL;
 import static org.trellisldp.vocabulary.RDF.type;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -50,49 +50,52 @@ public class DefaultTimemapGenerator implements TimemapGenerator {
     @Override
     public Stream<Triple> asRdf(final String identifier, final List<Link> mementos) {
         final IRI originalResource = rdf.createIRI(identifier);
-        final List<Triple> descriptions = new ArrayList<>();
+        final Stream<Triple> descriptions = Stream.of(
+                rdf.createTriple(originalResource, type, Memento.OriginalResource),
+                rdf.createTriple(originalResource, type, Memento.TimeGate),
+                rdf.createTriple(originalResource, Memento.timegate, originalResource),
+                rdf.createTriple(originalResource, Memento.timemap, rdf.createIRI(identifier + "?ext=timemap")));
 
-        descriptions.add(rdf.createTriple(originalResource, type, Memento.OriginalResource));
-        descriptions.add(rdf.createTriple(originalResource, type, Memento.TimeGate));
-        descriptions.add(rdf.createTriple(originalResource, Memento.timegate, originalResource));
-        descriptions.add(rdf.createTriple(originalResource, Memento.timemap,
-                    rdf.createIRI(identifier + "?ext=timemap")));
+        // The triples are generated lazily, as the stream is consumed
+        final Stream<Triple> mementoDescriptions = mementos.stream().filter(link -> link.getRels().contains(MEMENTO))
+             .map(link -> rdf.createTriple(originalResource, Memento.memento, rdf.createIRI(link.getUri().toString())));
 
-        mementos.stream().filter(link -> link.getRels().contains(MEMENTO))
-             .map(link -> rdf.createTriple(originalResource, Memento.memento, rdf.createIRI(link.getUri().toString())))
-             .forEach(descriptions::add);
+        return Stream.concat(Stream.concat(descriptions, mementoDescriptions),
+                mementos.stream().flatMap(this::describeLink));
+    }
 
-        return Stream.concat(descriptions.stream(), mementos.stream().flatMap(link -> {
-            final String linkUri = link.getUri().toString();
-            final IRI iri = rdf.createIRI(linkUri);
-            final Stream.Builder<Triple> buffer = Stream.builder();
+    private Stream<Triple> describeLink(final Link link) {
+        final String linkUri = link.getUri().toString();
+        final IRI iri = rdf.createIRI(linkUri);
+        final Stream.Builder<Triple> buffer = Stream.builder();
 
-            // TimeMap triples
-            if (link.getParams().containsKey(FROM)) {
-                buffer.add(rdf.createTriple(iri, type, Memento.TimeMap));
-                buffer.add(rdf.createTriple(iri, Time.hasBeginning, rdf.createIRI(TIME_IRI_PREFIX +
-                                parse(link.getParams().get(FROM), RFC_1123_DATE_TIME).toString())));
-            }
-            if (link.getParams().containsKey(UNTIL)) {
-                buffer.add(rdf.createTriple(iri, Time.hasEnd, rdf.createIRI(TIME_IRI_PREFIX +
-                                parse(link.getParams().get(UNTIL), RFC_1123_DATE_TIME).toString())));
-            }
+        // TimeMap triples
+        if (link.getParams().containsKey(FROM) || link.getRels().contains(TIMEMAP)) {
+            buffer.add(rdf.createTriple(iri, type, Memento.TimeMap));
+        }
+        if (link.getParams().containsKey(FROM)) {
+            buffer.add(rdf.createTriple(iri, Time.hasBeginning, rdf.createIRI(TIME_IRI_PREFIX +
+                            parse(link.getParams().get(FROM), RFC_1123_DATE_TIME).toString())));
+        }
+        if (link.getParams().containsKey(UNTIL)) {
+            buffer.add(rdf.createTriple(iri, Time.hasEnd, rdf.createIRI(TIME_IRI_PREFIX +
+                            parse(link.getParams().get(UNTIL), RFC_1123_DATE_TIME).toString())));
+        }
 
-            // Memento triples
-            if (isMementoLink(link)) {
-                final IRI original = rdf.createIRI(linkUri.split("\\?")[0]);
-                final IRI timemapUrl = rdf.createIRI(linkUri.split("\\?")[0] + "?ext=timemap");
-                buffer.add(rdf.createTriple(iri, type, Memento.Memento));
-                buffer.add(rdf.createTriple(iri, Memento.original, original));
-                buffer.add(rdf.createTriple(iri, Memento.timegate, original));
-                buffer.add(rdf.createTriple(iri, Memento.timemap, timemapUrl));
-                buffer.add(rdf.createTriple(iri, Time.hasTime, rdf.createIRI(TIME_IRI_PREFIX +
-                                parse(link.getParams().get(DATETIME), RFC_1123_DATE_TIME).toString())));
-                buffer.add(rdf.createTriple(iri, Memento.mementoDatetime, rdf.createLiteral(parse(
-                                    link.getParams().get(DATETIME), RFC_1123_DATE_TIME).toString(), XSD.dateTime)));
-            }
-            return buffer.build();
-        }));
+        // Memento triples
+        if (isMementoLink(link)) {
+            final IRI original = rdf.createIRI(linkUri.split("\\?")[0]);
+            final IRI timemapUrl = rdf.createIRI(linkUri.split("\\?")[0] + "?ext=timemap");
+            buffer.add(rdf.createTriple(iri, type, Memento.Memento));
+            buffer.add(rdf.createTriple(iri, Memento.original, original));
+            buffer.add(rdf.createTriple(iri, Memento.timegate, original));
+            buffer.add(rdf.createTriple(iri, Memento.timemap, timemapUrl));
+            buffer.add(rdf.createTriple(iri, Time.hasTime, rdf.createIRI(TIME_IRI_PREFIX +
+                            parse(link.getParams().get(DATETIME), RFC_1123_DATE_TIME).toString())));
+            buffer.add(rdf.createTriple(iri, Memento.mementoDatetime, rdf.createLiteral(parse(
+                                link.getParams().get(DATETIME), RFC_1123_DATE_TIME).toString(), XSD.dateTime)));
+        }
+        return buffer.build();
     }
 
     /**
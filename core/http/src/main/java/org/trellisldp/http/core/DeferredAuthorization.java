@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.util.concurrent.CompletionStage;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * A request-scoped authorization decision that completes after request filtering has finished.
+ *
+ * <p>JAX-RS request filters cannot suspend a request, so a filter that evaluates access controls
+ * against the persistence layer would otherwise block a container thread until every lookup has
+ * completed. Instead, such a filter may register the pending decision here, and the resource methods
+ * compose their own work onto {@link #getDecision}. A decision that completes exceptionally, for
+ * instance with a {@link javax.ws.rs.ForbiddenException}, prevents that work from running.
+ */
+public class DeferredAuthorization {
+
+    private static final CompletionStage<Void> AUTHORIZED = completedFuture(null);
+
+    private CompletionStage<Void> decision = AUTHORIZED;
+
+    /**
+     * Add a pending authorization check to the decision.
+     *
+     * @param check the pending check, which completes exceptionally if the request is not authorized
+     */
+    public synchronized void defer(final CompletionStage<Void> check) {
+        decision = decision.thenCombine(check, (a, b) -> null);
+    }
+
+    /**
+     * Get the authorization decision.
+     *
+     * @return the next stage of completion, which completes exceptionally if the request is not authorized
+     */
+    public synchronized CompletionStage<Void> getDecision() {
+        return decision;
+    }
+
+    /**
+     * Get the authorization decision associated with a request, creating it if necessary.
+     *
+     * @apiNote The decision is handed over to the resource methods with {@link RequestHandoff}, which
+     *          rejects the request if it refers to a decision that is not registered.
+     * @param ctx the request context
+     * @return the authorization decision for the request
+     */
+    public static DeferredAuthorization from(final ContainerRequestContext ctx) {
+        return RequestHandoff.from(ctx).computeIfAbsent(DeferredAuthorization.class, DeferredAuthorization::new);
+    }
+}
@@ -52,12 +52,24 @@ public final class HttpConstants {
     /** The default Memento TimeMap output format. */
     public static final String APPLICATION_LINK_FORMAT = "application/link-format";
 
+    /** The media type of an RDF Patch document, used to describe the differences between two Mementos. */
+    public static final String APPLICATION_RDF_PATCH = "application/rdf-patch";
+
+    /** The media type of a batch request, consisting of a JSON array of LDP operations. */
+    public static final String APPLICATION_BATCH_JSON = "application/vnd.trellisldp.batch+json";
+
+    /** The name of the HTTP response header used by some CDNs to tag responses for targeted purging. */
+    public static final String CACHE_TAG = "Cache-Tag";
+
     /** Configuration key defining the server's base URL. */
     public static final String CONFIG_HTTP_BASE_URL = "trellis.http.baseUrl";
 
     /** Configuration key defining whether to include dates in memento headers. */
     public static final String CONFIG_HTTP_MEMENTO_HEADER_DATES = "trellis.http.memento.headerdates";
 
+    /** Configuration key defining the maximum number of Mementos in a single page of a TimeMap. */
+    public static final String CONFIG_HTTP_MEMENTO_TIMEMAP_PAGE_SIZE = "trellis.http.memento.timemap.pagesize";
+
     /** Configuration key defining whether to use weak ETags for RDF responses. */
     public static final String CONFIG_HTTP_WEAK_ETAG = "trellis.http.weak.etag";
 
@@ -79,6 +91,9 @@ public final class HttpConstants {
     /** The Trellis ext parameter value used for accessing the description of an LDP-NR. */
     public static final String DESCRIPTION = "description";
 
+    /** The Trellis ext parameter value used for comparing two versions of a resource. */
+    public static final String DIFF = "diff";
+
     /** The Memento link parameter indicating the beginning range of a TimeMap. */
     public static final String FROM = "from";
 
@@ -106,9 +121,15 @@ public final class HttpConstants {
     /** The name of the HTTP request header used to make range requests. */
     public static final String RANGE = "Range";
 
+    /** The name of the HTTP response header used to communicate the duration of request processing phases. */
+    public static final String SERVER_TIMING = "Server-Timing";
+
     /** The name of the HTTP request header used to indicate the desired name for a new resource. */
     public static final String SLUG = "Slug";
 
+    /** The name of the HTTP response header used by some caches to tag responses for targeted purging. */
+    public static final String SURROGATE_KEY = "Surrogate-Key";
+
     /** The Memento link relation for TimeGate resources. */
     public static final String TIMEGATE = "timegate";
 
@@ -0,0 +1,226 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.singletonMap;
+import static org.trellisldp.http.core.ServiceDecorator.decorate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.Triple;
+import org.trellisldp.api.AuditService;
+import org.trellisldp.api.BinaryService;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.ResourceService;
+
+/**
+ * A {@link ServiceBundler} that records metrics for the services of another bundler.
+ *
+ * <p>Each call to the {@link ResourceService}, {@link BinaryService}, {@link MementoService} and
+ * {@link EventService} is recorded as a {@code trellis.service} timer, tagged with the service and method
+ * names. For asynchronous operations, the time is measured until the returned stage completes.
+ * Serialization and parsing of RDF are recorded as {@code trellis.io.write} and {@code trellis.io.read}
+ * timers, and the number of bytes written as a {@code trellis.io.write.bytes} histogram, each tagged with
+ * the RDF syntax.
+ */
+public class InstrumentedServiceBundler implements ServiceBundler {
+
+    /** The name of the timer for backend service operations. */
+    public static final String SERVICE_TIMER = "trellis.service";
+
+    /** The name of the timer for RDF serialization. */
+    public static final String IO_WRITE_TIMER = "trellis.io.write";
+
+    /** The name of the histogram of serialized bytes. */
+    public static final String IO_WRITE_BYTES = "trellis.io.write.bytes";
+
+    /** The name of the timer for RDF parsing. */
+    public static final String IO_READ_TIMER = "trellis.io.read";
+
+    private static final String SYNTAX = "syntax";
+
+    private final ServiceBundler delegate;
+    private final ResourceService resourceService;
+    private final BinaryService binaryService;
+    private final MementoService mementoService;
+    private final EventService eventService;
+    private final IOService ioService;
+
+    /**
+     * Create an instrumented service bundler.
+     * @param delegate the service bundler whose services are to be measured
+     * @param metrics the metrics service
+     */
+    public InstrumentedServiceBundler(final ServiceBundler delegate, final MetricsService metrics) {
+        this.delegate = delegate;
+        this.resourceService = instrument(ResourceService.class, delegate.getResourceService(), metrics);
+        this.binaryService = instrument(BinaryService.class, delegate.getBinaryService(), metrics);
+        this.mementoService = instrument(MementoService.class, delegate.getMementoService(), metrics);
+        this.eventService = instrument(EventService.class, delegate.getEventService(), metrics);
+        this.ioService = instrument(delegate.getIOService(), metrics);
+    }
+
+    @Override
+    public ResourceService getResourceService() {
+        return resourceService;
+    }
+
+    @Override
+    public IOService getIOService() {
+        return ioService;
+    }
+
+    @Override
+    public BinaryService getBinaryService() {
+        return binaryService;
+    }
+
+    @Override
+    public AuditService getAuditService() {
+        return delegate.getAuditService();
+    }
+
+    @Override
+    public MementoService getMementoService() {
+        return mementoService;
+    }
+
+    @Override
+    public EventService getEventService() {
+        return eventService;
+    }
+
+    @Override
+    public Iterable<ConstraintService> getConstraintServices() {
+        return delegate.getConstraintServices();
+    }
+
+    @Override
+    public TimemapGenerator getTimemapGenerator() {
+        return delegate.getTimemapGenerator();
+    }
+
+    /**
+     * Wrap a service such that each of its operations is recorded as a {@code trellis.service} timer.
+     * @param type the service interface
+     * @param service the service
+     * @param metrics the metrics service
+     * @param <T> the type of the service
+     * @return an instrumented service
+     */
+    public static <T> T instrument(final Class<T> type, final T service, final MetricsService metrics) {
+        final String serviceName = type.getSimpleName();
+        return decorate(type, service, (method, args) -> {
+            final Map<String, String> tags = new LinkedHashMap<>();
+            tags.put("service", serviceName);
+            tags.put("method", method.getName());
+            final long start = nanoTime();
+            return (value, err) -> metrics.recordTime(SERVICE_TIMER, tags, nanoTime() - start);
+        });
+    }
+
+    /**
+     * Wrap an IO service such that serialization and parsing operations are recorded.
+     * @param service the IO service
+     * @param metrics the metrics service
+     * @return an instrumented IO service
+     */
+    public static IOService instrument(final IOService service, final MetricsService metrics) {
+        if (service == null) {
+            return null;
+        }
+        return new InstrumentedIOService(service, metrics);
+    }
+
+    private static Map<String, String> syntaxTags(final RDFSyntax syntax) {
+        return singletonMap(SYNTAX, syntax != null ? syntax.name() : "none");
+    }
+
+    /**
+     * An IOService that records serialization and parsing metrics.
+     */
+    private static final class InstrumentedIOService implements IOService {
+
+        private final IOService delegate;
+        private final MetricsService metrics;
+
+        InstrumentedIOService(final IOService delegate, final MetricsService metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(final Stream<Triple> triples, final OutputStream output, final RDFSyntax syntax,
+                final IRI... profiles) {
+            final CountingOutputStream counter = new CountingOutputStream(output);
+            final long start = nanoTime();
+            try {
+                delegate.write(triples, counter, syntax, profiles);
+            } finally {
+                final Map<String, String> tags = syntaxTags(syntax);
+                metrics.recordTime(IO_WRITE_TIMER, tags, nanoTime() - start);
+                metrics.recordValue(IO_WRITE_BYTES, tags, counter.getByteCount());
+            }
+        }
+
+        @Override
+        public Stream<Triple> read(final InputStream input, final RDFSyntax syntax, final String context) {
+            final long start = nanoTime();
+            try {
+                return delegate.read(input, syntax, context);
+            } finally {
+                metrics.recordTime(IO_READ_TIMER, syntaxTags(syntax), nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void update(final Graph graph, final String update, final RDFSyntax syntax, final String context) {
+            delegate.update(graph, update, syntax, context);
+        }
+
+        @Override
+        public boolean readDelta(final InputStream input, final RDFSyntax syntax, final String context,
+                final Graph deletions, final Graph additions) {
+            return delegate.readDelta(input, syntax, context, deletions, additions);
+        }
+
+        @Override
+        public List<RDFSyntax> supportedReadSyntaxes() {
+            return delegate.supportedReadSyntaxes();
+        }
+
+        @Override
+        public List<RDFSyntax> supportedWriteSyntaxes() {
+            return delegate.supportedWriteSyntaxes();
+        }
+
+        @Override
+        public List<RDFSyntax> supportedUpdateSyntaxes() {
+            return delegate.supportedUpdateSyntaxes();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A service for recording application metrics.
+ *
+ * <p>Implementations adapt these measurements to a particular metrics library, such as MicroProfile Metrics
+ * or Dropwizard Metrics, so that they can be exposed by the hosting platform.
+ */
+public interface MetricsService {
+
+    /**
+     * Record the duration of an operation.
+     * @param name the metric name
+     * @param tags the metric tags
+     * @param nanos the duration, in nanoseconds
+     */
+    void recordTime(String name, Map<String, String> tags, long nanos);
+
+    /**
+     * Record a sampled value, such as a number of bytes.
+     * @param name the metric name
+     * @param tags the metric tags
+     * @param value the value
+     */
+    void recordValue(String name, Map<String, String> tags, long value);
+
+    /**
+     * Register a gauge. Registering a gauge more than once has no effect.
+     * @param name the metric name
+     * @param tags the metric tags
+     * @param gauge the supplier of the current value of the gauge
+     */
+    void registerGauge(String name, Map<String, String> tags, Supplier<? extends Number> gauge);
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.microprofile.metrics.MetricRegistry.Type.APPLICATION;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.annotation.RegistryType;
+
+/**
+ * A {@link MetricsService} that records metrics in the MicroProfile application metric registry.
+ */
+@ApplicationScoped
+public class MicroProfileMetricsService implements MetricsService {
+
+    private final MetricRegistry registry;
+
+    /**
+     * Create a MicroProfile-based metrics service.
+     *
+     * @apiNote This construtor is used by CDI runtimes that require a public, no-argument constructor.
+     *          It should not be invoked directly in user code.
+     */
+    public MicroProfileMetricsService() {
+        this(null);
+    }
+
+    /**
+     * Create a MicroProfile-based metrics service.
+     * @param registry the application metric registry
+     */
+    @Inject
+    public MicroProfileMetricsService(@RegistryType(type = APPLICATION) final MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordTime(final String name, final Map<String, String> tags, final long nanos) {
+        registry.timer(name, asTags(tags)).update(nanos, NANOSECONDS);
+    }
+
+    @Override
+    public void recordValue(final String name, final Map<String, String> tags, final long value) {
+        registry.histogram(name, asTags(tags)).update(value);
+    }
+
+    @Override
+    public synchronized void registerGauge(final String name, final Map<String, String> tags,
+            final Supplier<? extends Number> gauge) {
+        final Tag[] metricTags = asTags(tags);
+        if (!registry.getGauges().containsKey(new MetricID(name, metricTags))) {
+            registry.register(Metadata.builder().withName(name).withType(MetricType.GAUGE).build(),
+                    (Gauge<Number>) gauge::get, metricTags);
+        }
+    }
+
+    static Tag[] asTags(final Map<String, String> tags) {
+        return tags.entrySet().stream().map(e -> new Tag(e.getKey(), e.getValue())).toArray(Tag[]::new);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.trellisldp.api.NoopImplementation;
+
+/**
+ * A no-op MetricsService implementation.
+ */
+@NoopImplementation
+public class NoopMetricsService implements MetricsService {
+
+    @Override
+    public void recordTime(final String name, final Map<String, String> tags, final long nanos) {
+        // no-op
+    }
+
+    @Override
+    public void recordValue(final String name, final Map<String, String> tags, final long value) {
+        // no-op
+    }
+
+    @Override
+    public void registerGauge(final String name, final Map<String, String> tags,
+            final Supplier<? extends Number> gauge) {
+        // no-op
+    }
+}
@@ -36,6 +36,10 @@ public final class RdfMediaType {
 
     public static final MediaType APPLICATION_SPARQL_UPDATE_TYPE = new MediaType(APPLICATION, "sparql-update");
 
+    public static final String APPLICATION_RDF_PATCH = APPLICATION + "/rdf-patch";
+
+    public static final MediaType APPLICATION_RDF_PATCH_TYPE = new MediaType(APPLICATION, "rdf-patch");
+
     public static final String TEXT_TURTLE = "text/turtle;charset=utf-8";
 
     public static final MediaType TEXT_TURTLE_TYPE = new MediaType("text", "turtle", "utf-8");
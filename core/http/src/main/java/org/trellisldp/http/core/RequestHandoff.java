@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static java.util.UUID.randomUUID;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Request-scoped state that request filters hand over to the resource methods.
+ *
+ * <p>Request properties are only visible to a resource method when the runtime injects the
+ * {@link ContainerRequestContext} as the {@link javax.ws.rs.core.Request}. Jersey does this, but
+ * RESTEasy does not. Request headers, on the other hand, are visible in every runtime. A filter therefore
+ * registers its state here under a random key, and that key reaches the resource method in the
+ * {@link #HEADER} request header.
+ *
+ * <p>A resource method claims the state exactly once. A key that is not registered, such as one supplied
+ * by a client, is rejected, so that state which must be observed, like a pending authorization decision,
+ * can never be skipped.
+ */
+public final class RequestHandoff {
+
+    /** The request header that carries the key of the registered state. */
+    public static final String HEADER = "Trellis-Request-Handoff";
+
+    private static final String REQUEST_PROPERTY = RequestHandoff.class.getName();
+    private static final Map<String, RequestHandoff> registered = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final Map<Class<?>, Object> values = new ConcurrentHashMap<>();
+
+    private RequestHandoff(final String key) {
+        this.key = key;
+    }
+
+    /**
+     * Get a value of the given type, creating it if necessary.
+     *
+     * @param type the type of value
+     * @param supplier the supplier of a new value
+     * @param <T> the type of value
+     * @return the value
+     */
+    public <T> T computeIfAbsent(final Class<T> type, final Supplier<T> supplier) {
+        return type.cast(values.computeIfAbsent(type, k -> supplier.get()));
+    }
+
+    /**
+     * Set a value of the given type.
+     *
+     * @param type the type of value
+     * @param value the value
+     * @param <T> the type of value
+     */
+    public <T> void set(final Class<T> type, final T value) {
+        values.put(type, value);
+    }
+
+    /**
+     * Get a value of the given type.
+     *
+     * @param type the type of value
+     * @param <T> the type of value
+     * @return the value, if one was set
+     */
+    public <T> Optional<T> get(final Class<T> type) {
+        return ofNullable(values.get(type)).map(type::cast);
+    }
+
+    /**
+     * Get the state handed over by the filters of a request, creating it if necessary.
+     *
+     * @param ctx the request context
+     * @return the state for the request
+     */
+    public static RequestHandoff from(final ContainerRequestContext ctx) {
+        final Object handoff = ctx.getProperty(REQUEST_PROPERTY);
+        if (handoff instanceof RequestHandoff) {
+            return (RequestHandoff) handoff;
+        }
+        final RequestHandoff created = new RequestHandoff(randomUUID().toString());
+        registered.put(created.key, created);
+        ctx.setProperty(REQUEST_PROPERTY, created);
+        ctx.getHeaders().putSingle(HEADER, created.key);
+        return created;
+    }
+
+    /**
+     * Claim the state handed over to a resource method.
+     *
+     * @param headers the request headers
+     * @return the state for the request, if the filters registered any
+     * @throws ForbiddenException if the request names state that is not registered
+     */
+    public static Optional<RequestHandoff> claim(final MultivaluedMap<String, String> headers) {
+        final String key = headers.getFirst(HEADER);
+        if (key == null) {
+            return empty();
+        }
+        final RequestHandoff handoff = registered.remove(key);
+        if (handoff == null) {
+            throw new ForbiddenException("Unknown request state");
+        }
+        return Optional.of(handoff);
+    }
+
+    /**
+     * Release any state of a request that was not claimed by a resource method.
+     *
+     * @param ctx the request context
+     */
+    public static void release(final ContainerRequestContext ctx) {
+        final Object handoff = ctx.getProperty(REQUEST_PROPERTY);
+        if (handoff instanceof RequestHandoff) {
+            registered.remove(((RequestHandoff) handoff).key);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * A request-scoped record of the time spent in each phase of processing a request.
+ *
+ * <p>Timings are only recorded for requests that have been started with {@link #start}; for any other
+ * request, {@link #from} returns a shared instance that ignores all measurements. When a phase is
+ * entered more than once, or by concurrent operations, its durations are added together.
+ */
+public class RequestTimings {
+
+    /** The request property under which the timings are shared between filters and resource methods. */
+    public static final String REQUEST_PROPERTY = RequestTimings.class.getName();
+
+    /** The phase of authenticating the request. */
+    public static final String AUTHENTICATION = "auth";
+    /** The phase of evaluating access controls. */
+    public static final String AUTHORIZATION = "webac";
+    /** The phase of retrieving resources from the persistence layer. */
+    public static final String RESOURCE = "resource";
+    /** The phase of retrieving the Mementos of a resource. */
+    public static final String MEMENTOS = "mementos";
+    /** The phase of checking constraints on resource content. */
+    public static final String CONSTRAINTS = "constraints";
+    /** The phase of writing the response entity. */
+    public static final String WRITE = "write";
+
+    private static final RequestTimings DISABLED = new RequestTimings(0L, false);
+
+    private final long start;
+    private final boolean enabled;
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+
+    /**
+     * Create a record of request timings.
+     * @param start the time, in nanoseconds, at which the request started
+     */
+    public RequestTimings(final long start) {
+        this(start, true);
+    }
+
+    private RequestTimings(final long start, final boolean enabled) {
+        this.start = start;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the time at which the request started.
+     * @return the start time, in nanoseconds
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Check whether timings are recorded for this request.
+     * @return true if timings are recorded; false otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record time spent in a phase.
+     * @param phase the phase
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(final String phase, final long nanos) {
+        if (enabled) {
+            synchronized (timings) {
+                timings.merge(phase, nanos, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Record the time spent in a phase, from the given start time until now.
+     * @param phase the phase
+     * @param startNanos the time, in nanoseconds, at which the phase started
+     */
+    public void recordSince(final String phase, final long startNanos) {
+        if (enabled) {
+            record(phase, nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Record the time spent in a synchronous operation.
+     * @param phase the phase
+     * @param operation the operation
+     */
+    public void time(final String phase, final Runnable operation) {
+        final long begin = enabled ? nanoTime() : 0L;
+        try {
+            operation.run();
+        } finally {
+            recordSince(phase, begin);
+        }
+    }
+
+    /**
+     * Record the time spent in an asynchronous operation, until its stage completes.
+     * @param phase the phase
+     * @param operation the operation
+     * @param <S> the type of the stage
+     * @return the stage of the operation
+     */
+    public <S extends CompletionStage<?>> S timeAsync(final String phase, final Supplier<S> operation) {
+        if (!enabled) {
+            return operation.get();
+        }
+        final long begin = nanoTime();
+        final S stage = operation.get();
+        stage.whenComplete((value, err) -> recordSince(phase, begin));
+        return stage;
+    }
+
+    /**
+     * Get the recorded timings.
+     * @return the total duration of each phase, in nanoseconds, in the order in which the phases were first recorded
+     */
+    public Map<String, Long> getTimings() {
+        if (!enabled) {
+            return emptyMap();
+        }
+        synchronized (timings) {
+            return unmodifiableMap(new LinkedHashMap<>(timings));
+        }
+    }
+
+    /**
+     * Start recording timings for a request.
+     * @param ctx the request context
+     * @return the timings for the request
+     */
+    public static RequestTimings start(final ContainerRequestContext ctx) {
+        final RequestTimings created = new RequestTimings(nanoTime());
+        ctx.setProperty(REQUEST_PROPERTY, created);
+        return created;
+    }
+
+    /**
+     * Get the timings associated with a request.
+     * @param ctx the request context
+     * @return the timings for the request, which ignore all measurements if recording was not started
+     */
+    public static RequestTimings from(final ContainerRequestContext ctx) {
+        return from(ctx.getProperty(REQUEST_PROPERTY));
+    }
+
+    /**
+     * Get the timings stored in a request property.
+     * @param property the value of the request property
+     * @return the timings, which ignore all measurements if the property does not hold any timings
+     */
+    public static RequestTimings from(final Object property) {
+        if (property instanceof RequestTimings) {
+            return (RequestTimings) property;
+        }
+        return DISABLED;
+    }
+}
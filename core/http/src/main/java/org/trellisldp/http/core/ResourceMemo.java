@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.apache.commons.rdf.api.IRI;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.RetrievalService;
+
+/**
+ * A request-scoped memo of the resources retrieved from the persistence layer.
+ *
+ * <p>While processing a single request, the authorization layer, the resource matcher and the
+ * request handlers frequently need the same resources: the target resource, its parent and, for
+ * inherited access controls, its ancestors. Retrieving them through a shared memo ensures that each
+ * resource is fetched from the backend at most once per request.
+ *
+ * <p>A memo records the state of resources as of their first retrieval, so it must not outlive the
+ * request for which it was created, nor should it be used to read a resource after modifying it.
+ */
+public class ResourceMemo {
+
+    /** The request property under which the memo is shared between filters and resource methods. */
+    public static final String REQUEST_PROPERTY = ResourceMemo.class.getName();
+
+    private final Map<IRI, CompletionStage<? extends Resource>> resources = new ConcurrentHashMap<>();
+
+    /**
+     * Get a resource, retrieving it from the given service only if it has not yet been retrieved.
+     *
+     * @param identifier the resource identifier
+     * @param service the service used to retrieve the resource
+     * @return the resource
+     */
+    public CompletionStage<? extends Resource> get(final IRI identifier,
+            final RetrievalService<? extends Resource> service) {
+        return resources.computeIfAbsent(identifier, service::get);
+    }
+
+    /**
+     * Get the memo associated with a request, creating it if necessary.
+     *
+     * @param ctx the request context
+     * @return the memo for the request
+     */
+    public static ResourceMemo from(final ContainerRequestContext ctx) {
+        final Object memo = ctx.getProperty(REQUEST_PROPERTY);
+        if (memo instanceof ResourceMemo) {
+            return (ResourceMemo) memo;
+        }
+        final ResourceMemo created = new ResourceMemo();
+        ctx.setProperty(REQUEST_PROPERTY, created);
+        return created;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+/**
+ * A utility for decorating the calls made to a service interface.
+ *
+ * <p>Each call to the decorated service is first passed to an {@link Interceptor}, which may return a
+ * callback to be run when the call completes. For asynchronous operations, the callback runs when the
+ * returned stage completes, and the caller receives a stage that completes after it.
+ */
+public final class ServiceDecorator {
+
+    /**
+     * An interceptor for the calls made to a service.
+     */
+    @FunctionalInterface
+    public interface Interceptor {
+
+        /**
+         * Intercept a call to a service method.
+         * @param method the service method
+         * @param args the arguments, or null if there are none
+         * @return a callback for the result or error of the call, or null if the completion is not of interest
+         */
+        BiConsumer<Object, Throwable> intercept(Method method, Object[] args);
+    }
+
+    /**
+     * Wrap a service such that each of its operations passes through an interceptor.
+     *
+     * <p>The methods declared by {@link Object} are passed directly to the underlying service.
+     *
+     * @param type the service interface
+     * @param service the service
+     * @param interceptor the interceptor
+     * @param <T> the type of the service
+     * @return a decorated service, or null if the service is null
+     */
+    public static <T> T decorate(final Class<T> type, final T service, final Interceptor interceptor) {
+        if (service == null) {
+            return null;
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> invoke(service, method, args, interceptor)));
+    }
+
+    private static Object invoke(final Object service, final Method method, final Object[] args,
+            final Interceptor interceptor) throws Throwable {
+        if (method.getDeclaringClass().equals(Object.class)) {
+            return invokeTarget(service, method, args);
+        }
+        final BiConsumer<Object, Throwable> callback = interceptor.intercept(method, args);
+        if (callback == null) {
+            return invokeTarget(service, method, args);
+        }
+        final Object result;
+        try {
+            result = invokeTarget(service, method, args);
+        } catch (final Throwable ex) {
+            callback.accept(null, ex);
+            throw ex;
+        }
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<?>) result).whenComplete(callback);
+        }
+        callback.accept(result, null);
+        return result;
+    }
+
+    private static Object invokeTarget(final Object service, final Method method, final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(service, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private ServiceDecorator() {
+        // prevent instantiation
+    }
+}
@@ -13,15 +13,22 @@
  */
 package org.trellisldp.http.core;
 
+import static java.util.Optional.empty;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static javax.ws.rs.core.HttpHeaders.LINK;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
+import static org.trellisldp.http.core.HttpConstants.FROM;
 import static org.trellisldp.http.core.HttpConstants.PREFER;
 import static org.trellisldp.http.core.HttpConstants.RANGE;
 import static org.trellisldp.http.core.HttpConstants.SLUG;
+import static org.trellisldp.http.core.HttpConstants.UNTIL;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
+import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -45,6 +52,10 @@ public class TrellisRequest {
     private final MultivaluedMap<String, String> headers;
     private final MultivaluedMap<String, String> parameters;
     private final SecurityContext secCtx;
+    private final ResourceMemo memo;
+    private final RequestTimings timings;
+    private final CompletionStage<Void> authorization;
+    private final Optional<ContainmentFilter> containmentFilter;
 
     /**
      * Bundle together some request contexts.
@@ -79,6 +90,48 @@ public class TrellisRequest {
 
         // Security context value
         this.secCtx = secCtx;
+
+        // Share the resource memo with any request filters, if the runtime exposes the request properties
+        this.memo = request instanceof ContainerRequestContext ? ResourceMemo.from((ContainerRequestContext) request)
+            : new ResourceMemo();
+        this.timings = request instanceof ContainerRequestContext
+            ? RequestTimings.from((ContainerRequestContext) request) : RequestTimings.from(null);
+
+        // Request properties are not visible in every runtime, so filters hand over any state that
+        // the resource methods must observe by way of a request header
+        final Optional<RequestHandoff> handoff = RequestHandoff.claim(this.headers);
+        this.authorization = handoff.flatMap(h -> h.get(DeferredAuthorization.class))
+            .map(DeferredAuthorization::getDecision).orElseGet(() -> completedFuture(null));
+        this.containmentFilter = handoff.flatMap(h -> h.get(ContainmentFilter.class));
+    }
+
+    /**
+     * Bundle together some explicit request values.
+     *
+     * @apiNote This constructor is useful for requests that do not arrive directly over HTTP,
+     *          such as the individual operations of a batch request.
+     * @param method the HTTP method
+     * @param path the resource path, relative to the base URL
+     * @param baseUrl the base URL
+     * @param headers the request headers
+     * @param parameters the query parameters
+     * @param acceptableMediaTypes the acceptable media types
+     * @param secCtx the security context
+     */
+    public TrellisRequest(final String method, final String path, final String baseUrl,
+            final MultivaluedMap<String, String> headers, final MultivaluedMap<String, String> parameters,
+            final List<MediaType> acceptableMediaTypes, final SecurityContext secCtx) {
+        this.method = method;
+        this.path = path;
+        this.baseUrl = baseUrl;
+        this.headers = headers;
+        this.parameters = parameters;
+        this.acceptableMediaTypes = acceptableMediaTypes;
+        this.secCtx = secCtx;
+        this.memo = new ResourceMemo();
+        this.timings = RequestTimings.from(null);
+        this.authorization = completedFuture(null);
+        this.containmentFilter = empty();
     }
 
     /**
@@ -161,6 +214,24 @@ public class TrellisRequest {
         return Version.valueOf(parameters.getFirst("version"));
     }
 
+    /**
+     * Get the from value.
+     *
+     * @return the from query parameter, marking the start of a TimeMap page
+     */
+    public Version getFrom() {
+        return Version.valueOf(parameters.getFirst(FROM));
+    }
+
+    /**
+     * Get the until value.
+     *
+     * @return the until query parameter, marking the end of a TimeMap page
+     */
+    public Version getUntil() {
+        return Version.valueOf(parameters.getFirst(UNTIL));
+    }
+
     /**
      * Get the ext value.
      *
@@ -188,6 +259,42 @@ public class TrellisRequest {
         return secCtx;
     }
 
+    /**
+     * Get the memo of resources retrieved while processing this request.
+     *
+     * @return the resource memo
+     */
+    public ResourceMemo getResourceMemo() {
+        return memo;
+    }
+
+    /**
+     * Get the record of time spent processing this request.
+     *
+     * @return the request timings
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Get the authorization decision for this request, if it was deferred by a request filter.
+     *
+     * @return the next stage of completion, which completes exceptionally if the request is not authorized
+     */
+    public CompletionStage<Void> getAuthorization() {
+        return authorization;
+    }
+
+    /**
+     * Get the filter over the children listed in a container representation, if a request filter registered one.
+     *
+     * @return the containment filter
+     */
+    public Optional<ContainmentFilter> getContainmentFilter() {
+        return containmentFilter;
+    }
+
     /**
      * Get the HTTP method.
      * @return the method name
@@ -0,0 +1,211 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.rdf.api.IRI;
+import org.slf4j.Logger;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+
+/**
+ * A {@link MementoService} that captures Mementos in the background.
+ *
+ * <p>Captures requested via {@link #put(ResourceService, IRI)} are placed on a bounded queue and
+ * completed immediately, so that the HTTP response does not wait for the resource to be re-read
+ * and written to the underlying Memento store. A pool of writer threads drains the queue in batches.
+ *
+ * <p>While a capture is pending, further requests for the same resource are coalesced into it: a
+ * capture always records the state of the resource at the time it is written. As a consequence,
+ * a resource that is updated several times before its capture is written gets a single Memento
+ * for the latest of those versions; the intermediate versions are not recorded. Deployments that
+ * require a Memento for every version should use the underlying Memento service directly.
+ *
+ * <p>Reading the Mementos of a resource first completes any capture pending for that resource and
+ * waits for any capture of that resource that is still being written. If the queue is full, a capture
+ * is performed synchronously. Pending captures are flushed when the service is closed; they are not
+ * persisted across a process failure.
+ */
+public class WriteBehindMementoService implements MementoService, AutoCloseable {
+
+    /** The default capacity of the capture queue. */
+    public static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    /** The default number of writer threads. */
+    public static final int DEFAULT_WRITERS = 2;
+
+    private static final Logger LOGGER = getLogger(WriteBehindMementoService.class);
+    private static final int BATCH_SIZE = 64;
+    private static final long POLL_MILLIS = 100L;
+    private static final long SHUTDOWN_SECONDS = 30L;
+
+    private final MementoService delegate;
+    private final BlockingQueue<IRI> queue;
+    private final Map<IRI, ResourceService> pending = new ConcurrentHashMap<>();
+    private final Map<IRI, CompletableFuture<Void>> inflight = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    private volatile boolean running = true;
+
+    /**
+     * Create a write-behind Memento service.
+     *
+     * @param delegate the Memento service to which captures are written
+     */
+    public WriteBehindMementoService(final MementoService delegate) {
+        this(delegate, DEFAULT_QUEUE_SIZE, DEFAULT_WRITERS);
+    }
+
+    /**
+     * Create a write-behind Memento service.
+     *
+     * @param delegate the Memento service to which captures are written
+     * @param queueSize the maximum number of pending captures
+     * @param writers the number of writer threads
+     */
+    public WriteBehindMementoService(final MementoService delegate, final int queueSize, final int writers) {
+        this.delegate = requireNonNull(delegate, "The Memento service may not be null!");
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writers = newFixedThreadPool(writers, runnable -> {
+            final Thread thread = new Thread(runnable, "trellis-memento-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writers; i++) {
+            this.writers.execute(this::drain);
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> put(final ResourceService resourceService, final IRI identifier) {
+        if (!running) {
+            return delegate.put(resourceService, identifier);
+        }
+        if (pending.putIfAbsent(identifier, resourceService) != null) {
+            LOGGER.trace("Coalescing Memento capture for {}", identifier);
+            return completedFuture(null);
+        }
+        if (!queue.offer(identifier)) {
+            LOGGER.debug("Memento queue is full, capturing {} synchronously", identifier);
+            return capture(identifier);
+        }
+        return completedFuture(null);
+    }
+
+    @Override
+    public CompletionStage<Void> put(final Resource resource) {
+        return delegate.put(resource);
+    }
+
+    @Override
+    public CompletionStage<Resource> get(final IRI identifier, final Instant time) {
+        return capture(identifier).thenCompose(x -> delegate.get(identifier, time));
+    }
+
+    @Override
+    public CompletionStage<SortedSet<Instant>> mementos(final IRI identifier) {
+        return capture(identifier).thenCompose(x -> delegate.mementos(identifier));
+    }
+
+    /**
+     * Stop the writer threads and flush any pending captures.
+     */
+    @Override
+    public void close() {
+        running = false;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(SHUTDOWN_SECONDS, SECONDS)) {
+                LOGGER.warn("Memento writers did not terminate within {} seconds", SHUTDOWN_SECONDS);
+            }
+        } catch (final InterruptedException ex) {
+            LOGGER.warn("Interrupted while waiting for Memento writers to terminate");
+            Thread.currentThread().interrupt();
+        }
+        queue.clear();
+        captureAll(new ArrayList<>(pending.keySet())).join();
+        allOf(inflight.values().toArray(new CompletableFuture[0])).join();
+    }
+
+    private void drain() {
+        final List<IRI> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                final IRI identifier = queue.poll(POLL_MILLIS, MILLISECONDS);
+                if (identifier != null) {
+                    batch.add(identifier);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    captureAll(batch).join();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException ex) {
+                LOGGER.warn("Error capturing Mementos: {}", ex.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> captureAll(final Collection<IRI> identifiers) {
+        return allOf(identifiers.stream().map(this::capture).map(CompletionStage::toCompletableFuture)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private CompletionStage<Void> capture(final IRI identifier) {
+        // The write is only started once it is registered, so that readers always find it
+        final CompletableFuture<Void> start = new CompletableFuture<>();
+        final CompletableFuture<Void> write = inflight.compute(identifier, (id, previous) -> {
+            // Removing the entry first ensures that any later update is captured separately
+            final ResourceService resourceService = pending.remove(id);
+            if (resourceService == null) {
+                return previous;
+            }
+            final CompletableFuture<Void> prior = previous != null ? previous : start;
+            return start.thenCompose(x -> prior).thenCompose(x -> delegate.put(resourceService, id))
+                .exceptionally(ex -> {
+                    LOGGER.warn("Unable to store memento for {}: {}", id, ex.getMessage());
+                    return null;
+                });
+        });
+        start.complete(null);
+        if (write == null) {
+            return completedFuture(null);
+        }
+        write.whenComplete((x, ex) -> inflight.remove(identifier, write));
+        return write;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.joining;
+import static javax.ws.rs.HttpMethod.DELETE;
+import static javax.ws.rs.HttpMethod.POST;
+import static javax.ws.rs.HttpMethod.PUT;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
+import static javax.ws.rs.core.Response.status;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getContainer;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.PATCH;
+import static org.trellisldp.http.impl.HttpUtils.hasValidHeaders;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.RedirectionException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.slf4j.Logger;
+import org.trellisldp.api.Resource;
+import org.trellisldp.http.core.BatchOperation;
+import org.trellisldp.http.core.ServiceBundler;
+import org.trellisldp.http.core.TrellisRequest;
+
+/**
+ * The batch response builder.
+ *
+ * <p>The operations in a batch are executed sequentially, in the order supplied, using the same
+ * handlers as individual PUT, POST, PATCH and DELETE requests. Once an operation fails, the remaining
+ * operations are not attempted; they are reported with a {@code 424 Failed Dependency} status.
+ * The response is a {@code 207 Multi-Status} JSON array with one entry per operation.
+ *
+ * <p>A batch is not atomic: the persistence layer offers no transactions, so the operations that
+ * completed before a failure are not rolled back. Clients must inspect the status of each operation.
+ * Every operation is validated before any of them are executed, so a malformed operation causes the
+ * whole batch to be rejected with {@code 400 Bad Request} without any changes being made.
+ */
+public class BatchHandler {
+
+    /** The status code of a batch response. */
+    public static final int MULTI_STATUS = 207;
+
+    /** The status code of an operation that was skipped due to an earlier failure. */
+    public static final int FAILED_DEPENDENCY = 424;
+
+    private static final Logger LOGGER = getLogger(BatchHandler.class);
+    private static final RDF rdf = getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> SUPPORTED_METHODS = new HashSet<>(asList(PUT, POST, PATCH, DELETE));
+
+    private final TrellisRequest request;
+    private final List<BatchOperation> operations;
+    private final ServiceBundler trellis;
+    private final boolean preconditionRequired;
+    private final boolean createUncontained;
+    private final String defaultJsonLdProfile;
+    private final String baseUrl;
+
+    /**
+     * Create a builder for a batch response.
+     *
+     * @param req the batch request
+     * @param operations the operations in the batch
+     * @param trellis the Trellis application bundle
+     * @param preconditionRequired whether preconditions are required for PUT operations
+     * @param createUncontained whether PUT operations may create uncontained resources
+     * @param defaultJsonLdProfile a user-supplied default JSON-LD profile
+     * @param baseUrl the base URL
+     */
+    public BatchHandler(final TrellisRequest req, final List<BatchOperation> operations,
+            final ServiceBundler trellis, final boolean preconditionRequired, final boolean createUncontained,
+            final String defaultJsonLdProfile, final String baseUrl) {
+        this.request = req;
+        this.operations = operations;
+        this.trellis = trellis;
+        this.preconditionRequired = preconditionRequired;
+        this.createUncontained = createUncontained;
+        this.defaultJsonLdProfile = defaultJsonLdProfile;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Execute the operations in the batch.
+     *
+     * @return a response builder promise
+     * @throws BadRequestException if any operation uses an unsupported method, an invalid path or a malformed
+     *         header
+     */
+    public CompletionStage<ResponseBuilder> execute() {
+        // Validate every operation before any of them are executed
+        final List<String> paths = new ArrayList<>();
+        for (final BatchOperation op : operations) {
+            if (!SUPPORTED_METHODS.contains(op.getMethod())) {
+                throw new BadRequestException("Unsupported batch operation method: " + op.getMethod());
+            }
+            if (!hasValidHeaders(getHeaders(op)::getFirst)) {
+                throw new BadRequestException("Invalid header in batch operation: " + op.getMethod() + " "
+                        + op.getPath());
+            }
+            paths.add(op.resolvePath(request.getPath()));
+        }
+
+        CompletionStage<List<Map<String, Object>>> results = completedFuture(new ArrayList<>());
+        for (int i = 0; i < operations.size(); i++) {
+            final BatchOperation op = operations.get(i);
+            final String path = paths.get(i);
+            results = results.thenCompose(list -> run(op, path, list));
+        }
+        return results.thenApply(list -> status(MULTI_STATUS).type(APPLICATION_JSON_TYPE).entity(serialize(list)));
+    }
+
+    private CompletionStage<List<Map<String, Object>>> run(final BatchOperation op, final String path,
+            final List<Map<String, Object>> results) {
+        if (results.stream().anyMatch(result -> !isSuccessful(result))) {
+            LOGGER.debug("Skipping batch operation {} {} after an earlier failure", op.getMethod(), path);
+            results.add(result(op.getMethod(), path, FAILED_DEPENDENCY, null));
+            return completedFuture(results);
+        }
+        return completedFuture(path).thenCompose(p -> execute(op, p)).thenApply(ResponseBuilder::build)
+            .exceptionally(this::handleException).thenApply(res -> {
+                results.add(result(op.getMethod(), path, res.getStatus(),
+                            res.getLocation() != null ? res.getLocation().toString() : null));
+                return results;
+            });
+    }
+
+    private CompletionStage<ResponseBuilder> execute(final BatchOperation op, final String path) {
+        final TrellisRequest req = new TrellisRequest(op.getMethod(), path, request.getBaseUrl(),
+                getHeaders(op), new MultivaluedHashMap<>(), request.getAcceptableMediaTypes(),
+                request.getSecurityContext());
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + path);
+
+        switch (op.getMethod()) {
+            case PUT:
+                final PutHandler putHandler = new PutHandler(req, getBody(op), trellis, preconditionRequired,
+                        createUncontained, baseUrl);
+                return getParent(identifier)
+                    .thenCombine(trellis.getResourceService().get(identifier), putHandler::initialize)
+                    .thenCompose(putHandler::setResource).thenCompose(putHandler::updateMemento);
+            case PATCH:
+                final PatchHandler patchHandler = new PatchHandler(req, op.getBody(), trellis,
+                        defaultJsonLdProfile, baseUrl);
+                return getParent(identifier)
+                    .thenCombine(trellis.getResourceService().get(identifier), patchHandler::initialize)
+                    .thenCompose(patchHandler::updateResource).thenCompose(patchHandler::updateMemento);
+            case DELETE:
+                final DeleteHandler deleteHandler = new DeleteHandler(req, trellis, baseUrl);
+                return getParent(identifier)
+                    .thenCombine(trellis.getResourceService().get(identifier), deleteHandler::initialize)
+                    .thenCompose(deleteHandler::deleteResource);
+            default:
+                final String slug = Optional.ofNullable(req.getSlug())
+                    .orElseGet(trellis.getResourceService()::generateIdentifier);
+                final String separator = path.isEmpty() ? "" : "/";
+                final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + path + separator + slug);
+                final PostHandler postHandler = new PostHandler(req, identifier, slug, getBody(op), trellis,
+                        baseUrl);
+                return trellis.getResourceService().get(identifier)
+                    .thenCombine(trellis.getResourceService().get(child), postHandler::initialize)
+                    .thenCompose(postHandler::createResource).thenCompose(postHandler::updateMemento);
+        }
+    }
+
+    private CompletionStage<? extends Resource> getParent(final IRI identifier) {
+        final Optional<IRI> parent = getContainer(identifier);
+        if (parent.isPresent()) {
+            return trellis.getResourceService().get(parent.get());
+        }
+        return completedFuture(MISSING_RESOURCE);
+    }
+
+    private Response handleException(final Throwable err) {
+        final Throwable cause = err.getCause();
+        if (cause instanceof ClientErrorException) LOGGER.debug("Client error in batch operation: ", err);
+        else if (cause instanceof RedirectionException) LOGGER.debug("Redirection in batch operation: ", err);
+        else LOGGER.error("Error in batch operation:", err);
+        return cause instanceof WebApplicationException
+                        ? ((WebApplicationException) cause).getResponse()
+                        : new WebApplicationException(err).getResponse();
+    }
+
+    static MultivaluedMap<String, String> getHeaders(final BatchOperation op) {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        op.getHeaders().forEach((name, value) -> headers.add(normalizeHeaderName(name), value));
+        return headers;
+    }
+
+    static String normalizeHeaderName(final String name) {
+        return Stream.of(name.trim().toLowerCase().split("-", -1))
+            .map(part -> part.isEmpty() ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1))
+            .collect(joining("-"));
+    }
+
+    private static InputStream getBody(final BatchOperation op) {
+        return new ByteArrayInputStream(op.getBody() != null ? op.getBody().getBytes(UTF_8) : new byte[0]);
+    }
+
+    private static boolean isSuccessful(final Map<String, Object> result) {
+        return SUCCESSFUL.equals(Response.Status.Family.familyOf((Integer) result.get("status")));
+    }
+
+    private static Map<String, Object> result(final String method, final String path, final int status,
+            final String location) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("method", method);
+        result.put("path", path);
+        result.put("status", status);
+        if (location != null) {
+            result.put("location", location);
+        }
+        return result;
+    }
+
+    private static String serialize(final List<Map<String, Object>> results) {
+        try {
+            return MAPPER.writeValueAsString(results);
+        } catch (final JsonProcessingException ex) {
+            throw new WebApplicationException("Unable to serialize batch response", ex);
+        }
+    }
+}
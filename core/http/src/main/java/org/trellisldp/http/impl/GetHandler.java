@@ -16,10 +16,12 @@ package org.trellisldp.http.impl;
 import static java.lang.String.join;
 import static java.util.Collections.singletonList;
 import static java.util.Date.from;
+import static java.util.Optional.empty;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.of;
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -30,12 +32,14 @@ import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.core.HttpHeaders.ACCEPT;
 import static javax.ws.rs.core.HttpHeaders.ALLOW;
+import static javax.ws.rs.core.HttpHeaders.AUTHORIZATION;
 import static javax.ws.rs.core.HttpHeaders.VARY;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 import static javax.ws.rs.core.MediaType.WILDCARD;
 import static javax.ws.rs.core.Response.Status.GONE;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.ok;
+import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.Resource.SpecialResources.DELETED_RESOURCE;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
@@ -68,13 +72,16 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.Response.ResponseBuilder;
@@ -225,7 +232,8 @@ public class GetHandler extends BaseLdpHandler {
 
         // RDFSource responses (weak ETags, etc)
         final IRI profile = getProfile(getRequest().getAcceptableMediaTypes(), syntax);
-        return completedFuture(getLdpRs(builder, syntax, profile));
+        final Prefer prefer = getPrefer();
+        return getListedChildren(prefer).thenApply(listed -> getLdpRs(builder, syntax, profile, prefer, listed));
     }
 
     /**
@@ -286,15 +294,44 @@ public class GetHandler extends BaseLdpHandler {
         }
     }
 
-    private ResponseBuilder getLdpRs(final ResponseBuilder builder, final RDFSyntax syntax,
-            final IRI profile) {
-        final Prefer prefer = isAclRequest() ?
+    private Prefer getPrefer() {
+        return isAclRequest() ?
             new Prefer(PREFER_REPRESENTATION, singletonList(PreferAccessControl.getIRIString()),
                     of(PreferUserManaged, LDP.PreferContainment, LDP.PreferMembership).map(IRI::getIRIString)
                         .collect(toList()), null, null) : getRequest().getPrefer();
+    }
+
+    /*
+     * Apply any containment filter registered for this request, checking all of the children at once.
+     * An empty value means that every child is listed.
+     */
+    private CompletionStage<Optional<Set<IRI>>> getListedChildren(final Prefer prefer) {
+        if (!getPreferredGraphs(prefer).contains(LDP.PreferContainment)) {
+            return completedFuture(empty());
+        }
+        return getRequest().getContainmentFilter().map(filter -> {
+            final Set<IRI> children;
+            try (final Stream<Quad> stream = getResource().stream(LDP.PreferContainment)) {
+                children = stream.map(Quad::getObject).filter(IRI.class::isInstance).map(IRI.class::cast)
+                    .collect(toSet());
+            }
+            return filter.apply(children).thenApply(listed -> children.stream().filter(listed::contains)
+                    .collect(toSet())).thenApply(Optional::of);
+        }).orElseGet(() -> completedFuture(empty()));
+    }
+
+    private ResponseBuilder getLdpRs(final ResponseBuilder builder, final RDFSyntax syntax,
+            final IRI profile, final Prefer prefer, final Optional<Set<IRI>> listed) {
+        // A filtered listing differs from one agent to another, so it must not be shared between them
+        listed.ifPresent(children -> {
+            final CacheControl cc = new CacheControl();
+            cc.setPrivate(true);
+            builder.header(VARY, AUTHORIZATION).cacheControl(cc);
+        });
 
         // Check for a cache hit
-        final EntityTag etag = generateEtag(getResource(), weakEtags);
+        final EntityTag etag = listed.map(children -> generateListingEtag(getResource(), children))
+            .orElseGet(() -> generateEtag(getResource(), weakEtags));
         checkCache(getResource().getModified(), etag);
 
         builder.tag(etag);
@@ -316,13 +353,25 @@ public class GetHandler extends BaseLdpHandler {
         // Stream the rdf content
         return builder.entity((StreamingOutput) out -> {
             try (final Stream<Quad> stream = getResource().stream(getPreferredGraphs(prefer))) {
-                getServices().getIOService().write(stream.map(Quad::asTriple)
+                getServices().getIOService().write(stream.filter(isListed(listed)).map(Quad::asTriple)
                                 .map(unskolemizeTriples(getServices().getResourceService(), getBaseUrl())), out,
                         syntax, getJsonLdProfile(profile, syntax));
             }
         });
     }
 
+    private EntityTag generateListingEtag(final Resource res, final Set<IRI> listed) {
+        // Distinguish the listings of a container that are visible to different agents
+        final String children = listed.stream().map(IRI::getIRIString).sorted().collect(joining("\n"));
+        return new EntityTag(md5Hex(res.getRevision() + "\n" + md5Hex(children)), weakEtags);
+    }
+
+    private static Predicate<Quad> isListed(final Optional<Set<IRI>> listed) {
+        return listed.<Predicate<Quad>>map(children -> quad ->
+                !quad.getGraphName().filter(LDP.PreferContainment::equals).isPresent()
+                    || children.contains(quad.getObject())).orElse(quad -> true);
+    }
+
     // Don't allow access control triples unless the request is for an ACL resource
     private Set<IRI> getPreferredGraphs(final Prefer prefer) {
         final Set<IRI> p = triplePreferences(prefer);
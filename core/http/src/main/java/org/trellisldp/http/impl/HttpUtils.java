@@ -20,6 +20,7 @@ import static java.util.Arrays.stream;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.function.Predicate.isEqual;
 import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static javax.ws.rs.core.Response.notModified;
 import static javax.ws.rs.core.Response.status;
@@ -28,8 +29,10 @@ import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
 import static org.apache.commons.rdf.api.RDFSyntax.TURTLE;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
 import static org.trellisldp.http.core.HttpConstants.DEFAULT_REPRESENTATION;
 import static org.trellisldp.http.core.HttpConstants.PRECONDITION_REQUIRED;
+import static org.trellisldp.http.core.HttpConstants.RANGE;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 
 import java.io.IOException;
@@ -49,6 +52,7 @@ import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.NotAcceptableException;
 import javax.ws.rs.RedirectionException;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
@@ -62,7 +66,9 @@ import org.slf4j.Logger;
 import org.trellisldp.api.IOService;
 import org.trellisldp.api.ResourceService;
 import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.http.core.AcceptDatetime;
 import org.trellisldp.http.core.Prefer;
+import org.trellisldp.http.core.Range;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.Trellis;
 
@@ -355,6 +361,31 @@ public final class HttpUtils {
         return null;
     }
 
+    /**
+     * Check that the Accept-Datetime, Range and Link headers of a request, where present, are well-formed.
+     * @param headers a function that returns the value of a named header, or null if it is absent
+     * @return true if the headers are well-formed; false otherwise
+     */
+    public static boolean hasValidHeaders(final Function<String, String> headers) {
+        final String acceptDatetime = headers.apply(ACCEPT_DATETIME);
+        if (acceptDatetime != null && AcceptDatetime.valueOf(acceptDatetime) == null) {
+            return false;
+        }
+        final String range = headers.apply(RANGE);
+        if (range != null && Range.valueOf(range) == null) {
+            return false;
+        }
+        final String link = headers.apply(LINK);
+        if (link != null) {
+            try {
+                Link.valueOf(link);
+            } catch (final IllegalArgumentException ex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check whether conditional requests are required.
      * @param required whether conditional requests are required
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.lang.String.join;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.HttpMethod.OPTIONS;
+import static javax.ws.rs.core.HttpHeaders.ALLOW;
+import static javax.ws.rs.core.Response.ok;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_RDF_PATCH;
+import static org.trellisldp.http.impl.HttpUtils.unskolemizeTriples;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.Triple;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+
+/**
+ * Calculate the differences between two versions of a resource.
+ *
+ * <p>The user-managed triples of each version are converted to their external form, sorted by their
+ * N-Triples serialization and then merged, so that the differences are produced in a single pass and in
+ * a stable order. The result is written as an <a href="https://afs.github.io/rdf-patch/">RDF Patch</a>
+ * document, in which removed triples are prefixed by {@code D} and added triples by {@code A}.
+ *
+ * <p>Note that both versions are held in memory while they are sorted, so the cost of a diff is
+ * proportional to the size of the two versions, not to the size of the difference.
+ */
+public final class MementoDiff {
+
+    private static final String ADD = "A ";
+    private static final String DELETE = "D ";
+
+    /**
+     * Create a response builder for the differences between two versions of a resource.
+     *
+     * @param from the earlier version of the resource
+     * @param to the later version of the resource
+     * @param resourceService the resource service
+     * @param baseUrl the base URL
+     * @return a response builder object
+     */
+    public static ResponseBuilder getDiffBuilder(final Resource from, final Resource to,
+            final ResourceService resourceService, final String baseUrl) {
+        return ok().type(APPLICATION_RDF_PATCH).header(ALLOW, join(",", GET, HEAD, OPTIONS))
+            .entity((StreamingOutput) out -> {
+                final Writer writer = new OutputStreamWriter(out, UTF_8);
+                try (final Stream<String> lines = diff(from, to, resourceService, baseUrl)) {
+                    final Iterator<String> iterator = lines.iterator();
+                    while (iterator.hasNext()) {
+                        writer.write(iterator.next());
+                        writer.write("\n");
+                    }
+                }
+                writer.flush();
+            });
+    }
+
+    /**
+     * Calculate the differences between the user-managed triples of two versions of a resource.
+     *
+     * @param from the earlier version of the resource
+     * @param to the later version of the resource
+     * @param resourceService the resource service
+     * @param baseUrl the base URL
+     * @return the removed and added triples, as RDF Patch lines
+     */
+    public static Stream<String> diff(final Resource from, final Resource to,
+            final ResourceService resourceService, final String baseUrl) {
+        final Function<Triple, Triple> mapper = unskolemizeTriples(resourceService, baseUrl);
+        try (final Stream<Triple> before = from.stream(PreferUserManaged).map(Quad::asTriple).map(mapper);
+                final Stream<Triple> after = to.stream(PreferUserManaged).map(Quad::asTriple).map(mapper)) {
+            return diff(before, after);
+        }
+    }
+
+    /**
+     * Calculate the differences between two collections of triples.
+     *
+     * @param before the triples in the earlier version
+     * @param after the triples in the later version
+     * @return the removed and added triples, as RDF Patch lines
+     */
+    public static Stream<String> diff(final Stream<? extends Triple> before, final Stream<? extends Triple> after) {
+        final List<String> removed = before.map(MementoDiff::toNTriples).sorted().distinct().collect(toList());
+        final List<String> added = after.map(MementoDiff::toNTriples).sorted().distinct().collect(toList());
+
+        final Stream.Builder<String> builder = Stream.builder();
+        int i = 0;
+        int j = 0;
+        while (i < removed.size() || j < added.size()) {
+            final int cmp;
+            if (i == removed.size()) {
+                cmp = 1;
+            } else if (j == added.size()) {
+                cmp = -1;
+            } else {
+                cmp = removed.get(i).compareTo(added.get(j));
+            }
+
+            if (cmp < 0) {
+                builder.accept(DELETE + removed.get(i++));
+            } else if (cmp > 0) {
+                builder.accept(ADD + added.get(j++));
+            } else {
+                // Unchanged triple
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    private static String toNTriples(final Triple triple) {
+        return join(" ", triple.getSubject().ntriplesString(), triple.getPredicate().ntriplesString(),
+                triple.getObject().ntriplesString(), ".");
+    }
+
+    private MementoDiff() {
+        // prevent instantiation
+    }
+}
@@ -14,6 +14,7 @@
 package org.trellisldp.http.impl;
 
 import static java.lang.String.join;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.ZoneOffset.UTC;
 import static java.time.ZonedDateTime.ofInstant;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
@@ -21,7 +22,7 @@ import static java.time.temporal.ChronoUnit.SECONDS;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
-import static java.util.stream.Collectors.joining;
+import static java.util.Collections.unmodifiableNavigableSet;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.empty;
@@ -51,10 +52,14 @@ import static org.trellisldp.vocabulary.JSONLD.compacted;
 import static org.trellisldp.vocabulary.LDP.RDFSource;
 import static org.trellisldp.vocabulary.LDP.Resource;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import javax.ws.rs.core.Link;
@@ -79,8 +84,12 @@ public final class MementoResource {
     private static final String TIMEMAP_PARAM = "?ext=timemap";
     private static final String VERSION_PARAM = "?version=";
 
+    /** The default maximum number of Mementos in a single TimeMap page. */
+    public static final int DEFAULT_TIMEMAP_PAGE_SIZE = 1000;
+
     private final ServiceBundler trellis;
     private final boolean includeMementoDates;
+    private final int timemapPageSize;
 
     /**
      * Wrap a resource in some Memento-specific response builders.
@@ -89,13 +98,30 @@ public final class MementoResource {
      * @param includeMementoDates whether to include memento dates in link headers
      */
     public MementoResource(final ServiceBundler trellis, final boolean includeMementoDates) {
+        this(trellis, includeMementoDates, DEFAULT_TIMEMAP_PAGE_SIZE);
+    }
+
+    /**
+     * Wrap a resource in some Memento-specific response builders.
+     *
+     * @param trellis the Trellis application bundle
+     * @param includeMementoDates whether to include memento dates in link headers
+     * @param timemapPageSize the maximum number of Mementos in a TimeMap page, or zero for unpaged TimeMaps
+     */
+    public MementoResource(final ServiceBundler trellis, final boolean includeMementoDates,
+            final int timemapPageSize) {
         this.trellis = trellis;
         this.includeMementoDates = includeMementoDates;
+        this.timemapPageSize = timemapPageSize;
     }
 
     /**
      * Create a response builder for a TimeMap response.
      *
+     * <p>When a resource has more Mementos than the configured page size, or when the request includes
+     * {@code from} or {@code until} query parameters, only a single page of the TimeMap is returned, along
+     * with {@code prev} and {@code next} links to the adjacent pages.
+     *
      * @param mementos the mementos
      * @param baseUrl the base URL
      * @param req the LDP request
@@ -106,10 +132,16 @@ public final class MementoResource {
 
         final List<MediaType> acceptableTypes = req.getAcceptableMediaTypes();
         final String identifier = fromUri(baseUrl).path(req.getPath()).build().toString();
-        final List<Link> allLinks = getMementoLinks(identifier, mementos).collect(toList());
+        final NavigableSet<Instant> index = asNavigableSet(mementos);
+        final NavigableSet<Instant> page = getPage(index, req);
+        final List<Link> pageLinks = page == index ? emptyList()
+            : getPageLinks(identifier, index, page).collect(toList());
+        final List<Link> allLinks = concat(getMementoLinks(identifier, index, page), pageLinks.stream())
+            .collect(toList());
 
         final ResponseBuilder builder = ok().link(identifier, ORIGINAL + " " + TIMEGATE);
-        builder.links(getMementoHeaders(identifier, mementos).map(this::filterLinkParams).toArray(Link[]::new))
+        builder.links(concat(getMementoHeaders(identifier, index), pageLinks.stream()).map(this::filterLinkParams)
+                .toArray(Link[]::new))
             .link(Resource.getIRIString(), TYPE).link(RDFSource.getIRIString(), TYPE)
             .header(ALLOW, join(",", GET, HEAD, OPTIONS));
 
@@ -124,8 +156,57 @@ public final class MementoResource {
                         .asRdf(identifier, allLinks), out, syntax, jsonldProfile));
         }
 
-        return builder.type(APPLICATION_LINK_FORMAT)
-            .entity(allLinks.stream().map(this::filterLinkParams).map(Link::toString).collect(joining(",\n")) + "\n");
+        return builder.type(APPLICATION_LINK_FORMAT).entity((StreamingOutput) out -> {
+            final Writer writer = new OutputStreamWriter(out, UTF_8);
+            final Iterator<Link> links = allLinks.iterator();
+            while (links.hasNext()) {
+                writer.write(filterLinkParams(links.next()).toString());
+                writer.write(links.hasNext() ? ",\n" : "\n");
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Select the page of a TimeMap to be returned.
+     *
+     * <p>Pages are views over the sorted memento index, so only the Mementos on the page are serialized and
+     * linked. The index itself still holds every Memento reported by the {@code MementoService}, which for the
+     * file-based backend means listing the whole Memento directory: paging bounds the size of the response,
+     * not the cost of listing the Mementos.
+     *
+     * @param mementos the mementos
+     * @param req the LDP request
+     * @return the mementos on the requested page; this is the original set if the TimeMap is not paged
+     */
+    private NavigableSet<Instant> getPage(final NavigableSet<Instant> mementos, final TrellisRequest req) {
+        final Instant from = req.getFrom() != null ? req.getFrom().getInstant() : null;
+        final Instant until = req.getUntil() != null ? req.getUntil().getInstant() : null;
+        final boolean paged = timemapPageSize > 0 && mementos.size() > timemapPageSize;
+        if (from == null && until == null && !paged) {
+            return mementos;
+        } else if (from != null && until != null && from.isAfter(until)) {
+            return new TreeSet<>();
+        }
+
+        NavigableSet<Instant> window = mementos;
+        if (from != null) {
+            window = window.tailSet(from, true);
+        }
+        if (until != null) {
+            window = window.headSet(until, true);
+        }
+        if (timemapPageSize <= 0) {
+            return window;
+        }
+        // With only an upper bound, the page ends at that bound; otherwise it starts at the lower bound
+        final Iterator<Instant> iterator = from == null && until != null ? window.descendingIterator()
+            : window.iterator();
+        final NavigableSet<Instant> page = new TreeSet<>();
+        while (iterator.hasNext() && page.size() < timemapPageSize) {
+            page.add(iterator.next());
+        }
+        return page;
     }
 
     /**
@@ -163,28 +244,74 @@ public final class MementoResource {
      * @return a stream of link headers
      */
     public static Stream<Link> getMementoLinks(final String identifier, final SortedSet<Instant> mementos) {
+        return getMementoLinks(identifier, mementos, mementos);
+    }
+
+    /**
+     * Retrieve the Memento-related link headers for a single page of a TimeMap.
+     *
+     * @param identifier the public identifier for the resource
+     * @param mementos the complete collection of memento values
+     * @param page the memento values on the current page
+     * @return a stream of link headers
+     */
+    public static Stream<Link> getMementoLinks(final String identifier, final SortedSet<Instant> mementos,
+            final SortedSet<Instant> page) {
         if (mementos.isEmpty()) {
             return empty();
         }
+        final Instant first = mementos.first();
+        final Instant last = mementos.last();
         return concat(
                 of(
                     Link.fromUri(identifier).rel(TIMEGATE).rel(ORIGINAL).build(),
                     Link.fromUri(identifier + TIMEMAP_PARAM).rel(TIMEMAP).type(APPLICATION_LINK_FORMAT)
-                        .param(FROM, ofInstant(mementos.first().truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME))
-                        .param(UNTIL, ofInstant(mementos.last().truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME))
+                        .param(FROM, ofInstant(first.truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME))
+                        .param(UNTIL, ofInstant(last.truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME))
                         .build()),
-                mementos.stream().map(time -> {
-                    if (mementos.size() == 1) {
+                page.stream().map(time -> {
+                    if (first.equals(last)) {
                         return mementoToLink(identifier, time, asList(FIRST, LAST));
-                    } else if (time.equals(mementos.first())) {
+                    } else if (time.equals(first)) {
                         return mementoToLink(identifier, time, singletonList(FIRST));
-                    } else if (time.equals(mementos.last())) {
+                    } else if (time.equals(last)) {
                         return mementoToLink(identifier, time, singletonList(LAST));
                     }
                     return mementoToLink(identifier, time, emptyList());
                 }));
     }
 
+    /**
+     * Retrieve the links to the TimeMap pages adjacent to the current page.
+     *
+     * @param identifier the public identifier for the resource
+     * @param mementos the complete collection of memento values
+     * @param page the memento values on the current page
+     * @return a stream of link headers
+     */
+    public static Stream<Link> getPageLinks(final String identifier, final NavigableSet<Instant> mementos,
+            final NavigableSet<Instant> page) {
+        if (page.isEmpty()) {
+            return empty();
+        }
+        final Stream.Builder<Link> builder = Stream.builder();
+        final Instant prev = mementos.lower(page.first());
+        if (prev != null) {
+            builder.accept(Link.fromUri(identifier + TIMEMAP_PARAM + "&" + UNTIL + "="
+                        + prev.truncatedTo(SECONDS).getEpochSecond()).rel(PREV).rel(TIMEMAP)
+                    .type(APPLICATION_LINK_FORMAT)
+                    .param(UNTIL, ofInstant(prev.truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME)).build());
+        }
+        final Instant next = mementos.higher(page.last());
+        if (next != null) {
+            builder.accept(Link.fromUri(identifier + TIMEMAP_PARAM + "&" + FROM + "="
+                        + next.truncatedTo(SECONDS).getEpochSecond()).rel(NEXT).rel(TIMEMAP)
+                    .type(APPLICATION_LINK_FORMAT)
+                    .param(FROM, ofInstant(next.truncatedTo(SECONDS), UTC).format(RFC_1123_DATE_TIME)).build());
+        }
+        return builder.build();
+    }
+
     /**
      * Get the memento headers.
      * @param identifier the identifier
@@ -287,8 +414,10 @@ public final class MementoResource {
         // from and until parameters can cause problems with downstream applications because they contain commas. This
         // method makes it possible to filter out those params, if desired. By default, they are not filtered out.
         if (filter) {
-            if (TIMEMAP.equals(link.getRel())) {
-                return Link.fromUri(link.getUri()).rel(TIMEMAP).type(APPLICATION_LINK_FORMAT).build();
+            if (link.getRels().contains(TIMEMAP)) {
+                final Link.Builder builder = Link.fromUri(link.getUri());
+                link.getRels().forEach(builder::rel);
+                return builder.type(APPLICATION_LINK_FORMAT).build();
             } else if (link.getRels().contains(MEMENTO)) {
                 final Link.Builder builder = Link.fromUri(link.getUri());
                 link.getRels().forEach(builder::rel);
@@ -313,6 +442,13 @@ public final class MementoResource {
         return builder.build();
     }
 
+    private static NavigableSet<Instant> asNavigableSet(final SortedSet<Instant> mementos) {
+        if (mementos instanceof NavigableSet) {
+            return (NavigableSet<Instant>) mementos;
+        }
+        return unmodifiableNavigableSet(new TreeSet<>(mementos));
+    }
+
     private static boolean shouldAddPrevNextLinks(final SortedSet<Instant> mementos, final Instant time) {
         return time != null && !time.truncatedTo(SECONDS).isBefore(mementos.first().truncatedTo(SECONDS))
             && !time.truncatedTo(SECONDS).isAfter(mementos.last().truncatedTo(SECONDS));
@@ -53,6 +53,8 @@ import org.trellisldp.api.Resource;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.api.Session;
 import org.trellisldp.http.core.HttpSession;
+import org.trellisldp.http.core.RequestTimings;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.http.core.SimpleEvent;
 import org.trellisldp.http.core.TrellisRequest;
@@ -230,7 +232,8 @@ class MutatingLdpHandler extends BaseLdpHandler {
      */
     protected void checkConstraint(final Graph graph, final IRI type, final RDFSyntax syntax) {
         final List<ConstraintViolation> violations = new ArrayList<>();
-        getServices().getConstraintServices().forEach(svc -> svc.constrainedBy(type, graph).forEach(violations::add));
+        getRequest().getTimings().time(RequestTimings.CONSTRAINTS, () -> getServices().getConstraintServices()
+                .forEach(svc -> svc.constrainedBy(type, graph).forEach(violations::add)));
         if (!violations.isEmpty()) {
             final ResponseBuilder err = status(CONFLICT);
             violations.forEach(v -> err.link(v.getConstraint().getIRIString(), LDP.constrainedBy.getIRIString()));
@@ -264,15 +267,35 @@ class MutatingLdpHandler extends BaseLdpHandler {
         return builder;
     }
 
-    protected CompletionStage<Void> handleResourceReplacement(final Dataset mutable, final Dataset immutable) {
+    protected Metadata.Builder getResourceMetadata() {
+        final Metadata.Builder metadata = Metadata.builder(getResource());
+        getResource().getBinaryMetadata().ifPresent(metadata::binary);
+        return metadata;
+    }
+
+    protected Metadata.Builder getResourceMetadata(final Dataset mutable) {
         final Metadata.Builder metadata = metadataBuilder(getResource().getIdentifier(),
                 getResource().getInteractionModel(), mutable);
         getResource().getContainer().ifPresent(metadata::container);
         getResource().getBinaryMetadata().ifPresent(metadata::binary);
         metadata.revision(getResource().getRevision());
+        return metadata;
+    }
+
+    protected CompletionStage<Void> handleResourceReplacement(final Dataset mutable, final Dataset immutable) {
+        // update the resource
+        return allOf(
+            getServices().getResourceService().replace(getResourceMetadata(mutable).build(), mutable)
+                .toCompletableFuture(),
+            getServices().getResourceService().add(getResource().getIdentifier(),
+                immutable).toCompletableFuture());
+    }
+
+    protected CompletionStage<Void> handleResourceUpdate(final Metadata metadata, final Dataset deletions,
+            final Dataset additions, final Dataset immutable) {
         // update the resource
         return allOf(
-            getServices().getResourceService().replace(metadata.build(), mutable).toCompletableFuture(),
+            getServices().getResourceService().update(metadata, deletions, additions).toCompletableFuture(),
             getServices().getResourceService().add(getResource().getIdentifier(),
                 immutable).toCompletableFuture());
     }
@@ -289,8 +312,9 @@ class MutatingLdpHandler extends BaseLdpHandler {
         final IRI membershipResource = parent.getMembershipResource().map(MutatingLdpHandler::removeHashFragment)
             .orElse(null);
         if (membershipResource != null) {
+            final ResourceMemo memo = getRequest().getResourceMemo();
             return allOf(getServices().getResourceService().touch(membershipResource).toCompletableFuture(),
-                getServices().getResourceService().get(membershipResource).thenAccept(res -> {
+                memo.get(membershipResource, getServices().getResourceService()).thenAccept(res -> {
                     if (res.getIdentifier() != null) {
                         getServices().getEventService().emit(new SimpleEvent(getUrl(res.getIdentifier()),
                                     getSession().getAgent(), asList(PROV.Activity, AS.Update),
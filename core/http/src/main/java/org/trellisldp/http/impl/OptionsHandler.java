@@ -36,7 +36,6 @@ import static org.trellisldp.http.core.HttpConstants.ACCEPT_POST;
 import static org.trellisldp.http.core.HttpConstants.ACL;
 import static org.trellisldp.http.core.HttpConstants.PATCH;
 import static org.trellisldp.http.core.HttpConstants.TIMEMAP;
-import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
 import static org.trellisldp.http.impl.HttpUtils.ldpResourceTypes;
 import static org.trellisldp.vocabulary.LDP.NonRDFSource;
 import static org.trellisldp.vocabulary.LDP.RDFSource;
@@ -121,7 +120,8 @@ public class OptionsHandler extends BaseLdpHandler {
             // Mementos and TimeMaps are read-only
             builder.header(ALLOW, join(",", GET, HEAD, OPTIONS));
         } else {
-            builder.header(ACCEPT_PATCH, APPLICATION_SPARQL_UPDATE);
+            builder.header(ACCEPT_PATCH, getServices().getIOService().supportedUpdateSyntaxes().stream()
+                    .map(RDFSyntax::mediaType).collect(joining(",")));
             // ACL resources allow a limited set of methods (no DELETE or POST)
             // If it's not a container, POST isn't allowed
             if (PreferAccessControl.equals(graphName) || getResource().getInteractionModel().equals(RDFSource) ||
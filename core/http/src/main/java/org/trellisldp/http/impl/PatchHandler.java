@@ -13,6 +13,9 @@
  */
 package org.trellisldp.http.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
@@ -24,6 +27,7 @@ import static javax.ws.rs.core.Response.status;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.Resource.SpecialResources.DELETED_RESOURCE;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
 import static org.trellisldp.http.core.HttpConstants.ACL;
 import static org.trellisldp.http.core.HttpConstants.ACL_QUERY_PARAM;
 import static org.trellisldp.http.core.HttpConstants.PREFERENCE_APPLIED;
@@ -39,6 +43,9 @@ import static org.trellisldp.vocabulary.Trellis.PreferAccessControl;
 import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 import static org.trellisldp.vocabulary.Trellis.UnsupportedInteractionModel;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -51,6 +58,7 @@ import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.StreamingOutput;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
@@ -60,13 +68,16 @@ import org.apache.commons.rdf.api.Triple;
 import org.slf4j.Logger;
 import org.trellisldp.api.ConstraintService;
 import org.trellisldp.api.ConstraintViolation;
+import org.trellisldp.api.Metadata;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.http.core.Prefer;
+import org.trellisldp.http.core.RequestTimings;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.http.core.TrellisRequest;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.OA;
 import org.trellisldp.vocabulary.RDF;
 
 /**
@@ -78,13 +89,15 @@ public class PatchHandler extends MutatingLdpHandler {
 
     private static final Logger LOGGER = getLogger(PatchHandler.class);
 
-    private final String updateBody;
+    private final InputStream updateBody;
     private final IRI graphName;
     private final IRI otherGraph;
     private final RDFSyntax syntax;
     private final String preference;
     private final String defaultJsonLdProfile;
 
+    private String bufferedBody;
+
     /**
      * Create a handler for PATCH operations.
      *
@@ -96,6 +109,21 @@ public class PatchHandler extends MutatingLdpHandler {
      */
     public PatchHandler(final TrellisRequest req, final String updateBody, final ServiceBundler trellis,
             final String defaultJsonLdProfile, final String baseUrl) {
+        this(req, updateBody != null ? new ByteArrayInputStream(updateBody.getBytes(UTF_8)) : null, trellis,
+                defaultJsonLdProfile, baseUrl);
+    }
+
+    /**
+     * Create a handler for PATCH operations.
+     *
+     * @param req the LDP request
+     * @param updateBody the update body, e.g. a Sparql-Update request or an RDF Patch document
+     * @param trellis the Trellis application bundle
+     * @param defaultJsonLdProfile a user-supplied default JSON-LD profile
+     * @param baseUrl the base URL
+     */
+    public PatchHandler(final TrellisRequest req, final InputStream updateBody, final ServiceBundler trellis,
+            final String defaultJsonLdProfile, final String baseUrl) {
         super(req, trellis, baseUrl);
 
         this.updateBody = updateBody;
@@ -159,10 +187,14 @@ public class PatchHandler extends MutatingLdpHandler {
         }
 
         final Dataset mutable = rdf.createDataset();
+        final Dataset deletions = rdf.createDataset();
+        final Dataset additions = rdf.createDataset();
         final Dataset immutable = rdf.createDataset();
 
-        return assembleResponse(mutable, immutable, builder)
+        return assembleResponse(mutable, deletions, additions, immutable, builder)
             .whenComplete((a, b) -> closeDataset(mutable))
+            .whenComplete((a, b) -> closeDataset(deletions))
+            .whenComplete((a, b) -> closeDataset(additions))
             .whenComplete((a, b) -> closeDataset(immutable));
     }
 
@@ -171,20 +203,18 @@ public class PatchHandler extends MutatingLdpHandler {
         return super.getIdentifier() + (isAclRequest() ? ACL_QUERY_PARAM : "");
     }
 
-    private List<Triple> updateGraph(final RDFSyntax syntax, final IRI graphName) {
+    private List<Triple> updateGraph(final RDFSyntax syntax, final IRI graphName, final Dataset original) {
         final List<Triple> triples;
         // Update existing graph
         try (final Graph graph = rdf.createGraph()) {
             try (final Stream<Quad> stream = getResource().stream(graphName)) {
-                stream.map(Quad::asTriple)
+                stream.peek(original::add).map(Quad::asTriple)
                       .map(unskolemizeTriples(getServices().getResourceService(), getBaseUrl()))
                       .forEachOrdered(graph::add);
             }
 
-            getServices().getIOService().update(graph, updateBody, syntax,
-                getBaseUrl() + getRequest().getPath() + (isAclRequest() ? ACL_QUERY_PARAM : ""));
-            triples = graph.stream().filter(triple -> !RDF.type.equals(triple.getPredicate())
-                || !triple.getObject().ntriplesString().startsWith("<" + LDP.getNamespace())).collect(toList());
+            getServices().getIOService().update(graph, getBufferedBody(), syntax, getUpdateContext());
+            triples = graph.stream().filter(triple -> !isLdpType(triple)).collect(toList());
         } catch (final Exception ex) {
             throw new RuntimeTrellisException("Error closing graph", ex);
         }
@@ -192,26 +222,64 @@ public class PatchHandler extends MutatingLdpHandler {
         return triples;
     }
 
-    private CompletionStage<ResponseBuilder> assembleResponse(final Dataset mutable,
-            final Dataset immutable, final ResponseBuilder builder) {
+    private List<Triple> applyDelta(final Graph removed, final Graph added, final Dataset original) {
+        final List<Triple> triples = new ArrayList<>();
+        try (final Stream<Quad> stream = getResource().stream(graphName)) {
+            stream.peek(original::add).map(Quad::asTriple)
+                  .map(unskolemizeTriples(getServices().getResourceService(), getBaseUrl()))
+                  .filter(triple -> !removed.contains(triple) && !added.contains(triple))
+                  .forEachOrdered(triples::add);
+        }
+        added.stream().forEachOrdered(triples::add);
+        return triples.stream().filter(triple -> !isLdpType(triple)).collect(toList());
+    }
 
-        // Put triples in buffer, short-circuit on exception
-        final List<Triple> triples;
-        try {
-            triples = updateGraph(syntax, graphName);
-        } catch (final RuntimeTrellisException ex) {
-            throw new BadRequestException("Invalid RDF: " + ex.getMessage());
+    /*
+     * Read the update into a set of changes, if the update syntax and the I/O service support it.
+     * A Sparql-Update request is only read this way if the existing graph would not be needed
+     * anyway, since it must be buffered in order to be applied to that graph as a fallback.
+     * Other formats, such as RDF Patch, are streamed directly from the request body.
+     */
+    private boolean readDelta(final Graph removed, final Graph added) {
+        if (SPARQL_UPDATE.equals(syntax)) {
+            return isDeltaAllowed() && getServices().getIOService().readDelta(
+                    new ByteArrayInputStream(getBufferedBody().getBytes(UTF_8)), syntax, getUpdateContext(),
+                    removed, added);
+        }
+        return getServices().getIOService().readDelta(updateBody, syntax, getUpdateContext(), removed, added);
+    }
+
+    /*
+     * The changes can be applied without loading the existing graph when the response doesn't include the
+     * updated representation and the update doesn't touch any triples that are used for the resource metadata
+     * or for constraints on the graph as a whole.
+     */
+    private boolean isDeltaAllowed() {
+        return preference == null && !isAclRequest()
+            && !asList(LDP.DirectContainer, LDP.IndirectContainer).contains(getResource().getInteractionModel());
+    }
+
+    private String getBufferedBody() {
+        if (bufferedBody == null) {
+            try {
+                bufferedBody = IOUtils.toString(updateBody, UTF_8);
+            } catch (final IOException ex) {
+                throw new RuntimeTrellisException("Error reading update body", ex);
+            }
         }
+        return bufferedBody;
+    }
 
-        triples.stream().map(skolemizeTriples(getServices().getResourceService(), getBaseUrl()))
-            .map(triple -> rdf.createQuad(graphName, triple.getSubject(), triple.getPredicate(), triple.getObject()))
-            .forEachOrdered(mutable::add);
+    private Quad toQuad(final Triple triple) {
+        final Triple t = skolemizeTriples(getServices().getResourceService(), getBaseUrl()).apply(triple);
+        return rdf.createQuad(graphName, t.getSubject(), t.getPredicate(), t.getObject());
+    }
 
-        // Check any constraints on the resulting dataset
+    private void verifyConstraints(final Dataset dataset) {
         final List<ConstraintViolation> violations = new ArrayList<>();
-        getServices().getConstraintServices()
-            .forEach(svc -> handleConstraintViolation(svc, mutable, graphName, getResource().getInteractionModel())
-                    .forEach(violations::add));
+        getRequest().getTimings().time(RequestTimings.CONSTRAINTS, () -> getServices().getConstraintServices()
+            .forEach(svc -> handleConstraintViolation(svc, dataset, graphName, getResource().getInteractionModel())
+                    .forEach(violations::add)));
 
         // Short-ciruit if there is a constraint violation
         if (!violations.isEmpty()) {
@@ -219,15 +287,66 @@ public class PatchHandler extends MutatingLdpHandler {
             violations.forEach(v -> err.link(v.getConstraint().getIRIString(), LDP.constrainedBy.getIRIString()));
             throw new ClientErrorException(err.build());
         }
+    }
+
+    private CompletionStage<ResponseBuilder> assembleResponse(final Dataset mutable, final Dataset deletions,
+            final Dataset additions, final Dataset immutable, final ResponseBuilder builder) {
 
-        // When updating User or ACL triples, be sure to add the other category to the dataset
-        try (final Stream<Quad> remaining = getResource().stream(otherGraph)) {
-            remaining.forEachOrdered(mutable::add);
+        final boolean delta;
+        final List<Triple> triples;
+        try (final Graph removed = rdf.createGraph(); final Graph added = rdf.createGraph()) {
+            if (!readDelta(removed, added)) {
+                // Put triples in buffer, short-circuit on exception
+                delta = false;
+                triples = updateGraph(syntax, graphName, deletions);
+            } else if (isDeltaAllowed() && Stream.concat(removed.stream(), added.stream())
+                    .noneMatch(PatchHandler::isMetadataTriple)) {
+                delta = true;
+                triples = emptyList();
+                removed.stream().filter(triple -> !isLdpType(triple)).map(this::toQuad).forEachOrdered(deletions::add);
+                added.stream().filter(triple -> !isLdpType(triple)).map(this::toQuad).forEachOrdered(additions::add);
+            } else {
+                // The changes were already read, so apply them to the existing graph
+                delta = false;
+                triples = applyDelta(removed, added, deletions);
+            }
+        } catch (final RuntimeTrellisException ex) {
+            throw new BadRequestException("Invalid RDF: " + ex.getMessage());
+        } catch (final Exception ex) {
+            throw new RuntimeTrellisException("Error closing graph", ex);
+        }
+
+        final Metadata metadata;
+        if (delta) {
+            LOGGER.debug("Applying changes to {} without loading the existing graph", getIdentifier());
+            // Only the new triples need to be checked for constraint violations
+            verifyConstraints(additions);
+            metadata = getResourceMetadata().build();
+        } else {
+            triples.stream().map(this::toQuad).forEachOrdered(mutable::add);
+
+            // Check any constraints on the resulting dataset
+            verifyConstraints(mutable);
+
+            // Anything that remains in the original graph is to be deleted
+            mutable.stream().forEachOrdered(quad -> {
+                if (deletions.contains(quad)) {
+                    deletions.remove(quad);
+                } else {
+                    additions.add(quad);
+                }
+            });
+
+            // When updating User or ACL triples, be sure to add the other category to the dataset
+            try (final Stream<Quad> remaining = getResource().stream(otherGraph)) {
+                remaining.forEachOrdered(mutable::add);
+            }
+            metadata = getResourceMetadata(mutable).build();
         }
 
         // Collect the audit data
         getAuditUpdateData().forEachOrdered(immutable::add);
-        return handleResourceReplacement(mutable, immutable)
+        return handleResourceUpdate(metadata, deletions, additions, immutable)
             .thenCompose(future -> emitEvent(getInternalId(), AS.Update,
                         isAclRequest() ? LDP.RDFSource : getResource().getInteractionModel()))
             .thenApply(future -> {
@@ -245,6 +364,10 @@ public class PatchHandler extends MutatingLdpHandler {
             });
     }
 
+    private String getUpdateContext() {
+        return getBaseUrl() + getRequest().getPath() + (isAclRequest() ? ACL_QUERY_PARAM : "");
+    }
+
     private IRI getResponseProfile(final RDFSyntax outputSyntax) {
         final IRI profile = getProfile(getRequest().getAcceptableMediaTypes(), outputSyntax);
         if (profile != null) {
@@ -260,6 +383,16 @@ public class PatchHandler extends MutatingLdpHandler {
                 .flatMap(g -> service.constrainedBy(model, g));
     }
 
+    private static boolean isLdpType(final Triple triple) {
+        return RDF.type.equals(triple.getPredicate())
+            && triple.getObject().ntriplesString().startsWith("<" + LDP.getNamespace());
+    }
+
+    private static boolean isMetadataTriple(final Triple triple) {
+        return OA.annotationService.equals(triple.getPredicate())
+            || triple.getPredicate().getIRIString().startsWith(LDP.getNamespace());
+    }
+
     private static Stream<String> getLinkTypes(final IRI ldpType) {
         if (LDP.NonRDFSource.equals(ldpType)) {
             return ldpResourceTypes(LDP.RDFSource).map(IRI::getIRIString);
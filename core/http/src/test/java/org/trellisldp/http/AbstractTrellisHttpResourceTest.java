@@ -68,7 +68,9 @@ import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_PATCH;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_POST;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_RANGES;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_BATCH_JSON;
 import static org.trellisldp.http.core.HttpConstants.APPLICATION_LINK_FORMAT;
+import static org.trellisldp.http.core.HttpConstants.APPLICATION_RDF_PATCH;
 import static org.trellisldp.http.core.HttpConstants.CONFIG_HTTP_PUT_UNCONTAINED;
 import static org.trellisldp.http.core.HttpConstants.MEMENTO_DATETIME;
 import static org.trellisldp.http.core.HttpConstants.PATCH;
@@ -78,6 +80,7 @@ import static org.trellisldp.http.core.HttpConstants.SLUG;
 import static org.trellisldp.http.core.RdfMediaType.APPLICATION_LD_JSON;
 import static org.trellisldp.http.core.RdfMediaType.APPLICATION_LD_JSON_TYPE;
 import static org.trellisldp.http.core.RdfMediaType.APPLICATION_N_TRIPLES;
+import static org.trellisldp.http.core.RdfMediaType.APPLICATION_RDF_PATCH;
 import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
 import static org.trellisldp.http.core.RdfMediaType.TEXT_TURTLE_TYPE;
 import static org.trellisldp.vocabulary.RDF.type;
@@ -123,6 +126,8 @@ import org.trellisldp.vocabulary.XSD;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTest {
 
+    private static final String ACCEPT_PATCH_SYNTAXES = APPLICATION_SPARQL_UPDATE + "," + APPLICATION_RDF_PATCH;
+
     /* ****************************** *
      *           HEAD Tests
      * ****************************** */
@@ -597,6 +602,37 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
                         "Link not in response: " + l)));
     }
 
+    @Test
+    void testGetMementoDiff() throws IOException {
+        when(mockVersionedResource.stream(eq(PreferUserManaged))).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferUserManaged, identifier, DC.title, rdf.createLiteral("Old title")),
+                rdf.createQuad(PreferUserManaged, identifier, DC.subject, rdf.createLiteral("Subject"))));
+        when(mockResource.stream(eq(PreferUserManaged))).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferUserManaged, identifier, DC.title, rdf.createLiteral("New title")),
+                rdf.createQuad(PreferUserManaged, identifier, DC.subject, rdf.createLiteral("Subject"))));
+
+        final Response res = target(RESOURCE_PATH).queryParam("ext", "diff").queryParam("from", timestamp - 1000)
+            .request().get();
+
+        assertEquals(SC_OK, res.getStatus(), "Unexpected response code!");
+        assertEquals(MediaType.valueOf(APPLICATION_RDF_PATCH), res.getMediaType(), "Incorrect content-type!");
+        final List<String> lines = asList(IOUtils.toString((InputStream) res.getEntity(), UTF_8).split("\n"));
+        assertEquals(2L, lines.size(), "Incorrect number of changes!");
+        assertTrue(lines.contains("D <" + getBaseUrl() + RESOURCE_PATH + "> <" + DC.title.getIRIString()
+                    + "> \"Old title\" ."), "Missing removed triple!");
+        assertTrue(lines.contains("A <" + getBaseUrl() + RESOURCE_PATH + "> <" + DC.title.getIRIString()
+                    + "> \"New title\" ."), "Missing added triple!");
+        assertTrue(lines.stream().noneMatch(line -> line.contains(TRELLIS_DATA_PREFIX)), "Internal IRI in diff!");
+    }
+
+    @Test
+    void testGetMementoDiffNotFound() {
+        final Response res = target(NON_EXISTENT_PATH).queryParam("ext", "diff").queryParam("from", timestamp)
+            .request().get();
+
+        assertEquals(SC_NOT_FOUND, res.getStatus(), "Unexpected response code!");
+    }
+
     @Test
     void testGetTimeMapJsonDefault() throws IOException {
         when(mockMementoService.mementos(eq(identifier))).thenReturn(completedFuture(new TreeSet<>(asList(
@@ -768,7 +804,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
             .accept("application/ld+json; profile=\"http://www.w3.org/ns/json-ld#compacted\"").get();
 
         assertEquals(SC_OK, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header");
         assertEquals(from(time), res.getLastModified(), "Incorrect last-modified header!");
         assertFalse(hasTimeGateLink(res, RESOURCE_PATH), "Unexpected rel=timegate link");
         assertFalse(hasOriginalLink(res, RESOURCE_PATH), "Unexpected rel=original link");
@@ -836,7 +872,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(RESOURCE_PATH).request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertAll("Check LDP type Link headers", checkLdpTypeHeaders(res, LDP.RDFSource));
         assertAll("Check allowed methods", checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS)));
         assertAll("Check null headers", checkNullHeaders(res, singletonList(MEMENTO_DATETIME)));
@@ -847,7 +883,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(BINARY_PATH).request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertAll("Check allowed methods", checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS)));
         assertAll("Check LDP type Link headers", checkLdpTypeHeaders(res, LDP.NonRDFSource));
         assertAll("Check null headers", checkNullHeaders(res, asList(ACCEPT_POST, MEMENTO_DATETIME)));
@@ -859,7 +895,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(RESOURCE_PATH).request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertNotNull(res.getHeaderString(ACCEPT_POST), "Missing Accept-Post header!");
         assertAll("Check allowed methods",
                 checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS, POST)));
@@ -879,7 +915,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(RESOURCE_PATH).queryParam("ext", "acl").request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertAll("Check allowed methods", checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS)));
         assertAll("Check null headers", checkNullHeaders(res, asList(ACCEPT_POST, MEMENTO_DATETIME)));
     }
@@ -889,7 +925,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(BINARY_PATH).queryParam("ext", "acl").request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertAll("Check allowed methods", checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS)));
         assertAll("Check null headers", checkNullHeaders(res, asList(ACCEPT_POST, MEMENTO_DATETIME)));
     }
@@ -919,7 +955,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         final Response res = target(RESOURCE_PATH + "/").request().options();
 
         assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
-        assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
+        assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH), "Incorrect Accept-Patch header!");
         assertAll("Check allowed methods", checkAllowedMethods(res, asList(PATCH, PUT, DELETE, GET, HEAD, OPTIONS)));
         assertAll("Check null headers", checkNullHeaders(res, asList(ACCEPT_POST, MEMENTO_DATETIME)));
     }
@@ -1123,6 +1159,34 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         verify(myEventService, times(2)).emit(any());
     }
 
+    @Test
+    void testBatch() throws IOException {
+        when(mockResource.getInteractionModel()).thenReturn(LDP.Container);
+        final String batch = "[{\"method\": \"POST\", \"headers\": {\"Slug\": \"child\", "
+            + "\"Content-Type\": \"text/turtle\"}, "
+            + "\"body\": \"<> <http://purl.org/dc/terms/title> \\\"A title\\\" .\"},"
+            + " {\"method\": \"DELETE\", \"path\": \"other\"}]";
+
+        final Response res = target(RESOURCE_PATH).request().post(entity(batch, APPLICATION_BATCH_JSON));
+
+        assertEquals(207, res.getStatus(), "Unexpected response code!");
+        final List<Map<String, Object>> results = MAPPER.readValue(IOUtils.toString((InputStream) res.getEntity(),
+                    UTF_8), new TypeReference<List<Map<String, Object>>>(){});
+        assertEquals(2, results.size(), "Incorrect number of batch results!");
+        assertEquals(SC_CREATED, results.get(0).get("status"), "Unexpected POST status!");
+        assertEquals(getBaseUrl() + CHILD_PATH, results.get(0).get("location"), "Incorrect Location!");
+        assertEquals(SC_NO_CONTENT, results.get(1).get("status"), "Unexpected DELETE status!");
+        assertEquals(RESOURCE_PATH + "/other", results.get(1).get("path"), "Incorrect DELETE path!");
+    }
+
+    @Test
+    void testBatchInvalid() {
+        final Response res = target(RESOURCE_PATH).request().post(entity("{\"method\": \"PUT\"}",
+                    APPLICATION_BATCH_JSON));
+
+        assertEquals(SC_BAD_REQUEST, res.getStatus(), "Unexpected response code!");
+    }
+
     @Test
     void testPostSlugWithSlash() {
         when(mockResource.getInteractionModel()).thenReturn(LDP.Container);
@@ -2160,6 +2224,37 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
         assertNull(res.getHeaderString(MEMENTO_DATETIME), "Unexpected Memento-Datetime header!");
     }
 
+    @Test
+    void testPatchExistingRdfPatch() {
+        final Response res = target(RESOURCE_PATH).request()
+            .method("PATCH", entity("A <> <http://purl.org/dc/terms/title> \"A title\" .\n"
+                        + "D <> <http://purl.org/dc/terms/title> \"Old title\" .", APPLICATION_RDF_PATCH));
+
+        assertEquals(SC_NO_CONTENT, res.getStatus(), "Unexpected response code!");
+        assertAll("Check LDP type Link headers", checkLdpTypeHeaders(res, LDP.RDFSource));
+        assertNull(res.getHeaderString(MEMENTO_DATETIME), "Unexpected Memento-Datetime header!");
+    }
+
+    @Test
+    void testPatchExistingRdfPatchResponse() throws IOException {
+        final Response res = target(RESOURCE_PATH).request()
+            .header("Prefer", "return=representation; include=\"" + LDP.PreferMinimalContainer.getIRIString() + "\"")
+            .method("PATCH", entity("A <> <http://purl.org/dc/terms/title> \"A title\" .", APPLICATION_RDF_PATCH));
+
+        assertEquals(SC_OK, res.getStatus(), "Unexpected response code!");
+        final String entity = IOUtils.toString((InputStream) res.getEntity(), UTF_8);
+        assertTrue(entity.contains("A title"), "Missing title in the updated representation!");
+    }
+
+    @Test
+    void testPatchInvalidRdfPatch() {
+        final Response res = target(RESOURCE_PATH).request()
+            .method("PATCH", entity("A <> <http://purl.org/dc/terms/title> \"A title\" <http://example.com/graph> .",
+                        APPLICATION_RDF_PATCH));
+
+        assertEquals(SC_BAD_REQUEST, res.getStatus(), "Unexpected response code!");
+    }
+
     @Test
     void testPatchRoot() {
         final Response res = target().request()
@@ -2514,7 +2609,7 @@ abstract class AbstractTrellisHttpResourceTest extends BaseTrellisHttpResourceTe
                                  "Missing rel=hub Link header!"),
                 () -> assertTrue(getLinks(res).stream().anyMatch(hasLink(rdf.createIRI(getBaseUrl() + RESOURCE_PATH),
                                                                          "self")), "Missing rel=self Link header!"),
-                () -> assertEquals(APPLICATION_SPARQL_UPDATE, res.getHeaderString(ACCEPT_PATCH),
+                () -> assertEquals(ACCEPT_PATCH_SYNTAXES, res.getHeaderString(ACCEPT_PATCH),
                                    "Incorrect Accept-Patch header!"),
                 () -> assertTrue(res.hasEntity(), "Missing JSON-LD entity!"));
     }
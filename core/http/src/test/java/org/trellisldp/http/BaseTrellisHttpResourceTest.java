@@ -195,6 +195,8 @@ abstract class BaseTrellisHttpResourceTest extends JerseyTest {
         when(mockResourceService.add(any(IRI.class), any(Dataset.class))).thenReturn(completedFuture(null));
         when(mockResourceService.delete(any(Metadata.class))).thenReturn(completedFuture(null));
         when(mockResourceService.replace(any(Metadata.class), any(Dataset.class))).thenReturn(completedFuture(null));
+        when(mockResourceService.update(any(Metadata.class), any(Dataset.class), any(Dataset.class)))
+            .thenReturn(completedFuture(null));
         when(mockResourceService.create(any(Metadata.class), any(Dataset.class))).thenReturn(completedFuture(null));
         when(mockResourceService.unskolemize(any(Literal.class))).then(returnsFirstArg());
         when(mockResourceService.skolemize(any(Literal.class))).then(returnsFirstArg());
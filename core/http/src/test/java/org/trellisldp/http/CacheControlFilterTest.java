@@ -13,21 +13,43 @@
  */
 package org.trellisldp.http;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.HEAD;
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.Link.TYPE;
 import static javax.ws.rs.core.Response.Status.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.http.core.HttpConstants.CACHE_TAG;
+import static org.trellisldp.http.core.HttpConstants.MEMENTO_DATETIME;
+import static org.trellisldp.http.core.HttpConstants.SURROGATE_KEY;
+
+import java.util.HashSet;
+import java.util.List;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.trellisldp.vocabulary.LDP;
 
 class CacheControlFilterTest {
 
@@ -40,6 +62,9 @@ class CacheControlFilterTest {
     @Mock
     private MultivaluedMap<String, Object> mockHeaders;
 
+    @Mock
+    private UriInfo mockUriInfo;
+
     @BeforeEach
     void setUp() {
         initMocks(this);
@@ -69,4 +94,138 @@ class CacheControlFilterTest {
         filter.filter(mockRequest, mockResponse);
         verify(mockResponse).getHeaders();
     }
+
+    @Test
+    void testCacheControlMemento() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getHeaderString(eq(MEMENTO_DATETIME))).thenReturn("Thu, 01 Jun 2017 20:32:09 GMT");
+        when(mockResponse.getHeaders()).thenReturn(mockHeaders);
+
+        final CacheControlFilter filter = new CacheControlFilter(180, true, false);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders).add(eq(CACHE_CONTROL), argThat(cc -> cc instanceof CacheControl
+                    && ((CacheControl) cc).getMaxAge() == CacheControlFilter.DEFAULT_MEMENTO_AGE
+                    && ((CacheControl) cc).getCacheExtension().containsKey("immutable")
+                    && !((CacheControl) cc).isMustRevalidate()));
+    }
+
+    @Test
+    void testCacheControlMementoDisabled() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getHeaderString(eq(MEMENTO_DATETIME))).thenReturn("Thu, 01 Jun 2017 20:32:09 GMT");
+
+        final CacheControlFilter filter = new CacheControlFilter(0, true, false);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockResponse, never()).getHeaders();
+    }
+
+    @Test
+    void testCacheControlMementoNoCache() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getHeaderString(eq(MEMENTO_DATETIME))).thenReturn("Thu, 01 Jun 2017 20:32:09 GMT");
+        when(mockResponse.getHeaders()).thenReturn(mockHeaders);
+
+        final CacheControlFilter filter = new CacheControlFilter(180, true, true);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders).add(eq(CACHE_CONTROL), argThat(cc -> cc instanceof CacheControl
+                    && ((CacheControl) cc).getMaxAge() == 180 && ((CacheControl) cc).isNoCache()
+                    && !((CacheControl) cc).getCacheExtension().containsKey("immutable")));
+    }
+
+    @Test
+    void testDefaultMementoAge() {
+        assertEquals(CacheControlFilter.DEFAULT_MEMENTO_AGE, CacheControlFilter.getDefaultMementoAge(180, false),
+                "Incorrect memento age when caching is enabled!");
+        assertEquals(0, CacheControlFilter.getDefaultMementoAge(0, false), "Incorrect memento age for max-age=0!");
+        assertEquals(180, CacheControlFilter.getDefaultMementoAge(180, true), "Incorrect memento age for no-cache!");
+    }
+
+    @Test
+    void testCacheControlContainer() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getLinks()).thenReturn(new HashSet<>(asList(
+                        Link.fromUri(LDP.RDFSource.getIRIString()).rel(TYPE).build(),
+                        Link.fromUri(LDP.Container.getIRIString()).rel(TYPE).build())));
+        when(mockResponse.getHeaders()).thenReturn(mockHeaders);
+
+        final CacheControlFilter filter = new CacheControlFilter(180, true, false, 0, 30, 0, false);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders).add(eq(CACHE_CONTROL), argThat(cc -> cc instanceof CacheControl
+                    && ((CacheControl) cc).getMaxAge() == 30 && ((CacheControl) cc).isMustRevalidate()));
+    }
+
+    @Test
+    void testCacheControlBinaryDisabled() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getLinks()).thenReturn(singleton(
+                        Link.fromUri(LDP.NonRDFSource.getIRIString()).rel(TYPE).build()));
+
+        final CacheControlFilter filter = new CacheControlFilter(180, true, false, 0, 30, 0, false);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockResponse, never()).getHeaders();
+    }
+
+    @Test
+    void testSurrogateKeys() {
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockRequest.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getPath(eq(false))).thenReturn("container/resource");
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getHeaders()).thenReturn(mockHeaders);
+
+        final CacheControlFilter filter = new CacheControlFilter(0, true, false, 0, 0, 0, true);
+
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders).add(eq(SURROGATE_KEY), eq("/container/resource /container"));
+        verify(mockHeaders).add(eq(CACHE_TAG), eq("/container/resource,/container"));
+        verify(mockHeaders, never()).add(eq(CACHE_CONTROL), any());
+    }
+
+    @Test
+    void testCacheControlPrivate() {
+        final CacheControl existing = new CacheControl();
+        existing.setPrivate(true);
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(CACHE_CONTROL, existing);
+
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockRequest.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getPath(eq(false))).thenReturn("container/resource");
+        when(mockResponse.getStatusInfo()).thenReturn(OK);
+        when(mockResponse.getHeaders()).thenReturn(headers);
+
+        final CacheControlFilter filter = new CacheControlFilter(180, true, false, 0, 180, 0, true);
+
+        filter.filter(mockRequest, mockResponse);
+        final List<Object> cc = headers.get(CACHE_CONTROL);
+        assertEquals(1, cc.size(), "Incorrect Cache-Control header count!");
+        assertTrue(((CacheControl) cc.get(0)).isPrivate(), "Private response made public!");
+        assertEquals(180, ((CacheControl) cc.get(0)).getMaxAge(), "Incorrect max-age!");
+        assertFalse(headers.containsKey(SURROGATE_KEY), "Unexpected Surrogate-Key for a private response!");
+    }
+
+    @Test
+    void testGetSurrogateKeys() {
+        assertEquals(singletonList("/"), CacheControlFilter.getSurrogateKeys(""), "Incorrect root keys!");
+        assertEquals(singletonList("/"), CacheControlFilter.getSurrogateKeys("/"), "Incorrect root keys!");
+        assertEquals(asList("/resource", "/"), CacheControlFilter.getSurrogateKeys("resource"),
+                "Incorrect keys!");
+        assertEquals(asList("/a/b/c", "/a/b"), CacheControlFilter.getSurrogateKeys("/a/b/c/"), "Incorrect keys!");
+    }
 }
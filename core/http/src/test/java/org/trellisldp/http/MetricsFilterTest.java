@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.core.Link.TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.http.MetricsFilter.REQUEST_TIMER;
+
+import java.util.HashSet;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.Link;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.http.core.MetricsService;
+import org.trellisldp.vocabulary.LDP;
+
+class MetricsFilterTest {
+
+    @Mock
+    private ContainerRequestContext mockRequest;
+
+    @Mock
+    private ContainerResponseContext mockResponse;
+
+    @Mock
+    private MetricsService mockMetrics;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockResponse.getStatus()).thenReturn(200);
+    }
+
+    @Test
+    void testRequestTimer() {
+        when(mockRequest.getProperty(any())).thenReturn(System.nanoTime());
+        when(mockResponse.getLinks()).thenReturn(new HashSet<>(asList(
+                        Link.fromUri(LDP.Resource.getIRIString()).rel(TYPE).build(),
+                        Link.fromUri(LDP.RDFSource.getIRIString()).rel(TYPE).build(),
+                        Link.fromUri(LDP.Container.getIRIString()).rel(TYPE).build(),
+                        Link.fromUri(LDP.BasicContainer.getIRIString()).rel(TYPE).build())));
+
+        final MetricsFilter filter = new MetricsFilter(mockMetrics);
+        filter.filter(mockRequest, mockResponse);
+        verify(mockMetrics).recordTime(eq(REQUEST_TIMER), argThat(tags -> GET.equals(tags.get("method"))
+                    && "BasicContainer".equals(tags.get("interactionModel")) && "200".equals(tags.get("status"))),
+                anyLong());
+    }
+
+    @Test
+    void testRequestWithoutStart() {
+        final MetricsFilter filter = new MetricsFilter(mockMetrics);
+        filter.filter(mockRequest, mockResponse);
+        verify(mockMetrics, never()).recordTime(any(), any(), anyLong());
+    }
+
+    @Test
+    void testRequestStart() {
+        new MetricsFilter().filter(mockRequest);
+        verify(mockRequest).setProperty(any(), any(Long.class));
+    }
+
+    @Test
+    void testInteractionModel() {
+        assertEquals("none", MetricsFilter.getInteractionModel(emptySet()), "Incorrect interaction model!");
+        assertEquals("NonRDFSource", MetricsFilter.getInteractionModel(new HashSet<>(asList(
+                            Link.fromUri(LDP.Resource.getIRIString()).rel(TYPE).build(),
+                            Link.fromUri(LDP.NonRDFSource.getIRIString()).rel(TYPE).build(),
+                            Link.fromUri(LDP.BasicContainer.getIRIString()).rel("describedby").build()))),
+                "Incorrect interaction model!");
+    }
+}
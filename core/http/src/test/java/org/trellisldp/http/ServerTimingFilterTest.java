@@ -0,0 +1,127 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Collections.emptyMap;
+import static javax.ws.rs.HttpMethod.GET;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.http.core.HttpConstants.SERVER_TIMING;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.http.core.RequestTimings;
+
+class ServerTimingFilterTest {
+
+    @Mock
+    private ContainerRequestContext mockRequest;
+
+    @Mock
+    private ContainerResponseContext mockResponse;
+
+    @Mock
+    private WriterInterceptorContext mockWriterContext;
+
+    @Mock
+    private MultivaluedMap<String, Object> mockHeaders;
+
+    @Mock
+    private UriInfo mockUriInfo;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockRequest.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getPath()).thenReturn("resource");
+        when(mockResponse.getHeaders()).thenReturn(mockHeaders);
+        when(mockResponse.getStatus()).thenReturn(200);
+    }
+
+    @Test
+    void testServerTimingHeader() {
+        final RequestTimings timings = new RequestTimings(System.nanoTime());
+        timings.record(RequestTimings.RESOURCE, 1500000L);
+        when(mockRequest.getProperty(eq(RequestTimings.REQUEST_PROPERTY))).thenReturn(timings);
+
+        final ServerTimingFilter filter = new ServerTimingFilter(true, 0L);
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders).add(eq(SERVER_TIMING), any(String.class));
+    }
+
+    @Test
+    void testServerTimingDisabled() {
+        final ServerTimingFilter filter = new ServerTimingFilter(false, 0L);
+        filter.filter(mockRequest);
+        verify(mockRequest, never()).setProperty(any(), any());
+        filter.filter(mockRequest, mockResponse);
+        verify(mockHeaders, never()).add(any(), any());
+    }
+
+    @Test
+    void testServerTimingStart() {
+        new ServerTimingFilter(false, 100L).filter(mockRequest);
+        verify(mockRequest).setProperty(eq(RequestTimings.REQUEST_PROPERTY), any(RequestTimings.class));
+    }
+
+    @Test
+    void testSlowRequestWithEntity() throws Exception {
+        final RequestTimings timings = new RequestTimings(System.nanoTime() - 5000000000L);
+        when(mockRequest.getProperty(eq(RequestTimings.REQUEST_PROPERTY))).thenReturn(timings);
+        when(mockResponse.hasEntity()).thenReturn(true);
+
+        final ServerTimingFilter filter = new ServerTimingFilter(false, 100L);
+        filter.filter(mockRequest, mockResponse);
+        verify(mockRequest).setProperty(any(), eq("method=GET path=/resource status=200"));
+        verify(mockHeaders, never()).add(any(), any());
+
+        when(mockWriterContext.getProperty(eq(RequestTimings.REQUEST_PROPERTY))).thenReturn(timings);
+        filter.aroundWriteTo(mockWriterContext);
+        verify(mockWriterContext).proceed();
+        assertEquals(1, timings.getTimings().size(), "Incorrect number of phases!");
+    }
+
+    @Test
+    void testWriteWithoutTimings() throws Exception {
+        new ServerTimingFilter(true, 0L).aroundWriteTo(mockWriterContext);
+        verify(mockWriterContext).proceed();
+    }
+
+    @Test
+    void testGetServerTiming() {
+        final Map<String, Long> timings = new LinkedHashMap<>();
+        timings.put("auth", 400000L);
+        timings.put("resource", 12345678L);
+        assertEquals("auth;dur=0.4, resource;dur=12.345, total;dur=20.0",
+                ServerTimingFilter.getServerTiming(timings, 20000000L), "Incorrect header value!");
+        assertEquals("total;dur=1.0", ServerTimingFilter.getServerTiming(emptyMap(), 1000000L),
+                "Incorrect header value!");
+    }
+}
@@ -13,11 +13,14 @@
  */
 package org.trellisldp.http;
 
+import static javax.ws.rs.HttpMethod.GET;
+import static javax.ws.rs.HttpMethod.PUT;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -49,4 +52,35 @@ class TrellisHttpFilterTest {
         filter.filter(mockContext);
         verify(mockContext, never().description("Trailing slash should trigger a redirect!")).abortWith(any());
     }
+
+    @Test
+    void testDiffWithoutFrom() {
+        final MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+        params.putSingle("ext", "diff");
+        when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockContext.getMethod()).thenReturn(GET);
+        when(mockUriInfo.getPath()).thenReturn("resource");
+        when(mockUriInfo.getQueryParameters()).thenReturn(params);
+
+        final TrellisHttpFilter filter = new TrellisHttpFilter();
+
+        filter.filter(mockContext);
+        verify(mockContext, description("A diff without a starting point should be rejected!")).abortWith(any());
+    }
+
+    @Test
+    void testDiffMutation() {
+        final MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+        params.putSingle("ext", "diff");
+        params.putSingle("from", "1496262729");
+        when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockContext.getMethod()).thenReturn(PUT);
+        when(mockUriInfo.getPath()).thenReturn("resource");
+        when(mockUriInfo.getQueryParameters()).thenReturn(params);
+
+        final TrellisHttpFilter filter = new TrellisHttpFilter();
+
+        filter.filter(mockContext);
+        verify(mockContext, description("A diff should not be mutable!")).abortWith(any());
+    }
 }
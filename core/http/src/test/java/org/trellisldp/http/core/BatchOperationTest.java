@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+
+class BatchOperationTest {
+
+    @Test
+    void testParse() {
+        final List<BatchOperation> ops = BatchOperation.parse(stream("[{\"method\": \"PUT\", \"path\": \"child\", "
+                    + "\"headers\": {\"Content-Type\": \"text/turtle\"}, \"body\": \"<> a <ex:Type> .\"}, "
+                    + "{\"method\": \"DELETE\"}]"));
+        assertEquals(2, ops.size(), "Incorrect number of operations!");
+        assertEquals("PUT", ops.get(0).getMethod(), "Incorrect method!");
+        assertEquals("child", ops.get(0).getPath(), "Incorrect path!");
+        assertEquals("text/turtle", ops.get(0).getHeaders().get("Content-Type"), "Incorrect header!");
+        assertEquals("<> a <ex:Type> .", ops.get(0).getBody(), "Incorrect body!");
+        assertEquals("DELETE", ops.get(1).getMethod(), "Incorrect method!");
+        assertEquals("", ops.get(1).getPath(), "Incorrect default path!");
+        assertTrue(ops.get(1).getHeaders().isEmpty(), "Unexpected headers!");
+        assertNull(ops.get(1).getBody(), "Unexpected body!");
+    }
+
+    @Test
+    void testParseMissingMethod() {
+        assertThrows(BadRequestException.class, () -> BatchOperation.parse(stream("[{\"path\": \"child\"}]")),
+                "No exception with a missing method!");
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertThrows(BadRequestException.class, () -> BatchOperation.parse(stream("{\"method\": \"PUT\"}")),
+                "No exception with a non-array request!");
+        assertThrows(BadRequestException.class, () -> BatchOperation.parse(stream("[{\"foo\": \"bar\"}]")),
+                "No exception with an unknown property!");
+    }
+
+    @Test
+    void testResolvePath() {
+        final BatchOperation op = new BatchOperation();
+        op.setPath("./child//grandchild/");
+        assertEquals("container/child/grandchild", op.resolvePath("container"), "Incorrect resolved path!");
+        assertEquals("child/grandchild", op.resolvePath(""), "Incorrect resolved path from root!");
+
+        op.setPath(null);
+        assertEquals("container", op.resolvePath("container/"), "Incorrect resolution of an empty path!");
+    }
+
+    @Test
+    void testResolveParentPath() {
+        final BatchOperation op = new BatchOperation();
+        op.setPath("../sibling");
+        assertThrows(BadRequestException.class, () -> op.resolvePath("container"),
+                "No exception with a parent path segment!");
+    }
+
+    private static InputStream stream(final String data) {
+        return new ByteArrayInputStream(data.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+class ContainmentFilterTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI child1 = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child1");
+    private static final IRI child2 = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child2");
+
+    @Test
+    void testApply() {
+        final ContainmentFilter filter = new ContainmentFilter(children -> completedFuture(singleton(child2)));
+        assertEquals(singleton(child2), filter.apply(asList(child1, child2)).toCompletableFuture().join(),
+                "Incorrect children retained!");
+    }
+
+    @Test
+    void testRegister() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        when(mockContext.getHeaders()).thenReturn(headers);
+
+        final ContainmentFilter filter = new ContainmentFilter(children -> completedFuture(singleton(child1)));
+        filter.register(mockContext);
+        assertEquals(filter, RequestHandoff.claim(headers).flatMap(handoff -> handoff.get(ContainmentFilter.class))
+                .orElse(null), "Registered filter not found!");
+    }
+}
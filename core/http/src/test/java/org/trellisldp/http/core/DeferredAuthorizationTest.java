@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DeferredAuthorizationTest {
+
+    @Test
+    void testNoDeferredChecks() {
+        final DeferredAuthorization authorization = new DeferredAuthorization();
+        assertTrue(authorization.getDecision().toCompletableFuture().isDone(), "Empty decision not complete!");
+        assertDoesNotThrow(() -> authorization.getDecision().toCompletableFuture().join());
+    }
+
+    @Test
+    void testDeferredChecks() {
+        final CompletableFuture<Void> first = new CompletableFuture<>();
+        final CompletableFuture<Void> second = new CompletableFuture<>();
+        final DeferredAuthorization authorization = new DeferredAuthorization();
+        authorization.defer(first);
+        authorization.defer(second);
+
+        first.complete(null);
+        assertFalse(authorization.getDecision().toCompletableFuture().isDone(), "Decision completed too early!");
+        second.complete(null);
+        assertDoesNotThrow(() -> authorization.getDecision().toCompletableFuture().join());
+    }
+
+    @Test
+    void testFailedCheck() {
+        final CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new ForbiddenException());
+        final DeferredAuthorization authorization = new DeferredAuthorization();
+        authorization.defer(completedFuture(null));
+        authorization.defer(failed);
+
+        final CompletionException err = assertThrows(CompletionException.class, () ->
+                authorization.getDecision().toCompletableFuture().join(), "No exception for a failed check!");
+        assertTrue(err.getCause() instanceof ForbiddenException, "Incorrect cause!");
+    }
+
+    @Test
+    void testRequestProperty() {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        when(mockContext.getHeaders()).thenReturn(headers);
+
+        final DeferredAuthorization authorization = DeferredAuthorization.from(mockContext);
+        final ArgumentCaptor<Object> handoff = ArgumentCaptor.forClass(Object.class);
+        verify(mockContext).setProperty(anyString(), handoff.capture());
+        assertNotNull(headers.getFirst(RequestHandoff.HEADER), "Missing handoff header!");
+
+        when(mockContext.getProperty(anyString())).thenReturn(handoff.getValue());
+        assertSame(authorization, DeferredAuthorization.from(mockContext), "Request decision not reused!");
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.InstrumentedServiceBundler.IO_WRITE_BYTES;
+import static org.trellisldp.http.core.InstrumentedServiceBundler.IO_WRITE_TIMER;
+import static org.trellisldp.http.core.InstrumentedServiceBundler.SERVICE_TIMER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.IOService;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+class InstrumentedServiceBundlerTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+    @Mock
+    private ServiceBundler mockBundler;
+
+    @Mock
+    private ResourceService mockResourceService;
+
+    @Mock
+    private IOService mockIoService;
+
+    @Mock
+    private MetricsService mockMetrics;
+
+    @Mock
+    private Resource mockResource;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockBundler.getResourceService()).thenReturn(mockResourceService);
+        when(mockBundler.getIOService()).thenReturn(mockIoService);
+    }
+
+    @Test
+    void testAsyncServiceTimer() {
+        final CompletableFuture<Resource> future = new CompletableFuture<>();
+        when(mockResourceService.get(eq(identifier))).thenAnswer(inv -> future);
+
+        final ServiceBundler bundler = new InstrumentedServiceBundler(mockBundler, mockMetrics);
+        final CompletableFuture<? extends Resource> result = bundler.getResourceService().get(identifier)
+            .toCompletableFuture();
+        verify(mockMetrics, never()).recordTime(any(), any(), anyLong());
+
+        future.complete(mockResource);
+        assertEquals(mockResource, result.join(), "Incorrect resource!");
+        verify(mockMetrics).recordTime(eq(SERVICE_TIMER), argThat(tags -> "ResourceService".equals(tags.get("service"))
+                    && "get".equals(tags.get("method"))), anyLong());
+    }
+
+    @Test
+    void testSyncServiceTimer() {
+        when(mockResourceService.generateIdentifier()).thenReturn("an-identifier");
+
+        final ServiceBundler bundler = new InstrumentedServiceBundler(mockBundler, mockMetrics);
+        assertEquals("an-identifier", bundler.getResourceService().generateIdentifier(), "Incorrect identifier!");
+        verify(mockMetrics).recordTime(eq(SERVICE_TIMER),
+                argThat(tags -> "generateIdentifier".equals(tags.get("method"))), anyLong());
+    }
+
+    @Test
+    void testServiceException() {
+        when(mockResourceService.get(eq(identifier))).thenThrow(new RuntimeTrellisException("Expected"));
+
+        final ServiceBundler bundler = new InstrumentedServiceBundler(mockBundler, mockMetrics);
+        assertThrows(RuntimeTrellisException.class, () -> bundler.getResourceService().get(identifier),
+                "No exception from the underlying service!");
+        verify(mockMetrics).recordTime(eq(SERVICE_TIMER), any(), anyLong());
+    }
+
+    @Test
+    void testObjectMethods() {
+        final ResourceService svc = InstrumentedServiceBundler.instrument(ResourceService.class,
+                mockResourceService, mockMetrics);
+        assertNotNull(svc.toString(), "Missing string representation!");
+        assertNull(InstrumentedServiceBundler.instrument(ResourceService.class, null, mockMetrics),
+                "Unexpected service!");
+        verify(mockMetrics, never()).recordTime(any(), any(), anyLong());
+    }
+
+    @Test
+    void testWriteMetrics() {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write(new byte[] {1, 2, 3, 4});
+            return null;
+        }).when(mockIoService).write(any(), any(), any());
+
+        final ServiceBundler bundler = new InstrumentedServiceBundler(mockBundler, mockMetrics);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundler.getIOService().write(Stream.empty(), out, RDFSyntax.TURTLE);
+        assertEquals(4, out.size(), "Incorrect output size!");
+        verify(mockMetrics).recordTime(eq(IO_WRITE_TIMER), argThat(InstrumentedServiceBundlerTest::isTurtle),
+                anyLong());
+        verify(mockMetrics).recordValue(eq(IO_WRITE_BYTES), argThat(InstrumentedServiceBundlerTest::isTurtle),
+                eq(4L));
+    }
+
+    @Test
+    void testDelegatedServices() {
+        final ServiceBundler bundler = new InstrumentedServiceBundler(mockBundler, mockMetrics);
+        assertNull(bundler.getBinaryService(), "Unexpected binary service!");
+        assertNull(bundler.getAuditService(), "Unexpected audit service!");
+        assertNull(bundler.getTimemapGenerator(), "Unexpected timemap generator!");
+        when(mockIoService.supportedWriteSyntaxes()).thenReturn(null);
+        assertNull(bundler.getIOService().supportedWriteSyntaxes(), "Unexpected syntaxes!");
+    }
+
+    private static boolean isTurtle(final Map<String, String> tags) {
+        return "TURTLE".equals(tags.get("syntax"));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.UriInfo;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RequestHandoffTest {
+
+    @Test
+    void testClaim() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        final ContainerRequestContext mockContext = mockContext(headers);
+
+        final RequestHandoff handoff = RequestHandoff.from(mockContext);
+        handoff.set(String.class, "value");
+        assertEquals(Integer.valueOf(1), handoff.computeIfAbsent(Integer.class, () -> 1), "Incorrect value!");
+        assertEquals(Integer.valueOf(1), handoff.computeIfAbsent(Integer.class, () -> 2), "Value not reused!");
+
+        assertSame(handoff, RequestHandoff.claim(headers).orElse(null), "Incorrect request state!");
+        assertEquals("value", handoff.get(String.class).orElse(null), "Incorrect value!");
+        assertFalse(handoff.get(Long.class).isPresent(), "Unexpected value!");
+        assertThrows(ForbiddenException.class, () -> RequestHandoff.claim(headers), "State claimed twice!");
+    }
+
+    @Test
+    void testNoHandoff() {
+        assertFalse(RequestHandoff.claim(new MultivaluedHashMap<>()).isPresent(), "Unexpected request state!");
+    }
+
+    @Test
+    void testUnknownHandoff() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle(RequestHandoff.HEADER, "client-supplied");
+        assertThrows(ForbiddenException.class, () -> RequestHandoff.claim(headers), "Unknown state accepted!");
+    }
+
+    @Test
+    void testRelease() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        final ContainerRequestContext mockContext = mockContext(headers);
+
+        final RequestHandoff handoff = RequestHandoff.from(mockContext);
+        final ArgumentCaptor<Object> property = ArgumentCaptor.forClass(Object.class);
+        verify(mockContext).setProperty(anyString(), property.capture());
+        when(mockContext.getProperty(anyString())).thenReturn(property.getValue());
+        assertSame(handoff, RequestHandoff.from(mockContext), "Request state not reused!");
+
+        RequestHandoff.release(mockContext);
+        assertThrows(ForbiddenException.class, () -> RequestHandoff.claim(headers), "Released state claimed!");
+    }
+
+    @Test
+    void testDeferredAuthorizationWithPlainRequest() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        final CompletableFuture<Void> check = new CompletableFuture<>();
+        DeferredAuthorization.from(mockContext(headers)).defer(check);
+
+        // The resource sees a Request that is not the request context, as with RESTEasy
+        final TrellisRequest req = new TrellisRequest(mock(Request.class), mockUriInfo(), mockHeaders(headers));
+        assertFalse(req.getAuthorization().toCompletableFuture().isDone(), "Deferred decision not observed!");
+        check.completeExceptionally(new ForbiddenException());
+        final CompletionException err = assertThrows(CompletionException.class, () ->
+                req.getAuthorization().toCompletableFuture().join(), "No exception for a failed check!");
+        assertTrue(err.getCause() instanceof ForbiddenException, "Incorrect cause!");
+    }
+
+    @Test
+    void testContainmentFilterWithPlainRequest() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        final ContainmentFilter filter = new ContainmentFilter(children -> completedFuture(emptySet()));
+        filter.register(mockContext(headers));
+
+        final TrellisRequest req = new TrellisRequest(mock(Request.class), mockUriInfo(), mockHeaders(headers));
+        assertEquals(filter, req.getContainmentFilter().orElse(null), "Containment filter not handed over!");
+        assertTrue(req.getAuthorization().toCompletableFuture().isDone(), "Unexpected pending decision!");
+    }
+
+    @Test
+    void testUnknownHandoffWithPlainRequest() {
+        final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle(RequestHandoff.HEADER, "client-supplied");
+        assertThrows(ForbiddenException.class, () ->
+                new TrellisRequest(mock(Request.class), mockUriInfo(), mockHeaders(headers)),
+                "Request with unknown state accepted!");
+    }
+
+    private static ContainerRequestContext mockContext(final MultivaluedMap<String, String> headers) {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        when(mockContext.getHeaders()).thenReturn(headers);
+        return mockContext;
+    }
+
+    private static HttpHeaders mockHeaders(final MultivaluedMap<String, String> headers) {
+        final HttpHeaders mockHeaders = mock(HttpHeaders.class);
+        when(mockHeaders.getRequestHeaders()).thenReturn(headers);
+        when(mockHeaders.getAcceptableMediaTypes()).thenReturn(emptyList());
+        return mockHeaders;
+    }
+
+    private static UriInfo mockUriInfo() {
+        final UriInfo mockUriInfo = mock(UriInfo.class);
+        when(mockUriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
+        when(mockUriInfo.getPathParameters()).thenReturn(new MultivaluedHashMap<>());
+        when(mockUriInfo.getBaseUri()).thenReturn(URI.create("http://example.com/"));
+        return mockUriInfo;
+    }
+}
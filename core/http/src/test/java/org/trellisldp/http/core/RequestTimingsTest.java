@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.junit.jupiter.api.Test;
+
+class RequestTimingsTest {
+
+    @Test
+    void testRecord() {
+        final RequestTimings timings = new RequestTimings(0L);
+        timings.record(RequestTimings.RESOURCE, 100L);
+        timings.record(RequestTimings.AUTHORIZATION, 50L);
+        timings.record(RequestTimings.RESOURCE, 200L);
+
+        final Map<String, Long> recorded = timings.getTimings();
+        assertTrue(timings.isEnabled(), "Timings not enabled!");
+        assertEquals(2, recorded.size(), "Incorrect number of phases!");
+        assertEquals(Long.valueOf(300L), recorded.get(RequestTimings.RESOURCE), "Incorrect resource timing!");
+        assertEquals(RequestTimings.RESOURCE, recorded.keySet().iterator().next(), "Incorrect phase order!");
+    }
+
+    @Test
+    void testTimeAsync() {
+        final RequestTimings timings = new RequestTimings(0L);
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        assertEquals(future, timings.timeAsync(RequestTimings.MEMENTOS, () -> future), "Incorrect stage!");
+        assertTrue(timings.getTimings().isEmpty(), "Unexpected timing before completion!");
+        future.complete("done");
+        assertTrue(timings.getTimings().containsKey(RequestTimings.MEMENTOS), "Missing timing!");
+    }
+
+    @Test
+    void testTime() {
+        final RequestTimings timings = new RequestTimings(0L);
+        assertThrows(IllegalStateException.class, () -> timings.time(RequestTimings.CONSTRAINTS, () -> {
+            throw new IllegalStateException("Expected");
+        }), "No exception from the operation!");
+        assertTrue(timings.getTimings().containsKey(RequestTimings.CONSTRAINTS), "Missing timing!");
+    }
+
+    @Test
+    void testDisabled() {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        final RequestTimings timings = RequestTimings.from(mockContext);
+        assertFalse(timings.isEnabled(), "Timings unexpectedly enabled!");
+        timings.record(RequestTimings.RESOURCE, 100L);
+        assertEquals("value", timings.timeAsync(RequestTimings.RESOURCE, () -> completedFuture("value"))
+                .toCompletableFuture().join(), "Incorrect value!");
+        assertTrue(timings.getTimings().isEmpty(), "Unexpected timings!");
+    }
+
+    @Test
+    void testStart() {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        final RequestTimings timings = RequestTimings.start(mockContext);
+        verify(mockContext).setProperty(eq(RequestTimings.REQUEST_PROPERTY), eq(timings));
+        when(mockContext.getProperty(eq(RequestTimings.REQUEST_PROPERTY))).thenReturn(timings);
+        assertEquals(timings, RequestTimings.from(mockContext), "Incorrect timings!");
+    }
+}
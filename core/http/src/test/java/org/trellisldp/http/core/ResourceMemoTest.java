@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+
+class ResourceMemoTest {
+
+    private static final RDF rdf = getInstance();
+
+    @Test
+    void testMemoizedRetrieval() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        final Resource mockResource = mock(Resource.class);
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        when(mockResourceService.get(any(IRI.class))).thenAnswer(inv -> completedFuture(mockResource));
+
+        final ResourceMemo memo = new ResourceMemo();
+        assertEquals(mockResource, memo.get(identifier, mockResourceService).toCompletableFuture().join(),
+                "Incorrect resource!");
+        assertEquals(mockResource, memo.get(identifier, mockResourceService).toCompletableFuture().join(),
+                "Incorrect memoized resource!");
+        memo.get(other, mockResourceService);
+
+        verify(mockResourceService).get(eq(identifier));
+        verify(mockResourceService).get(eq(other));
+    }
+
+    @Test
+    void testRequestProperty() {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+
+        final ResourceMemo memo = ResourceMemo.from(mockContext);
+        verify(mockContext).setProperty(eq(ResourceMemo.REQUEST_PROPERTY), eq(memo));
+
+        when(mockContext.getProperty(eq(ResourceMemo.REQUEST_PROPERTY))).thenReturn(memo);
+        assertSame(memo, ResourceMemo.from(mockContext), "Request memo not reused!");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.ServiceDecorator.decorate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+class ServiceDecoratorTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+    @Test
+    void testSyncCall() {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        when(mockResourceService.generateIdentifier()).thenReturn("identifier");
+        final List<Object> results = new ArrayList<>();
+
+        final ResourceService svc = decorate(ResourceService.class, mockResourceService, (method, args) -> {
+            results.add(method.getName());
+            return (value, err) -> results.add(value);
+        });
+        assertEquals("identifier", svc.generateIdentifier(), "Incorrect identifier!");
+        assertEquals(2, results.size(), "Incorrect number of callbacks!");
+        assertEquals("generateIdentifier", results.get(0), "Incorrect method!");
+        assertEquals("identifier", results.get(1), "Incorrect result!");
+    }
+
+    @Test
+    void testAsyncCall() {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        final Resource mockResource = mock(Resource.class);
+        final CompletableFuture<Resource> future = new CompletableFuture<>();
+        when(mockResourceService.get(eq(identifier))).thenAnswer(inv -> future);
+        final List<Object> results = new ArrayList<>();
+
+        final ResourceService svc = decorate(ResourceService.class, mockResourceService,
+                (method, args) -> (value, err) -> results.add(value));
+        final CompletableFuture<? extends Resource> result = svc.get(identifier).toCompletableFuture();
+        assertTrue(results.isEmpty(), "Callback run before the operation completed!");
+
+        future.complete(mockResource);
+        assertEquals(mockResource, result.join(), "Incorrect resource!");
+        assertEquals(1, results.size(), "Callback not run after the operation completed!");
+        assertEquals(mockResource, results.get(0), "Incorrect result!");
+    }
+
+    @Test
+    void testFailedCall() {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        final RuntimeTrellisException error = new RuntimeTrellisException("Expected");
+        when(mockResourceService.generateIdentifier()).thenThrow(error);
+        when(mockResourceService.get(eq(identifier))).thenAnswer(inv -> {
+            final CompletableFuture<Resource> future = new CompletableFuture<>();
+            future.completeExceptionally(error);
+            return future;
+        });
+        final List<Throwable> errors = new ArrayList<>();
+
+        final ResourceService svc = decorate(ResourceService.class, mockResourceService,
+                (method, args) -> (value, err) -> errors.add(err));
+        assertEquals(error, assertThrows(RuntimeTrellisException.class, svc::generateIdentifier),
+                "Incorrect exception!");
+        assertThrows(CompletionException.class, () -> svc.get(identifier).toCompletableFuture().join(),
+                "No exception from a failed stage!");
+        assertEquals(2, errors.size(), "Incorrect number of callbacks!");
+        assertEquals(error, errors.get(0), "Incorrect error!");
+        assertEquals(error, errors.get(1), "Incorrect error!");
+    }
+
+    @Test
+    void testNoCallback() {
+        final ResourceService mockResourceService = mock(ResourceService.class);
+        when(mockResourceService.get(eq(identifier))).thenAnswer(inv -> completedFuture(null));
+        final List<String> methods = new ArrayList<>();
+
+        final ResourceService svc = decorate(ResourceService.class, mockResourceService, (method, args) -> {
+            methods.add(method.getName());
+            return null;
+        });
+        assertNull(svc.get(identifier).toCompletableFuture().join(), "Unexpected resource!");
+        assertNotNull(svc.toString(), "Missing string representation!");
+        assertEquals(1, methods.size(), "Object methods unexpectedly intercepted!");
+        assertNull(decorate(ResourceService.class, null, (method, args) -> null), "Unexpected service!");
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.core;
+
+import static java.util.Collections.emptySortedSet;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+
+class WriteBehindMementoServiceTest {
+
+    private static final RDF rdf = getInstance();
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+    private static final IRI blocker = rdf.createIRI(TRELLIS_DATA_PREFIX + "blocker");
+    private static final long WAIT = 1000L;
+
+    private final CompletableFuture<Void> gate = new CompletableFuture<>();
+
+    @Mock
+    private MementoService mockMementoService;
+
+    @Mock
+    private ResourceService mockResourceService;
+
+    @Mock
+    private Resource mockResource;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockMementoService.put(any(ResourceService.class), any(IRI.class)))
+            .thenAnswer(inv -> completedFuture(null));
+        when(mockMementoService.put(any(ResourceService.class), eq(blocker))).thenReturn(gate);
+        when(mockMementoService.put(any(Resource.class))).thenAnswer(inv -> completedFuture(null));
+        when(mockMementoService.mementos(any(IRI.class))).thenAnswer(inv -> completedFuture(emptySortedSet()));
+        when(mockMementoService.get(any(IRI.class), any(Instant.class)))
+            .thenAnswer(inv -> completedFuture(mockResource));
+    }
+
+    @Test
+    void testBackgroundCapture() {
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService);
+        svc.put(mockResourceService, identifier).toCompletableFuture().join();
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(identifier));
+        svc.close();
+    }
+
+    @Test
+    void testCoalescedCapture() {
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService, 10, 1);
+        svc.put(mockResourceService, blocker);
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(blocker));
+
+        svc.put(mockResourceService, identifier);
+        svc.put(mockResourceService, identifier);
+        svc.put(mockResourceService, identifier);
+        verify(mockMementoService, never()).put(eq(mockResourceService), eq(identifier));
+
+        gate.complete(null);
+        svc.close();
+        verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+    }
+
+    @Test
+    void testReadFlushesPendingCapture() {
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService, 10, 1);
+        svc.put(mockResourceService, blocker);
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(blocker));
+
+        svc.put(mockResourceService, identifier);
+        svc.mementos(identifier).toCompletableFuture().join();
+        svc.get(identifier, Instant.now()).toCompletableFuture().join();
+
+        final InOrder inOrder = inOrder(mockMementoService);
+        inOrder.verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+        inOrder.verify(mockMementoService).mementos(eq(identifier));
+        inOrder.verify(mockMementoService).get(eq(identifier), any(Instant.class));
+
+        gate.complete(null);
+        svc.close();
+        verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+    }
+
+    @Test
+    void testReadWaitsForInflightCapture() throws Exception {
+        final CompletableFuture<Void> write = new CompletableFuture<>();
+        when(mockMementoService.put(any(ResourceService.class), eq(identifier))).thenReturn(write);
+
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService, 10, 1);
+        svc.put(mockResourceService, identifier);
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(identifier));
+
+        final ExecutorService readers = newFixedThreadPool(4);
+        final List<Future<SortedSet<Instant>>> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(readers.submit(() -> svc.mementos(identifier).toCompletableFuture().join()));
+        }
+        final CompletableFuture<Resource> read = svc.get(identifier, Instant.now()).toCompletableFuture();
+
+        Thread.sleep(100L);
+        assertFalse(read.isDone(), "Read completed before the in-flight capture!");
+        assertTrue(reads.stream().noneMatch(Future::isDone), "Read completed before the in-flight capture!");
+        verify(mockMementoService, never()).mementos(eq(identifier));
+        verify(mockMementoService, never()).get(eq(identifier), any(Instant.class));
+
+        write.complete(null);
+        for (final Future<SortedSet<Instant>> future : reads) {
+            assertDoesNotThrow(() -> future.get(WAIT, MILLISECONDS));
+        }
+        assertDoesNotThrow(() -> read.get(WAIT, MILLISECONDS));
+        verify(mockMementoService, times(4)).mementos(eq(identifier));
+        verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+
+        readers.shutdown();
+        svc.close();
+    }
+
+    @Test
+    void testFullQueue() {
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService, 1, 1);
+        svc.put(mockResourceService, blocker);
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(blocker));
+
+        svc.put(mockResourceService, identifier);
+        svc.put(mockResourceService, other);
+        verify(mockMementoService).put(eq(mockResourceService), eq(other));
+        verify(mockMementoService, never()).put(eq(mockResourceService), eq(identifier));
+
+        gate.complete(null);
+        svc.close();
+        verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+    }
+
+    @Test
+    void testCaptureAfterClose() {
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService);
+        svc.close();
+        svc.put(mockResourceService, identifier);
+        svc.put(mockResource);
+        verify(mockMementoService).put(eq(mockResourceService), eq(identifier));
+        verify(mockMementoService).put(eq(mockResource));
+    }
+
+    @Test
+    void testCaptureError() {
+        final CompletableFuture<Void> error = new CompletableFuture<>();
+        error.completeExceptionally(new IllegalStateException("Expected"));
+        when(mockMementoService.put(any(ResourceService.class), eq(identifier))).thenReturn(error);
+
+        final WriteBehindMementoService svc = new WriteBehindMementoService(mockMementoService);
+        svc.put(mockResourceService, identifier);
+        verify(mockMementoService, timeout(WAIT)).put(eq(mockResourceService), eq(identifier));
+        svc.put(mockResourceService, identifier);
+        svc.close();
+        verify(mockMementoService, times(2)).put(eq(mockResourceService), eq(identifier));
+    }
+}
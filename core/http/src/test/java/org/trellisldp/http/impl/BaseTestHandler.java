@@ -90,6 +90,8 @@ import org.trellisldp.api.ResourceService;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.constraint.LdpConstraintService;
 import org.trellisldp.http.core.DefaultTimemapGenerator;
+import org.trellisldp.http.core.RequestTimings;
+import org.trellisldp.http.core.ResourceMemo;
 import org.trellisldp.http.core.ServiceBundler;
 import org.trellisldp.http.core.TrellisRequest;
 import org.trellisldp.vocabulary.LDP;
@@ -155,6 +157,8 @@ abstract class BaseTestHandler {
         when(mockTrellisRequest.getBaseUrl()).thenReturn(baseUrl);
         when(mockTrellisRequest.getAcceptableMediaTypes()).thenReturn(singletonList(TEXT_TURTLE_TYPE));
         when(mockTrellisRequest.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+        when(mockTrellisRequest.getResourceMemo()).thenAnswer(inv -> new ResourceMemo());
+        when(mockTrellisRequest.getTimings()).thenAnswer(inv -> new RequestTimings(System.nanoTime()));
     }
 
     Stream<Executable> checkAllowHeader(final Response res, final List<String> methods) {
@@ -213,6 +217,8 @@ abstract class BaseTestHandler {
         when(mockResourceService.get(any(IRI.class))).thenAnswer(inv -> completedFuture(mockResource));
         when(mockResourceService.create(any(Metadata.class), any(Dataset.class))).thenReturn(completedFuture(null));
         when(mockResourceService.replace(any(Metadata.class), any(Dataset.class))).thenReturn(completedFuture(null));
+        when(mockResourceService.update(any(Metadata.class), any(Dataset.class), any(Dataset.class)))
+            .thenReturn(completedFuture(null));
         when(mockResourceService.delete(any(Metadata.class))).thenReturn(completedFuture(null));
         when(mockResourceService.add(any(IRI.class), any(Dataset.class))).thenReturn(completedFuture(null));
         when(mockResourceService.unskolemize(any(Literal.class))).then(returnsFirstArg());
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.http.impl.BatchHandler.FAILED_DEPENDENCY;
+import static org.trellisldp.http.impl.BatchHandler.MULTI_STATUS;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.Metadata;
+import org.trellisldp.http.core.BatchOperation;
+import org.trellisldp.vocabulary.LDP;
+
+class BatchHandlerTest extends BaseTestHandler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void testBatch() throws Exception {
+        final JsonNode results = execute("[{\"method\": \"PUT\", \"path\": \"resource\", \"headers\": "
+                + "{\"content-type\": \"text/turtle\"}, \"body\": \"<> a <http://example.com/Type> .\"}, "
+                + "{\"method\": \"DELETE\", \"path\": \"resource\"}]");
+
+        assertEquals(2, results.size(), "Incorrect number of results!");
+        assertEquals("PUT", results.get(0).get("method").asText(), "Incorrect method!");
+        assertEquals("resource", results.get(0).get("path").asText(), "Incorrect path!");
+        assertEquals(204, results.get(0).get("status").asInt(), "Incorrect PUT status!");
+        assertEquals(204, results.get(1).get("status").asInt(), "Incorrect DELETE status!");
+        verify(mockIoService).read(any(), eq(RDFSyntax.TURTLE), eq(baseUrl + "resource"));
+        verify(mockResourceService).delete(any(Metadata.class));
+    }
+
+    @Test
+    void testBatchPost() throws Exception {
+        final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + "container/child");
+        when(mockResource.getInteractionModel()).thenReturn(LDP.Container);
+        when(mockResourceService.get(eq(child))).thenAnswer(inv -> completedFuture(MISSING_RESOURCE));
+        when(mockTrellisRequest.getPath()).thenReturn("container");
+
+        final JsonNode results = execute("[{\"method\": \"POST\", \"headers\": {\"Slug\": \"child\"}}]");
+
+        assertEquals(1, results.size(), "Incorrect number of results!");
+        assertEquals(201, results.get(0).get("status").asInt(), "Incorrect POST status!");
+        assertEquals(baseUrl + "container/child", results.get(0).get("location").asText(), "Incorrect location!");
+    }
+
+    @Test
+    void testBatchFailure() throws Exception {
+        final IRI missing = rdf.createIRI(TRELLIS_DATA_PREFIX + "missing");
+        when(mockResourceService.get(eq(missing))).thenAnswer(inv -> completedFuture(MISSING_RESOURCE));
+
+        final JsonNode results = execute("[{\"method\": \"DELETE\", \"path\": \"missing\"}, "
+                + "{\"method\": \"DELETE\", \"path\": \"resource\"}]");
+
+        assertEquals(2, results.size(), "Incorrect number of results!");
+        assertEquals(404, results.get(0).get("status").asInt(), "Incorrect status for missing resource!");
+        assertEquals(FAILED_DEPENDENCY, results.get(1).get("status").asInt(), "Incorrect status after failure!");
+        verify(mockResourceService, never()).delete(any(Metadata.class));
+    }
+
+    @Test
+    void testBatchUnsupportedMethod() {
+        final BatchHandler handler = buildHandler("[{\"method\": \"DELETE\", \"path\": \"resource\"}, "
+                + "{\"method\": \"GET\", \"path\": \"resource\"}]");
+        assertThrows(BadRequestException.class, handler::execute, "No exception with an unsupported method!");
+        verify(mockResourceService, never()).delete(any(Metadata.class));
+    }
+
+    @Test
+    void testBatchInvalidHeader() {
+        final BatchHandler handler = buildHandler("[{\"method\": \"DELETE\", \"path\": \"resource\"}, "
+                + "{\"method\": \"PUT\", \"path\": \"other\", \"headers\": {\"link\": \"<http://bad\"}}]");
+        assertThrows(BadRequestException.class, handler::execute, "No exception with a malformed Link header!");
+        verify(mockResourceService, never()).delete(any(Metadata.class));
+    }
+
+    @Test
+    void testBatchInvalidRange() {
+        final BatchHandler handler = buildHandler("[{\"method\": \"PUT\", \"path\": \"resource\", "
+                + "\"headers\": {\"Range\": \"invalid\"}}]");
+        assertThrows(BadRequestException.class, handler::execute, "No exception with a malformed Range header!");
+    }
+
+    @Test
+    void testNormalizeHeaderName() {
+        assertEquals("Content-Type", BatchHandler.normalizeHeaderName("content-TYPE"), "Incorrect header name!");
+        assertEquals("If-Match", BatchHandler.normalizeHeaderName(" if-match "), "Incorrect header name!");
+        assertEquals("Slug", BatchHandler.normalizeHeaderName("SLUG"), "Incorrect header name!");
+    }
+
+    private BatchHandler buildHandler(final String batch) {
+        final List<BatchOperation> operations = BatchOperation.parse(new ByteArrayInputStream(batch.getBytes(UTF_8)));
+        return new BatchHandler(mockTrellisRequest, operations, mockBundler, false, false, null, baseUrl);
+    }
+
+    private JsonNode execute(final String batch) throws Exception {
+        final Response res = buildHandler(batch).execute().toCompletableFuture().join().build();
+        assertEquals(MULTI_STATUS, res.getStatus(), "Incorrect batch response status!");
+        return MAPPER.readTree((String) res.getEntity());
+    }
+}
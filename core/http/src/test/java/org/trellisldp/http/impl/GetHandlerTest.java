@@ -18,9 +18,11 @@ import static java.time.ZoneOffset.UTC;
 import static java.time.ZonedDateTime.ofInstant;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Date.from;
 import static java.util.Optional.of;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Predicate.isEqual;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -29,6 +31,8 @@ import static javax.ws.rs.HttpMethod.HEAD;
 import static javax.ws.rs.HttpMethod.OPTIONS;
 import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
+import static javax.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
 import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.HttpHeaders.VARY;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
@@ -44,6 +48,9 @@ import static org.apache.commons.rdf.api.RDFSyntax.NTRIPLES;
 import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
 import static org.apache.commons.rdf.api.RDFSyntax.TURTLE;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.trellisldp.api.Syntax.LD_PATCH;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
@@ -63,22 +70,32 @@ import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
 import static org.trellisldp.http.core.RdfMediaType.TEXT_TURTLE_TYPE;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.trellisldp.api.BinaryMetadata;
+import org.trellisldp.http.core.ContainmentFilter;
 import org.trellisldp.http.core.Prefer;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.OA;
@@ -142,6 +159,68 @@ class GetHandlerTest extends BaseTestHandler {
         assertAll("Check LDP type headers", checkLdpType(res, LDP.RDFSource));
     }
 
+    @Test
+    void testGetContainmentFilter() throws IOException {
+        final IRI visible = rdf.createIRI(identifier.getIRIString() + "/visible");
+        final IRI hidden = rdf.createIRI(identifier.getIRIString() + "/hidden");
+        final List<Quad> quads = asList(rdf.createQuad(LDP.PreferContainment, identifier, LDP.contains, visible),
+                rdf.createQuad(LDP.PreferContainment, identifier, LDP.contains, hidden));
+        final List<Triple> written = new ArrayList<>();
+        when(mockResource.getInteractionModel()).thenReturn(LDP.Container);
+        when(mockResource.stream(LDP.PreferContainment)).thenAnswer(inv -> quads.stream());
+        when(mockResource.stream(anyCollection())).thenAnswer(inv -> quads.stream());
+        when(mockTrellisRequest.getMethod()).thenReturn(GET);
+        when(mockTrellisRequest.getContainmentFilter())
+            .thenReturn(of(new ContainmentFilter(children -> completedFuture(singleton(visible)))));
+        doAnswer(inv -> {
+            inv.<Stream<Triple>>getArgument(0).forEach(written::add);
+            return null;
+        }).when(mockIoService).write(any(), any(), any(), any());
+
+        final GetHandler handler = new GetHandler(mockTrellisRequest, mockBundler, false, true, true, null, null);
+        final Response res = handler.getRepresentation(handler.standardHeaders(handler.initialize(mockResource)))
+                        .toCompletableFuture().join().build();
+        assertEquals(OK, res.getStatusInfo(), "Incorrect response code");
+        assertTrue(res.getHeaders().get(VARY).contains(AUTHORIZATION), "Missing Vary: Authorization header!");
+        assertTrue(CacheControl.valueOf(res.getHeaderString(CACHE_CONTROL)).isPrivate(),
+                "Filtered listing not private!");
+        assertNotEquals(md5Hex(mockResource.getRevision()), res.getEntityTag().getValue(),
+                "ETag of a filtered listing not distinguished!");
+        ((StreamingOutput) res.getEntity()).write(new ByteArrayOutputStream());
+
+        final List<RDFTerm> objects = written.stream().map(Triple::getObject).collect(toList());
+        assertTrue(objects.contains(rdf.createIRI(baseUrl + "resource/visible")), "Missing readable child!");
+        assertFalse(objects.contains(rdf.createIRI(baseUrl + "resource/hidden")), "Unexpected unreadable child!");
+    }
+
+    @Test
+    void testHeadContainmentFilter() {
+        final IRI visible = rdf.createIRI(identifier.getIRIString() + "/visible");
+        final IRI hidden = rdf.createIRI(identifier.getIRIString() + "/hidden");
+        final List<Quad> quads = asList(rdf.createQuad(LDP.PreferContainment, identifier, LDP.contains, visible),
+                rdf.createQuad(LDP.PreferContainment, identifier, LDP.contains, hidden));
+        when(mockResource.getInteractionModel()).thenReturn(LDP.Container);
+        when(mockResource.stream(LDP.PreferContainment)).thenAnswer(inv -> quads.stream());
+        when(mockTrellisRequest.getContainmentFilter())
+            .thenReturn(of(new ContainmentFilter(children -> completedFuture(singleton(visible)))));
+
+        when(mockTrellisRequest.getMethod()).thenReturn(GET);
+        final GetHandler getHandler = new GetHandler(mockTrellisRequest, mockBundler, false, true, true, null, null);
+        final Response get = getHandler.getRepresentation(getHandler.standardHeaders(
+                    getHandler.initialize(mockResource))).toCompletableFuture().join().build();
+
+        when(mockTrellisRequest.getMethod()).thenReturn(HEAD);
+        final GetHandler handler = new GetHandler(mockTrellisRequest, mockBundler, false, true, true, null, null);
+        final Response res = handler.getRepresentation(handler.standardHeaders(handler.initialize(mockResource)))
+                        .toCompletableFuture().join().build();
+        assertEquals(OK, res.getStatusInfo(), "Incorrect response code");
+        assertNull(res.getEntity(), "Unexpected entity for a HEAD request!");
+        assertEquals(get.getEntityTag(), res.getEntityTag(), "HEAD and GET ETags differ!");
+        assertTrue(res.getHeaders().get(VARY).contains(AUTHORIZATION), "Missing Vary: Authorization header!");
+        assertTrue(CacheControl.valueOf(res.getHeaderString(CACHE_CONTROL)).isPrivate(),
+                "Filtered listing not private!");
+    }
+
     @Test
     void testGetVersionedLdprs() {
         final GetHandler handler = new GetHandler(mockTrellisRequest, mockBundler, true, true, true, null, null);
@@ -18,6 +18,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static javax.ws.rs.core.HttpHeaders.LINK;
 import static org.apache.commons.rdf.api.RDFSyntax.JSONLD;
 import static org.apache.commons.rdf.api.RDFSyntax.TURTLE;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,13 +28,17 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_BNODE_PREFIX;
 import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
 import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.http.core.HttpConstants.ACCEPT_DATETIME;
 import static org.trellisldp.http.core.HttpConstants.PRECONDITION_REQUIRED;
+import static org.trellisldp.http.core.HttpConstants.RANGE;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.ws.rs.ClientErrorException;
@@ -111,6 +116,24 @@ class HttpUtilsTest {
                 "Non-RDF syntax is incorrectly handled!");
     }
 
+    @Test
+    void testHasValidHeaders() {
+        final Map<String, String> headers = new HashMap<>();
+        assertTrue(HttpUtils.hasValidHeaders(headers::get), "No headers rejected!");
+        headers.put(LINK, "<http://www.w3.org/ns/ldp#Container>; rel=\"type\"");
+        headers.put(RANGE, "bytes=1-10");
+        headers.put(ACCEPT_DATETIME, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertTrue(HttpUtils.hasValidHeaders(headers::get), "Valid headers rejected!");
+        headers.put(LINK, "<http://www.w3.org/ns/ldp#Container");
+        assertFalse(HttpUtils.hasValidHeaders(headers::get), "Malformed Link header accepted!");
+        headers.remove(LINK);
+        headers.put(RANGE, "invalid");
+        assertFalse(HttpUtils.hasValidHeaders(headers::get), "Malformed Range header accepted!");
+        headers.remove(RANGE);
+        headers.put(ACCEPT_DATETIME, "invalid");
+        assertFalse(HttpUtils.hasValidHeaders(headers::get), "Malformed Accept-Datetime header accepted!");
+    }
+
     @Test
     void testCheckIfModifiedSince() {
         final String time = "Wed, 21 Oct 2015 07:28:00 GMT";
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_BNODE_PREFIX;
+import static org.trellisldp.api.TrellisUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.TrellisUtils.getInstance;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Resource;
+import org.trellisldp.api.ResourceService;
+import org.trellisldp.vocabulary.DC;
+
+class MementoDiffTest {
+
+    private static final RDF rdf = getInstance();
+    private static final String baseUrl = "http://example.com/";
+    private static final IRI identifier = rdf.createIRI(baseUrl + "resource");
+
+    @Mock
+    private ResourceService mockResourceService;
+
+    @Mock
+    private Resource mockBefore;
+
+    @Mock
+    private Resource mockAfter;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+        when(mockResourceService.unskolemize(any())).thenCallRealMethod();
+        when(mockResourceService.toExternal(any(), any())).thenCallRealMethod();
+    }
+
+    @Test
+    void testDiff() {
+        final Triple title1 = rdf.createTriple(identifier, DC.title, rdf.createLiteral("Title 1"));
+        final Triple title2 = rdf.createTriple(identifier, DC.title, rdf.createLiteral("Title 2"));
+        final Triple subject = rdf.createTriple(identifier, DC.subject, rdf.createLiteral("Subject"));
+        final Triple description = rdf.createTriple(identifier, DC.description, rdf.createLiteral("Description"));
+
+        final List<String> lines = MementoDiff.diff(Stream.of(title1, subject, subject),
+                Stream.of(description, subject, title2)).collect(toList());
+        assertEquals(3, lines.size(), "Incorrect number of changes!");
+        assertEquals("A <" + identifier.getIRIString() + "> <" + DC.description.getIRIString() + "> \"Description\" .",
+                lines.get(0), "Incorrect added triple!");
+        assertEquals("D <" + identifier.getIRIString() + "> <" + DC.title.getIRIString() + "> \"Title 1\" .",
+                lines.get(1), "Incorrect removed triple!");
+        assertEquals("A <" + identifier.getIRIString() + "> <" + DC.title.getIRIString() + "> \"Title 2\" .",
+                lines.get(2), "Incorrect added triple!");
+    }
+
+    @Test
+    void testNoDiff() {
+        final Triple title = rdf.createTriple(identifier, DC.title, rdf.createLiteral("Title"));
+        assertEquals(0L, MementoDiff.diff(Stream.of(title), Stream.of(title)).count(), "Unexpected changes!");
+        assertEquals(1L, MementoDiff.diff(Stream.empty(), Stream.of(title)).count(), "Missing added triple!");
+        assertEquals(1L, MementoDiff.diff(Stream.of(title), Stream.empty()).count(), "Missing removed triple!");
+    }
+
+    @Test
+    void testDiffExternalForm() {
+        final IRI internal = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource/child");
+        final IRI bnode = rdf.createIRI(TRELLIS_BNODE_PREFIX + "b1");
+        when(mockBefore.stream(PreferUserManaged)).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferUserManaged, internal, DC.title, rdf.createLiteral("Title")),
+                rdf.createQuad(PreferUserManaged, internal, DC.creator, bnode)));
+        when(mockAfter.stream(PreferUserManaged)).thenAnswer(inv -> Stream.of(
+                rdf.createQuad(PreferUserManaged, internal, DC.title, rdf.createLiteral("Title")),
+                rdf.createQuad(PreferUserManaged, internal, DC.creator, bnode),
+                rdf.createQuad(PreferUserManaged, internal, DC.hasPart, child)));
+
+        final List<String> lines = MementoDiff.diff(mockBefore, mockAfter, mockResourceService, baseUrl)
+            .collect(toList());
+        assertEquals(1, lines.size(), "Incorrect number of changes!");
+        assertEquals("A <" + identifier.getIRIString() + "> <" + DC.hasPart.getIRIString() + "> <"
+                + baseUrl + "resource/child> .", lines.get(0), "Incorrect added triple!");
+        assertTrue(lines.stream().noneMatch(line -> line.contains("trellis:")), "Internal IRI in diff!");
+    }
+}
@@ -13,31 +13,47 @@
  */
 package org.trellisldp.http.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Instant.now;
+import static java.time.Instant.parse;
 import static java.time.ZoneOffset.UTC;
 import static java.time.ZonedDateTime.ofInstant;
 import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.Link.TYPE;
 import static javax.ws.rs.core.Link.fromUri;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.trellisldp.http.core.HttpConstants.DATETIME;
 import static org.trellisldp.http.core.HttpConstants.FROM;
 import static org.trellisldp.http.core.HttpConstants.MEMENTO;
 import static org.trellisldp.http.core.HttpConstants.TIMEMAP;
 import static org.trellisldp.http.core.HttpConstants.UNTIL;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Stream;
 
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.junit.jupiter.api.Test;
+import org.trellisldp.http.core.TrellisRequest;
+import org.trellisldp.http.core.Version;
 
 class MementoResourceTest {
 
+    private static final String BASE_URL = "http://example.com/";
+    private static final Instant time = parse("2019-08-16T14:21:01Z");
+
     @Test
     void testFilteredMementoLink() {
         final Link link = fromUri("http://example.com/resource/memento/1").rel(MEMENTO)
@@ -185,6 +201,99 @@ class MementoResourceTest {
         assertEquals(1L, links.stream().filter(l -> l.getRels().contains("original")).count());
     }
 
+    @Test
+    void testTimeMapFirstPage() throws IOException {
+        final MementoResource mr = new MementoResource(null, true, 2);
+        final Response res = mr.getTimeMapBuilder(mementos(5), mockRequest(null, null), BASE_URL).build();
+        final List<Link> links = getTimeMapLinks(res);
+        assertEquals(2L, links.stream().filter(l -> l.getRels().contains(MEMENTO)).count(), "Incorrect page size!");
+        assertEquals(1L, links.stream().filter(l -> l.getRels().contains("first")).count(), "Missing first link!");
+        assertEquals(0L, links.stream().filter(l -> l.getRels().contains("last")).count(), "Unexpected last link!");
+        assertFalse(getPageLink(links.stream(), "prev").isPresent(), "Unexpected prev link!");
+        assertEquals(BASE_URL + "resource?ext=timemap&from=" + time.plusSeconds(2).getEpochSecond(),
+                getPageLink(links.stream(), "next").orElse(null), "Incorrect next link!");
+        assertTrue(getPageLink(res.getLinks().stream(), "next").isPresent(), "Missing next link header!");
+    }
+
+    @Test
+    void testTimeMapMiddlePage() throws IOException {
+        final MementoResource mr = new MementoResource(null, true, 2);
+        final List<Link> links = getTimeMapLinks(mr.getTimeMapBuilder(mementos(5),
+                    mockRequest(time.plusSeconds(2), null), BASE_URL).build());
+        assertEquals(2L, links.stream().filter(l -> l.getRels().contains(MEMENTO)).count(), "Incorrect page size!");
+        assertTrue(links.stream().anyMatch(l -> l.getUri().toString().endsWith("?version="
+                        + time.plusSeconds(3).getEpochSecond())), "Missing memento on page!");
+        assertEquals(BASE_URL + "resource?ext=timemap&until=" + time.plusSeconds(1).getEpochSecond(),
+                getPageLink(links.stream(), "prev").orElse(null), "Incorrect prev link!");
+        assertEquals(BASE_URL + "resource?ext=timemap&from=" + time.plusSeconds(4).getEpochSecond(),
+                getPageLink(links.stream(), "next").orElse(null), "Incorrect next link!");
+    }
+
+    @Test
+    void testTimeMapLastPage() throws IOException {
+        final MementoResource mr = new MementoResource(null, true, 2);
+        final List<Link> links = getTimeMapLinks(mr.getTimeMapBuilder(mementos(5),
+                    mockRequest(null, time.plusSeconds(4)), BASE_URL).build());
+        assertEquals(2L, links.stream().filter(l -> l.getRels().contains(MEMENTO)).count(), "Incorrect page size!");
+        assertEquals(1L, links.stream().filter(l -> l.getRels().contains("last")).count(), "Missing last link!");
+        assertEquals(BASE_URL + "resource?ext=timemap&until=" + time.plusSeconds(2).getEpochSecond(),
+                getPageLink(links.stream(), "prev").orElse(null), "Incorrect prev link!");
+        assertFalse(getPageLink(links.stream(), "next").isPresent(), "Unexpected next link!");
+    }
+
+    @Test
+    void testTimeMapWindow() throws IOException {
+        final MementoResource mr = new MementoResource(null, true, 0);
+        final List<Link> links = getTimeMapLinks(mr.getTimeMapBuilder(mementos(5),
+                    mockRequest(time.plusSeconds(1), time.plusSeconds(3)), BASE_URL).build());
+        assertEquals(3L, links.stream().filter(l -> l.getRels().contains(MEMENTO)).count(), "Incorrect page size!");
+        assertTrue(getPageLink(links.stream(), "prev").isPresent(), "Missing prev link!");
+        assertTrue(getPageLink(links.stream(), "next").isPresent(), "Missing next link!");
+
+        assertEquals(0L, getTimeMapLinks(mr.getTimeMapBuilder(mementos(5), mockRequest(time.plusSeconds(3),
+                            time.plusSeconds(1)), BASE_URL).build()).stream()
+                .filter(l -> l.getRels().contains(MEMENTO)).count(), "Unexpected mementos in empty window!");
+    }
+
+    @Test
+    void testTimeMapUnpaged() throws IOException {
+        final MementoResource mr = new MementoResource(null, true, 0);
+        final List<Link> links = getTimeMapLinks(mr.getTimeMapBuilder(mementos(5), mockRequest(null, null),
+                    BASE_URL).build());
+        assertEquals(5L, links.stream().filter(l -> l.getRels().contains(MEMENTO)).count(), "Incorrect count!");
+        assertFalse(getPageLink(links.stream(), "prev").isPresent(), "Unexpected prev link!");
+        assertFalse(getPageLink(links.stream(), "next").isPresent(), "Unexpected next link!");
+    }
+
+    private static SortedSet<Instant> mementos(final int count) {
+        final SortedSet<Instant> mementos = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            mementos.add(time.plusSeconds(i));
+        }
+        return mementos;
+    }
+
+    private static TrellisRequest mockRequest(final Instant from, final Instant until) {
+        final TrellisRequest req = mock(TrellisRequest.class);
+        when(req.getPath()).thenReturn("resource");
+        when(req.getAcceptableMediaTypes()).thenReturn(emptyList());
+        when(req.getFrom()).thenReturn(from != null ? new Version(from) : null);
+        when(req.getUntil()).thenReturn(until != null ? new Version(until) : null);
+        return req;
+    }
+
+    private static List<Link> getTimeMapLinks(final Response res) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) res.getEntity()).write(out);
+        return Stream.of(new String(out.toByteArray(), UTF_8).trim().split(",\n")).map(Link::valueOf)
+            .collect(toList());
+    }
+
+    private static Optional<String> getPageLink(final Stream<Link> links, final String rel) {
+        return links.filter(l -> l.getRels().contains(rel) && l.getRels().contains(TIMEMAP))
+            .map(l -> l.getUri().toString()).findFirst();
+    }
+
     private void checkMementoHeaders(final List<Link> links, final long prev, final long next, final long mementos) {
         assertEquals(1L, links.stream().filter(l -> l.getRels().contains("timemap")).count());
         assertEquals(1L, links.stream().filter(l -> l.getRels().contains("first")).count());
@@ -13,6 +13,8 @@
  */
 package org.trellisldp.http.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Stream.of;
@@ -24,16 +26,20 @@ import static javax.ws.rs.core.Response.Status.OK;
 import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.trellisldp.api.Syntax.RDF_PATCH;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_POST;
 import static org.trellisldp.http.core.HttpConstants.ACCEPT_RANGES;
 import static org.trellisldp.http.core.HttpConstants.ACL;
 import static org.trellisldp.http.core.HttpConstants.PREFERENCE_APPLIED;
+import static org.trellisldp.http.core.RdfMediaType.APPLICATION_RDF_PATCH;
 import static org.trellisldp.http.core.RdfMediaType.APPLICATION_SPARQL_UPDATE;
 import static org.trellisldp.http.core.RdfMediaType.TEXT_TURTLE_TYPE;
 import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
 import static org.trellisldp.vocabulary.Trellis.UnsupportedInteractionModel;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
 
@@ -52,6 +58,7 @@ import org.trellisldp.api.Metadata;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.audit.DefaultAuditService;
 import org.trellisldp.http.core.Prefer;
+import org.trellisldp.vocabulary.DC;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.RDFS;
 
@@ -64,7 +71,7 @@ class PatchHandlerTest extends BaseTestHandler {
 
     @Test
     void testPatchNoSparql() {
-        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, null, mockBundler, null, null);
+        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, (String) null, mockBundler, null, null);
         final Response res = assertThrows(BadRequestException.class, () ->
                 patchHandler.initialize(mockParent, mockResource),
                 "No exception thrown with a null input!").getResponse();
@@ -115,7 +122,119 @@ class PatchHandlerTest extends BaseTestHandler {
         assertEquals(NO_CONTENT, res.getStatusInfo(), "Incorrect response code!");
 
         verify(mockIoService).update(any(Graph.class), eq(insert), eq(SPARQL_UPDATE), eq("http://localhost/resource"));
-        verify(mockResourceService).replace(any(Metadata.class), any(Dataset.class));
+        verify(mockResourceService).update(any(Metadata.class), any(Dataset.class), any(Dataset.class));
+    }
+
+    @Test
+    void testEntityDelta() {
+        final Quad quad = rdf.createQuad(PreferUserManaged, identifier, RDFS.label, rdf.createLiteral("A label"));
+        final String update = "INSERT DATA { <> <http://purl.org/dc/terms/title> \"A title\" }";
+
+        when(mockTrellisRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
+        when(mockResource.stream(eq(PreferUserManaged))).thenAnswer(x -> of(quad));
+        when(mockTrellisRequest.getPath()).thenReturn("resource");
+        when(mockTrellisRequest.getBaseUrl()).thenReturn("http://localhost/");
+        when(mockIoService.readDelta(any(InputStream.class), eq(SPARQL_UPDATE), eq("http://localhost/resource"),
+                    any(Graph.class), any(Graph.class))).thenAnswer(inv -> {
+                        final Graph additions = inv.getArgument(4);
+                        additions.add(rdf.createIRI("http://localhost/resource"), DC.title,
+                                rdf.createLiteral("A title"));
+                        return true;
+                    });
+
+        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, update, mockBundler, null, null);
+        final Response res = patchHandler.updateResource(patchHandler.initialize(mockParent, mockResource))
+            .toCompletableFuture().join().build();
+
+        assertEquals(NO_CONTENT, res.getStatusInfo(), "Incorrect response code!");
+
+        verify(mockIoService, never()).update(any(Graph.class), any(), any(), any());
+        verify(mockResource, never()).stream(eq(PreferUserManaged));
+        verify(mockResourceService).update(any(Metadata.class), argThat(deletions -> deletions.size() == 0),
+                argThat(additions -> additions.size() == 1 && additions.contains(Optional.of(PreferUserManaged),
+                        identifier, DC.title, rdf.createLiteral("A title"))));
+    }
+
+    @Test
+    void testEntityDeltaLdpProperty() {
+        final String update = "INSERT DATA { <> <http://www.w3.org/ns/ldp#inbox> <http://localhost/inbox> }";
+
+        when(mockTrellisRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
+        when(mockTrellisRequest.getPath()).thenReturn("resource");
+        when(mockTrellisRequest.getBaseUrl()).thenReturn("http://localhost/");
+        when(mockIoService.readDelta(any(InputStream.class), eq(SPARQL_UPDATE), eq("http://localhost/resource"),
+                    any(Graph.class), any(Graph.class))).thenAnswer(inv -> {
+                        final Graph additions = inv.getArgument(4);
+                        additions.add(rdf.createIRI("http://localhost/resource"), LDP.inbox,
+                                rdf.createIRI("http://localhost/inbox"));
+                        return true;
+                    });
+
+        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, update, mockBundler, null, null);
+        final Response res = patchHandler.updateResource(patchHandler.initialize(mockParent, mockResource))
+            .toCompletableFuture().join().build();
+
+        assertEquals(NO_CONTENT, res.getStatusInfo(), "Incorrect response code!");
+        verify(mockIoService).update(any(Graph.class), eq(update), eq(SPARQL_UPDATE), eq("http://localhost/resource"));
+    }
+
+    @Test
+    void testRdfPatch() {
+        final InputStream patch = new ByteArrayInputStream("A <> <http://purl.org/dc/terms/title> \"A title\" ."
+                .getBytes(UTF_8));
+
+        when(mockIoService.supportedUpdateSyntaxes()).thenReturn(asList(SPARQL_UPDATE, RDF_PATCH));
+        when(mockTrellisRequest.getContentType()).thenReturn(APPLICATION_RDF_PATCH);
+        when(mockTrellisRequest.getPath()).thenReturn("resource");
+        when(mockTrellisRequest.getBaseUrl()).thenReturn("http://localhost/");
+        when(mockIoService.readDelta(eq(patch), eq(RDF_PATCH), eq("http://localhost/resource"),
+                    any(Graph.class), any(Graph.class))).thenAnswer(inv -> {
+                        final Graph additions = inv.getArgument(4);
+                        additions.add(rdf.createIRI("http://localhost/resource"), DC.title,
+                                rdf.createLiteral("A title"));
+                        return true;
+                    });
+
+        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, patch, mockBundler, null, null);
+        final Response res = patchHandler.updateResource(patchHandler.initialize(mockParent, mockResource))
+            .toCompletableFuture().join().build();
+
+        assertEquals(NO_CONTENT, res.getStatusInfo(), "Incorrect response code!");
+        verify(mockIoService, never()).update(any(Graph.class), any(), any(), any());
+        verify(mockResource, never()).stream(eq(PreferUserManaged));
+        verify(mockResourceService).update(any(Metadata.class), argThat(deletions -> deletions.size() == 0),
+                argThat(additions -> additions.contains(Optional.of(PreferUserManaged), identifier, DC.title,
+                        rdf.createLiteral("A title"))));
+    }
+
+    @Test
+    void testRdfPatchRepresentation() {
+        final Quad quad = rdf.createQuad(PreferUserManaged, identifier, RDFS.label, rdf.createLiteral("A label"));
+        final InputStream patch = new ByteArrayInputStream("D <> <http://www.w3.org/2000/01/rdf-schema#label> "
+                + "\"A label\" .".getBytes(UTF_8));
+
+        when(mockIoService.supportedUpdateSyntaxes()).thenReturn(asList(SPARQL_UPDATE, RDF_PATCH));
+        when(mockTrellisRequest.getContentType()).thenReturn(APPLICATION_RDF_PATCH);
+        when(mockTrellisRequest.getPrefer()).thenReturn(Prefer.valueOf("return=representation"));
+        when(mockTrellisRequest.getPath()).thenReturn("resource");
+        when(mockTrellisRequest.getBaseUrl()).thenReturn("http://localhost/");
+        when(mockResource.stream(eq(PreferUserManaged))).thenAnswer(x -> of(quad));
+        when(mockIoService.readDelta(eq(patch), eq(RDF_PATCH), eq("http://localhost/resource"),
+                    any(Graph.class), any(Graph.class))).thenAnswer(inv -> {
+                        final Graph deletions = inv.getArgument(3);
+                        deletions.add(rdf.createIRI("http://localhost/resource"), RDFS.label,
+                                rdf.createLiteral("A label"));
+                        return true;
+                    });
+
+        final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, patch, mockBundler, null, null);
+        final Response res = patchHandler.updateResource(patchHandler.initialize(mockParent, mockResource))
+            .toCompletableFuture().join().build();
+
+        assertEquals(OK, res.getStatusInfo(), "Incorrect response code!");
+        verify(mockIoService, never()).update(any(Graph.class), any(), any(), any());
+        verify(mockResourceService).update(any(Metadata.class), argThat(deletions -> deletions.contains(quad)),
+                argThat(additions -> !additions.contains(quad)));
     }
 
     @Test
@@ -137,7 +256,7 @@ class PatchHandlerTest extends BaseTestHandler {
                 event.getValue().getObject().map(IRI::getIRIString));
         verify(mockIoService).update(any(Graph.class), eq(insert), eq(SPARQL_UPDATE),
                 eq("http://localhost/resource?ext=acl"));
-        verify(mockResourceService).replace(any(Metadata.class), any(Dataset.class));
+        verify(mockResourceService).update(any(Metadata.class), any(Dataset.class), any(Dataset.class));
     }
 
 
@@ -187,7 +306,8 @@ class PatchHandlerTest extends BaseTestHandler {
     void testError() {
         when(mockTrellisRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
         when(mockTrellisRequest.getPath()).thenReturn("resource");
-        when(mockResourceService.replace(any(Metadata.class), any(Dataset.class))).thenReturn(asyncException());
+        when(mockResourceService.update(any(Metadata.class), any(Dataset.class), any(Dataset.class)))
+            .thenReturn(asyncException());
 
         final PatchHandler patchHandler = new PatchHandler(mockTrellisRequest, insert, mockBundler, null, null);
         assertThrows(CompletionException.class, () ->
@@ -48,6 +48,12 @@ public class WebApplication extends Application {
     @Inject
     private CacheControlFilter cacheFilter;
 
+    @Inject
+    private MetricsFilter metricsFilter;
+
+    @Inject
+    private ServerTimingFilter serverTimingFilter;
+
     @Inject
     private OAuthFilter oauthFilter;
 
@@ -58,6 +64,7 @@ public class WebApplication extends Application {
 
     @Override
     public Set<Object> getSingletons() {
-        return new HashSet<>(asList(httpResource, httpFilter, corsFilter, cacheFilter, oauthFilter));
+        return new HashSet<>(asList(httpResource, httpFilter, corsFilter, cacheFilter, metricsFilter,
+                    serverTimingFilter, oauthFilter));
     }
 }
@@ -25,6 +25,8 @@ import javax.enterprise.context.ApplicationScoped;
 
 import org.apache.commons.rdf.api.IRI;
 import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
 import org.trellisldp.webac.WebAcService.TrellisAuthorizationCache;
 
 
@@ -44,9 +46,15 @@ public class AuthorizationCache extends TrellisCache<String, Set<IRI>> {
         super(buildCache(getConfig()));
     }
 
+    @Override
+    @Gauge(name = "trellis.cache.hitRate", tags = "cache=webac", unit = MetricUnits.NONE, absolute = true)
+    public double getHitRate() {
+        return super.getHitRate();
+    }
+
     private static Cache<String, Set<IRI>> buildCache(final Config config) {
         final int size = config.getOptionalValue(CONFIG_AUTHZ_CACHE_SIZE, Integer.class).orElse(1000);
         final int expire = config.getOptionalValue(CONFIG_AUTHZ_CACHE_EXPIRE_SECONDS, Integer.class).orElse(600);
-        return newBuilder().maximumSize(size).expireAfterWrite(expire, SECONDS).build();
+        return newBuilder().maximumSize(size).expireAfterWrite(expire, SECONDS).recordStats().build();
     }
 }
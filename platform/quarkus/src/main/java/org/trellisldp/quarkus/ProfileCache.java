@@ -22,6 +22,8 @@ import com.google.common.cache.Cache;
 import javax.enterprise.context.ApplicationScoped;
 
 import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.annotation.Gauge;
 import org.trellisldp.api.CacheService.TrellisProfileCache;
 
 /** A JSON-LD context/profile cache. */
@@ -40,9 +42,15 @@ public class ProfileCache extends TrellisCache<String, String> {
         super(buildCache(getConfig()));
     }
 
+    @Override
+    @Gauge(name = "trellis.cache.hitRate", tags = "cache=profile", unit = MetricUnits.NONE, absolute = true)
+    public double getHitRate() {
+        return super.getHitRate();
+    }
+
     private static Cache<String, String> buildCache(final Config config) {
         final int size = config.getOptionalValue(CONFIG_PROFILE_CACHE_SIZE, Integer.class).orElse(100);
         final int expire = config.getOptionalValue(CONFIG_PROFILE_CACHE_EXPIRE_HOURS, Integer.class).orElse(24);
-        return newBuilder().maximumSize(size).expireAfterWrite(expire, HOURS).build();
+        return newBuilder().maximumSize(size).expireAfterWrite(expire, HOURS).recordStats().build();
     }
 }
@@ -15,6 +15,7 @@ package org.trellisldp.quarkus;
 
 import com.google.common.cache.Cache;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
@@ -52,4 +53,19 @@ public class TrellisCache<K, V> implements CacheService<K, V> {
             throw new RuntimeTrellisException("Error fetching " + key + " from cache", ex);
         }
     }
+
+    @Override
+    public Optional<V> getIfPresent(final K key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Get the ratio of cache requests that were hits.
+     *
+     * @apiNote Statistics are only available if the underlying cache was built with {@code recordStats()}.
+     * @return the hit rate, between 0 and 1
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
 }